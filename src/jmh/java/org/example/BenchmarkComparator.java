@@ -0,0 +1,192 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 두 JMH 결과(CSV)를 비교해 성능 회귀를 찾는 도구
+ * 벤치마크 이름과 파라미터가 같은 항목끼리 점수를 비교하며, 변화율이 기준(기본 10%)을 넘고
+ * 두 결과의 오차 범위(99.9% 신뢰구간)를 합친 것보다 차이가 클 때만 개선/회귀로 판정합니다.
+ * 회귀가 하나라도 있으면 종료 코드 1로 끝나므로 배포 전 검사 단계에서 사용할 수 있습니다.
+ *
+ * 실행: ./gradlew jmhCompare -Pbaseline=build/jmh-baseline.csv [-Pcurrent=...] [-Pthreshold=10]
+ */
+public class BenchmarkComparator {
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    public static void main(String[] args) throws IOException {
+        List<String> files = new ArrayList<>();
+        double threshold = DEFAULT_THRESHOLD_PERCENT;
+        for (String arg : args) {
+            if (arg.startsWith("--threshold=")) {
+                threshold = Double.parseDouble(arg.substring("--threshold=".length()));
+            } else {
+                files.add(arg);
+            }
+        }
+        if (files.size() != 2) {
+            System.err.println("사용법: BenchmarkComparator <기준 결과.csv> <현재 결과.csv> [--threshold=10]");
+            System.exit(2);
+            return;
+        }
+
+        Map<String, Result> baseline = read(files.get(0));
+        Map<String, Result> current = read(files.get(1));
+        int regressions = compare(baseline, current, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 결과 비교표 출력
+     * @return 회귀로 판정한 항목 수
+     */
+    static int compare(Map<String, Result> baseline, Map<String, Result> current, double thresholdPercent) {
+        int regressions = 0;
+        int improvements = 0;
+        System.out.println(String.format(Locale.ROOT, "%-70s %22s %22s %-8s %9s  %s",
+                "벤치마크", "기준", "현재", "단위", "변화", "판정"));
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.println(String.format(Locale.ROOT, "%-70s %22s %22s %-8s %9s  %s",
+                        entry.getKey(), "-", now.formatScore(), now.unit, "-", "새 항목"));
+                continue;
+            }
+
+            double changePercent = before.score != 0 ? (now.score - before.score) / before.score * 100.0 : 0.0;
+            // 처리량(thrpt)은 클수록, 나머지(avgt, sample, ss)는 작을수록 좋음
+            double worsePercent = now.higherIsBetter() ? -changePercent : changePercent;
+            boolean significant = Math.abs(now.score - before.score) > before.error + now.error;
+            String verdict = "변화 없음";
+            if (significant && worsePercent > thresholdPercent) {
+                verdict = "회귀";
+                regressions++;
+            } else if (significant && worsePercent < -thresholdPercent) {
+                verdict = "개선";
+                improvements++;
+            }
+            System.out.println(String.format(Locale.ROOT, "%-70s %22s %22s %-8s %+8.1f%%  %s",
+                    entry.getKey(), before.formatScore(), now.formatScore(), now.unit, changePercent, verdict));
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.println(String.format(Locale.ROOT, "%-70s %22s %22s %-8s %9s  %s",
+                        key, baseline.get(key).formatScore(), "-", baseline.get(key).unit, "-", "없어짐"));
+            }
+        }
+        System.out.println(String.format(Locale.ROOT, "회귀 %d개, 개선 %d개 (기준 %.1f%%)",
+                regressions, improvements, thresholdPercent));
+        return regressions;
+    }
+
+    /**
+     * JMH CSV 결과 읽기 (-rf csv)
+     * 열: Benchmark, Mode, Threads, Samples, Score, Score Error (99.9%), Unit, Param: 이름...
+     * @return "벤치마크 (파라미터=값, ...)" -> 결과, 파일 순서 유지
+     */
+    static Map<String, Result> read(String path) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8);
+        Map<String, Result> results = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return results;
+        }
+        List<String> header = parseLine(lines.get(0));
+        for (int i = 1; i < lines.size(); i++) {
+            if (lines.get(i).isBlank()) {
+                continue;
+            }
+            List<String> fields = parseLine(lines.get(i));
+            StringBuilder key = new StringBuilder(fields.get(0));
+            StringBuilder params = new StringBuilder();
+            for (int column = 7; column < fields.size() && column < header.size(); column++) {
+                if (fields.get(column).isEmpty()) {
+                    continue;
+                }
+                if (params.length() > 0) {
+                    params.append(", ");
+                }
+                params.append(header.get(column).replace("Param: ", "")).append('=').append(fields.get(column));
+            }
+            if (params.length() > 0) {
+                key.append(" (").append(params).append(')');
+            }
+            // 보조 지표(sample 모드의 백분위수 등)도 이름이 다르므로 별도 항목으로 비교됨
+            results.put(key.toString(), new Result(fields.get(1), parseNumber(fields.get(4)),
+                    parseNumber(fields.get(5)), fields.get(6)));
+        }
+        return results;
+    }
+
+    /**
+     * CSV 한 줄 분리 (큰따옴표로 감싼 필드와 "" 이스케이프 처리)
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static double parseNumber(String value) {
+        if (value.isEmpty() || value.equals("NaN")) {
+            return 0.0;
+        }
+        return Double.parseDouble(value);
+    }
+
+    /**
+     * 벤치마크 항목 하나의 점수
+     */
+    static final class Result {
+        final String mode;
+        final double score;
+        final double error;
+        final String unit;
+
+        Result(String mode, double score, double error, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+        }
+
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+
+        String formatScore() {
+            return String.format(Locale.ROOT, "%.3f ± %.3f", score, error);
+        }
+    }
+}
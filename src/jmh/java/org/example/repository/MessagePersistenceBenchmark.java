@@ -0,0 +1,98 @@
+package org.example.repository;
+
+import org.example.socket.ChatMessage;
+import org.example.socket.ChatMessageType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 일괄 저장의 배치 크기별 처리량 비교 (H2 인메모리 DB)
+ * batchSize=1은 메시지마다 커밋하던 기존 방식에 해당합니다.
+ * 결과는 메시지 1건당 평균 시간입니다.
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=MessagePersistenceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MessagePersistenceBenchmark {
+    private static final int MESSAGES_PER_INVOCATION = 256;
+
+    @Param({"1", "16", "64", "256"})
+    private int batchSize;
+
+    private final MessageRepository repository = new MessageRepository();
+    private Connection connection;
+    private List<List<ChatMessage>> batches;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:persist_bench;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS Messages");
+            statement.execute("CREATE TABLE Messages (" +
+                    "message_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "message_content TEXT NOT NULL, " +
+                    "chatroom_id INT NOT NULL, " +
+                    "blockchain_message_id INT, " +
+                    "member_id INT NOT NULL, " +
+                    "created_at TIMESTAMP, " +
+                    "room_seq BIGINT NOT NULL DEFAULT 0)");
+        }
+
+        batches = new ArrayList<>();
+        List<ChatMessage> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < MESSAGES_PER_INVOCATION; i++) {
+            batch.add(new ChatMessage(ChatMessageType.CHAT, i % 8, i % 100, "벤치마크 메시지 " + i,
+                    new Timestamp(System.currentTimeMillis()), "사용자", "ONLINE"));
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE Messages");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_INVOCATION)
+    public int insertMessages() throws SQLException {
+        int lastId = 0;
+        for (List<ChatMessage> batch : batches) {
+            int[] ids = repository.insertMessages(connection, batch);
+            lastId = ids[ids.length - 1];
+        }
+        return lastId;
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.repository;
+
+import org.example.socket.ChatMessage;
+import org.example.socket.ChatMessageType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 조회/저장 경로의 호출 1회당 시간 (H2 인메모리 DB)
+ * MessageRepository가 호출마다 연결을 여는 방식 그대로 ConnectionProvider로 H2 연결을 넘겨 측정합니다.
+ * - loadLatest: 채팅방 입장 시 최근 메시지 50개 (서버)
+ * - loadAfter: 재접속 시 놓친 메시지 200개 (서버)
+ * - messagesByChatRoom / messageCount: 클라이언트 화면의 메시지 목록과 개수
+ * - saveAll: 저장 파이프라인의 배치 64건 저장 (연결 열기 + 일괄 INSERT + 커밋)
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=MessageQueryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MessageQueryBenchmark {
+    private static final String DB_URL = "jdbc:h2:mem:query_bench;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final int ROOMS = 8;
+    private static final int MEMBERS = 100;
+    private static final int SAVE_BATCH_SIZE = 64;
+    // 저장 벤치마크가 쓰는 채팅방 (조회 대상 채팅방의 크기가 바뀌지 않도록 분리)
+    private static final int SAVE_ROOM_ID = ROOMS + 1;
+
+    @Param({"1000", "10000"})
+    public int messagesPerRoom;
+
+    private MessageRepository repository;
+    // DB_CLOSE_DELAY와 별개로 측정 중 DB가 유지되도록 잡아 두는 연결
+    private Connection keepAlive;
+    private List<ChatMessage> saveBatch;
+    private int roomCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        keepAlive = DriverManager.getConnection(DB_URL);
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS Messages");
+            statement.execute("DROP TABLE IF EXISTS Members");
+            statement.execute("CREATE TABLE Members (" +
+                    "member_id INT PRIMARY KEY, " +
+                    "user_id VARCHAR(50) NOT NULL, " +
+                    "nickname VARCHAR(50) NOT NULL, " +
+                    "status VARCHAR(20) DEFAULT 'ONLINE')");
+            statement.execute("CREATE TABLE Messages (" +
+                    "message_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "message_content TEXT NOT NULL, " +
+                    "chatroom_id INT NOT NULL, " +
+                    "blockchain_message_id INT, " +
+                    "member_id INT NOT NULL, " +
+                    "created_at TIMESTAMP, " +
+                    "room_seq BIGINT NOT NULL DEFAULT 0)");
+            statement.execute("CREATE INDEX idx_messages_room_seq ON Messages (chatroom_id, room_seq)");
+        }
+
+        keepAlive.setAutoCommit(false);
+        try (PreparedStatement insert = keepAlive.prepareStatement(
+                "INSERT INTO Members (member_id, user_id, nickname) VALUES (?, ?, ?)")) {
+            for (int memberId = 1; memberId <= MEMBERS; memberId++) {
+                insert.setInt(1, memberId);
+                insert.setString(2, "user" + memberId);
+                insert.setString(3, "사용자" + memberId);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        repository = new MessageRepository(() -> DriverManager.getConnection(DB_URL));
+        long baseTime = System.currentTimeMillis() - messagesPerRoom * 1000L;
+        for (int room = 1; room <= ROOMS; room++) {
+            List<ChatMessage> batch = new ArrayList<>(1000);
+            for (int i = 0; i < messagesPerRoom; i++) {
+                ChatMessage message = new ChatMessage(ChatMessageType.CHAT, room, i % MEMBERS + 1,
+                        "벤치마크 메시지 " + i, new Timestamp(baseTime + i * 1000L));
+                message.setSequence(i + 1);
+                batch.add(message);
+                if (batch.size() == 1000) {
+                    repository.insertMessages(keepAlive, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                repository.insertMessages(keepAlive, batch);
+            }
+        }
+        keepAlive.commit();
+        keepAlive.setAutoCommit(true);
+
+        saveBatch = new ArrayList<>(SAVE_BATCH_SIZE);
+        for (int i = 0; i < SAVE_BATCH_SIZE; i++) {
+            saveBatch.add(new ChatMessage(ChatMessageType.CHAT, SAVE_ROOM_ID, i % MEMBERS + 1,
+                    "저장 벤치마크 메시지 " + i, new Timestamp(System.currentTimeMillis())));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("DROP TABLE Messages");
+            statement.execute("DROP TABLE Members");
+        }
+        keepAlive.close();
+    }
+
+    /**
+     * 채팅방을 돌아가며 조회 (같은 채팅방만 반복해 캐시 효과가 과장되지 않도록)
+     */
+    private int nextRoom() {
+        roomCursor = roomCursor % ROOMS + 1;
+        return roomCursor;
+    }
+
+    @Benchmark
+    public List<ChatMessage> loadLatest() throws SQLException {
+        return repository.loadLatest(nextRoom(), 50);
+    }
+
+    @Benchmark
+    public List<ChatMessage> loadAfter() throws SQLException {
+        return repository.loadAfter(nextRoom(), messagesPerRoom - 200, 200);
+    }
+
+    @Benchmark
+    public Object messagesByChatRoom() {
+        return repository.getMessagesByChatRoomId(nextRoom(), 50, 0);
+    }
+
+    @Benchmark
+    public int messageCount() {
+        return repository.getMessageCount(nextRoom());
+    }
+
+    @Benchmark
+    public int[] saveAll() throws SQLException {
+        return repository.saveAll(saveBatch);
+    }
+}
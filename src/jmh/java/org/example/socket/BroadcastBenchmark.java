@@ -0,0 +1,135 @@
+package org.example.socket;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅방 크기별 브로드캐스트 비용 측정
+ * 소켓 대신 전달받은 프레임을 소비만 하는 세션을 등록해 순수한 팬아웃 비용(인코딩 + 전달)만 측정합니다.
+ * - broadcast: ChatSocketServer.broadcastMessage (형식별 1회 인코딩 후 공유)
+ * - encodePerRecipient: 수신자마다 다시 인코딩하던 이전 방식의 비용 (비교 기준)
+ * sessionsPerMember로 한 사용자가 여러 컴퓨터에서 접속한 경우의 팬아웃 비용도 측정합니다.
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=BroadcastBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BroadcastBenchmark {
+    private static final int CHAT_ROOM_ID = 1;
+
+    @Param({"2", "10", "100", "500", "1000", "5000"})
+    public int roomSize;
+
+    @Param({"1", "3"})
+    public int sessionsPerMember;
+
+    @Param({"BINARY", "JAVA"})
+    public WireFormat format;
+
+    private ChatSocketServer server;
+    private ChatMessage message;
+    // 세션이 받은 바이트 수 합계 (JIT가 전달 과정을 제거하지 못하도록 누적)
+    private long deliveredBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new ChatSocketServer(new ChatServerConfig());
+
+        List<Integer> members = new ArrayList<>(roomSize);
+        for (int memberId = 1; memberId <= roomSize; memberId++) {
+            members.add(memberId);
+            for (int i = 0; i < sessionsPerMember; i++) {
+                server.registerSession(new ConsumingSession(memberId));
+            }
+        }
+        server.updateChatRoomMembers(CHAT_ROOM_ID, members);
+
+        message = new ChatMessage(ChatMessageType.CHAT, CHAT_ROOM_ID, 1, "브로드캐스트 벤치마크 메시지",
+                new Timestamp(System.currentTimeMillis()), "bench", "ONLINE");
+    }
+
+    @Benchmark
+    public long broadcast() {
+        server.broadcastMessage(message);
+        return deliveredBytes;
+    }
+
+    @Benchmark
+    public void encodePerRecipient(Blackhole blackhole) throws IOException {
+        WireCodec codec = format.codec();
+        for (int i = 0; i < roomSize * sessionsPerMember; i++) {
+            blackhole.consume(codec.encode(message));
+        }
+    }
+
+    /**
+     * NIO 연결처럼 공유 프레임 버퍼를 받아 소비만 하는 세션
+     */
+    private class ConsumingSession implements ClientSession {
+        private final int memberId;
+
+        ConsumingSession(int memberId) {
+            this.memberId = memberId;
+        }
+
+        @Override
+        public int getMemberId() {
+            return memberId;
+        }
+
+        @Override
+        public void sendMessage(ChatMessage message) {
+        }
+
+        @Override
+        public void sendCommand(ChatCommand command) {
+        }
+
+        @Override
+        public void sendFrame(EncodedFrame frame) {
+            try {
+                deliveredBytes += frame.buffer(format).remaining();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int getOutboundQueueDepth() {
+            return 0;
+        }
+
+        @Override
+        public long getDroppedFrameCount() {
+            return 0;
+        }
+
+        @Override
+        public long getSpilledFrameCount() {
+            return 0;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.socket;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 클러스터 처리량 벤치마크 (노드 1 / 2 / 4개)
+ * 채팅방마다 두 명이 서로 다른 노드에 연결되어 있고(노드 1개면 같은 노드), 한 명이 보낸 메시지를
+ * 두 명 모두 받을 때까지의 처리량을 측정합니다. 소유 노드가 아닌 노드에서 보낸 메시지는
+ * 소유 노드로 넘어갔다가(FORWARD) 구독 노드로 중계(DELIVER)되므로 노드 간 링크 비용이 포함됩니다.
+ * 모든 노드가 같은 JVM의 localhost에서 실행되므로 절대값보다 노드 수에 따른 변화를 비교하는 용도입니다.
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=ClusterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ClusterBenchmark {
+    private static final int ROOMS = 500;
+    private static final int RECEIVER_ID_BASE = 1_000_000;
+
+    @Param({"1", "2", "4"})
+    public int nodes;
+
+    private final List<ChatSocketServer> servers = new ArrayList<>();
+    private final List<Socket> sockets = new ArrayList<>();
+    private OutputStream[] senderOutputs;
+    private DataInputStream[] senderInputs;
+    private DataInputStream[] receiverInputs;
+    private byte[][] messageFrames;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        for (int nodeId = 1; nodeId <= nodes; nodeId++) {
+            ChatServerConfig config = new ChatServerConfig();
+            config.setPort(0);
+            config.setPersistMessages(false);
+            config.setClusterNodeId(nodeId);
+            config.setClusterPort(0);
+            config.setClusterSecret("cluster-benchmark");
+        config.setClusterSecret("cluster-test");
+            if (nodeId > 1) {
+                config.setClusterSeeds("localhost:" + servers.get(0).getCluster().getLocalPort());
+            }
+            ChatSocketServer server = new ChatSocketServer(config);
+            server.start();
+            servers.add(server);
+        }
+        for (ChatSocketServer server : servers) {
+            awaitUntil(() -> server.getCluster().getRing().size() == nodes);
+        }
+
+        senderOutputs = new OutputStream[ROOMS];
+        senderInputs = new DataInputStream[ROOMS];
+        receiverInputs = new DataInputStream[ROOMS];
+        messageFrames = new byte[ROOMS][];
+        for (int i = 0; i < ROOMS; i++) {
+            int chatRoomId = i + 1;
+            int senderNode = i % nodes;
+            int receiverNode = (i + 1) % nodes;
+
+            Socket sender = connect(servers.get(senderNode), chatRoomId);
+            Socket receiver = connect(servers.get(receiverNode), RECEIVER_ID_BASE + chatRoomId);
+            senderOutputs[i] = sender.getOutputStream();
+            senderInputs[i] = join(sender, chatRoomId, chatRoomId);
+            receiverInputs[i] = join(receiver, chatRoomId, RECEIVER_ID_BASE + chatRoomId);
+
+            messageFrames[i] = FrameCodec.encode(new ChatMessage(ChatMessageType.CHAT, chatRoomId, chatRoomId,
+                    "cluster benchmark message " + i, new Timestamp(System.currentTimeMillis()), "bench", "ONLINE"));
+        }
+
+        // 모든 채팅방의 소유 노드가 참여자 노드의 구독을 받을 때까지 대기
+        ConsistentHashRing ring = servers.get(0).getCluster().getRing();
+        for (int i = 0; i < ROOMS; i++) {
+            int chatRoomId = i + 1;
+            int owner = ring.ownerOf(chatRoomId);
+            int[] expected = Arrays.stream(new int[]{i % nodes + 1, (i + 1) % nodes + 1})
+                    .filter(nodeId -> nodeId != owner).distinct().sorted().toArray();
+            ClusterNode ownerNode = servers.get(owner - 1).getCluster();
+            awaitUntil(() -> {
+                int[] subscribers = ownerNode.subscribersOf(chatRoomId);
+                Arrays.sort(subscribers);
+                return Arrays.equals(subscribers, expected);
+            });
+        }
+    }
+
+    private Socket connect(ChatSocketServer server, int memberId) throws Exception {
+        Socket socket = new Socket("localhost", server.getLocalPort());
+        socket.setTcpNoDelay(true);
+        sockets.add(socket);
+        FrameCodec.writeFrame(socket.getOutputStream(), memberId);
+        return socket;
+    }
+
+    private static DataInputStream join(Socket socket, int chatRoomId, int memberId) throws Exception {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        if (!Boolean.TRUE.equals(FrameCodec.readFrame(in))) {
+            throw new IllegalStateException("인증 실패: " + memberId);
+        }
+        FrameCodec.writeFrame(socket.getOutputStream(), new ChatCommand(ChatCommandType.JOIN_CHAT, chatRoomId, memberId));
+        FrameCodec.readFrame(in);
+        return in;
+    }
+
+    private static void awaitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("클러스터 구성 시간 초과");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROOMS)
+    public void relay(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < ROOMS; i++) {
+            senderOutputs[i].write(messageFrames[i]);
+        }
+        for (int i = 0; i < ROOMS; i++) {
+            blackhole.consume(FrameCodec.readFrame(senderInputs[i]));
+            blackhole.consume(FrameCodec.readFrame(receiverInputs[i]));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (Socket socket : sockets) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // 무시
+            }
+        }
+        sockets.clear();
+        for (ChatSocketServer server : servers) {
+            server.stop();
+        }
+        servers.clear();
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.socket;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 블로킹 엔진의 플랫폼 스레드 모드와 가상 스레드 모드 부하 테스트
+ * 대부분 유휴 상태인 연결 50,000개를 붙인 뒤 스레드 수와 RSS를 출력하고,
+ * 그 상태에서 활성 연결의 메시지 왕복 지연을 측정합니다.
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=ConnectionScaleBenchmark
+ * Java 21 이상에서 실행해야 가상 스레드 모드가 동작하며, ulimit -n 을 120000 이상으로 올려야 합니다.
+ * 출발 주소 하나의 임시 포트(net.ipv4.ip_local_port_range, 기본 약 28,000개)로는 연결 50,000개를 만들 수 없으므로
+ * 유휴 연결을 127.0.0.2부터 주소마다 SOURCE_CONNECTIONS개씩 나눠 붙입니다 (127.0.0.0/8 전체가 루프백인 리눅스 기준).
+ * 가상 스레드 고정(pinning) 확인이 필요하면 -Djdk.tracePinnedThreads=full 로 실행합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ConnectionScaleBenchmark {
+    private static final int IDLE_MEMBER_ID_BASE = 1_000_000;
+    // 출발 주소 하나에 붙이는 유휴 연결 수 (기본 임시 포트 범위보다 작게)
+    private static final int SOURCE_CONNECTIONS = 20_000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"50000"})
+    public int idleConnections;
+
+    private ChatSocketServer server;
+    private final List<Socket> idleSockets = new ArrayList<>();
+    private Socket activeSocket;
+    private DataInputStream activeInput;
+    private OutputStream activeOutput;
+    private byte[] messageFrame;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ChatServerConfig config = new ChatServerConfig();
+        config.setPort(0);
+        config.setEngineType(ServerEngineType.BLOCKING);
+        config.setVirtualThreads(virtualThreads);
+        server = new ChatSocketServer(config);
+        server.start();
+        int port = server.getLocalPort();
+
+        for (int i = 0; i < idleConnections; i++) {
+            Socket socket = connectIdle(port, i);
+            handshake(socket, new DataInputStream(new BufferedInputStream(socket.getInputStream())), IDLE_MEMBER_ID_BASE + i);
+            idleSockets.add(socket);
+        }
+
+        activeSocket = new Socket("localhost", port);
+        activeSocket.setTcpNoDelay(true);
+        activeInput = new DataInputStream(new BufferedInputStream(activeSocket.getInputStream()));
+        activeOutput = activeSocket.getOutputStream();
+        handshake(activeSocket, activeInput, 1);
+        FrameCodec.writeFrame(activeOutput, new ChatCommand(ChatCommandType.JOIN_CHAT, 1, 1));
+        FrameCodec.readFrame(activeInput);
+        messageFrame = FrameCodec.encode(new ChatMessage(ChatMessageType.CHAT, 1, 1, "ping",
+                new Timestamp(System.currentTimeMillis()), "bench", "ONLINE"));
+
+        System.out.println("[virtualThreads=" + virtualThreads + "] 연결 " + idleConnections
+                + "개 - 스레드 수: " + ManagementFactory.getThreadMXBean().getThreadCount()
+                + ", RSS: " + residentSetSize());
+    }
+
+    /**
+     * i번째 유휴 연결을 127.0.0.(2 + i / SOURCE_CONNECTIONS)에서 서버로 연결
+     */
+    private static Socket connectIdle(int port, int i) throws IOException {
+        String source = "127.0.0." + (2 + i / SOURCE_CONNECTIONS);
+        Socket socket = new Socket();
+        try {
+            socket.bind(new InetSocketAddress(source, 0));
+            socket.connect(new InetSocketAddress("127.0.0.1", port));
+            return socket;
+        } catch (IOException e) {
+            closeQuietly(socket);
+            throw new IllegalStateException("유휴 연결 " + i + "번째를 " + source + "에서 만들 수 없습니다. "
+                    + "루프백 주소(127.0.0.0/8)와 net.ipv4.ip_local_port_range, ulimit -n 을 확인하세요", e);
+        }
+    }
+
+    private static void handshake(Socket socket, DataInputStream in, int memberId) throws Exception {
+        FrameCodec.writeFrame(socket.getOutputStream(), memberId);
+        Object response = FrameCodec.readFrame(in);
+        if (!Boolean.TRUE.equals(response)) {
+            throw new IllegalStateException("인증 실패: " + memberId);
+        }
+    }
+
+    /**
+     * 현재 프로세스의 RSS (리눅스 /proc 기준, 그 외 OS에서는 힙 사용량으로 대체)
+     */
+    private static String residentSetSize() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return line.substring("VmRSS:".length()).trim();
+                }
+            }
+        } catch (IOException e) {
+            // /proc 이 없는 OS
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return ((runtime.totalMemory() - runtime.freeMemory()) / 1024) + " kB (heap)";
+    }
+
+    @Benchmark
+    public void roundTripUnderIdleLoad(Blackhole blackhole) throws Exception {
+        activeOutput.write(messageFrame);
+        blackhole.consume(FrameCodec.readFrame(activeInput));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (Socket socket : idleSockets) {
+            closeQuietly(socket);
+        }
+        idleSockets.clear();
+        closeQuietly(activeSocket);
+        server.stop();
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // 무시
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.socket;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 채팅방 멤버십 레지스트리의 입장/퇴장, 순회, 연결 종료 정리 비용
+ * 측정 대상 채팅방 외에도 사용자마다 여러 채팅방에 참여한 상태를 만들어 역색인이 실제 서버와 비슷한 크기가 되도록 합니다.
+ * - joinLeave: 대상 채팅방에 새 사용자 입장 후 퇴장 (크기 유지)
+ * - joinLeaveContended: 4개 스레드가 같은 채팅방에 동시에 입장/퇴장
+ * - forEachMember: 브로드캐스트 순회
+ * - disconnectRejoin: 연결 종료 정리(removeMember) 후 같은 채팅방들에 다시 입장
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=MembershipBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MembershipBenchmark {
+    private static final int TARGET_ROOM_ID = 0;
+    private static final int BACKGROUND_ROOMS = 2_000;
+    private static final int ROOMS_PER_MEMBER = 20;
+    // 측정 중 입장/퇴장하는 사용자 ID (기존 멤버와 겹치지 않는 범위)
+    private static final int TRANSIENT_MEMBER_START = 10_000_000;
+
+    @Param({"2", "100", "5000"})
+    public int roomSize;
+
+    private final AtomicInteger transientMembers = new AtomicInteger(TRANSIENT_MEMBER_START);
+    private RoomMembershipRegistry registry;
+    private int transientMember;
+    private int reconnectingMember;
+    private int[] reconnectingRooms;
+    private long visitedSum;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new RoomMembershipRegistry();
+        for (int memberId = 1; memberId <= roomSize; memberId++) {
+            registry.join(TARGET_ROOM_ID, memberId);
+            for (int i = 1; i < ROOMS_PER_MEMBER; i++) {
+                registry.join(1 + (memberId * 31 + i * 97) % BACKGROUND_ROOMS, memberId);
+            }
+        }
+        transientMember = transientMembers.getAndIncrement();
+        reconnectingMember = 1;
+        reconnectingRooms = registry.roomsOf(reconnectingMember);
+    }
+
+    @Benchmark
+    public boolean joinLeave() {
+        registry.join(TARGET_ROOM_ID, transientMember);
+        return registry.leave(TARGET_ROOM_ID, transientMember);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean joinLeaveContended(ThreadMember member) {
+        registry.join(TARGET_ROOM_ID, member.memberId);
+        return registry.leave(TARGET_ROOM_ID, member.memberId);
+    }
+
+    @Benchmark
+    public long forEachMember() {
+        registry.forEachMember(TARGET_ROOM_ID, MembershipBenchmark::visit, this);
+        return visitedSum;
+    }
+
+    private static void visit(int memberId, MembershipBenchmark benchmark) {
+        benchmark.visitedSum += memberId;
+    }
+
+    @Benchmark
+    public int disconnectRejoin() {
+        int removed = registry.removeMember(reconnectingMember);
+        for (int roomId : reconnectingRooms) {
+            registry.join(roomId, reconnectingMember);
+        }
+        return removed;
+    }
+
+    /**
+     * 스레드마다 다른 사용자 ID로 입장/퇴장
+     */
+    @State(Scope.Thread)
+    public static class ThreadMember {
+        int memberId;
+
+        @Setup(Level.Trial)
+        public void setUp(MembershipBenchmark benchmark) {
+            memberId = benchmark.transientMembers.getAndIncrement();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.socket;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버 엔진 비교 벤치마크 (BLOCKING vs NIO)
+ * 유휴 연결 10,000개를 붙여 둔 상태에서 활성 연결 1,000개가 각자 자기 채팅방에 메시지를 보내고
+ * 브로드캐스트로 되돌아온 메시지를 받을 때까지의 처리량을 측정합니다.
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=ServerEngineBenchmark
+ * 연결 수가 많으므로 실행 전 ulimit -n 을 30000 이상으로 올려야 합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ServerEngineBenchmark {
+    private static final int IDLE_MEMBER_ID_BASE = 1_000_000;
+
+    @Param({"BLOCKING", "NIO"})
+    public ServerEngineType engine;
+
+    @Param({"10000"})
+    public int idleConnections;
+
+    @Param({"1000"})
+    public int activeConnections;
+
+    private ChatSocketServer server;
+    private final List<Socket> idleSockets = new ArrayList<>();
+    private Socket[] activeSockets;
+    private DataInputStream[] activeInputs;
+    private OutputStream[] activeOutputs;
+    private byte[][] messageFrames;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ChatServerConfig config = new ChatServerConfig();
+        config.setPort(0);
+        config.setEngineType(engine);
+        server = new ChatSocketServer(config);
+        server.start();
+        int port = server.getLocalPort();
+
+        for (int i = 0; i < idleConnections; i++) {
+            Socket socket = new Socket("localhost", port);
+            handshake(socket, new DataInputStream(new BufferedInputStream(socket.getInputStream())), IDLE_MEMBER_ID_BASE + i);
+            idleSockets.add(socket);
+        }
+
+        activeSockets = new Socket[activeConnections];
+        activeInputs = new DataInputStream[activeConnections];
+        activeOutputs = new OutputStream[activeConnections];
+        messageFrames = new byte[activeConnections][];
+        for (int i = 0; i < activeConnections; i++) {
+            int memberId = i + 1;
+            int chatRoomId = i + 1;
+            activeSockets[i] = new Socket("localhost", port);
+            activeSockets[i].setTcpNoDelay(true);
+            activeInputs[i] = new DataInputStream(new BufferedInputStream(activeSockets[i].getInputStream()));
+            activeOutputs[i] = activeSockets[i].getOutputStream();
+            handshake(activeSockets[i], activeInputs[i], memberId);
+
+            // 자기 혼자 있는 채팅방에 입장 - 보낸 메시지가 그대로 되돌아옴
+            FrameCodec.writeFrame(activeOutputs[i], new ChatCommand(ChatCommandType.JOIN_CHAT, chatRoomId, memberId));
+            FrameCodec.readFrame(activeInputs[i]);
+
+            messageFrames[i] = FrameCodec.encode(new ChatMessage(ChatMessageType.CHAT, chatRoomId, memberId,
+                    "benchmark message " + i, new Timestamp(System.currentTimeMillis()), "bench" + memberId, "ONLINE"));
+        }
+    }
+
+    private static void handshake(Socket socket, DataInputStream in, int memberId) throws Exception {
+        FrameCodec.writeFrame(socket.getOutputStream(), memberId);
+        Object response = FrameCodec.readFrame(in);
+        if (!Boolean.TRUE.equals(response)) {
+            throw new IllegalStateException("인증 실패: " + memberId);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public void roundTrip(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < activeConnections; i++) {
+            activeOutputs[i].write(messageFrames[i]);
+        }
+        for (int i = 0; i < activeConnections; i++) {
+            blackhole.consume(FrameCodec.readFrame(activeInputs[i]));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println("[" + engine + "] 서버 프로세스 스레드 수: "
+                + ManagementFactory.getThreadMXBean().getThreadCount());
+
+        for (Socket socket : idleSockets) {
+            closeQuietly(socket);
+        }
+        idleSockets.clear();
+        for (Socket socket : activeSockets) {
+            closeQuietly(socket);
+        }
+        server.stop();
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // 무시
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.socket;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Java 직렬화 코덱과 바이너리 코덱의 인코딩/디코딩 비용 비교
+ * 설정 단계에서 메시지/명령 프레임의 전송 바이트 수를 함께 출력합니다.
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=WireCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WireCodecBenchmark {
+
+    @Param({"JAVA", "BINARY"})
+    public WireFormat format;
+
+    private WireCodec codec;
+    private ChatMessage message;
+    private ChatCommand command;
+    private byte[] messageFrame;
+    private byte[] commandFrame;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        codec = format.codec();
+
+        message = new ChatMessage(ChatMessageType.CHAT, 42, 1001, "안녕하세요, 벤치마크 메시지입니다.",
+                new Timestamp(System.currentTimeMillis()), "냥냥이", "ONLINE");
+
+        List<Integer> members = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            members.add(1000 + i);
+        }
+        command = new ChatCommand(ChatCommandType.UPDATE_MEMBERS, 42, 1001);
+        command.setMembers(members);
+
+        messageFrame = codec.encode(message);
+        commandFrame = codec.encode(command);
+
+        System.out.println("[" + format + "] ChatMessage 프레임: " + messageFrame.length
+                + " bytes, ChatCommand(멤버 20명) 프레임: " + commandFrame.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] encodeMessage() throws Exception {
+        return codec.encode(message);
+    }
+
+    @Benchmark
+    public Object decodeMessage() throws Exception {
+        return codec.decode(messageFrame, FrameCodec.HEADER_SIZE, messageFrame.length - FrameCodec.HEADER_SIZE);
+    }
+
+    @Benchmark
+    public byte[] encodeCommand() throws Exception {
+        return codec.encode(command);
+    }
+
+    @Benchmark
+    public Object decodeCommand() throws Exception {
+        return codec.decode(commandFrame, FrameCodec.HEADER_SIZE, commandFrame.length - FrameCodec.HEADER_SIZE);
+    }
+}
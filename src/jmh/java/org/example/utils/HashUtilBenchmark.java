@@ -0,0 +1,57 @@
+package org.example.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 해시 계산 비용 (블록체인 기록 시 메시지마다 호출)
+ * - sha256: 본문 UTF-8 인코딩 + SHA-256 + 16진수 문자열 변환
+ * - bytesToHex: 32바이트 해시의 16진수 문자열 변환만
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=HashUtilBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class HashUtilBenchmark {
+
+    @Param({"32", "256", "4096"})
+    public int contentLength;
+
+    private String content;
+    private byte[] hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder builder = new StringBuilder(contentLength);
+        String sample = "안녕하세요 hello 채팅 메시지 ";
+        while (builder.length() < contentLength) {
+            builder.append(sample.charAt(builder.length() % sample.length()));
+        }
+        content = builder.toString();
+        hash = HashUtil.hexStringToBytes32(HashUtil.sha256(content));
+    }
+
+    @Benchmark
+    public String sha256() {
+        return HashUtil.sha256(content);
+    }
+
+    @Benchmark
+    public String bytesToHex() {
+        return HashUtil.bytesToHex(hash);
+    }
+}
@@ -1,5 +1,7 @@
 package org.example;
 
+import org.example.socket.ChatLoadGenerator;
+import org.example.socket.ChatServerConfig;
 import org.example.socket.ChatSocketServer;
 import org.example.utils.DatabaseInitializer;
 
@@ -7,13 +9,21 @@ public class App {
     public static void main(String[] args) {
         // 서버 시작 옵션 확인
         boolean startServer = false;
+        boolean loadTest = false;
         for (String arg : args) {
             if (arg.equals("--start-server")) {
                 startServer = true;
-                break;
+            } else if (arg.equals("--load-test")) {
+                loadTest = true;
             }
         }
 
+        // 부하 테스트 모드 (화면 없이 실행 후 종료)
+        if (loadTest) {
+            ChatLoadGenerator.main(args);
+            return;
+        }
+
         // 서버 모드로 시작
         if (startServer) {
             try {
@@ -26,8 +36,9 @@ public class App {
                     return;
                 }
 
-                // 채팅 소켓 서버 시작
+                // 채팅 소켓 서버 시작 (--server-engine=nio 등 실행 인자 반영)
                 ChatSocketServer server = ChatSocketServer.getInstance();
+                server.configure(ChatServerConfig.fromArguments(args));
                 server.start();
 
                 // 종료 시 서버 정리
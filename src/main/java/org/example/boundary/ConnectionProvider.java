@@ -0,0 +1,14 @@
+package org.example.boundary;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 데이터베이스 연결 공급자
+ * 기본값은 환경변수 설정을 쓰는 DatabaseConnector::getConnection이며,
+ * 부하 테스트처럼 다른 DB(H2 인메모리 등)를 써야 할 때 저장소에 직접 넘깁니다.
+ */
+@FunctionalInterface
+public interface ConnectionProvider {
+    Connection getConnection() throws SQLException;
+}
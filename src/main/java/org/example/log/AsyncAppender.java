@@ -0,0 +1,245 @@
+package org.example.log;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 링 버퍼를 비우며 로그를 출력하는 백그라운드 스레드
+ * 로그를 남기는 스레드는 링 버퍼에 이벤트를 넣기만 하고, 문자열 조립과 출력은 모두 이 스레드가 맡습니다.
+ * 쌓인 이벤트를 최대 MAX_BATCH개씩 모아 출력하므로 출력 스트림 호출(잠금, 시스템 콜)이 배치당 한 번으로 줄어듭니다.
+ */
+final class AsyncAppender implements Runnable {
+    private static final int MAX_BATCH = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final DateTimeFormatter SECOND_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final LogRingBuffer ring;
+    private final LogSink sink;
+    private final Thread thread;
+    private final StringBuilder line = new StringBuilder(256);
+    // 종료 후 들어온 로그를 바로 출력할 때 사용
+    private final ReentrantLock directLock = new ReentrantLock();
+    private volatile boolean running;
+    private volatile boolean waiting;
+    // 출력까지 마친 이벤트 위치 (flush 대기용)
+    private volatile long flushed;
+    private long cachedSecond = -1;
+    private String cachedSecondText;
+
+    AsyncAppender(LogRingBuffer ring, LogSink sink) {
+        this.ring = ring;
+        this.sink = sink;
+        this.thread = new Thread(this, "chat-log-appender");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * 이벤트 추가 (어느 스레드에서나 호출, 기다리지 않음)
+     */
+    void append(Level level, String logger, String message, String key1, Object value1, String key2, Object value2,
+                String key3, Object value3, Throwable throwable) {
+        if (!running) {
+            writeDirect(level, logger, message, key1, value1, key2, value2, key3, value3, throwable);
+            return;
+        }
+        if (ring.publish(level, logger, message, key1, value1, key2, value2, key3, value3, throwable) && waiting) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                if (drain() == 0) {
+                    waiting = true;
+                    if (running && ring.peek() == null) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    waiting = false;
+                }
+            }
+        } finally {
+            // 종료 전에 남은 이벤트 모두 출력
+            while (drain() > 0) {
+                // 계속 비움
+            }
+            try {
+                sink.close();
+            } catch (IOException e) {
+                System.err.println("로그 출력 종료 오류: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 쌓인 이벤트를 한 배치 출력
+     * @return 출력한 이벤트 수
+     */
+    private int drain() {
+        int count = 0;
+        long position = ring.consumed();
+        try {
+            LogEvent event;
+            while (count < MAX_BATCH && (event = ring.peek()) != null) {
+                line.setLength(0);
+                format(line, event.level, event.timeMillis, event.threadName, event.logger, event.message,
+                        event.key1, event.value1, event.key2, event.value2, event.key3, event.value3, event.throwable);
+                Level level = event.level;
+                ring.release(event);
+                sink.append(level, line);
+                count++;
+            }
+            long dropped = ring.takeDropped();
+            if (dropped > 0) {
+                line.setLength(0);
+                format(line, Level.WARN, System.currentTimeMillis(), thread.getName(), "AsyncAppender",
+                        "로그 버퍼가 가득 차 이벤트를 버렸습니다", "dropped", dropped, "capacity", ring.capacity(),
+                        null, null, null);
+                sink.append(Level.WARN, line);
+            }
+            if (count > 0 || dropped > 0) {
+                sink.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("로그 출력 오류: " + e.getMessage());
+        }
+        flushed = position + count;
+        return count;
+    }
+
+    /**
+     * 지금까지 남긴 로그가 출력될 때까지 대기
+     */
+    void flush(long timeoutMillis) {
+        long target = ring.published();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (running && flushed < target && System.nanoTime() < deadline) {
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * 남은 로그를 출력하고 스레드 종료 (이후 로그는 호출 스레드에서 바로 출력)
+     */
+    void stop(long timeoutMillis) {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeDirect(Level level, String logger, String message, String key1, Object value1, String key2,
+                             Object value2, String key3, Object value3, Throwable throwable) {
+        directLock.lock();
+        try {
+            StringBuilder text = new StringBuilder(128);
+            format(text, level, System.currentTimeMillis(), Thread.currentThread().getName(), logger, message,
+                    key1, value1, key2, value2, key3, value3, throwable);
+            (level.compareTo(Level.WARN) >= 0 ? System.err : System.out).print(text);
+        } finally {
+            directLock.unlock();
+        }
+    }
+
+    /**
+     * 한 줄 형식: 2026-01-01 12:00:00.123 INFO  [스레드] 로거 - 메시지 key=value key="공백 포함 값"
+     */
+    private void format(StringBuilder out, Level level, long timeMillis, String threadName, String logger,
+                        String message, String key1, Object value1, String key2, Object value2, String key3,
+                        Object value3, Throwable throwable) {
+        long second = Math.floorDiv(timeMillis, 1000);
+        if (Thread.currentThread() != thread) {
+            out.append(SECOND_FORMAT.format(Instant.ofEpochSecond(second)));
+        } else {
+            // 초 단위 문자열은 초가 바뀔 때만 다시 만듦 (출력 스레드 전용 캐시)
+            if (second != cachedSecond) {
+                cachedSecond = second;
+                cachedSecondText = SECOND_FORMAT.format(Instant.ofEpochSecond(second));
+            }
+            out.append(cachedSecondText);
+        }
+        int millis = Math.floorMod(timeMillis, 1000);
+        out.append('.');
+        if (millis < 100) {
+            out.append('0');
+        }
+        if (millis < 10) {
+            out.append('0');
+        }
+        out.append(millis).append(' ').append(level.name());
+        for (int i = level.name().length(); i < 5; i++) {
+            out.append(' ');
+        }
+        out.append(" [").append(threadName).append("] ").append(logger).append(" - ").append(message);
+        appendField(out, key1, value1);
+        appendField(out, key2, value2);
+        appendField(out, key3, value3);
+        if (throwable != null) {
+            appendField(out, "error", throwable);
+        }
+        out.append(System.lineSeparator());
+        if (throwable != null) {
+            StringWriter trace = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(trace));
+            out.append(trace);
+        }
+    }
+
+    private static void appendField(StringBuilder out, String key, Object value) {
+        if (key == null) {
+            return;
+        }
+        out.append(' ').append(key).append('=');
+        String text = String.valueOf(value);
+        if (!needsQuotes(text)) {
+            out.append(text);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else if (c != '\r') {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    private static boolean needsQuotes(String text) {
+        if (text.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ' ' || c == '"' || c == '=' || c == '\\' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.log;
+
+/**
+ * 표준 출력 (WARN 이상은 표준 오류)
+ * 배치 하나를 모아 두었다가 스트림별로 print를 한 번만 호출하므로, System.out 잠금을 줄마다 잡지 않습니다.
+ */
+final class ConsoleSink implements LogSink {
+    private final StringBuilder out = new StringBuilder(8192);
+    private final StringBuilder err = new StringBuilder(1024);
+
+    @Override
+    public void append(Level level, CharSequence line) {
+        (level.compareTo(Level.WARN) >= 0 ? err : out).append(line);
+    }
+
+    @Override
+    public void flush() {
+        if (out.length() > 0) {
+            System.out.print(out);
+            System.out.flush();
+            out.setLength(0);
+        }
+        if (err.length() > 0) {
+            System.err.print(err);
+            System.err.flush();
+            err.setLength(0);
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.log;
+
+/**
+ * 로그 수준 (뒤로 갈수록 심각)
+ */
+public enum Level {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR
+}
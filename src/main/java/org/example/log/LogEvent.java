@@ -0,0 +1,53 @@
+package org.example.log;
+
+/**
+ * 링 버퍼 칸 하나에 담기는 로그 이벤트
+ * 칸마다 미리 하나씩 만들어 두고 재사용하므로, 로그를 남길 때 이벤트 객체를 새로 만들지 않습니다.
+ * 키/값은 최대 세 쌍까지 필드로 보관합니다 (가변 인자 배열 할당을 피하기 위함).
+ */
+final class LogEvent {
+    Level level;
+    String logger;
+    String threadName;
+    long timeMillis;
+    String message;
+    String key1;
+    Object value1;
+    String key2;
+    Object value2;
+    String key3;
+    Object value3;
+    Throwable throwable;
+
+    void set(Level level, String logger, String message, String key1, Object value1, String key2, Object value2,
+             String key3, Object value3, Throwable throwable) {
+        this.level = level;
+        this.logger = logger;
+        this.threadName = Thread.currentThread().getName();
+        this.timeMillis = System.currentTimeMillis();
+        this.message = message;
+        this.key1 = key1;
+        this.value1 = value1;
+        this.key2 = key2;
+        this.value2 = value2;
+        this.key3 = key3;
+        this.value3 = value3;
+        this.throwable = throwable;
+    }
+
+    /**
+     * 기록을 마친 뒤 참조 해제 (값 객체가 링 버퍼에 붙잡혀 있지 않도록)
+     */
+    void clear() {
+        logger = null;
+        threadName = null;
+        message = null;
+        key1 = null;
+        value1 = null;
+        key2 = null;
+        value2 = null;
+        key3 = null;
+        value3 = null;
+        throwable = null;
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.log;
+
+import org.example.config.EnvLoader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * 로깅 설정과 비동기 출력 스레드 관리
+ * 처음 사용할 때 환경변수(.env)에서 설정을 읽어 AsyncAppender를 시작하고, JVM 종료 시 남은 로그를 모두 출력합니다.
+ * - LOG_LEVEL: 출력할 최소 수준 (기본값 INFO)
+ * - LOG_FILE: 로그 파일 경로 (비어 있으면 표준 출력)
+ * - LOG_FILE_MAX_MB, LOG_FILE_COUNT: 파일 하나의 최대 크기와 남겨 둘 파일 수 (기본값 10MB, 5개)
+ * - LOG_BUFFER_SIZE: 링 버퍼 칸 수 (기본값 8192)
+ */
+public final class LogManager {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int DEFAULT_FILE_MAX_MB = 10;
+    private static final int DEFAULT_FILE_COUNT = 5;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 2000;
+
+    // 출력할 최소 수준의 ordinal (로그 호출마다 읽으므로 int 하나로 보관)
+    private static volatile int threshold = Level.INFO.ordinal();
+    private static final AsyncAppender appender = createAppender();
+
+    private LogManager() {
+    }
+
+    private static AsyncAppender createAppender() {
+        threshold = levelValue(EnvLoader.get("LOG_LEVEL"), Level.INFO).ordinal();
+        LogRingBuffer ring = new LogRingBuffer(intValue(EnvLoader.get("LOG_BUFFER_SIZE"), DEFAULT_BUFFER_SIZE));
+        AsyncAppender created = new AsyncAppender(ring, createSink());
+        created.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(LogManager::shutdown, "chat-log-shutdown"));
+        return created;
+    }
+
+    private static LogSink createSink() {
+        String file = EnvLoader.get("LOG_FILE");
+        if (file == null || file.isBlank()) {
+            return new ConsoleSink();
+        }
+        long maxBytes = intValue(EnvLoader.get("LOG_FILE_MAX_MB"), DEFAULT_FILE_MAX_MB) * 1024L * 1024L;
+        int maxFiles = intValue(EnvLoader.get("LOG_FILE_COUNT"), DEFAULT_FILE_COUNT);
+        try {
+            return new RollingFileSink(Path.of(file.trim()), maxBytes, maxFiles);
+        } catch (IOException e) {
+            System.err.println("로그 파일을 열 수 없어 표준 출력을 사용합니다: " + e.getMessage());
+            return new ConsoleSink();
+        }
+    }
+
+    /**
+     * 클래스 이름(패키지 제외)을 로거 이름으로 사용
+     */
+    public static Logger getLogger(Class<?> type) {
+        return new Logger(type.getSimpleName());
+    }
+
+    public static Logger getLogger(String name) {
+        return new Logger(name);
+    }
+
+    public static Level getLevel() {
+        return Level.values()[threshold];
+    }
+
+    /**
+     * 출력할 최소 수준 변경 (실행 중에도 바로 반영)
+     */
+    public static void setLevel(Level level) {
+        threshold = level.ordinal();
+    }
+
+    /**
+     * 지금까지 남긴 로그가 출력될 때까지 대기 (최대 1초)
+     */
+    public static void flush() {
+        appender.flush(1000);
+    }
+
+    /**
+     * 남은 로그를 출력하고 출력 스레드 종료 - 이후 로그는 호출한 스레드에서 바로 출력됨
+     */
+    public static void shutdown() {
+        appender.stop(SHUTDOWN_TIMEOUT_MILLIS);
+    }
+
+    static boolean isEnabled(Level level) {
+        return level.ordinal() >= threshold;
+    }
+
+    static void log(Level level, String logger, String message, String key1, Object value1, String key2,
+                    Object value2, String key3, Object value3, Throwable throwable) {
+        appender.append(level, logger, message, key1, value1, key2, value2, key3, value3, throwable);
+    }
+
+    private static Level levelValue(String value, Level defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("잘못된 로그 수준: " + value + " (기본값 " + defaultValue + " 사용)");
+            return defaultValue;
+        }
+    }
+
+    private static int intValue(String value, int defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 여러 스레드가 넣고 한 스레드(AsyncAppender)가 꺼내는 크기 고정 링 버퍼
+ * 칸마다 시퀀스 번호를 두어, 넣는 쪽은 CAS 한 번으로 칸을 차지하고 꺼내는 쪽은 잠금 없이 읽습니다.
+ * 버퍼가 가득 차면 기다리지 않고 이벤트를 버린 뒤 버린 수만 셉니다 (로그 때문에 소켓 스레드가 멈추지 않도록).
+ */
+final class LogRingBuffer {
+    private final LogEvent[] events;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    // 꺼낸 위치 (꺼내는 스레드만 변경, flush 대기용으로 다른 스레드가 읽음)
+    private volatile long head;
+
+    /**
+     * @param capacity 칸 수 (2의 거듭제곱으로 올림)
+     */
+    LogRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        events = new LogEvent[size];
+        sequences = new AtomicLongArray(size);
+        mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            events[i] = new LogEvent();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 이벤트 추가
+     * @return 버퍼가 가득 차 버렸으면 false
+     */
+    boolean publish(Level level, String logger, String message, String key1, Object value1, String key2,
+                    Object value2, String key3, Object value3, Throwable throwable) {
+        long position;
+        while (true) {
+            position = tail.get();
+            long diff = sequences.get((int) position & mask) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (diff < 0) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        }
+        int index = (int) position & mask;
+        events[index].set(level, logger, message, key1, value1, key2, value2, key3, value3, throwable);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * 다음 이벤트 꺼내기 (꺼내는 스레드 전용)
+     * 반환된 이벤트는 release()를 호출하기 전까지만 유효합니다.
+     * @return 게시된 이벤트가 없으면 null
+     */
+    LogEvent peek() {
+        long position = head;
+        int index = (int) position & mask;
+        return sequences.get(index) == position + 1 ? events[index] : null;
+    }
+
+    /**
+     * peek()으로 꺼낸 칸을 넣는 쪽에 돌려줌
+     */
+    void release(LogEvent event) {
+        long position = head;
+        int index = (int) position & mask;
+        event.clear();
+        sequences.set(index, position + events.length);
+        head = position + 1;
+    }
+
+    /**
+     * 지금까지 칸을 차지한 이벤트 수
+     */
+    long published() {
+        return tail.get();
+    }
+
+    long consumed() {
+        return head;
+    }
+
+    /**
+     * 버린 이벤트 수를 읽고 0으로 되돌림
+     */
+    long takeDropped() {
+        return dropped.getAndSet(0);
+    }
+
+    int capacity() {
+        return events.length;
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.log;
+
+import java.io.IOException;
+
+/**
+ * 형식을 갖춘 로그 줄을 내보내는 곳 (AsyncAppender 스레드에서만 호출)
+ */
+interface LogSink {
+    /**
+     * 줄 하나 추가 (줄바꿈 포함), 실제 출력은 flush()에서 한 번에 할 수 있음
+     */
+    void append(Level level, CharSequence line) throws IOException;
+
+    /**
+     * 모아 둔 줄 출력
+     */
+    void flush() throws IOException;
+
+    void close() throws IOException;
+}
@@ -0,0 +1,187 @@
+package org.example.log;
+
+/**
+ * 로거 (로그 API 진입점)
+ * 메시지는 고정 문자열로 두고, 바뀌는 값은 키/값 쌍(최대 세 쌍)으로 넘깁니다.
+ * 예: LOG.info("사용자 연결됨", "memberId", memberId)
+ * 꺼진 수준의 호출은 수준 비교 한 번으로 끝나며, 켜진 호출도 링 버퍼 칸에 참조를 복사할 뿐 문자열을 만들지 않습니다.
+ * 값 계산 자체에 비용이 드는 경우에는 isDebugEnabled()로 감싸서 호출합니다.
+ */
+public final class Logger {
+    private final String name;
+
+    Logger(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isDebugEnabled() {
+        return LogManager.isEnabled(Level.DEBUG);
+    }
+
+    public boolean isEnabled(Level level) {
+        return LogManager.isEnabled(level);
+    }
+
+    public void debug(String message) {
+        if (LogManager.isEnabled(Level.DEBUG)) {
+            LogManager.log(Level.DEBUG, name, message, null, null, null, null, null, null, null);
+        }
+    }
+
+    public void debug(String message, String key, Object value) {
+        if (LogManager.isEnabled(Level.DEBUG)) {
+            LogManager.log(Level.DEBUG, name, message, key, value, null, null, null, null, null);
+        }
+    }
+
+    public void debug(String message, String key1, Object value1, String key2, Object value2) {
+        if (LogManager.isEnabled(Level.DEBUG)) {
+            LogManager.log(Level.DEBUG, name, message, key1, value1, key2, value2, null, null, null);
+        }
+    }
+
+    public void debug(String message, String key1, Object value1, String key2, Object value2, String key3,
+                      Object value3) {
+        if (LogManager.isEnabled(Level.DEBUG)) {
+            LogManager.log(Level.DEBUG, name, message, key1, value1, key2, value2, key3, value3, null);
+        }
+    }
+
+    /**
+     * 예외와 함께 기록 (error=예외 필드와 스택 트레이스가 붙음)
+     */
+    public void debug(String message, Throwable throwable) {
+        if (LogManager.isEnabled(Level.DEBUG)) {
+            LogManager.log(Level.DEBUG, name, message, null, null, null, null, null, null, throwable);
+        }
+    }
+
+    public void debug(String message, String key, Object value, Throwable throwable) {
+        if (LogManager.isEnabled(Level.DEBUG)) {
+            LogManager.log(Level.DEBUG, name, message, key, value, null, null, null, null, throwable);
+        }
+    }
+
+    public void info(String message) {
+        if (LogManager.isEnabled(Level.INFO)) {
+            LogManager.log(Level.INFO, name, message, null, null, null, null, null, null, null);
+        }
+    }
+
+    public void info(String message, String key, Object value) {
+        if (LogManager.isEnabled(Level.INFO)) {
+            LogManager.log(Level.INFO, name, message, key, value, null, null, null, null, null);
+        }
+    }
+
+    public void info(String message, String key1, Object value1, String key2, Object value2) {
+        if (LogManager.isEnabled(Level.INFO)) {
+            LogManager.log(Level.INFO, name, message, key1, value1, key2, value2, null, null, null);
+        }
+    }
+
+    public void info(String message, String key1, Object value1, String key2, Object value2, String key3,
+                     Object value3) {
+        if (LogManager.isEnabled(Level.INFO)) {
+            LogManager.log(Level.INFO, name, message, key1, value1, key2, value2, key3, value3, null);
+        }
+    }
+
+    public void warn(String message) {
+        if (LogManager.isEnabled(Level.WARN)) {
+            LogManager.log(Level.WARN, name, message, null, null, null, null, null, null, null);
+        }
+    }
+
+    public void warn(String message, String key, Object value) {
+        if (LogManager.isEnabled(Level.WARN)) {
+            LogManager.log(Level.WARN, name, message, key, value, null, null, null, null, null);
+        }
+    }
+
+    public void warn(String message, String key1, Object value1, String key2, Object value2) {
+        if (LogManager.isEnabled(Level.WARN)) {
+            LogManager.log(Level.WARN, name, message, key1, value1, key2, value2, null, null, null);
+        }
+    }
+
+    public void warn(String message, String key1, Object value1, String key2, Object value2, String key3,
+                     Object value3) {
+        if (LogManager.isEnabled(Level.WARN)) {
+            LogManager.log(Level.WARN, name, message, key1, value1, key2, value2, key3, value3, null);
+        }
+    }
+
+
+    /**
+     * 예외와 함께 기록 (error=예외 필드와 스택 트레이스가 붙음)
+     */
+    public void warn(String message, Throwable throwable) {
+        if (LogManager.isEnabled(Level.WARN)) {
+            LogManager.log(Level.WARN, name, message, null, null, null, null, null, null, throwable);
+        }
+    }
+
+    public void warn(String message, String key, Object value, Throwable throwable) {
+        if (LogManager.isEnabled(Level.WARN)) {
+            LogManager.log(Level.WARN, name, message, key, value, null, null, null, null, throwable);
+        }
+    }
+
+    public void warn(String message, String key1, Object value1, String key2, Object value2, Throwable throwable) {
+        if (LogManager.isEnabled(Level.WARN)) {
+            LogManager.log(Level.WARN, name, message, key1, value1, key2, value2, null, null, throwable);
+        }
+    }
+
+    public void error(String message) {
+        if (LogManager.isEnabled(Level.ERROR)) {
+            LogManager.log(Level.ERROR, name, message, null, null, null, null, null, null, null);
+        }
+    }
+
+    public void error(String message, String key, Object value) {
+        if (LogManager.isEnabled(Level.ERROR)) {
+            LogManager.log(Level.ERROR, name, message, key, value, null, null, null, null, null);
+        }
+    }
+
+    public void error(String message, String key1, Object value1, String key2, Object value2) {
+        if (LogManager.isEnabled(Level.ERROR)) {
+            LogManager.log(Level.ERROR, name, message, key1, value1, key2, value2, null, null, null);
+        }
+    }
+
+    public void error(String message, String key1, Object value1, String key2, Object value2, String key3,
+                      Object value3) {
+        if (LogManager.isEnabled(Level.ERROR)) {
+            LogManager.log(Level.ERROR, name, message, key1, value1, key2, value2, key3, value3, null);
+        }
+    }
+
+
+    /**
+     * 예외와 함께 기록 (error=예외 필드와 스택 트레이스가 붙음)
+     */
+    public void error(String message, Throwable throwable) {
+        if (LogManager.isEnabled(Level.ERROR)) {
+            LogManager.log(Level.ERROR, name, message, null, null, null, null, null, null, throwable);
+        }
+    }
+
+    public void error(String message, String key, Object value, Throwable throwable) {
+        if (LogManager.isEnabled(Level.ERROR)) {
+            LogManager.log(Level.ERROR, name, message, key, value, null, null, null, null, throwable);
+        }
+    }
+
+    public void error(String message, String key1, Object value1, String key2, Object value2, Throwable throwable) {
+        if (LogManager.isEnabled(Level.ERROR)) {
+            LogManager.log(Level.ERROR, name, message, key1, value1, key2, value2, null, null, throwable);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 증가만 하는 카운터
+ * LongAdder 기반이라 여러 스레드가 동시에 올려도 경합이 적고, 기록할 때 객체를 만들지 않습니다.
+ */
+public final class Counter {
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
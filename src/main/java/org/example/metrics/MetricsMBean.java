@@ -0,0 +1,116 @@
+package org.example.metrics;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * 지표 저장소를 JMX 속성으로 노출하는 MBean
+ * 지표마다 읽기 전용 속성 하나가 생기며 (히스토그램은 _count, _p50, _p99, _max), JConsole 등에서 조회합니다.
+ */
+public final class MetricsMBean implements DynamicMBean {
+    private static final Logger LOG = LogManager.getLogger(MetricsMBean.class);
+
+    private final MetricsRegistry registry;
+
+    private MetricsMBean(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 플랫폼 MBean 서버에 등록
+     * @param objectName 예: org.example.socket:type=ChatServer,port=9000
+     * @return 등록에 실패하면 null
+     */
+    public static ObjectName register(MetricsRegistry registry, String objectName) {
+        try {
+            ObjectName name = new ObjectName(objectName);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(new MetricsMBean(registry), name);
+            return name;
+        } catch (JMException e) {
+            LOG.warn("JMX 지표 등록 실패", "name", objectName, e);
+            return null;
+        }
+    }
+
+    public static void unregister(ObjectName name) {
+        if (name == null) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            LOG.warn("JMX 지표 해제 실패", "name", name, e);
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        for (MetricsRegistry.Sample sample : registry.samples()) {
+            if (sample.key.equals(attribute)) {
+                return sample.value;
+            }
+        }
+        throw new AttributeNotFoundException(attribute);
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        List<MetricsRegistry.Sample> samples = registry.samples();
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            for (MetricsRegistry.Sample sample : samples) {
+                if (sample.key.equals(attribute)) {
+                    list.add(new Attribute(attribute, sample.value));
+                    break;
+                }
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("읽기 전용 속성입니다: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException("지원하지 않는 작업: " + actionName);
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MetricsRegistry.Sample> samples = registry.samples();
+        MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[samples.size()];
+        for (int i = 0; i < attributes.length; i++) {
+            MetricsRegistry.Sample sample = samples.get(i);
+            attributes[i] = new MBeanAttributeInfo(sample.key, sample.value.getClass().getName(),
+                    sample.description, true, false, false);
+        }
+        return new MBeanInfo(MetricsMBean.class.getName(), "채팅 서버 지표", attributes, null, null, null);
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * 지표 저장소
+ * 카운터, 게이지, 히스토그램을 이름(과 라벨 하나)으로 등록해 두고, Prometheus 텍스트 형식이나 JMX로 내보냅니다.
+ * 등록은 시작할 때 한 번만 하고, 실행 중에는 등록 때 받은 객체에 값만 기록하므로 기록 경로에 조회나 할당이 없습니다.
+ * 같은 이름에 라벨 값만 다른 지표는 Prometheus 형식 규칙에 맞도록 연달아 등록해야 합니다.
+ */
+public final class MetricsRegistry {
+    // 히스토그램을 내보낼 때 함께 계산하는 백분위수
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final List<Metric> metrics = new CopyOnWriteArrayList<>();
+
+    /**
+     * 카운터 등록
+     * @param name Prometheus 지표 이름 (단위와 _total 접미사 포함)
+     */
+    public Counter counter(String name, String help) {
+        return counter(name, help, null, null);
+    }
+
+    /**
+     * 라벨이 하나 붙은 카운터 등록 (같은 이름으로 라벨 값마다 등록)
+     */
+    public Counter counter(String name, String help, String labelName, String labelValue) {
+        Counter counter = new Counter();
+        metrics.add(new Metric(name, help, Type.COUNTER, labelName, labelValue, counter::get, null, 1));
+        return counter;
+    }
+
+    /**
+     * 다른 곳에서 세고 있는 누적 값을 카운터로 노출
+     */
+    public void counterFunction(String name, String help, String labelName, String labelValue, LongSupplier value) {
+        metrics.add(new Metric(name, help, Type.COUNTER, labelName, labelValue, value, null, 1));
+    }
+
+    /**
+     * 게이지 등록 (내보낼 때마다 값을 읽음)
+     */
+    public void gauge(String name, String help, LongSupplier value) {
+        metrics.add(new Metric(name, help, Type.GAUGE, null, null, value, null, 1));
+    }
+
+    /**
+     * 히스토그램 등록
+     * @param scale 내보낼 때 기록 값을 나눌 값 (나노초로 기록하고 초로 내보내면 1e9)
+     */
+    public Histogram histogram(String name, String help, double scale) {
+        Histogram histogram = new Histogram();
+        metrics.add(new Metric(name, help, Type.SUMMARY, null, null, null, histogram, scale));
+        return histogram;
+    }
+
+    /**
+     * Prometheus 텍스트 형식(0.0.4)으로 모든 지표 출력
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        String previousName = null;
+        for (Metric metric : metrics) {
+            if (!metric.name.equals(previousName)) {
+                out.append("# HELP ").append(metric.name).append(' ').append(metric.help).append('\n');
+                out.append("# TYPE ").append(metric.name).append(' ').append(metric.type.text).append('\n');
+                previousName = metric.name;
+            }
+            if (metric.histogram == null) {
+                out.append(metric.name).append(metric.labels).append(' ').append(metric.value.getAsLong()).append('\n');
+                continue;
+            }
+
+            Histogram histogram = metric.histogram;
+            for (double quantile : QUANTILES) {
+                out.append(metric.name).append("{quantile=\"").append(quantile).append("\"} ")
+                        .append(format(histogram.getPercentile(quantile) / metric.scale)).append('\n');
+            }
+            out.append(metric.name).append("_sum ").append(format(histogram.getSum() / metric.scale)).append('\n');
+            out.append(metric.name).append("_count ").append(histogram.getCount()).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * 지표별 현재 값 (JMX 속성용)
+     * 히스토그램은 _count, _p50, _p99, _max 값으로 나누어 담습니다.
+     */
+    List<Sample> samples() {
+        List<Sample> samples = new ArrayList<>();
+        for (Metric metric : metrics) {
+            String key = metric.attributeName;
+            if (metric.histogram == null) {
+                samples.add(new Sample(key, metric.help, metric.value.getAsLong()));
+                continue;
+            }
+            Histogram histogram = metric.histogram;
+            samples.add(new Sample(key + "_count", metric.help, histogram.getCount()));
+            samples.add(new Sample(key + "_p50", metric.help, histogram.getPercentile(0.5) / metric.scale));
+            samples.add(new Sample(key + "_p99", metric.help, histogram.getPercentile(0.99) / metric.scale));
+            samples.add(new Sample(key + "_max", metric.help, histogram.getMax() / metric.scale));
+        }
+        return samples;
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%.9g", value);
+    }
+
+    private enum Type {
+        COUNTER("counter"),
+        GAUGE("gauge"),
+        SUMMARY("summary");
+
+        private final String text;
+
+        Type(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * 등록된 지표 하나 (값 공급자 또는 히스토그램)
+     */
+    private static final class Metric {
+        private final String name;
+        private final String help;
+        private final Type type;
+        private final String labels;          // Prometheus 라벨 ({type="ping"}), 없으면 빈 문자열
+        private final String attributeName;   // JMX 속성 이름 (이름_라벨값)
+        private final LongSupplier value;
+        private final Histogram histogram;
+        private final double scale;
+
+        Metric(String name, String help, Type type, String labelName, String labelValue, LongSupplier value,
+               Histogram histogram, double scale) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.labels = labelName != null ? "{" + labelName + "=\"" + labelValue + "\"}" : "";
+            this.attributeName = labelName != null ? name + "_" + labelValue : name;
+            this.value = value;
+            this.histogram = histogram;
+            this.scale = scale;
+        }
+    }
+
+    /**
+     * JMX로 내보낼 값 하나
+     */
+    static final class Sample {
+        final String key;
+        final String description;
+        final Number value;
+
+        Sample(String key, String description, Number value) {
+            this.key = key;
+            this.description = description;
+            this.value = value;
+        }
+    }
+}
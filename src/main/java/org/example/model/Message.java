@@ -13,6 +13,7 @@ public class Message {
     private final ObjectProperty<Timestamp> createdAt;
     private Member sender; // 메시지 발신자 정보
     private boolean verified;
+    private long roomSeq; // 채팅방별 메시지 시퀀스 (서버가 저장하지 않은 메시지는 0)
 
     // 기본 생성자
     public Message() {
@@ -118,6 +119,14 @@ public class Message {
         this.verified = verified;
     }
 
+    public long getRoomSeq() {
+        return roomSeq;
+    }
+
+    public void setRoomSeq(long roomSeq) {
+        this.roomSeq = roomSeq;
+    }
+
     @Override
     public String toString() {
         return "Message{" +
@@ -4,13 +4,49 @@ package org.example.repository;
 import org.example.boundary.DatabaseConnector;
 import org.example.model.ChatRoom;
 import org.example.model.Member;
+import org.example.socket.MembershipStore;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-public class ChatRoomRepository {
+public class ChatRoomRepository implements MembershipStore {
+
+    /**
+     * 채팅방 참여자 변경 알림 (참여자 추가/제거가 DB에 반영된 뒤 호출)
+     */
+    @FunctionalInterface
+    public interface MembershipListener {
+        void membershipChanged(int chatRoomId, List<Integer> memberIds);
+    }
+
+    // 저장소 인스턴스를 필요할 때마다 만들므로 알림 대상은 클래스 단위로 보관
+    private static final CopyOnWriteArrayList<MembershipListener> membershipListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 참여자 변경 알림 대상 등록 (같은 대상은 한 번만 등록)
+     */
+    public static void addMembershipListener(MembershipListener listener) {
+        membershipListeners.addIfAbsent(listener);
+    }
+
+    public static void removeMembershipListener(MembershipListener listener) {
+        membershipListeners.remove(listener);
+    }
+
+    private static void fireMembershipChanged(int chatRoomId, List<Integer> memberIds) {
+        for (MembershipListener listener : membershipListeners) {
+            try {
+                listener.membershipChanged(chatRoomId, memberIds);
+            } catch (RuntimeException e) {
+                System.err.println("참여자 변경 알림 처리 중 오류 발생: " + e.getMessage());
+            }
+        }
+    }
 
     /**
      * 채팅방 생성
@@ -55,6 +91,7 @@ public class ChatRoomRepository {
             }
 
             conn.commit();
+            fireMembershipChanged(chatRoomId, new ArrayList<>(memberIds));
             return chatRoomId;
 
         } catch (SQLException e) {
@@ -219,6 +256,56 @@ public class ChatRoomRepository {
         return members;
     }
 
+    /**
+     * 채팅방 참여자 ID 목록 조회 (채팅 서버가 채팅방을 처음 쓸 때 호출)
+     * @param chatRoomId 채팅방 ID
+     * @return 참여자 ID 배열 (채팅방이 없으면 빈 배열)
+     */
+    @Override
+    public int[] loadMemberIds(int chatRoomId) throws SQLException {
+        String sql = "SELECT member_id FROM ChatRoomMembers WHERE chatroom_id = ?";
+
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, chatRoomId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int[] memberIds = new int[16];
+                int count = 0;
+                while (rs.next()) {
+                    if (count == memberIds.length) {
+                        memberIds = Arrays.copyOf(memberIds, count * 2);
+                    }
+                    memberIds[count++] = rs.getInt(1);
+                }
+                return Arrays.copyOf(memberIds, count);
+            }
+        }
+    }
+
+    /**
+     * 채팅방 참여 여부 확인 (채팅 서버가 참여자 변경 알림을 받았을 때 호출)
+     * @param chatRoomId 채팅방 ID
+     * @param memberId 사용자 ID
+     * @return 참여 중이면 true
+     */
+    @Override
+    public boolean isMember(int chatRoomId, int memberId) throws SQLException {
+        String sql = "SELECT 1 FROM ChatRoomMembers WHERE chatroom_id = ? AND member_id = ?";
+
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, chatRoomId);
+            pstmt.setInt(2, memberId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
     /**
      * 채팅방 이름 변경
      * @param chatRoomId 채팅방 ID
@@ -259,6 +346,9 @@ public class ChatRoomRepository {
             pstmt.setInt(2, memberId);
 
             int affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                fireMembershipChanged(chatRoomId, Collections.singletonList(memberId));
+            }
             return affectedRows > 0;
 
         } catch (SQLException e) {
@@ -283,6 +373,9 @@ public class ChatRoomRepository {
             pstmt.setInt(2, memberId);
 
             int affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                fireMembershipChanged(chatRoomId, Collections.singletonList(memberId));
+            }
             return affectedRows > 0;
 
         } catch (SQLException e) {
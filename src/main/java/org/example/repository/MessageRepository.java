@@ -1,41 +1,107 @@
 package org.example.repository;
 
+import org.example.boundary.ConnectionProvider;
 import org.example.boundary.DatabaseConnector;
 import org.example.model.Member;
 import org.example.socket.ChatMessage;
 import org.example.socket.ChatMessageType;
 import org.example.socket.ChatSocketClient;
+import org.example.socket.MessageStore;
 import org.example.model.Message;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
-public class MessageRepository {
+public class MessageRepository implements MessageStore {
+
+    // 서버 저장 확인을 기다리는 최대 시간
+    private static final long ACK_TIMEOUT_SECONDS = 5;
+
+    /**
+     * 저장 확인을 받지 못함 - 서버가 메시지를 저장했을 수도 있음 (다시 보내면 중복될 수 있음)
+     */
+    public static final int UNCONFIRMED = -2;
+
+    private static final String INSERT_MESSAGE_SQL =
+            "INSERT INTO Messages (chatroom_id, blockchain_message_id, member_id, message_content, created_at, room_seq) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final ConnectionProvider connections;
+
+    /**
+     * 환경변수(DB_URL 등)로 설정된 데이터베이스 사용
+     */
+    public MessageRepository() {
+        this(DatabaseConnector::getConnection);
+    }
+
+    /**
+     * 지정한 연결 공급자의 데이터베이스 사용 (부하 테스트용 H2 등)
+     */
+    public MessageRepository(ConnectionProvider connections) {
+        this.connections = connections;
+    }
 
     /**
      * 메시지 전송 (저장)
-     * 소켓을 통해 메시지를 전송하고 데이터베이스에도 저장합니다.
+     * 소켓으로 메시지를 보내면 서버가 배치로 저장한 뒤 메시지 ID를 알려줍니다.
+     * 소켓이 연결되어 있지 않거나 서버가 저장하지 않는 경우에만 직접 데이터베이스에 저장합니다.
+     * 호출한 스레드(JavaFX 스레드 등)는 기다리지 않으며, 결과는 반환한 Future로 받습니다.
      * @param chatRoomId 채팅방 ID
      * @param senderId 발신자 ID
      * @param content 메시지 내용
-     * @return 생성된 메시지 ID
+     * @return 생성된 메시지 ID로 완료되는 Future (실패 시 -1, 저장 확인 시간 초과 시 UNCONFIRMED)
      */
-    public int sendMessage(int chatRoomId, int blockchainMessageId, int senderId, String content) {
-        // 1. 소켓을 통해 메시지 전송
+    public CompletableFuture<Integer> sendMessage(int chatRoomId, int blockchainMessageId, int senderId, String content) {
+        // 1. 소켓을 통해 메시지 전송 후 서버 저장 확인 대기
         ChatSocketClient socketClient = ChatSocketClient.getInstance();
-        boolean sent = socketClient.sendMessage(chatRoomId, content);
+        CompletableFuture<Integer> ack = socketClient.sendMessageForAck(chatRoomId, content);
+        if (ack == null) {
+            return CompletableFuture.supplyAsync(() -> insertMessage(chatRoomId, blockchainMessageId, senderId, content));
+        }
 
-        String sql = "INSERT INTO Messages (chatroom_id, blockchain_message_id, member_id, message_content, created_at) " +
-                "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)";
+        // 시간이 지나면 확인 대기를 끝냄 (ChatSocketClient는 완료된 확인을 대기 목록에서 지움)
+        return ack.orTimeout(ACK_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .handle((messageId, error) -> {
+                    if (error == null) {
+                        return messageId;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        // 서버가 아직 저장하고 브로드캐스트할 수 있으므로 실패로 단정하지 않음
+                        System.err.println("메시지 저장 확인 시간 초과: chatRoomId=" + chatRoomId);
+                        return UNCONFIRMED;
+                    }
+                    System.err.println("메시지 전송 중 오류 발생: " + cause.getMessage());
+                    return -1;
+                })
+                .thenCompose(messageId -> messageId == 0
+                        // 0이면 서버가 저장하지 않음 - 직접 저장
+                        ? CompletableFuture.supplyAsync(() -> insertMessage(chatRoomId, blockchainMessageId, senderId, content))
+                        : CompletableFuture.completedFuture(messageId));
+    }
 
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+    /**
+     * 소켓 서버를 거치지 않고 직접 데이터베이스에 저장
+     * @return 생성된 메시지 ID, 실패 시 -1
+     */
+    private int insertMessage(int chatRoomId, int blockchainMessageId, int senderId, String content) {
+        try (Connection conn = connections.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_MESSAGE_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
             pstmt.setInt(1, chatRoomId);
             pstmt.setInt(2, blockchainMessageId);
             pstmt.setInt(3, senderId);
             pstmt.setString(4, content);
+            pstmt.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+            pstmt.setLong(6, 0); // 서버를 거치지 않은 메시지는 시퀀스 없음
 
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
@@ -53,11 +119,168 @@ public class MessageRepository {
         }
     }
 
+    /**
+     * 소켓 서버가 받은 메시지를 한 트랜잭션으로 일괄 저장
+     * 블록체인 메시지 ID는 저장 후 따로 갱신되므로 -1로 저장합니다.
+     * @return 생성된 메시지 ID (messages와 같은 순서)
+     */
+    @Override
+    public int[] saveAll(List<ChatMessage> messages) throws SQLException {
+        try (Connection conn = connections.getConnection()) {
+            return insertMessages(conn, messages);
+        }
+    }
+
+    /**
+     * 채팅방의 마지막 메시지 시퀀스 조회 (메시지가 없으면 0)
+     */
+    @Override
+    public long lastSequence(int chatRoomId) throws SQLException {
+        String sql = "SELECT MAX(room_seq) FROM Messages WHERE chatroom_id = ?";
+
+        try (Connection conn = connections.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, chatRoomId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * 시퀀스 이후의 메시지를 시퀀스 순서로 조회 (재접속 시 놓친 메시지)
+     * (chatroom_id, room_seq) 인덱스 범위 조회이므로 놓친 메시지 수에 비례하는 비용만 듭니다.
+     */
+    @Override
+    public List<ChatMessage> loadAfter(int chatRoomId, long afterSequence, int limit) throws SQLException {
+        String sql = "SELECT m.message_id, m.chatroom_id, m.member_id, m.message_content, m.created_at, m.room_seq, " +
+                "mem.nickname, mem.status " +
+                "FROM Messages m " +
+                "JOIN Members mem ON m.member_id = mem.member_id " +
+                "WHERE m.chatroom_id = ? AND m.room_seq > ? " +
+                "ORDER BY m.room_seq ASC " +
+                "LIMIT ?";
+
+        List<ChatMessage> messages = new ArrayList<>();
+
+        try (Connection conn = connections.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, chatRoomId);
+            pstmt.setLong(2, afterSequence);
+            pstmt.setInt(3, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    messages.add(mapResultSetToChatMessage(rs));
+                }
+            }
+        }
+
+        return messages;
+    }
+
+    /**
+     * 시퀀스가 있는 최근 메시지 조회 (채팅방 입장 시 서버의 최근 메시지 버퍼를 채울 때 사용)
+     * @return 오래된 순서로 정렬된 최대 limit개의 메시지
+     */
+    @Override
+    public List<ChatMessage> loadLatest(int chatRoomId, int limit) throws SQLException {
+        String sql = "SELECT m.message_id, m.chatroom_id, m.member_id, m.message_content, m.created_at, m.room_seq, " +
+                "mem.nickname, mem.status " +
+                "FROM Messages m " +
+                "JOIN Members mem ON m.member_id = mem.member_id " +
+                "WHERE m.chatroom_id = ? AND m.room_seq > 0 " +
+                "ORDER BY m.room_seq DESC " +
+                "LIMIT ?";
+
+        List<ChatMessage> messages = new ArrayList<>();
+
+        try (Connection conn = connections.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, chatRoomId);
+            pstmt.setInt(2, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    messages.add(mapResultSetToChatMessage(rs));
+                }
+            }
+        }
+
+        Collections.reverse(messages);
+        return messages;
+    }
+
+    /**
+     * ResultSet → ChatMessage 객체 변환 (서버 재전송용)
+     */
+    private ChatMessage mapResultSetToChatMessage(ResultSet rs) throws SQLException {
+        ChatMessage message = new ChatMessage(
+                ChatMessageType.CHAT,
+                rs.getInt("chatroom_id"),
+                rs.getInt("member_id"),
+                rs.getString("message_content"),
+                rs.getTimestamp("created_at"),
+                rs.getString("nickname"),
+                rs.getString("status")
+        );
+        message.setMessageId(rs.getInt("message_id"));
+        message.setSequence(rs.getLong("room_seq"));
+        return message;
+    }
+
+    /**
+     * 주어진 연결로 메시지를 일괄 저장 (addBatch/executeBatch 후 한 번만 커밋)
+     */
+    public int[] insertMessages(Connection conn, List<ChatMessage> messages) throws SQLException {
+        int[] messageIds = new int[messages.size()];
+        if (messages.isEmpty()) {
+            return messageIds;
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_MESSAGE_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (ChatMessage message : messages) {
+                pstmt.setInt(1, message.getChatRoomId());
+                pstmt.setInt(2, -1);
+                pstmt.setInt(3, message.getSenderId());
+                pstmt.setString(4, message.getContent());
+                pstmt.setTimestamp(5, message.getTimestamp() != null
+                        ? message.getTimestamp() : new Timestamp(System.currentTimeMillis()));
+                pstmt.setLong(6, message.getSequence());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                int i = 0;
+                while (generatedKeys.next() && i < messageIds.length) {
+                    messageIds[i++] = generatedKeys.getInt(1);
+                }
+                if (i != messageIds.length) {
+                    throw new SQLException("생성된 메시지 ID 수가 맞지 않습니다: " + i + "/" + messageIds.length);
+                }
+            }
+            conn.commit();
+            return messageIds;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
     /**
      * 채팅방의 메시지 목록 조회
      */
     public List<Message> getMessagesByChatRoomId(int chatRoomId, int limit, int offset) {
-        String sql = "SELECT m.message_id, m.blockchain_message_id, m.chatroom_id, m.member_id, m.message_content, m.created_at, " +
+        String sql = "SELECT m.message_id, m.blockchain_message_id, m.chatroom_id, m.member_id, m.message_content, m.created_at, m.room_seq, " +
                 "mem.user_id, mem.nickname, mem.status " +
                 "FROM Messages m " +
                 "JOIN Members mem ON m.member_id = mem.member_id " +
@@ -67,7 +290,7 @@ public class MessageRepository {
 
         List<Message> messages = new ArrayList<>();
 
-        try (Connection conn = DatabaseConnector.getConnection();
+        try (Connection conn = connections.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, chatRoomId);
@@ -93,7 +316,7 @@ public class MessageRepository {
     public int getMessageCount(int chatRoomId) {
         String sql = "SELECT COUNT(*) FROM Messages WHERE chatroom_id = ?";
 
-        try (Connection conn = DatabaseConnector.getConnection();
+        try (Connection conn = connections.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, chatRoomId);
@@ -118,7 +341,7 @@ public class MessageRepository {
      * @return 새 메시지 목록
      */
     public List<Message> getNewMessages(int chatRoomId, Timestamp lastMessageTime) {
-        String sql = "SELECT m.message_id, m.blockchain_message_id, m.chatroom_id, m.member_id, m.message_content, m.created_at, " +
+        String sql = "SELECT m.message_id, m.blockchain_message_id, m.chatroom_id, m.member_id, m.message_content, m.created_at, m.room_seq, " +
                 "mem.user_id, mem.nickname, mem.status " +
                 "FROM Messages m " +
                 "JOIN Members mem ON m.member_id = mem.member_id " +
@@ -127,7 +350,7 @@ public class MessageRepository {
 
         List<Message> messages = new ArrayList<>();
 
-        try (Connection conn = DatabaseConnector.getConnection();
+        try (Connection conn = connections.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, chatRoomId);
@@ -163,9 +386,9 @@ public class MessageRepository {
             );
         }
 
-        // Message 객체 생성
-        return new Message(
-                0, // 메시지 ID는 데이터베이스에서 할당됨
+        // Message 객체 생성 (서버가 저장한 메시지는 메시지 ID와 시퀀스가 있음)
+        Message message = new Message(
+                chatMessage.getMessageId(),
                 0,
                 chatMessage.getChatRoomId(),
                 chatMessage.getSenderId(),
@@ -173,6 +396,8 @@ public class MessageRepository {
                 chatMessage.getTimestamp(),
                 sender
         );
+        message.setRoomSeq(chatMessage.getSequence());
+        return message;
     }
   
       /**
@@ -180,7 +405,7 @@ public class MessageRepository {
      */
     public List<Message> searchMessages(Integer chatRoomId, Integer senderId, Timestamp from, Timestamp to) {
         StringBuilder sql = new StringBuilder(
-                "SELECT m.message_id, m.blockchain_message_id, m.chatroom_id, m.member_id, m.message_content, m.created_at, " +
+                "SELECT m.message_id, m.blockchain_message_id, m.chatroom_id, m.member_id, m.message_content, m.created_at, m.room_seq, " +
                         "mem.user_id, mem.nickname, mem.status " +
                         "FROM Messages m " +
                         "JOIN Members mem ON m.member_id = mem.member_id " +
@@ -212,7 +437,7 @@ public class MessageRepository {
 
         List<Message> messages = new ArrayList<>();
 
-        try (Connection conn = DatabaseConnector.getConnection();
+        try (Connection conn = connections.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
 
             for (int i = 0; i < params.size(); i++) {
@@ -245,7 +470,7 @@ public class MessageRepository {
                 ""
         );
 
-        return new Message(
+        Message message = new Message(
                 rs.getInt("message_id"),
                 rs.getInt("blockchain_message_id"),
                 rs.getInt("chatroom_id"),
@@ -254,6 +479,8 @@ public class MessageRepository {
                 rs.getTimestamp("created_at"),
                 sender
         );
+        message.setRoomSeq(rs.getLong("room_seq"));
+        return message;
     }
 
     public void updateBlockchainMessageId(int msgId, int blockchainMessageId) {
@@ -261,7 +488,7 @@ public class MessageRepository {
                 "WHERE message_id = ? " +
                 "ORDER BY created_at DESC LIMIT 1";
 
-        try (Connection conn = DatabaseConnector.getConnection();
+        try (Connection conn = connections.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
 
             pstmt.setInt(1, blockchainMessageId);
@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +29,11 @@ public class ChatService {
     private final ChatSocketClient socketClient;
     private final BlockchainMessageService blockchainMessageService = new BlockchainMessageService();
 
+    static {
+        // 저장소의 참여자 변경을 소켓 서버에 전달 (서비스 인스턴스를 여러 번 만들어도 한 번만 등록)
+        ChatRoomRepository.addMembershipListener(ChatService::forwardMembershipChange);
+    }
+
     public ChatService() {
         this.chatRoomRepository = new ChatRoomRepository();
         this.messageRepository = new MessageRepository();
@@ -35,6 +41,25 @@ public class ChatService {
         this.socketClient = ChatSocketClient.getInstance();
     }
 
+    /**
+     * 참여자 변경을 소켓 서버에 전달
+     * 참여자를 DB에서 읽는 서버에는 바뀐 참여자만 알리고, 기존 서버에는 예전처럼 전체 참여자 목록을 보냅니다.
+     */
+    private static void forwardMembershipChange(int chatRoomId, List<Integer> memberIds) {
+        ChatSocketClient client = ChatSocketClient.getInstance();
+        if (!client.isConnected()) {
+            return;
+        }
+        if (client.isServerMembership()) {
+            client.notifyMembershipChanged(chatRoomId, memberIds);
+            return;
+        }
+        List<Integer> members = new ChatRoomRepository().getChatRoomMembers(chatRoomId).stream()
+                .map(Member::getMemberId)
+                .collect(Collectors.toList());
+        client.updateChatRoomMembers(chatRoomId, members);
+    }
+
     /**
      * 1:1 채팅방 생성 또는 조회
      * @param currentMemberId 현재 사용자 ID
@@ -49,12 +74,6 @@ public class ChatService {
         int chatRoomId = chatRoomRepository.getOrCreatePrivateChatRoom(currentMemberId, targetMemberId);
 
         if (chatRoomId > 0) {
-            // 채팅방 생성 후 소켓 서버에 멤버 목록 업데이트
-            List<Integer> members = new ArrayList<>();
-            members.add(currentMemberId);
-            members.add(targetMemberId);
-            socketClient.updateChatRoomMembers(chatRoomId, members);
-
             Optional<Member> targetMember = memberRepository.findById(targetMemberId);
             String targetName = targetMember.isPresent() ? targetMember.get().getNickname() : "상대방";
             return new ChatResult(true, targetName + "님과의 대화방이 생성되었습니다.", chatRoomId);
@@ -84,9 +103,6 @@ public class ChatService {
         int chatRoomId = chatRoomRepository.createChatRoom(chatRoomName, true, memberIds);
 
         if (chatRoomId > 0) {
-            // 채팅방 생성 후 소켓 서버에 멤버 목록 업데이트
-            socketClient.updateChatRoomMembers(chatRoomId, memberIds);
-
             return new ChatResult(true, "그룹 채팅방이 생성되었습니다.", chatRoomId);
         } else {
             return new ChatResult(false, "채팅방 생성에 실패했습니다.", -1);
@@ -151,13 +167,6 @@ public class ChatService {
         boolean success = chatRoomRepository.addChatRoomMember(chatRoomId, memberId);
 
         if (success) {
-            // 멤버 추가 후 소켓 서버에 멤버 목록 업데이트
-            List<Member> members = getChatRoomMembers(chatRoomId);
-            List<Integer> memberIds = members.stream()
-                    .map(Member::getMemberId)
-                    .collect(Collectors.toList());
-            socketClient.updateChatRoomMembers(chatRoomId, memberIds);
-
             // 소켓 서버에 채팅방 입장 알림
             socketClient.joinChatRoom(chatRoomId);
 
@@ -185,13 +194,6 @@ public class ChatService {
             // 소켓 서버에 채팅방 퇴장 알림
             socketClient.leaveChatRoom(chatRoomId);
 
-            // 멤버 제거 후 소켓 서버에 멤버 목록 업데이트
-            List<Member> members = getChatRoomMembers(chatRoomId);
-            List<Integer> memberIds = members.stream()
-                    .map(Member::getMemberId)
-                    .collect(Collectors.toList());
-            socketClient.updateChatRoomMembers(chatRoomId, memberIds);
-
             return new ChatResult(true, member.get().getNickname() + "님이 채팅방에서 제거되었습니다.", chatRoomId);
         } else {
             return new ChatResult(false, "참여자 제거에 실패했습니다.", chatRoomId);
@@ -208,17 +210,6 @@ public class ChatService {
         boolean success = chatRoomRepository.leaveChatRoom(chatRoomId, memberId);
 
         if (success) {
-            // 채팅방이 아직 존재하는지 확인
-            Optional<ChatRoom> chatRoom = getChatRoomById(chatRoomId);
-            if (chatRoom.isPresent()) {
-                // 멤버 제거 후 소켓 서버에 멤버 목록 업데이트
-                List<Member> members = getChatRoomMembers(chatRoomId);
-                List<Integer> memberIds = members.stream()
-                        .map(Member::getMemberId)
-                        .collect(Collectors.toList());
-                socketClient.updateChatRoomMembers(chatRoomId, memberIds);
-            }
-
             return new ChatResult(true, "채팅방에서 나갔습니다.", -1);
         } else {
             return new ChatResult(false, "채팅방 나가기에 실패했습니다.", chatRoomId);
@@ -240,37 +231,42 @@ public class ChatService {
 
     /**
      * 메시지 전송
+     * 서버의 저장 확인은 호출한 스레드를 막지 않고 기다리며, 결과는 반환한 Future로 전달됩니다.
      * @param chatRoomId 채팅방 ID
      * @param senderId 발신자 ID
      * @param content 메시지 내용
-     * @return 전송 결과
+     * @return 전송 결과로 완료되는 Future
      */
-    public ChatResult sendMessage(int chatRoomId, int senderId, String content) {
+    public CompletableFuture<ChatResult> sendMessage(int chatRoomId, int senderId, String content) {
         if (content == null || content.trim().isEmpty()) {
-            return new ChatResult(false, "메시지 내용을 입력해주세요.", chatRoomId);
+            return CompletableFuture.completedFuture(new ChatResult(false, "메시지 내용을 입력해주세요.", chatRoomId));
         }
 
         if (content.length() > 500) {
-            return new ChatResult(false, "메시지를 500자 이하로 입력해주세요.", chatRoomId);
+            return CompletableFuture.completedFuture(new ChatResult(false, "메시지를 500자 이하로 입력해주세요.", chatRoomId));
         }
 
         // 블록체인 처리 기다리지 않고, 메시지 먼저 저장 (blockchainId는 -1로 임시 저장)
-        int msgId = messageRepository.sendMessage(chatRoomId, -1, senderId, content);
-
-        // 메시지를 블록체인에 저장하는 작업을 별도 스레드로 처리
-        new Thread(() -> {
-            int blockchainId = blockchainMessageService.addMessage(senderId, content);
-            if (blockchainId > 0) {
-                // blockchainId가 성공적으로 발급되면, 기존 메시지의 blockchainMessageId를 갱신
-                messageRepository.updateBlockchainMessageId(msgId, blockchainId);
+        return messageRepository.sendMessage(chatRoomId, -1, senderId, content).thenApply(msgId -> {
+            // 메시지를 블록체인에 저장하는 작업을 별도 스레드로 처리
+            new Thread(() -> {
+                int blockchainId = blockchainMessageService.addMessage(senderId, content);
+                if (blockchainId > 0) {
+                    // blockchainId가 성공적으로 발급되면, 기존 메시지의 blockchainMessageId를 갱신
+                    messageRepository.updateBlockchainMessageId(msgId, blockchainId);
+                }
+            }).start();
+
+            if (msgId > 0) {
+                return new ChatResult(true, "메시지가 전송되었습니다.", chatRoomId);
+            } else if (msgId == MessageRepository.UNCONFIRMED) {
+                // 서버가 저장했을 수 있으므로 실패로 알리지 않음 (다시 보내면 중복될 수 있음)
+                return new ChatResult(true, true,
+                        "서버의 저장 확인이 늦어지고 있습니다. 잠시 후 메시지가 표시되는지 확인해주세요.", chatRoomId);
+            } else {
+                return new ChatResult(false, "메시지 전송에 실패했습니다.", chatRoomId);
             }
-        }).start();
-
-        if (msgId > 0) {
-            return new ChatResult(true, "메시지가 전송되었습니다.", chatRoomId);
-        } else {
-            return new ChatResult(false, "메시지 전송에 실패했습니다.", chatRoomId);
-        }
+        });
     }
 
     /**
@@ -305,11 +301,20 @@ public class ChatService {
      */
     public static class ChatResult {
         private final boolean success;
+        private final boolean pending;
         private final String message;
         private final int chatRoomId;
 
         public ChatResult(boolean success, String message, int chatRoomId) {
+            this(success, false, message, chatRoomId);
+        }
+
+        /**
+         * @param pending 요청은 보냈지만 처리 결과를 아직 확인하지 못함
+         */
+        public ChatResult(boolean success, boolean pending, String message, int chatRoomId) {
             this.success = success;
+            this.pending = pending;
             this.message = message;
             this.chatRoomId = chatRoomId;
         }
@@ -318,6 +323,10 @@ public class ChatService {
             return success;
         }
 
+        public boolean isPending() {
+            return pending;
+        }
+
         public String getMessage() {
             return message;
         }
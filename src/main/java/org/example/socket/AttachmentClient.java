@@ -0,0 +1,357 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+import org.example.utils.HashUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 클라이언트 쪽 첨부 파일 전송 (ChatSocketClient가 사용)
+ * - 업로드: 파일 해시를 계산해 UPLOAD를 보내고, 서버가 알려준 위치부터 전송 창(CREDIT) 안에서만 조각을 보냅니다.
+ *   조각 하나를 보낼 때만 쓰기 잠금을 잡으므로 업로드 중에도 채팅 메시지가 조각 사이에 끼어 나갑니다.
+ * - 다운로드: 받은 조각을 "<대상>.part" 파일에 기록할 때마다 CREDIT을 돌려주고, 끝까지 받으면 해시를 확인한 뒤 대상 이름으로 옮깁니다.
+ *   연결이 끊겨 남은 .part 파일은 다음 다운로드 때 이어서 받습니다.
+ * 조각 전송과 해시 계산은 전용 실행기에서 처리하고, 수신 스레드는 받은 조각을 기록하는 일만 합니다.
+ */
+final class AttachmentClient {
+    private static final Logger LOG = LogManager.getLogger(AttachmentClient.class);
+    // 다운로드 전송 창 (서버가 기록을 기다리지 않고 보낼 수 있는 크기)
+    static final int DOWNLOAD_WINDOW = 1024 * 1024;
+    static final String PARTIAL_SUFFIX = ".part";
+
+    /**
+     * 프레임 전송 (연결의 쓰기 잠금 안에서 기록)
+     */
+    @FunctionalInterface
+    interface Sender {
+        void send(Object payload) throws IOException;
+    }
+
+    private final Sender sender;
+    private final ExecutorService executor;
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+    private final Map<String, Download> downloads = new ConcurrentHashMap<>();
+
+    AttachmentClient(Sender sender, boolean virtualThreads) {
+        this.sender = sender;
+        this.executor = SocketExecutors.newConnectionExecutor(virtualThreads);
+    }
+
+    /**
+     * 파일 업로드
+     * @return 파일 해시로 완료되는 Future (서버에 같은 파일이 이미 있으면 조각을 보내지 않고 완료)
+     */
+    CompletableFuture<String> upload(Path file) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        execute(() -> {
+            Upload upload = null;
+            try {
+                String hash = HashUtil.sha256(file);
+                upload = new Upload(file, hash, Files.size(file), result);
+                Upload running = uploads.putIfAbsent(hash, upload);
+                if (running != null) {
+                    // 같은 파일을 올리는 중이면 그 결과를 같이 기다림
+                    running.result.whenComplete((value, error) -> {
+                        if (error != null) {
+                            result.completeExceptionally(error);
+                        } else {
+                            result.complete(value);
+                        }
+                    });
+                    return;
+                }
+                sender.send(AttachmentFrame.upload(hash, upload.size));
+            } catch (IOException e) {
+                if (upload != null) {
+                    upload.finish(e);
+                } else {
+                    result.completeExceptionally(e);
+                }
+            }
+        }, result);
+        return result;
+    }
+
+    /**
+     * 파일 다운로드 (이전에 받다 만 .part 파일이 있으면 이어서 받음)
+     * @return 대상 경로로 완료되는 Future
+     */
+    CompletableFuture<Path> download(String hash, Path target) {
+        CompletableFuture<Path> result = new CompletableFuture<>();
+        if (!HashUtil.isSha256Hex(hash)) {
+            result.completeExceptionally(new IllegalArgumentException("잘못된 첨부 파일 해시: " + hash));
+            return result;
+        }
+        Path partial = target.resolveSibling(target.getFileName() + PARTIAL_SUFFIX);
+        try {
+            FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            Download download = new Download(hash, target, partial, channel, result);
+            if (downloads.putIfAbsent(hash, download) != null) {
+                channel.close();
+                result.completeExceptionally(new IllegalStateException("이미 받는 중인 첨부 파일: " + hash));
+                return result;
+            }
+            sender.send(AttachmentFrame.download(hash, channel.size(), DOWNLOAD_WINDOW));
+        } catch (IOException e) {
+            Download download = downloads.get(hash);
+            if (download != null && download.result == result) {
+                download.fail(e);
+            } else {
+                result.completeExceptionally(e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 서버가 보낸 첨부 파일 프레임 처리 (수신 스레드)
+     */
+    void handle(AttachmentFrame frame) {
+        String hash = frame.getHash();
+        Upload upload = hash != null ? uploads.get(hash) : null;
+        Download download = hash != null ? downloads.get(hash) : null;
+        switch (frame.getType()) {
+            case UPLOAD_READY:
+                if (upload != null) {
+                    upload.start(frame.getOffset(), frame.getCredit());
+                }
+                break;
+            case CREDIT:
+                if (upload != null) {
+                    upload.addCredit(frame.getCredit());
+                }
+                break;
+            case DATA:
+                if (download != null) {
+                    download.receive(frame);
+                }
+                break;
+            case COMPLETE:
+                if (upload != null) {
+                    upload.finish(null);
+                } else if (download != null) {
+                    execute(download::verify, download.result);
+                }
+                break;
+            case FAILED:
+                IOException error = new IOException("첨부 파일 전송 실패: " + hash);
+                if (upload != null) {
+                    upload.finish(error);
+                } else if (download != null) {
+                    download.fail(error);
+                }
+                break;
+            default:
+                LOG.debug("처리하지 않는 첨부 파일 프레임", "type", frame.getType());
+                break;
+        }
+    }
+
+    /**
+     * 연결이 끊기면 진행 중인 전송을 모두 실패 처리 (받은 .part 파일은 남겨 둠)
+     */
+    void failAll(IOException cause) {
+        for (Upload upload : uploads.values()) {
+            upload.finish(cause);
+        }
+        for (Download download : downloads.values()) {
+            download.fail(cause);
+        }
+    }
+
+    private void execute(Runnable task, CompletableFuture<?> result) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 진행 중인 업로드 하나
+     */
+    private final class Upload {
+        final Path file;
+        final String hash;
+        final long size;
+        final CompletableFuture<String> result;
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition creditAvailable = lock.newCondition();
+        // 아래는 lock으로 보호
+        int credit;
+        boolean started;
+        boolean done;
+
+        Upload(Path file, String hash, long size, CompletableFuture<String> result) {
+            this.file = file;
+            this.hash = hash;
+            this.size = size;
+            this.result = result;
+        }
+
+        void start(long offset, int initialCredit) {
+            lock.lock();
+            try {
+                if (started || done) {
+                    return;
+                }
+                started = true;
+                credit = initialCredit;
+            } finally {
+                lock.unlock();
+            }
+            execute(() -> sendChunks(offset), result);
+        }
+
+        void addCredit(int amount) {
+            lock.lock();
+            try {
+                credit += amount;
+                creditAvailable.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 전송 창 안에서 조각을 읽어 보냄 (실행기) - 창이 없으면 CREDIT이 올 때까지 기다림
+         */
+        private void sendChunks(long offset) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long position = offset;
+                while (position < size) {
+                    int length;
+                    lock.lock();
+                    try {
+                        while (credit <= 0 && !done) {
+                            creditAvailable.await();
+                        }
+                        if (done) {
+                            return;
+                        }
+                        length = (int) Math.min(AttachmentService.CHUNK_SIZE, Math.min(credit, size - position));
+                        credit -= length;
+                    } finally {
+                        lock.unlock();
+                    }
+                    byte[] data = new byte[length];
+                    ByteBuffer buffer = ByteBuffer.wrap(data);
+                    while (buffer.hasRemaining()) {
+                        if (channel.read(buffer, position + buffer.position()) < 0) {
+                            throw new IOException("업로드 중 파일이 줄어듦: " + file);
+                        }
+                    }
+                    sender.send(AttachmentFrame.data(hash, position, size, data));
+                    position += length;
+                }
+            } catch (IOException e) {
+                finish(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                finish(new IOException("업로드 중단: " + file));
+            }
+        }
+
+        /**
+         * 업로드 종료 (error가 null이면 성공)
+         */
+        void finish(IOException error) {
+            lock.lock();
+            try {
+                done = true;
+                creditAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            uploads.remove(hash, this);
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(hash);
+            }
+        }
+    }
+
+    /**
+     * 진행 중인 다운로드 하나 (조각 기록은 수신 스레드에서만)
+     */
+    private final class Download {
+        final String hash;
+        final Path target;
+        final Path partial;
+        final FileChannel channel;
+        final CompletableFuture<Path> result;
+
+        Download(String hash, Path target, Path partial, FileChannel channel, CompletableFuture<Path> result) {
+            this.hash = hash;
+            this.target = target;
+            this.partial = partial;
+            this.channel = channel;
+            this.result = result;
+        }
+
+        void receive(AttachmentFrame frame) {
+            try {
+                ByteBuffer data = ByteBuffer.wrap(frame.getData());
+                long position = frame.getOffset();
+                while (data.hasRemaining()) {
+                    position += channel.write(data, position);
+                }
+                if (position >= frame.getSize()) {
+                    execute(this::verify, result);
+                } else {
+                    sender.send(AttachmentFrame.credit(hash, frame.length()));
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * 끝까지 받음 - 해시를 확인하고 대상 이름으로 옮김 (실행기)
+         */
+        void verify() {
+            if (!downloads.remove(hash, this)) {
+                return;
+            }
+            try {
+                channel.close();
+                if (!hash.equals(HashUtil.sha256(partial))) {
+                    Files.deleteIfExists(partial);
+                    result.completeExceptionally(new IOException("첨부 파일 해시 불일치: " + hash));
+                    return;
+                }
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+                result.complete(target);
+            } catch (IOException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        void fail(IOException error) {
+            if (!downloads.remove(hash, this)) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOG.warn("첨부 파일 닫기 실패", "hash", hash, e);
+            }
+            result.completeExceptionally(error);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.socket;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 첨부 파일 전송 프레임
+ * 파일은 SHA-256 해시(소문자 16진수 64자리)로 구분하며, 채팅 연결 위에서 조각(DATA) 단위로 주고받습니다.
+ * 받는 쪽은 조각을 기록할 때마다 CREDIT으로 그만큼의 전송 창을 돌려주고, 보내는 쪽은 창 안에서만 보내므로
+ * 큰 파일을 전송하는 중에도 채팅 메시지가 그 뒤에서 오래 기다리지 않습니다.
+ * 바이너리 형식 전용이며 Java 직렬화 형식 연결에서는 사용하지 않습니다.
+ * - 업로드: UPLOAD -> UPLOAD_READY(이어 받을 위치, 창) -> DATA... (CREDIT을 받으며) -> COMPLETE 또는 FAILED
+ *   서버에 같은 해시의 파일이 이미 있으면 UPLOAD에 바로 COMPLETE로 응답 (중복 저장 없음)
+ * - 다운로드: DOWNLOAD(시작 위치, 창) -> DATA... (CREDIT을 보내며), 이미 끝까지 받았으면 COMPLETE
+ * 서버가 보내는 DATA는 메모리 매핑한 파일 구간(region)을 그대로 소켓에 기록하고, 받은 DATA는 바이트 배열에 담깁니다.
+ */
+public final class AttachmentFrame {
+    private final AttachmentFrameType type;
+    private final String hash;
+    // 조각의 파일 내 위치 (DATA), 이어 받을 위치 (UPLOAD_READY, DOWNLOAD)
+    private final long offset;
+    // 파일 전체 크기 (UPLOAD, UPLOAD_READY, DATA, COMPLETE)
+    private final long size;
+    // 더 보내도 되는 바이트 수 (UPLOAD_READY, CREDIT, DOWNLOAD)
+    private final int credit;
+    // 조각 데이터 - 받은 프레임이나 클라이언트 업로드는 data, 서버 다운로드는 region (둘 중 하나만 사용)
+    private final byte[] data;
+    private final ByteBuffer region;
+
+    private AttachmentFrame(AttachmentFrameType type, String hash, long offset, long size, int credit,
+                            byte[] data, ByteBuffer region) {
+        this.type = type;
+        this.hash = hash;
+        this.offset = offset;
+        this.size = size;
+        this.credit = credit;
+        this.data = data;
+        this.region = region;
+    }
+
+    /**
+     * 디코딩한 프레임 생성 (코덱용)
+     */
+    static AttachmentFrame decoded(AttachmentFrameType type, String hash, long offset, long size, int credit,
+                                   byte[] data) {
+        return new AttachmentFrame(type, hash, offset, size, credit, data, null);
+    }
+
+    public static AttachmentFrame upload(String hash, long size) {
+        return new AttachmentFrame(AttachmentFrameType.UPLOAD, hash, 0, size, 0, null, null);
+    }
+
+    public static AttachmentFrame uploadReady(String hash, long offset, long size, int credit) {
+        return new AttachmentFrame(AttachmentFrameType.UPLOAD_READY, hash, offset, size, credit, null, null);
+    }
+
+    public static AttachmentFrame data(String hash, long offset, long size, byte[] data) {
+        return new AttachmentFrame(AttachmentFrameType.DATA, hash, offset, size, 0, data, null);
+    }
+
+    /**
+     * 파일 구간을 담은 조각 (region의 position~limit을 복사하지 않고 그대로 전송)
+     */
+    public static AttachmentFrame data(String hash, long offset, long size, ByteBuffer region) {
+        return new AttachmentFrame(AttachmentFrameType.DATA, hash, offset, size, 0, null, region);
+    }
+
+    public static AttachmentFrame credit(String hash, int credit) {
+        return new AttachmentFrame(AttachmentFrameType.CREDIT, hash, 0, 0, credit, null, null);
+    }
+
+    public static AttachmentFrame complete(String hash, long size) {
+        return new AttachmentFrame(AttachmentFrameType.COMPLETE, hash, 0, size, 0, null, null);
+    }
+
+    public static AttachmentFrame download(String hash, long offset, int credit) {
+        return new AttachmentFrame(AttachmentFrameType.DOWNLOAD, hash, offset, 0, credit, null, null);
+    }
+
+    public static AttachmentFrame failed(String hash) {
+        return new AttachmentFrame(AttachmentFrameType.FAILED, hash, 0, 0, 0, null, null);
+    }
+
+    public AttachmentFrameType getType() {
+        return type;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public int getCredit() {
+        return credit;
+    }
+
+    /**
+     * 조각 데이터 (region으로 만든 프레임이면 null)
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * 파일 구간 (위치는 호출마다 독립적, 바이트 배열로 만든 프레임이면 null)
+     */
+    ByteBuffer region() {
+        return region != null ? region.duplicate() : null;
+    }
+
+    /**
+     * 조각 길이 (DATA가 아니면 0)
+     */
+    public int length() {
+        if (data != null) {
+            return data.length;
+        }
+        return region != null ? region.remaining() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "AttachmentFrame{" +
+                "type=" + type +
+                ", hash='" + hash + '\'' +
+                ", offset=" + offset +
+                ", size=" + size +
+                ", credit=" + credit +
+                ", length=" + length() +
+                '}';
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.socket;
+
+/**
+ * 첨부 파일 전송 프레임 유형 열거형
+ * 바이너리 프레임 형식은 ordinal 값을 사용하므로 새 유형은 항상 끝에 추가합니다.
+ */
+public enum AttachmentFrameType {
+    UPLOAD,         // 업로드 요청 (클라이언트 -> 서버: 해시, 크기)
+    UPLOAD_READY,   // 업로드 시작 위치와 전송 창 (서버 -> 클라이언트: 이어 받을 위치, 크기, 창)
+    DATA,           // 파일 조각 (양방향: 위치, 전체 크기, 데이터)
+    CREDIT,         // 받은 조각을 기록함 - 그만큼 더 보내도 됨 (양방향: 창)
+    COMPLETE,       // 전송 완료 (서버 -> 클라이언트: 크기)
+    DOWNLOAD,       // 다운로드 요청 (클라이언트 -> 서버: 시작 위치, 창)
+    FAILED          // 전송 실패 (서버 -> 클라이언트)
+}
@@ -0,0 +1,439 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+import org.example.utils.HashUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅 연결 위의 첨부 파일 업로드/다운로드 처리
+ * 프레임은 연결의 읽기 스레드(이벤트 루프)에서 받고, 디스크 쓰기와 해시 확인은 전용 실행기에서 처리하므로
+ * 파일을 받는 동안에도 같은 연결의 채팅 메시지 처리가 디스크를 기다리지 않습니다.
+ * - 업로드: 전송 창(attachmentWindowKilobytes)만큼 받은 뒤에는 디스크에 기록한 만큼만 CREDIT으로 돌려주므로,
+ *   디스크가 느려도 연결마다 쌓이는 조각은 전송 창 크기를 넘지 않습니다.
+ * - 다운로드: 파일을 한 번 메모리 매핑하고, 클라이언트가 돌려준 창 안에서 구간을 잘라 송신 대기열의 전송 대기열로 보냅니다.
+ *   엔진은 구간을 그대로 소켓에 기록하고, 전송 대기열은 채팅 메시지가 모두 나간 뒤에만 비우므로 채팅이 밀리지 않습니다.
+ */
+final class AttachmentService {
+    private static final Logger LOG = LogManager.getLogger(AttachmentService.class);
+    // 조각 하나의 크기
+    static final int CHUNK_SIZE = 64 * 1024;
+    // 다운로드 하나가 송신 대기열에 올려 둘 수 있는 최대 크기 (클라이언트가 더 큰 창을 줘도 제한)
+    private static final int MAX_DOWNLOAD_CREDIT = 4 * 1024 * 1024;
+    // 연결 하나가 동시에 진행할 수 있는 최대 전송 수
+    private static final int MAX_TRANSFERS_PER_SESSION = 16;
+
+    private final AttachmentStore store;
+    private final long maxSize;
+    private final int window;
+    private final ExecutorService executor;
+    private final Map<ClientSession, Transfers> transfers = new ConcurrentHashMap<>();
+    // 업로드 중인 해시 (같은 파일을 두 연결이 동시에 이어 쓰지 않도록)
+    private final Set<String> uploading = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 연결별 진행 중인 전송
+     */
+    private static final class Transfers {
+        final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+        final Map<String, Download> downloads = new ConcurrentHashMap<>();
+
+        int size() {
+            return uploads.size() + downloads.size();
+        }
+    }
+
+    AttachmentService(AttachmentStore store, long maxSize, int window, boolean virtualThreads) {
+        this.store = store;
+        this.maxSize = maxSize;
+        this.window = Math.max(CHUNK_SIZE, window);
+        this.executor = SocketExecutors.newConnectionExecutor(virtualThreads);
+    }
+
+    /**
+     * 클라이언트가 보낸 첨부 파일 프레임 처리 (연결의 읽기 스레드)
+     */
+    void handle(ClientSession session, AttachmentFrame frame) {
+        String hash = frame.getHash();
+        if (!HashUtil.isSha256Hex(hash)) {
+            LOG.warn("잘못된 첨부 파일 해시", "memberId", session.getMemberId(), "hash", hash);
+            session.sendFrame(new EncodedFrame(AttachmentFrame.failed(hash)));
+            return;
+        }
+        switch (frame.getType()) {
+            case UPLOAD:
+                startUpload(session, frame);
+                break;
+            case DATA:
+                receive(session, frame);
+                break;
+            case DOWNLOAD:
+                startDownload(session, frame);
+                break;
+            case CREDIT:
+                addCredit(session, frame);
+                break;
+            default:
+                LOG.debug("처리하지 않는 첨부 파일 프레임", "memberId", session.getMemberId(), "type", frame.getType());
+                break;
+        }
+    }
+
+    /**
+     * 연결 종료 - 진행 중인 업로드는 받은 데까지 남겨 두고(다시 업로드하면 이어서 받음) 다운로드는 중단
+     */
+    void remove(ClientSession session) {
+        Transfers removed = transfers.remove(session);
+        if (removed != null) {
+            for (Upload upload : removed.uploads.values()) {
+                upload.close();
+            }
+            removed.downloads.clear();
+        }
+    }
+
+    void stop() {
+        for (ClientSession session : transfers.keySet()) {
+            remove(session);
+        }
+        executor.shutdownNow();
+    }
+
+    // ---------------------------------------------------------------- 업로드
+
+    private void startUpload(ClientSession session, AttachmentFrame frame) {
+        String hash = frame.getHash();
+        long size = frame.getSize();
+        if (size > maxSize) {
+            LOG.warn("첨부 파일 크기 제한 초과", "memberId", session.getMemberId(), "size", size, "maxSize", maxSize);
+            session.sendFrame(new EncodedFrame(AttachmentFrame.failed(hash)));
+            return;
+        }
+        Transfers current = transfers.computeIfAbsent(session, s -> new Transfers());
+        if (current.size() >= MAX_TRANSFERS_PER_SESSION || !uploading.add(hash)) {
+            // 너무 많은 전송이 진행 중이거나 다른 연결이 같은 파일을 올리는 중
+            session.sendFrame(new EncodedFrame(AttachmentFrame.failed(hash)));
+            return;
+        }
+        execute(() -> openUpload(session, current, hash, size), () -> uploading.remove(hash));
+    }
+
+    /**
+     * 이미 있는 파일이면 바로 완료, 아니면 받은 데까지 확인하고 UPLOAD_READY 응답 (실행기)
+     */
+    private void openUpload(ClientSession session, Transfers current, String hash, long size) {
+        Path existing = store.find(hash);
+        if (existing != null) {
+            uploading.remove(hash);
+            session.sendFrame(new EncodedFrame(AttachmentFrame.complete(hash, existing.toFile().length())));
+            return;
+        }
+        Upload upload;
+        try {
+            FileChannel channel = store.openPartial(hash);
+            long received = channel.size();
+            if (received > size) {
+                channel.truncate(0);
+                received = 0;
+            }
+            upload = new Upload(session, current, hash, size, channel, received);
+        } catch (IOException e) {
+            LOG.warn("첨부 파일 업로드 준비 실패", "hash", hash, e);
+            uploading.remove(hash);
+            session.sendFrame(new EncodedFrame(AttachmentFrame.failed(hash)));
+            return;
+        }
+        current.uploads.put(hash, upload);
+        if (transfers.get(session) != current) {
+            // 준비하는 동안 연결이 끊김
+            upload.close();
+            return;
+        }
+        if (upload.received == size) {
+            upload.finish();
+            return;
+        }
+        session.sendFrame(new EncodedFrame(AttachmentFrame.uploadReady(hash, upload.received, size, window)));
+    }
+
+    /**
+     * 업로드 조각 받기 (읽기 스레드) - 위치가 맞고 전송 창 안이면 기록 대기열에 넣음
+     */
+    private void receive(ClientSession session, AttachmentFrame frame) {
+        Transfers current = transfers.get(session);
+        Upload upload = current != null ? current.uploads.get(frame.getHash()) : null;
+        if (upload == null) {
+            return;
+        }
+        int length = frame.length();
+        long end = upload.received + length;
+        if (frame.getOffset() != upload.received || end > upload.size || end - upload.written > window) {
+            LOG.warn("잘못된 첨부 파일 조각", "hash", upload.hash, "offset", frame.getOffset(),
+                    "expected", upload.received);
+            upload.fail();
+            return;
+        }
+        upload.received = end;
+        upload.enqueue(frame);
+    }
+
+    /**
+     * 진행 중인 업로드 하나
+     * received는 읽기 스레드만, written과 channel은 기록 중인 실행기 스레드만 바꿉니다.
+     */
+    private final class Upload {
+        final ClientSession session;
+        final Transfers owner;
+        final String hash;
+        final long size;
+        final FileChannel channel;
+        long received;
+        volatile long written;
+        // 아래는 lock으로 보호
+        final ReentrantLock lock = new ReentrantLock();
+        final ArrayDeque<AttachmentFrame> chunks = new ArrayDeque<>();
+        boolean writing;
+        boolean closed;
+
+        Upload(ClientSession session, Transfers owner, String hash, long size, FileChannel channel, long received) {
+            this.session = session;
+            this.owner = owner;
+            this.hash = hash;
+            this.size = size;
+            this.channel = channel;
+            this.received = received;
+            this.written = received;
+        }
+
+        void enqueue(AttachmentFrame chunk) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                chunks.add(chunk);
+                if (writing) {
+                    return;
+                }
+                writing = true;
+            } finally {
+                lock.unlock();
+            }
+            execute(this::drain, () -> {
+                close();
+                closeChannel();
+            });
+        }
+
+        /**
+         * 쌓인 조각을 순서대로 기록하고 기록한 만큼 전송 창을 돌려줌 (실행기)
+         */
+        private void drain() {
+            while (true) {
+                AttachmentFrame chunk;
+                lock.lock();
+                try {
+                    chunk = closed ? null : chunks.poll();
+                    if (chunk == null) {
+                        writing = false;
+                        if (closed) {
+                            closeChannel();
+                        }
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    ByteBuffer data = ByteBuffer.wrap(chunk.getData());
+                    long position = chunk.getOffset();
+                    while (data.hasRemaining()) {
+                        position += channel.write(data, position);
+                    }
+                } catch (IOException e) {
+                    LOG.warn("첨부 파일 기록 실패", "hash", hash, e);
+                    fail();
+                    continue;
+                }
+                written = chunk.getOffset() + chunk.length();
+                if (written == size) {
+                    finish();
+                    continue;
+                }
+                session.sendFrame(new EncodedFrame(AttachmentFrame.credit(hash, chunk.length())));
+            }
+        }
+
+        /**
+         * 모두 받음 - 해시를 확인하고 저장 완료 처리 (실행기)
+         */
+        void finish() {
+            if (!detach()) {
+                return;
+            }
+            closeChannel();
+            boolean verified;
+            try {
+                verified = store.complete(hash);
+            } catch (IOException e) {
+                LOG.warn("첨부 파일 저장 실패", "hash", hash, e);
+                verified = false;
+            }
+            if (!verified) {
+                LOG.warn("첨부 파일 해시 불일치", "memberId", session.getMemberId(), "hash", hash);
+            }
+            session.sendFrame(new EncodedFrame(verified
+                    ? AttachmentFrame.complete(hash, size) : AttachmentFrame.failed(hash)));
+        }
+
+        /**
+         * 업로드 중단 - 받은 데까지는 남겨 둠
+         */
+        void fail() {
+            if (detach()) {
+                session.sendFrame(new EncodedFrame(AttachmentFrame.failed(hash)));
+            }
+        }
+
+        void close() {
+            detach();
+        }
+
+        /**
+         * 진행 목록에서 빼고 더 받지 않음 (기록 중이 아니면 파일도 닫음)
+         * @return 이미 끝난 업로드면 false
+         */
+        private boolean detach() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                closed = true;
+                chunks.clear();
+                if (!writing) {
+                    closeChannel();
+                }
+            } finally {
+                lock.unlock();
+            }
+            owner.uploads.remove(hash, this);
+            uploading.remove(hash);
+            return true;
+        }
+
+        private void closeChannel() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOG.warn("첨부 파일 닫기 실패", "hash", hash, e);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- 다운로드
+
+    /**
+     * 다운로드 시작 (읽기 스레드) - 요청한 위치부터 창 안에서 바로 보내기 시작
+     */
+    private void startDownload(ClientSession session, AttachmentFrame frame) {
+        String hash = frame.getHash();
+        Transfers current = transfers.computeIfAbsent(session, s -> new Transfers());
+        Path path = store.find(hash);
+        if (path == null || current.size() >= MAX_TRANSFERS_PER_SESSION) {
+            session.sendFrame(new EncodedFrame(AttachmentFrame.failed(hash)));
+            return;
+        }
+        ByteBuffer file;
+        try {
+            file = AttachmentStore.map(path);
+        } catch (IOException e) {
+            LOG.warn("첨부 파일 열기 실패", "hash", hash, e);
+            session.sendFrame(new EncodedFrame(AttachmentFrame.failed(hash)));
+            return;
+        }
+        long offset = frame.getOffset();
+        if (offset > file.capacity()) {
+            session.sendFrame(new EncodedFrame(AttachmentFrame.failed(hash)));
+            return;
+        }
+        if (offset == file.capacity()) {
+            session.sendFrame(new EncodedFrame(AttachmentFrame.complete(hash, file.capacity())));
+            return;
+        }
+        Download download = new Download(hash, file, (int) offset, Math.min(frame.getCredit(), MAX_DOWNLOAD_CREDIT));
+        current.downloads.put(hash, download);
+        pump(session, current, download);
+    }
+
+    /**
+     * 클라이언트가 조각을 기록함 - 그만큼 더 보냄 (읽기 스레드)
+     */
+    private void addCredit(ClientSession session, AttachmentFrame frame) {
+        Transfers current = transfers.get(session);
+        Download download = current != null ? current.downloads.get(frame.getHash()) : null;
+        if (download == null) {
+            return;
+        }
+        download.credit = (int) Math.min((long) download.credit + frame.getCredit(), MAX_DOWNLOAD_CREDIT);
+        pump(session, current, download);
+    }
+
+    /**
+     * 창 안에서 매핑한 파일 구간을 조각으로 잘라 보냄
+     */
+    private void pump(ClientSession session, Transfers current, Download download) {
+        ByteBuffer file = download.file;
+        int size = file.capacity();
+        while (download.credit > 0 && download.position < size) {
+            int length = Math.min(CHUNK_SIZE, Math.min(download.credit, size - download.position));
+            ByteBuffer region = file.duplicate();
+            region.limit(download.position + length);
+            region.position(download.position);
+            session.sendFrame(new EncodedFrame(
+                    AttachmentFrame.data(download.hash, download.position, size, region)));
+            download.position += length;
+            download.credit -= length;
+        }
+        if (download.position == size) {
+            current.downloads.remove(download.hash, download);
+        }
+    }
+
+    /**
+     * 진행 중인 다운로드 하나 (연결의 읽기 스레드에서만 접근)
+     */
+    private static final class Download {
+        final String hash;
+        final ByteBuffer file;
+        int position;
+        int credit;
+
+        Download(String hash, ByteBuffer file, int position, int credit) {
+            this.hash = hash;
+            this.file = file;
+            this.position = position;
+            this.credit = credit;
+        }
+    }
+
+    private void execute(Runnable task, Runnable rejected) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 서버 종료 중
+            rejected.run();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.socket;
+
+import org.example.utils.HashUtil;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 첨부 파일 저장소 (로컬 디스크, 내용 주소 방식)
+ * 파일은 내용의 SHA-256 해시를 이름으로 저장하므로 같은 파일은 몇 번을 올려도 한 번만 저장됩니다.
+ * - objects/ab/abcd...: 검증을 마친 파일 (해시 앞 두 글자로 디렉터리를 나눠 한 디렉터리의 파일 수를 줄임)
+ * - partial/abcd...: 업로드 중인 파일 (연결이 끊겨도 남겨 두고, 다시 업로드하면 이어서 받음)
+ * 업로드가 끝나면 내용의 해시를 확인한 뒤 objects로 옮기고, 해시가 다르면 받은 내용을 지웁니다.
+ * 해시는 호출한 쪽에서 HashUtil.isSha256Hex()로 확인한 값만 넘깁니다 (경로 조작 방지).
+ */
+final class AttachmentStore {
+    private final Path objects;
+    private final Path partials;
+
+    AttachmentStore(Path directory) {
+        this.objects = directory.resolve("objects");
+        this.partials = directory.resolve("partial");
+    }
+
+    /**
+     * 저장을 마친 파일 경로 (없으면 null)
+     */
+    Path find(String hash) {
+        Path path = objectPath(hash);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    /**
+     * 업로드 중인 파일 열기 (없으면 만듦) - 이어 받을 위치는 채널 크기
+     */
+    FileChannel openPartial(String hash) throws IOException {
+        Files.createDirectories(partials);
+        return FileChannel.open(partials.resolve(hash), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * 업로드를 마친 파일의 해시를 확인하고 저장 완료 처리
+     * @return 해시가 맞으면 true, 다르면 받은 내용을 지우고 false
+     */
+    boolean complete(String hash) throws IOException {
+        Path partial = partials.resolve(hash);
+        if (!hash.equals(HashUtil.sha256(partial))) {
+            Files.deleteIfExists(partial);
+            return false;
+        }
+        Path target = objectPath(hash);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    /**
+     * 저장된 파일 전체를 읽기 전용으로 메모리 매핑 (전송할 때 힙으로 복사하지 않음)
+     */
+    static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private Path objectPath(String hash) {
+        return objects.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.socket;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 바이너리 프레임 본문 판독기 (BinaryWriter 형식과 짝을 이룸)
+ */
+final class BinaryReader {
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+
+    BinaryReader(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    int readByte() throws IOException {
+        if (position >= limit) {
+            throw new EOFException("프레임 본문이 예상보다 짧습니다");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    long readUnsignedVarLong() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new StreamCorruptedException("잘못된 varint");
+    }
+
+    int readVarInt() throws IOException {
+        int raw = (int) readUnsignedVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    long readVarLong() throws IOException {
+        long raw = readUnsignedVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    String readString() throws IOException {
+        long lengthPlusOne = readUnsignedVarLong();
+        if (lengthPlusOne == 0) {
+            return null;
+        }
+        int length = (int) (lengthPlusOne - 1);
+        if (length < 0 || length > limit - position) {
+            throw new StreamCorruptedException("잘못된 문자열 길이: " + length);
+        }
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * 본문의 남은 바이트를 모두 읽음
+     */
+    byte[] readRemaining() {
+        byte[] bytes = Arrays.copyOfRange(buffer, position, limit);
+        position = limit;
+        return bytes;
+    }
+
+    int remaining() {
+        return limit - position;
+    }
+}
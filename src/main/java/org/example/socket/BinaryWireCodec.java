@@ -0,0 +1,235 @@
+package org.example.socket;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 바이너리 프레임 코덱
+ * 본문 형식: [버전 1B][종류 1B][필드...]
+ * - 열거형(ChatMessageType / ChatCommandType)은 1바이트 ordinal
+ * - ID는 zigzag varint, 시간은 epoch 밀리초 varlong, 문자열은 UTF-8
+ * 클래스 기술자나 Timestamp 객체 없이 필드 값만 기록하므로 Java 직렬화보다 훨씬 작고 빠릅니다.
+ * 필드를 추가할 때는 VERSION을 올리고, 이전 버전 본문도 읽을 수 있게 유지합니다.
+ * - 버전 2: 메시지/명령 끝에 메시지 ID(varint)와 클라이언트 메시지 ID(varlong) 추가
+ * - 버전 3: 메시지 끝에 채팅방 시퀀스(varlong), 명령 끝에 시퀀스와 메시지 목록 추가
+ * 첨부 파일 프레임(종류 3)은 핸드셰이크에서 FEATURE_ATTACHMENT를 주고받은 연결에서만 쓰므로 버전을 올리지 않았습니다.
+ * - [유형 1B][해시 문자열][위치 varint][크기 varint][창 varint][데이터: 본문 끝까지]
+ * - 파일 구간을 담은 DATA는 데이터 앞부분까지만 인코딩하고 길이 헤더에 데이터 길이를 포함 (구간은 전송할 때 이어서 기록)
+ */
+public final class BinaryWireCodec implements WireCodec {
+    public static final BinaryWireCodec INSTANCE = new BinaryWireCodec();
+
+    static final int VERSION = 3;
+
+    private static final int KIND_MESSAGE = 1;
+    private static final int KIND_COMMAND = 2;
+    private static final int KIND_ATTACHMENT = 3;
+
+    private static final int FLAG_TIMESTAMP = 1;
+
+    private static final ChatMessageType[] MESSAGE_TYPES = ChatMessageType.values();
+    private static final ChatCommandType[] COMMAND_TYPES = ChatCommandType.values();
+    private static final AttachmentFrameType[] ATTACHMENT_TYPES = AttachmentFrameType.values();
+
+    private BinaryWireCodec() {
+    }
+
+    @Override
+    public WireFormat getFormat() {
+        return WireFormat.BINARY;
+    }
+
+    @Override
+    public byte[] encode(Object payload) throws IOException {
+        if (payload instanceof ChatMessage) {
+            BinaryWriter writer = new BinaryWriter(64);
+            writer.writeByte(VERSION);
+            writer.writeByte(KIND_MESSAGE);
+            writeMessage(writer, (ChatMessage) payload);
+            return writer.toFrame();
+        }
+        if (payload instanceof ChatCommand) {
+            BinaryWriter writer = new BinaryWriter(32);
+            writer.writeByte(VERSION);
+            writer.writeByte(KIND_COMMAND);
+            writeCommand(writer, (ChatCommand) payload);
+            return writer.toFrame();
+        }
+        if (payload instanceof AttachmentFrame) {
+            return encodeAttachment((AttachmentFrame) payload);
+        }
+        throw new IOException("바이너리 형식으로 인코딩할 수 없는 객체: "
+                + (payload != null ? payload.getClass().getName() : "null"));
+    }
+
+    @Override
+    public Object decode(byte[] buffer, int offset, int length) throws IOException {
+        BinaryReader reader = new BinaryReader(buffer, offset, length);
+        int version = reader.readByte();
+        if (version < 1 || version > VERSION) {
+            throw new StreamCorruptedException("지원하지 않는 프레임 버전: " + version);
+        }
+
+        int kind = reader.readByte();
+        switch (kind) {
+            case KIND_MESSAGE:
+                return readMessage(reader, version);
+            case KIND_COMMAND:
+                return readCommand(reader, version);
+            case KIND_ATTACHMENT:
+                return readAttachment(reader);
+            default:
+                throw new StreamCorruptedException("알 수 없는 프레임 종류: " + kind);
+        }
+    }
+
+    static void writeMessage(BinaryWriter writer, ChatMessage message) {
+        Timestamp timestamp = message.getTimestamp();
+        writer.writeByte(message.getType() != null ? message.getType().ordinal() : 0);
+        writer.writeByte(timestamp != null ? FLAG_TIMESTAMP : 0);
+        writer.writeVarInt(message.getChatRoomId());
+        writer.writeVarInt(message.getSenderId());
+        if (timestamp != null) {
+            writer.writeVarLong(timestamp.getTime());
+        }
+        writer.writeString(message.getContent());
+        writer.writeString(message.getSenderNickname());
+        writer.writeString(message.getSenderStatus());
+        writer.writeVarInt(message.getMessageId());
+        writer.writeVarLong(message.getClientMessageId());
+        writer.writeVarLong(message.getSequence());
+    }
+
+    static ChatMessage readMessage(BinaryReader reader, int version) throws IOException {
+        ChatMessage message = new ChatMessage();
+        message.setType(enumValue(MESSAGE_TYPES, reader.readByte()));
+        int flags = reader.readByte();
+        message.setChatRoomId(reader.readVarInt());
+        message.setSenderId(reader.readVarInt());
+        if ((flags & FLAG_TIMESTAMP) != 0) {
+            message.setTimestamp(new Timestamp(reader.readVarLong()));
+        }
+        message.setContent(reader.readString());
+        message.setSenderNickname(reader.readString());
+        message.setSenderStatus(reader.readString());
+        if (version >= 2) {
+            message.setMessageId(reader.readVarInt());
+            message.setClientMessageId(reader.readVarLong());
+        }
+        if (version >= 3) {
+            message.setSequence(reader.readVarLong());
+        }
+        return message;
+    }
+
+    static void writeCommand(BinaryWriter writer, ChatCommand command) {
+        writer.writeByte(command.getType() != null ? command.getType().ordinal() : 0);
+        writer.writeVarInt(command.getChatRoomId());
+        writer.writeVarInt(command.getMemberId());
+
+        List<Integer> members = command.getMembers();
+        if (members == null) {
+            writer.writeUnsignedVarLong(0);
+        } else {
+            writer.writeUnsignedVarLong(members.size() + 1L);
+            for (Integer memberId : members) {
+                writer.writeVarInt(memberId);
+            }
+        }
+        writer.writeVarInt(command.getMessageId());
+        writer.writeVarLong(command.getClientMessageId());
+        writer.writeVarLong(command.getSequence());
+
+        List<ChatMessage> messages = command.getMessages();
+        if (messages == null) {
+            writer.writeUnsignedVarLong(0);
+        } else {
+            writer.writeUnsignedVarLong(messages.size() + 1L);
+            for (ChatMessage message : messages) {
+                writeMessage(writer, message);
+            }
+        }
+    }
+
+    static ChatCommand readCommand(BinaryReader reader, int version) throws IOException {
+        ChatCommand command = new ChatCommand();
+        command.setType(enumValue(COMMAND_TYPES, reader.readByte()));
+        command.setChatRoomId(reader.readVarInt());
+        command.setMemberId(reader.readVarInt());
+
+        long countPlusOne = reader.readUnsignedVarLong();
+        if (countPlusOne > 0) {
+            int count = (int) (countPlusOne - 1);
+            if (count > reader.remaining()) {
+                throw new StreamCorruptedException("잘못된 멤버 수: " + count);
+            }
+            List<Integer> members = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                members.add(reader.readVarInt());
+            }
+            command.setMembers(members);
+        }
+        if (version >= 2) {
+            command.setMessageId(reader.readVarInt());
+            command.setClientMessageId(reader.readVarLong());
+        }
+        if (version >= 3) {
+            command.setSequence(reader.readVarLong());
+
+            long messageCountPlusOne = reader.readUnsignedVarLong();
+            if (messageCountPlusOne > 0) {
+                int count = (int) (messageCountPlusOne - 1);
+                if (count > reader.remaining()) {
+                    throw new StreamCorruptedException("잘못된 메시지 수: " + count);
+                }
+                List<ChatMessage> messages = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    messages.add(readMessage(reader, version));
+                }
+                command.setMessages(messages);
+            }
+        }
+        return command;
+    }
+
+    private static byte[] encodeAttachment(AttachmentFrame frame) throws IOException {
+        byte[] data = frame.getData();
+        BinaryWriter writer = new BinaryWriter(96 + (data != null ? data.length : 0));
+        writer.writeByte(VERSION);
+        writer.writeByte(KIND_ATTACHMENT);
+        writer.writeByte(frame.getType().ordinal());
+        writer.writeString(frame.getHash());
+        writer.writeUnsignedVarLong(frame.getOffset());
+        writer.writeUnsignedVarLong(frame.getSize());
+        writer.writeUnsignedVarLong(frame.getCredit());
+        if (data != null) {
+            writer.writeBytes(data, 0, data.length);
+            return writer.toFrame();
+        }
+        // 파일 구간은 복사하지 않고 전송할 때 이어서 기록
+        return writer.toFrame(frame.length());
+    }
+
+    private static AttachmentFrame readAttachment(BinaryReader reader) throws IOException {
+        AttachmentFrameType type = enumValue(ATTACHMENT_TYPES, reader.readByte());
+        String hash = reader.readString();
+        long offset = reader.readUnsignedVarLong();
+        long size = reader.readUnsignedVarLong();
+        long credit = reader.readUnsignedVarLong();
+        if (offset < 0 || size < 0 || credit > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("잘못된 첨부 파일 프레임 값");
+        }
+        byte[] data = type == AttachmentFrameType.DATA ? reader.readRemaining() : null;
+        return AttachmentFrame.decoded(type, hash, offset, size, (int) credit, data);
+    }
+
+    private static <T> T enumValue(T[] values, int ordinal) throws StreamCorruptedException {
+        if (ordinal >= values.length) {
+            throw new StreamCorruptedException("알 수 없는 유형 값: " + ordinal);
+        }
+        return values[ordinal];
+    }
+}
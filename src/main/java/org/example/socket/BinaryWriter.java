@@ -0,0 +1,87 @@
+package org.example.socket;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 바이너리 프레임 작성기
+ * 앞 4바이트를 길이 헤더 자리로 비워 두고, 정수는 zigzag varint, 문자열은 UTF-8로 기록합니다.
+ */
+final class BinaryWriter {
+    private byte[] buffer;
+    private int position = FrameCodec.HEADER_SIZE;
+
+    BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, FrameCodec.HEADER_SIZE + 16)];
+    }
+
+    void writeByte(int value) {
+        ensure(1);
+        buffer[position++] = (byte) value;
+    }
+
+    void writeBytes(byte[] bytes, int offset, int length) {
+        ensure(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    /**
+     * 부호 없는 varint (7비트 단위)
+     */
+    void writeUnsignedVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * 부호 있는 정수 (zigzag 인코딩으로 작은 음수도 1바이트)
+     */
+    void writeVarInt(int value) {
+        writeUnsignedVarLong(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    void writeVarLong(long value) {
+        writeUnsignedVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * 문자열 (길이+1을 먼저 기록하고 0은 null을 의미)
+     */
+    void writeString(String value) {
+        if (value == null) {
+            writeUnsignedVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeUnsignedVarLong(bytes.length + 1L);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 길이 헤더를 채운 완성 프레임 반환
+     */
+    byte[] toFrame() throws IOException {
+        return toFrame(0);
+    }
+
+    /**
+     * 본문 뒤에 trailingLength 바이트가 따로 이어지는 프레임 반환 (길이 헤더에는 뒤따르는 바이트까지 포함)
+     */
+    byte[] toFrame(int trailingLength) throws IOException {
+        byte[] frame = position == buffer.length ? buffer : Arrays.copyOf(buffer, position);
+        FrameCodec.putLength(frame, position - FrameCodec.HEADER_SIZE + trailingLength);
+        return frame;
+    }
+
+    private void ensure(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 블로킹 서버 엔진 (기존 방식)
+ * 클라이언트 연결마다 ClientHandler 스레드 하나가 readFrame()에서 대기하고,
+ * 송신 대기열을 비우는 writer 스레드 하나가 소켓 쓰기를 담당합니다.
+ * 가상 스레드 모드에서는 연결 수락, 인증, 핸들러 작업이 모두 가상 스레드에서 실행되므로
+ * 유휴 연결이 많아도 플랫폼 스레드 수가 늘지 않습니다.
+ * 응답이 없는 연결은 ConnectionMonitor가 소켓을 닫아 readFrame()에서 대기 중인 스레드를 깨웁니다.
+ * reusePort 설정이면 SO_REUSEPORT로 바인딩해, 재시작할 새 프로세스가 같은 포트로 먼저 연결을 받을 수 있습니다.
+ */
+class BlockingServerEngine implements ServerEngine {
+    private static final Logger LOG = LogManager.getLogger(BlockingServerEngine.class);
+    // 직전 소켓 쓰기에 이만큼 이상 프레임이 묶였으면 바쁜 연결로 보고 다음 묶음을 잠시 더 모음
+    private static final int BUSY_BATCH_FRAMES = 4;
+
+    private final ChatSocketServer server;
+    private final ChatServerConfig config;
+    private ServerSocket serverSocket;
+    private ExecutorService executorService;
+    // 새 연결을 수락하는 중인지 (drain 중에는 false, 기존 연결은 계속 처리)
+    private volatile boolean accepting;
+
+    // 인증 전 연결까지 포함한 모든 핸들러 (종료 시 정리용)
+    private final Map<ClientHandler, Boolean> handlers = new ConcurrentHashMap<>();
+
+    BlockingServerEngine(ChatSocketServer server, ChatServerConfig config) {
+        this.server = server;
+        this.config = config;
+    }
+
+    @Override
+    public void start() throws IOException {
+        executorService = SocketExecutors.newConnectionExecutor(config.isVirtualThreads());
+        serverSocket = new ServerSocket();
+        if (config.isReusePort()) {
+            if (serverSocket.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT)) {
+                serverSocket.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+            } else {
+                LOG.warn("이 플랫폼은 SO_REUSEPORT를 지원하지 않습니다", "port", config.getPort());
+            }
+        }
+        serverSocket.bind(new InetSocketAddress(config.getPort()));
+        accepting = true;
+
+        // 클라이언트 연결 수락 스레드
+        executorService.submit(() -> {
+            while (accepting) {
+                try {
+                    Socket clientSocket = serverSocket.accept();
+                    handleClientConnection(clientSocket);
+                } catch (IOException e) {
+                    if (accepting) {
+                        LOG.warn("클라이언트 연결 수락 중 오류 발생", e);
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public void stopAccepting() {
+        accepting = false;
+        try {
+            if (serverSocket != null && !serverSocket.isClosed()) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            LOG.warn("서버 소켓 닫기 오류", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        stopAccepting();
+
+        for (ClientHandler handler : handlers.keySet()) {
+            handler.close();
+        }
+        handlers.clear();
+
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Override
+    public int getLocalPort() {
+        return serverSocket != null && serverSocket.getLocalPort() > 0 ? serverSocket.getLocalPort() : config.getPort();
+    }
+
+    /**
+     * 클라이언트 연결 처리 - 인증 후 핸들러 실행
+     */
+    private void handleClientConnection(Socket clientSocket) {
+        executorService.submit(() -> {
+            LOG.debug("새 클라이언트 연결 수락됨");
+            ChatServerMetrics metrics = server.getMetrics();
+            metrics.connectionAccepted();
+            ClientHandler clientHandler = null;
+            // 제한 시간 안에 첫 프레임을 보내지 않으면 소켓을 닫아 대기 중인 읽기를 끝냄
+            HashedWheelTimer.Timeout handshakeTimeout = server.getConnectionMonitor().watchHandshake(() -> {
+                try {
+                    clientSocket.close();
+                } catch (IOException e) {
+                    // 무시
+                }
+            });
+
+            try {
+                clientSocket.setKeepAlive(true);
+                DataInputStream inputStream = new DataInputStream(new BufferedInputStream(clientSocket.getInputStream()));
+                OutputStream outputStream = clientSocket.getOutputStream();
+
+                // 초기 인증 단계 (사용자 ID 수신 및 본문 형식 협상)
+                int length = inputStream.readInt();
+                if (Handshake.isLegacyObjectStream(length)) {
+                    if (handshakeTimeout != null) {
+                        handshakeTimeout.cancel();
+                    }
+                    server.rejectLegacyStream(clientSocket.getRemoteSocketAddress());
+                    clientSocket.close();
+                    return;
+                }
+                byte[] hello = FrameCodec.readFrameBody(inputStream, length, FrameCodec.MAX_HANDSHAKE_FRAME_SIZE);
+                metrics.bytesReceived(FrameCodec.HEADER_SIZE + hello.length);
+                Handshake.Result handshake = server.handshake(hello, 0, hello.length);
+                if (handshakeTimeout != null && !handshakeTimeout.cancel()) {
+                    return;
+                }
+                outputStream.write(handshake.response);
+                outputStream.flush();
+                metrics.bytesSent(handshake.response.length);
+                if (handshake.memberId == null) {
+                    clientSocket.close();
+                    return;
+                }
+
+                clientHandler = new ClientHandler(clientSocket, handshake.memberId, handshake.codec, inputStream, outputStream,
+                        server.createRateLimit(handshake));
+                handlers.put(clientHandler, Boolean.TRUE);
+                server.registerSession(clientHandler, handshake.features);
+                clientHandler.startLiveness(handshake.heartbeat);
+                executorService.submit(clientHandler::writeLoop);
+                clientHandler.run();
+            } catch (IOException e) {
+                if (handshakeTimeout != null) {
+                    handshakeTimeout.cancel();
+                }
+                if (clientHandler == null) {
+                    // 제한 시간 초과로 닫힌 연결은 ConnectionMonitor가 따로 셈
+                    if (handshakeTimeout == null || !handshakeTimeout.isExpired()) {
+                        metrics.handshakeError();
+                    }
+                    LOG.warn("클라이언트 연결 처리 중 오류", e);
+                    try {
+                        clientSocket.close();
+                    } catch (IOException ex) {
+                        LOG.warn("소켓 닫기 오류", ex);
+                    }
+                }
+            } finally {
+                metrics.connectionClosed();
+            }
+        });
+    }
+
+    /**
+     * 클라이언트 핸들러 클래스
+     * 각 클라이언트 연결을 처리합니다. 읽기는 run()을 실행하는 스레드가,
+     * 쓰기는 송신 대기열을 비우는 전용 writer 스레드가 담당합니다.
+     */
+    private class ClientHandler implements ClientSession, Runnable {
+        private final Socket socket;
+        private final int memberId;
+        private final WireCodec codec;
+        private final DataInputStream inputStream;
+        private final OutputStream outputStream;
+        private final OutboundQueue outboundQueue;
+        // 전송 속도 제한 (사용하지 않으면 null)
+        private final RateLimiter.Connection rateLimit;
+        // 생존 확인 (PING/PONG을 지원하지 않는 기존 클라이언트는 null)
+        private volatile ConnectionMonitor.Liveness liveness;
+        private volatile boolean running = true;
+
+        ClientHandler(Socket socket, int memberId, WireCodec codec, DataInputStream inputStream, OutputStream outputStream,
+                      RateLimiter.Connection rateLimit) {
+            this.socket = socket;
+            this.memberId = memberId;
+            this.codec = codec;
+            this.inputStream = inputStream;
+            this.outputStream = outputStream;
+            this.outboundQueue = server.createOutboundQueue(memberId);
+            this.rateLimit = rateLimit;
+        }
+
+        @Override
+        public int getMemberId() {
+            return memberId;
+        }
+
+        /**
+         * 생존 확인 시작 (등록 직후 연결이 끊겼으면 바로 중지)
+         */
+        void startLiveness(boolean heartbeat) {
+            liveness = server.getConnectionMonitor().watch(this, heartbeat);
+            if (!running && liveness != null) {
+                liveness.cancel();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                // 클라이언트가 연결되어 있는 동안 메시지 대기
+                while (running && !socket.isClosed()) {
+                    try {
+                        byte[] body = FrameCodec.readFrameBody(inputStream);
+                        server.getMetrics().bytesReceived(FrameCodec.HEADER_SIZE + body.length);
+                        Object frame = codec.decode(body, 0, body.length);
+                        ConnectionMonitor.Liveness current = liveness;
+                        if (current != null) {
+                            current.onRead();
+                        }
+                        server.handleFrame(this, rateLimit, frame);
+                    } catch (ClassNotFoundException e) {
+                        LOG.warn("알 수 없는 메시지 타입", "memberId", memberId, e);
+                    }
+                }
+            } catch (IOException e) {
+                if (running) {
+                    LOG.warn("클라이언트 처리 중 오류", "memberId", memberId, e);
+                }
+            } finally {
+                close();
+            }
+        }
+
+        /**
+         * 송신 대기열을 비우는 writer 루프 (연결마다 전용 스레드에서 실행)
+         * 이미 쌓여 있는 프레임을 최대 flushMaxBytes까지 한 버퍼에 모아 소켓 쓰기 한 번으로 보냅니다.
+         * 직전 묶음이 여러 프레임이었던 바쁜 연결은 flushWindowMicros 동안 프레임을 조금 더 모으고,
+         * 한가한 연결은 기다리지 않으므로 조용한 채팅방의 메시지 하나는 바로 나갑니다.
+         * 스트림에는 다이렉트 버퍼를 바로 쓸 수 없으므로 첨부 파일 조각은 연결마다 하나인 복사 버퍼를 거쳐 기록합니다.
+         */
+        void writeLoop() {
+            ChatServerMetrics metrics = server.getMetrics();
+            int maxBytes = Math.max(1, config.getFlushMaxBytes());
+            long windowNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, config.getFlushWindowMicros()));
+            OutputStream out = new BufferedOutputStream(outputStream, maxBytes);
+            List<EncodedFrame> batch = new ArrayList<>();
+            byte[] copyBuffer = null;
+            int lastBatchSize = 0;
+            try {
+                EncodedFrame frame;
+                while ((frame = outboundQueue.take()) != null) {
+                    long deadline = windowNanos > 0 && lastBatchSize >= BUSY_BATCH_FRAMES
+                            ? System.nanoTime() + windowNanos : 0;
+                    int bytes = 0;
+                    try {
+                        while (frame != null) {
+                            byte[] encoded;
+                            try {
+                                encoded = frame.frame(codec.getFormat());
+                            } catch (IOException e) {
+                                LOG.warn("메시지 인코딩 오류", "memberId", memberId, e);
+                                frame.releaseWrite();
+                                encoded = null;
+                            }
+                            if (encoded != null) {
+                                batch.add(frame);
+                                out.write(encoded);
+                                bytes += encoded.length;
+                                ByteBuffer data = frame.data();
+                                if (data != null) {
+                                    if (copyBuffer == null) {
+                                        copyBuffer = new byte[AttachmentService.CHUNK_SIZE];
+                                    }
+                                    bytes += data.remaining();
+                                    while (data.hasRemaining()) {
+                                        int length = Math.min(copyBuffer.length, data.remaining());
+                                        data.get(copyBuffer, 0, length);
+                                        out.write(copyBuffer, 0, length);
+                                    }
+                                }
+                            }
+                            if (bytes >= maxBytes) {
+                                break;
+                            }
+                            frame = outboundQueue.poll();
+                            if (frame == null && deadline != 0) {
+                                long remaining = deadline - System.nanoTime();
+                                if (remaining > 0) {
+                                    frame = outboundQueue.poll(remaining);
+                                }
+                            }
+                        }
+                        out.flush();
+                        metrics.bytesSent(bytes);
+                        for (EncodedFrame sent : batch) {
+                            metrics.frameSent(sent);
+                        }
+                        if (!batch.isEmpty()) {
+                            metrics.writeBatch(batch.size());
+                        }
+                    } finally {
+                        for (EncodedFrame written : batch) {
+                            written.releaseWrite();
+                        }
+                        lastBatchSize = batch.size();
+                        batch.clear();
+                    }
+                    ConnectionMonitor.Liveness current = liveness;
+                    if (current != null) {
+                        current.onWrite();
+                    }
+                }
+            } catch (IOException e) {
+                if (running) {
+                    LOG.warn("메시지 전송 오류", "memberId", memberId, e);
+                }
+                close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * 명령 응답 전송
+         */
+        @Override
+        public void sendCommand(ChatCommand response) {
+            sendFrame(new EncodedFrame(response));
+        }
+
+        /**
+         * 클라이언트에 메시지 전송
+         */
+        @Override
+        public void sendMessage(ChatMessage message) {
+            sendFrame(new EncodedFrame(message));
+        }
+
+        /**
+         * 송신 대기열에 프레임 추가 - 실제 쓰기는 writer 스레드가 처리하므로 호출 스레드는 막히지 않음
+         */
+        @Override
+        public void sendFrame(EncodedFrame frame) {
+            if (!running) {
+                frame.releaseWrite();
+                return;
+            }
+            if (!outboundQueue.offer(frame)) {
+                LOG.warn("송신 대기열 초과로 연결 종료", "memberId", memberId);
+                close();
+            }
+        }
+
+        @Override
+        public int getOutboundQueueDepth() {
+            return outboundQueue.size();
+        }
+
+        @Override
+        public long getDroppedFrameCount() {
+            return outboundQueue.getDroppedCount();
+        }
+
+        @Override
+        public long getSpilledFrameCount() {
+            return outboundQueue.getSpilledCount();
+        }
+
+        /**
+         * 연결 종료
+         */
+        @Override
+        public void close() {
+            running = false;
+            ConnectionMonitor.Liveness current = liveness;
+            if (current != null) {
+                current.cancel();
+            }
+            outboundQueue.close();
+            server.unregisterSession(this);
+            handlers.remove(this);
+
+            try {
+                if (!socket.isClosed()) {
+                    socket.close();
+                }
+            } catch (IOException e) {
+                LOG.warn("소켓 종료 오류", "memberId", memberId, e);
+            }
+        }
+    }
+}
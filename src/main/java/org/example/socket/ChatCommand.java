@@ -13,6 +13,13 @@ public class ChatCommand implements Serializable {
     private int chatRoomId;
     private int memberId;
     private List<Integer> members;
+    // 전송 확인(MESSAGE_ACK)용 - 서버가 할당한 메시지 ID(실패 시 -1)와 클라이언트 메시지 ID
+    private int messageId;
+    private long clientMessageId;
+    // 재개(RESUME)용 - 요청 시 마지막으로 받은 시퀀스, 응답 시 다음 페이지 시작 시퀀스(없으면 0)
+    private long sequence;
+    // 재개 응답으로 한 번에 보내는 메시지 목록
+    private List<ChatMessage> messages;
 
     /**
      * 기본 생성자 (직렬화용)
@@ -46,6 +53,59 @@ public class ChatCommand implements Serializable {
         this.members = members;
     }
 
+    /**
+     * 메시지 전송 확인 명령 생성
+     * @param messageId 저장된 메시지 ID, 저장 실패 시 -1, 서버가 저장하지 않았으면 0
+     */
+    public static ChatCommand messageAck(ChatMessage message, int messageId) {
+        ChatCommand ack = new ChatCommand(ChatCommandType.MESSAGE_ACK, message.getChatRoomId(), message.getSenderId());
+        ack.setMessageId(messageId);
+        ack.setClientMessageId(message.getClientMessageId());
+        return ack;
+    }
+
+    /**
+     * 놓친 메시지 재전송 요청 명령 생성
+     * @param lastSequence 이 채팅방에서 마지막으로 받은 메시지 시퀀스
+     */
+    public static ChatCommand resume(int chatRoomId, int memberId, long lastSequence) {
+        ChatCommand command = new ChatCommand(ChatCommandType.RESUME, chatRoomId, memberId);
+        command.setSequence(lastSequence);
+        return command;
+    }
+
+    /**
+     * 수신 확인 명령 생성
+     * @param sequence 이 채팅방에서 빈틈없이 받은 마지막 메시지 시퀀스 (이하 모든 메시지를 받았음을 뜻함)
+     */
+    public static ChatCommand deliveryAck(int chatRoomId, int memberId, long sequence) {
+        ChatCommand command = new ChatCommand(ChatCommandType.DELIVERY_ACK, chatRoomId, memberId);
+        command.setSequence(sequence);
+        return command;
+    }
+
+    /**
+     * 전송 속도 제한 응답 생성
+     * @param retryAfterMillis 다시 보낼 수 있을 때까지 남은 시간(ms), sequence 필드에 담음
+     */
+    public static ChatCommand rateLimited(ChatMessage message, long retryAfterMillis) {
+        ChatCommand command = new ChatCommand(ChatCommandType.RATE_LIMITED, message.getChatRoomId(),
+                message.getSenderId());
+        command.setClientMessageId(message.getClientMessageId());
+        command.setSequence(retryAfterMillis);
+        return command;
+    }
+
+    /**
+     * 재접속 요청 생성 (서버 종료 전)
+     * @param jitterMillis 클라이언트가 재접속 시각을 무작위로 고르는 구간(ms), sequence 필드에 담음
+     */
+    public static ChatCommand reconnect(long jitterMillis) {
+        ChatCommand command = new ChatCommand(ChatCommandType.RECONNECT, 0);
+        command.setSequence(jitterMillis);
+        return command;
+    }
+
     // Getter 및 Setter 메서드
     public ChatCommandType getType() {
         return type;
@@ -79,6 +139,38 @@ public class ChatCommand implements Serializable {
         this.members = members;
     }
 
+    public int getMessageId() {
+        return messageId;
+    }
+
+    public void setMessageId(int messageId) {
+        this.messageId = messageId;
+    }
+
+    public long getClientMessageId() {
+        return clientMessageId;
+    }
+
+    public void setClientMessageId(long clientMessageId) {
+        this.clientMessageId = clientMessageId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public List<ChatMessage> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<ChatMessage> messages) {
+        this.messages = messages;
+    }
+
     @Override
     public String toString() {
         return "ChatCommand{" +
@@ -2,6 +2,7 @@ package org.example.socket;
 
 /**
  * 채팅 명령 유형 열거형
+ * 바이너리 프레임 형식은 ordinal 값을 사용하므로 새 유형은 항상 끝에 추가합니다.
  */
 public enum ChatCommandType {
     JOIN_CHAT,          // 채팅방 참여
@@ -10,5 +11,14 @@ public enum ChatCommandType {
     LEAVE_CHAT_SUCCESS, // 채팅방 나가기 성공
     UPDATE_MEMBERS,     // 채팅방 멤버 목록 업데이트
     REFRESH,           // 채팅방 목록 새로고침
-    ERROR              // 오류 응답
+    ERROR,             // 오류 응답
+    MESSAGE_ACK,       // 메시지 저장 확인 (서버가 할당한 메시지 ID 전달)
+    RESUME,            // 재접속 후 채팅방 입장 + 마지막 시퀀스 이후 메시지 요청
+    RESUME_SUCCESS,    // 놓친 메시지 묶음 응답
+    PING,              // 서버의 생존 확인 요청
+    PONG,              // 생존 확인 응답
+    DELIVERY_ACK,      // 수신 확인 (채팅방에서 빈틈없이 받은 마지막 시퀀스, 누적)
+    RATE_LIMITED,      // 전송 속도 제한으로 메시지를 버림 (다시 보낼 수 있을 때까지 남은 시간 포함)
+    MEMBERSHIP_CHANGED, // 채팅방 참여자 추가/제거 알림 (서버가 알린 사용자만 DB에서 다시 확인)
+    RECONNECT          // 서버 종료 예정 - 재접속 분산 구간(ms) 안에서 무작위로 시각을 골라 다시 접속
 }
\ No newline at end of file
@@ -0,0 +1,370 @@
+package org.example.socket;
+
+import org.example.boundary.ConnectionProvider;
+import org.example.log.LogManager;
+import org.example.log.Logger;
+import org.example.repository.MessageRepository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 채팅 서버 부하 생성기 (화면 없이 실행)
+ * 시뮬레이션 사용자 N명이 각자 연결해 인증하고, 인원 분포에 따라 만든 채팅방에 입장한 뒤
+ * 지정한 초당 전송 수로 메시지를 보내며 보낸 시각부터 각 수신자에게 도착하기까지의 지연을 측정합니다.
+ *
+ * 송신은 개방형(open-loop)으로, 메시지마다 정해진 예정 시각을 기준으로 지연을 잽니다.
+ * 서버가 느려져 송신이 밀려도 밀린 시간이 지연에 포함되므로, 응답을 기다렸다 보내는 방식처럼
+ * 느린 구간의 표본이 빠지는 문제(coordinated omission)가 생기지 않습니다.
+ *
+ * 기본값은 같은 프로세스에 H2 인메모리 DB를 쓰는 서버를 띄우므로 외부 DB 없이 실행됩니다.
+ * 실행: ./gradlew loadTest --args="--members=2000 --rate=2000 --duration=60 --server-engine=nio"
+ */
+public class ChatLoadGenerator {
+    private static final Logger LOG = LogManager.getLogger(ChatLoadGenerator.class);
+
+    private static final String EMBEDDED_DB_URL = "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final long JOIN_TIMEOUT_MILLIS = 30_000;
+    private static final int CONNECT_PARALLELISM = 32;
+
+    private final LoadTestConfig config;
+    private final ChatServerConfig serverConfig;
+    private final LoadTestResult result = new LoadTestResult();
+    private final AtomicLong clientMessageIds = new AtomicLong();
+
+    private ChatSocketServer server;
+    private ExecutorService readers;
+    private SimulatedMember[] members;
+    private int[][] rooms;
+    // 채팅방별로 연결에 성공한 참여자 수 (예상 수신 수 계산용)
+    private int[] connectedRoomSizes;
+
+    /**
+     * @param serverConfig 내장 서버 설정 (외부 서버를 측정할 때는 무시)
+     */
+    ChatLoadGenerator(LoadTestConfig config, ChatServerConfig serverConfig) {
+        this.config = config;
+        this.serverConfig = serverConfig;
+    }
+
+    public static void main(String[] args) {
+        LoadTestConfig config = LoadTestConfig.fromArguments(args);
+        ChatServerConfig serverConfig = ChatServerConfig.fromArguments(args);
+        serverConfig.setPort(0);
+        try {
+            new ChatLoadGenerator(config, serverConfig).run();
+        } catch (Exception e) {
+            LOG.error("부하 테스트 실패", e);
+        } finally {
+            LogManager.flush();
+        }
+    }
+
+    /**
+     * 부하 테스트 실행 후 보고서 출력
+     */
+    LoadTestResult run() throws Exception {
+        String target;
+        int port;
+        if (config.isEmbeddedServer()) {
+            startEmbeddedServer();
+            port = server.getLocalPort();
+            target = "내장 서버 (localhost:" + port + ", " + serverConfig.getEngineType() + ")";
+        } else {
+            port = config.getPort();
+            target = config.getHost() + ":" + port;
+        }
+
+        readers = SocketExecutors.newConnectionExecutor(config.isVirtualThreads());
+        try {
+            planRooms();
+            connectMembers(port);
+            joinRooms();
+            double measuredSeconds = sendMessages();
+            awaitDeliveries();
+
+            String report = result.toReport(config, target, measuredSeconds);
+            writeReport(report);
+            return result;
+        } finally {
+            if (members != null) {
+                for (SimulatedMember member : members) {
+                    if (member != null) {
+                        member.close();
+                    }
+                }
+            }
+            readers.shutdownNow();
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+
+    /**
+     * 같은 프로세스에 서버 시작 (서버 저장이 켜져 있으면 H2 인메모리 DB 사용)
+     */
+    private void startEmbeddedServer() throws SQLException {
+        server = new ChatSocketServer(serverConfig);
+        if (serverConfig.isPersistMessages()) {
+            ConnectionProvider connections = () -> DriverManager.getConnection(EMBEDDED_DB_URL);
+            prepareEmbeddedDatabase(connections);
+            server.setMessageStore(new MessageRepository(connections));
+        }
+        server.start();
+    }
+
+    /**
+     * 메시지 저장과 최근 메시지 조회에 필요한 테이블만 생성 (외래 키 없음)
+     * 최근 메시지 조회가 Members와 조인하므로 시뮬레이션 사용자 행도 미리 넣어 둡니다.
+     */
+    private void prepareEmbeddedDatabase(ConnectionProvider connections) throws SQLException {
+        try (Connection connection = connections.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS Messages");
+                statement.execute("DROP TABLE IF EXISTS Members");
+                statement.execute("CREATE TABLE Members (" +
+                        "member_id INT PRIMARY KEY, " +
+                        "nickname VARCHAR(50) NOT NULL, " +
+                        "status VARCHAR(20) DEFAULT 'ONLINE')");
+                statement.execute("CREATE TABLE Messages (" +
+                        "message_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                        "message_content TEXT NOT NULL, " +
+                        "chatroom_id INT NOT NULL, " +
+                        "blockchain_message_id INT, " +
+                        "member_id INT NOT NULL, " +
+                        "created_at TIMESTAMP, " +
+                        "room_seq BIGINT NOT NULL DEFAULT 0)");
+                statement.execute("CREATE INDEX idx_messages_room_seq ON Messages (chatroom_id, room_seq)");
+            }
+
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO Members (member_id, nickname) VALUES (?, ?)")) {
+                for (int i = 0; i < config.getMembers(); i++) {
+                    int memberId = config.getMemberIdStart() + i;
+                    insert.setInt(1, memberId);
+                    insert.setString(2, "load-" + memberId);
+                    insert.addBatch();
+                    if (i % 1000 == 999) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        }
+    }
+
+    private void planRooms() {
+        RoomSizeDistribution distribution = RoomSizeDistribution.parse(config.getRoomSizes());
+        rooms = distribution.plan(config.getRooms(), config.getMembers(), new Random(config.getSeed()));
+    }
+
+    /**
+     * 시뮬레이션 사용자 연결 (동시에 여러 개씩 핸드셰이크)
+     */
+    private void connectMembers(int port) throws InterruptedException {
+        members = new SimulatedMember[config.getMembers()];
+        ExecutorService connector = SocketExecutors.newConnectionExecutor(config.isVirtualThreads());
+        try {
+            Semaphore permits = new Semaphore(CONNECT_PARALLELISM);
+            for (int i = 0; i < members.length; i++) {
+                int index = i;
+                permits.acquire();
+                connector.execute(() -> {
+                    try {
+                        SimulatedMember member = new SimulatedMember(config.getMemberIdStart() + index, result);
+                        member.connect(config.getHost(), port, config.getWireFormat());
+                        member.startReading(readers);
+                        members[index] = member;
+                    } catch (IOException e) {
+                        result.connectFailures.increment();
+                        LOG.debug("시뮬레이션 사용자 연결 실패", "index", index, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            permits.acquire(CONNECT_PARALLELISM);
+        } finally {
+            connector.shutdown();
+        }
+        if (result.connectFailures.sum() > 0) {
+            LOG.warn("일부 시뮬레이션 사용자가 연결하지 못했습니다", "failed", result.connectFailures.sum());
+        }
+    }
+
+    /**
+     * 모든 참여자가 채팅방에 입장하고 JOIN_CHAT_SUCCESS를 받을 때까지 대기
+     */
+    private void joinRooms() throws InterruptedException {
+        Map<Integer, Integer> sizeCounts = new TreeMap<>();
+        connectedRoomSizes = new int[rooms.length];
+        int connected = 0;
+        for (SimulatedMember member : members) {
+            if (member != null) {
+                connected++;
+            }
+        }
+
+        int memberships = 0;
+        for (int room = 0; room < rooms.length; room++) {
+            sizeCounts.merge(rooms[room].length, 1, Integer::sum);
+            for (int index : rooms[room]) {
+                SimulatedMember member = members[index];
+                if (member == null) {
+                    continue;
+                }
+                try {
+                    member.joinRoom(config.getRoomIdStart() + room);
+                    connectedRoomSizes[room]++;
+                    memberships++;
+                } catch (IOException e) {
+                    LOG.debug("채팅방 입장 요청 실패", "memberId", member.getMemberId(), e);
+                }
+            }
+        }
+        result.setTopology(sizeCounts, connected, memberships);
+
+        long deadline = System.currentTimeMillis() + JOIN_TIMEOUT_MILLIS;
+        while (result.joined.sum() < memberships) {
+            if (System.currentTimeMillis() > deadline) {
+                LOG.warn("채팅방 입장 응답을 모두 받지 못했습니다", "joined", result.joined.sum(), "expected", memberships);
+                break;
+            }
+            Thread.sleep(10);
+        }
+        LOG.info("부하 테스트 준비 완료", "connected", connected, "rooms", rooms.length, "memberships", memberships);
+    }
+
+    /**
+     * 송신 스레드들이 준비 시간 + 측정 시간 동안 일정한 간격으로 전송
+     * @return 실제 측정 구간 길이 (초)
+     */
+    private double sendMessages() throws InterruptedException {
+        int threads = Math.max(1, config.getSenderThreads());
+        long intervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(threads) / Math.max(1, config.getRate()));
+        long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        long measureStart = startNanos + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        long endNanos = measureStart + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        result.setMeasureWindow(measureStart, endNanos);
+
+        // 채팅방-참여자 쌍을 고르게 뽑기 위한 평탄화 목록 (큰 채팅방일수록 메시지가 많음)
+        List<int[]> senders = new ArrayList<>();
+        for (int room = 0; room < rooms.length; room++) {
+            for (int index : rooms[room]) {
+                if (members[index] != null) {
+                    senders.add(new int[]{room, index});
+                }
+            }
+        }
+        if (senders.isEmpty()) {
+            LOG.warn("메시지를 보낼 채팅방 참여자가 없습니다");
+            return 0;
+        }
+
+        String padding = padding(config.getMessageSize());
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            // 스레드마다 예정 시각을 간격의 일부만큼 어긋나게 해 전체적으로 고른 속도가 되도록 함
+            long firstNanos = startNanos + intervalNanos * t / threads;
+            SplittableRandom random = new SplittableRandom(config.getSeed() + t);
+            Thread worker = new Thread(() -> sendLoop(senders, random, padding, firstNanos, intervalNanos, endNanos),
+                    "load-sender-" + t);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return config.getDurationSeconds();
+    }
+
+    private void sendLoop(List<int[]> senders, SplittableRandom random, String padding,
+                          long firstNanos, long intervalNanos, long endNanos) {
+        for (long intended = firstNanos; intended < endNanos; intended += intervalNanos) {
+            long now = System.nanoTime();
+            while (now < intended) {
+                LockSupport.parkNanos(intended - now);
+                now = System.nanoTime();
+            }
+            result.recordSendLag(now - intended);
+
+            int[] pick = senders.get(random.nextInt(senders.size()));
+            int room = pick[0];
+            SimulatedMember member = members[pick[1]];
+            if (member.isClosed()) {
+                result.sendFailures.increment();
+                continue;
+            }
+
+            ChatMessage message = new ChatMessage(ChatMessageType.CHAT, config.getRoomIdStart() + room,
+                    member.getMemberId(), SimulatedMember.CONTENT_PREFIX + intended + "|" + padding,
+                    new Timestamp(System.currentTimeMillis()));
+            message.setClientMessageId(clientMessageIds.incrementAndGet());
+            try {
+                member.send(message);
+                result.sent.increment();
+                if (result.inMeasureWindow(intended)) {
+                    result.measuredSent.increment();
+                    // 서버는 보낸 사람에게도 브로드캐스트함
+                    result.expectedDeliveries.add(connectedRoomSizes[room]);
+                }
+            } catch (IOException e) {
+                result.sendFailures.increment();
+            }
+        }
+    }
+
+    /**
+     * 전송을 멈춘 뒤 측정 구간의 메시지와 저장 확인이 모두 도착하거나 대기 시간이 끝날 때까지 대기
+     */
+    private void awaitDeliveries() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(config.getDrainSeconds());
+        while ((result.getMeasuredDeliveries() < result.getExpectedDeliveries()
+                || result.acked.sum() + result.ackFailures.sum() < result.sent.sum())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void writeReport(String report) throws IOException {
+        LOG.info("부하 테스트 완료\n" + report);
+        String reportFile = config.getReportFile();
+        if (reportFile != null && !reportFile.isBlank()) {
+            Path path = Paths.get(reportFile);
+            Files.write(path, report.getBytes(StandardCharsets.UTF_8));
+            LOG.info("부하 테스트 보고서 저장", "path", path.toAbsolutePath());
+        }
+    }
+
+    private static String padding(int messageSize) {
+        StringBuilder builder = new StringBuilder(Math.max(0, messageSize));
+        for (int i = 0; i < messageSize; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        return builder.toString();
+    }
+}
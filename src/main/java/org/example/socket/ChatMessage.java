@@ -15,6 +15,16 @@ public class ChatMessage implements Serializable {
     private String content;
     private Timestamp timestamp;
 
+    // 서버가 저장 후 할당한 메시지 ID (저장 전에는 0)
+    private int messageId;
+    // 전송 확인(MESSAGE_ACK)과 짝을 맞추기 위해 클라이언트가 붙이는 ID (0이면 기존 클라이언트)
+    private long clientMessageId;
+    // 채팅방 안에서 서버가 저장 순서대로 매긴 번호 (1부터 빈틈없이 증가, 저장되지 않은 메시지는 0)
+    private long sequence;
+
+    // 서버가 이 메시지를 받은 시각 (System.nanoTime, 브로드캐스트 지연 측정용, 전송하지 않음)
+    private transient long receivedNanos;
+
     // 발신자 정보
     private String senderNickname;
     private String senderStatus;
@@ -91,6 +101,38 @@ public class ChatMessage implements Serializable {
         this.timestamp = timestamp;
     }
 
+    public int getMessageId() {
+        return messageId;
+    }
+
+    public void setMessageId(int messageId) {
+        this.messageId = messageId;
+    }
+
+    public long getClientMessageId() {
+        return clientMessageId;
+    }
+
+    public void setClientMessageId(long clientMessageId) {
+        this.clientMessageId = clientMessageId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    long getReceivedNanos() {
+        return receivedNanos;
+    }
+
+    void setReceivedNanos(long receivedNanos) {
+        this.receivedNanos = receivedNanos;
+    }
+
     public String getSenderNickname() {
         return senderNickname;
     }
@@ -113,6 +155,8 @@ public class ChatMessage implements Serializable {
                 "type=" + type +
                 ", chatRoomId=" + chatRoomId +
                 ", senderId=" + senderId +
+                ", messageId=" + messageId +
+                ", sequence=" + sequence +
                 ", content='" + content + '\'' +
                 ", timestamp=" + timestamp +
                 ", senderNickname='" + senderNickname + '\'' +
@@ -2,11 +2,12 @@ package org.example.socket;
 
 /**
  * 채팅 메시지 유형 열거형
+ * 바이너리 프레임 형식은 ordinal 값을 사용하므로 새 유형은 항상 끝에 추가합니다.
  */
 public enum ChatMessageType {
     CHAT,      // 일반 채팅 메시지
     SYSTEM,    // 시스템 메시지 (입장, 퇴장 등)
-    FILE,      // 파일 전송 (향후 구현)
+    FILE,      // 파일 첨부 (내용: 해시:크기:파일 이름, 파일은 AttachmentFrame으로 전송)
     TYPING,    // 타이핑 중 (향후 구현)
     READ       // 읽음 확인 (향후 구현)
 }
\ No newline at end of file
@@ -0,0 +1,972 @@
+package org.example.socket;
+
+import org.example.config.EnvLoader;
+import org.example.log.LogManager;
+import org.example.log.Logger;
+
+/**
+ * 채팅 서버 설정
+ * 환경변수(.env)와 실행 인자(--key=value)에서 값을 읽습니다. 실행 인자가 우선합니다.
+ */
+public class ChatServerConfig {
+    private static final Logger LOG = LogManager.getLogger(ChatServerConfig.class);
+
+    private static final int DEFAULT_PORT = 9000;
+    private static final int DEFAULT_OUTBOUND_QUEUE_CAPACITY = 1024;
+    private static final int DEFAULT_FLUSH_MAX_BYTES = 64 * 1024;
+    private static final int DEFAULT_FLUSH_WINDOW_MICROS = 200;
+    private static final int DEFAULT_PERSIST_BATCH_SIZE = 256;
+    private static final int DEFAULT_PERSIST_FLUSH_MILLIS = 5;
+    private static final int DEFAULT_RESUME_BATCH_SIZE = 200;
+    private static final int DEFAULT_HISTORY_SIZE = 50;
+    private static final int DEFAULT_HISTORY_MAX_ROOMS = 10_000;
+    private static final int DEFAULT_HISTORY_MAX_MB = 64;
+    private static final int DEFAULT_CLUSTER_PORT = 9100;
+    private static final int DEFAULT_CLUSTER_VIRTUAL_NODES = 128;
+    private static final int DEFAULT_HANDSHAKE_TIMEOUT_MILLIS = 10_000;
+    private static final int DEFAULT_HEARTBEAT_INTERVAL_MILLIS = 15_000;
+    private static final int DEFAULT_IDLE_TIMEOUT_MILLIS = 45_000;
+    private static final int DEFAULT_DELIVERY_ACK_TIMEOUT_MILLIS = 5_000;
+    private static final int DEFAULT_OFFLINE_MAX_PER_MEMBER = 10_000;
+    private static final int DEFAULT_OFFLINE_MAX_MB = 64;
+    private static final int DEFAULT_OFFLINE_TTL_SECONDS = 86_400;
+    private static final int DEFAULT_MAX_SESSIONS_PER_MEMBER = 8;
+    private static final int DEFAULT_RATE_LIMIT_PER_SECOND = 20;
+    private static final int DEFAULT_RATE_LIMIT_BURST = 40;
+    private static final int DEFAULT_ROOM_RATE_LIMIT_PER_SECOND = 200;
+    private static final int DEFAULT_ROOM_RATE_LIMIT_BURST = 400;
+    private static final int DEFAULT_ATTACHMENT_MAX_MB = 100;
+    private static final int DEFAULT_ATTACHMENT_WINDOW_KB = 256;
+    // 첨부 파일은 한 번에 메모리 매핑해서 보내므로 2GB 미만이어야 함
+    private static final int MAX_ATTACHMENT_MB = 2047;
+    private static final int DEFAULT_DRAIN_TIMEOUT_MILLIS = 15_000;
+    private static final int DEFAULT_RECONNECT_JITTER_MILLIS = 5_000;
+    private static final int DEFAULT_HOT_ROOM_MESSAGES_PER_SECOND = 2_000;
+
+    private int port = DEFAULT_PORT;
+    private ServerEngineType engineType = ServerEngineType.BLOCKING;
+    private int ioThreads = Runtime.getRuntime().availableProcessors();
+    private boolean virtualThreads = false;
+    private WireFormat wireFormat = WireFormat.BINARY;
+    private int outboundQueueCapacity = DEFAULT_OUTBOUND_QUEUE_CAPACITY;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+    private int flushMaxBytes = DEFAULT_FLUSH_MAX_BYTES;
+    private int flushWindowMicros = DEFAULT_FLUSH_WINDOW_MICROS;
+    private boolean compression = true;
+    private boolean persistMessages = true;
+    private int persistBatchSize = DEFAULT_PERSIST_BATCH_SIZE;
+    private int persistFlushMillis = DEFAULT_PERSIST_FLUSH_MILLIS;
+    private int resumeBatchSize = DEFAULT_RESUME_BATCH_SIZE;
+    private int historySize = DEFAULT_HISTORY_SIZE;
+    private int historyMaxRooms = DEFAULT_HISTORY_MAX_ROOMS;
+    private int historyMaxMegabytes = DEFAULT_HISTORY_MAX_MB;
+    private int clusterNodeId = 0;
+    private String clusterHost = "localhost";
+    private int clusterPort = DEFAULT_CLUSTER_PORT;
+    private String clusterSeeds = "";
+    private int clusterVirtualNodes = DEFAULT_CLUSTER_VIRTUAL_NODES;
+    private String clusterSecret = "";
+    private int handshakeTimeoutMillis = DEFAULT_HANDSHAKE_TIMEOUT_MILLIS;
+    private int heartbeatIntervalMillis = DEFAULT_HEARTBEAT_INTERVAL_MILLIS;
+    private int idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+    private int deliveryAckTimeoutMillis = DEFAULT_DELIVERY_ACK_TIMEOUT_MILLIS;
+    private boolean offlineDelivery = true;
+    private boolean membershipFromDb = true;
+    private int offlineMaxPerMember = DEFAULT_OFFLINE_MAX_PER_MEMBER;
+    private int offlineMaxMegabytes = DEFAULT_OFFLINE_MAX_MB;
+    private String offlineSpillDirectory = "";
+    private int offlineTtlSeconds = DEFAULT_OFFLINE_TTL_SECONDS;
+    private int maxSessionsPerMember = DEFAULT_MAX_SESSIONS_PER_MEMBER;
+    private int rateLimitPerSecond = DEFAULT_RATE_LIMIT_PER_SECOND;
+    private int rateLimitBurst = DEFAULT_RATE_LIMIT_BURST;
+    private int roomRateLimitPerSecond = DEFAULT_ROOM_RATE_LIMIT_PER_SECOND;
+    private int roomRateLimitBurst = DEFAULT_ROOM_RATE_LIMIT_BURST;
+    private RateLimitAction rateLimitAction = RateLimitAction.THROTTLE;
+    private boolean attachments = true;
+    private String attachmentDirectory = "attachments";
+    private int attachmentMaxMegabytes = DEFAULT_ATTACHMENT_MAX_MB;
+    private int attachmentWindowKilobytes = DEFAULT_ATTACHMENT_WINDOW_KB;
+    private int drainTimeoutMillis = DEFAULT_DRAIN_TIMEOUT_MILLIS;
+    private int reconnectJitterMillis = DEFAULT_RECONNECT_JITTER_MILLIS;
+    private boolean reusePort = false;
+    private int broadcastLanes = Runtime.getRuntime().availableProcessors();
+    private int hotRoomMessagesPerSecond = DEFAULT_HOT_ROOM_MESSAGES_PER_SECOND;
+    private int metricsPort = -1;
+
+    /**
+     * 환경변수 기반 설정 생성
+     */
+    public static ChatServerConfig fromEnvironment() {
+        ChatServerConfig config = new ChatServerConfig();
+        config.port = intValue(EnvLoader.get("SERVER_PORT"), config.port);
+        config.engineType = enumValue(ServerEngineType.class, EnvLoader.get("SERVER_ENGINE"), config.engineType);
+        config.ioThreads = intValue(EnvLoader.get("SERVER_IO_THREADS"), config.ioThreads);
+        config.virtualThreads = booleanValue(EnvLoader.get("SERVER_VIRTUAL_THREADS"), config.virtualThreads);
+        config.wireFormat = enumValue(WireFormat.class, EnvLoader.get("SERVER_WIRE_FORMAT"), config.wireFormat);
+        config.outboundQueueCapacity = intValue(EnvLoader.get("SERVER_OUTBOUND_QUEUE_SIZE"), config.outboundQueueCapacity);
+        config.overflowPolicy = enumValue(OverflowPolicy.class, EnvLoader.get("SERVER_OVERFLOW_POLICY"), config.overflowPolicy);
+        config.flushMaxBytes = intValue(EnvLoader.get("SERVER_FLUSH_MAX_BYTES"), config.flushMaxBytes);
+        config.flushWindowMicros = intValue(EnvLoader.get("SERVER_FLUSH_WINDOW_US"), config.flushWindowMicros);
+        config.compression = booleanValue(EnvLoader.get("SERVER_COMPRESSION"), config.compression);
+        config.persistMessages = booleanValue(EnvLoader.get("SERVER_PERSIST_MESSAGES"), config.persistMessages);
+        config.persistBatchSize = intValue(EnvLoader.get("SERVER_PERSIST_BATCH_SIZE"), config.persistBatchSize);
+        config.persistFlushMillis = intValue(EnvLoader.get("SERVER_PERSIST_FLUSH_MS"), config.persistFlushMillis);
+        config.resumeBatchSize = intValue(EnvLoader.get("SERVER_RESUME_BATCH_SIZE"), config.resumeBatchSize);
+        config.historySize = intValue(EnvLoader.get("SERVER_HISTORY_SIZE"), config.historySize);
+        config.historyMaxRooms = intValue(EnvLoader.get("SERVER_HISTORY_MAX_ROOMS"), config.historyMaxRooms);
+        config.historyMaxMegabytes = intValue(EnvLoader.get("SERVER_HISTORY_MAX_MB"), config.historyMaxMegabytes);
+        config.clusterNodeId = intValue(EnvLoader.get("SERVER_CLUSTER_NODE_ID"), config.clusterNodeId);
+        config.clusterHost = stringValue(EnvLoader.get("SERVER_CLUSTER_HOST"), config.clusterHost);
+        config.clusterPort = intValue(EnvLoader.get("SERVER_CLUSTER_PORT"), config.clusterPort);
+        config.clusterSeeds = stringValue(EnvLoader.get("SERVER_CLUSTER_SEEDS"), config.clusterSeeds);
+        config.clusterVirtualNodes = intValue(EnvLoader.get("SERVER_CLUSTER_VIRTUAL_NODES"), config.clusterVirtualNodes);
+        config.clusterSecret = stringValue(EnvLoader.get("SERVER_CLUSTER_SECRET"), config.clusterSecret);
+        config.handshakeTimeoutMillis = intValue(EnvLoader.get("SERVER_HANDSHAKE_TIMEOUT_MS"), config.handshakeTimeoutMillis);
+        config.heartbeatIntervalMillis = intValue(EnvLoader.get("SERVER_HEARTBEAT_INTERVAL_MS"), config.heartbeatIntervalMillis);
+        config.idleTimeoutMillis = intValue(EnvLoader.get("SERVER_IDLE_TIMEOUT_MS"), config.idleTimeoutMillis);
+        config.deliveryAckTimeoutMillis = intValue(EnvLoader.get("SERVER_DELIVERY_ACK_TIMEOUT_MS"),
+                config.deliveryAckTimeoutMillis);
+        config.offlineDelivery = booleanValue(EnvLoader.get("SERVER_OFFLINE_DELIVERY"), config.offlineDelivery);
+        config.membershipFromDb = booleanValue(EnvLoader.get("SERVER_MEMBERSHIP_FROM_DB"), config.membershipFromDb);
+        config.offlineMaxPerMember = intValue(EnvLoader.get("SERVER_OFFLINE_MAX_PER_MEMBER"), config.offlineMaxPerMember);
+        config.offlineMaxMegabytes = intValue(EnvLoader.get("SERVER_OFFLINE_MAX_MB"), config.offlineMaxMegabytes);
+        config.offlineSpillDirectory = stringValue(EnvLoader.get("SERVER_OFFLINE_SPILL_DIR"), config.offlineSpillDirectory);
+        config.offlineTtlSeconds = intValue(EnvLoader.get("SERVER_OFFLINE_TTL_SECONDS"), config.offlineTtlSeconds);
+        config.maxSessionsPerMember = intValue(EnvLoader.get("SERVER_MAX_SESSIONS_PER_MEMBER"),
+                config.maxSessionsPerMember);
+        config.rateLimitPerSecond = intValue(EnvLoader.get("SERVER_RATE_LIMIT_PER_SECOND"), config.rateLimitPerSecond);
+        config.rateLimitBurst = intValue(EnvLoader.get("SERVER_RATE_LIMIT_BURST"), config.rateLimitBurst);
+        config.roomRateLimitPerSecond = intValue(EnvLoader.get("SERVER_ROOM_RATE_LIMIT_PER_SECOND"),
+                config.roomRateLimitPerSecond);
+        config.roomRateLimitBurst = intValue(EnvLoader.get("SERVER_ROOM_RATE_LIMIT_BURST"), config.roomRateLimitBurst);
+        config.rateLimitAction = enumValue(RateLimitAction.class, EnvLoader.get("SERVER_RATE_LIMIT_ACTION"),
+                config.rateLimitAction);
+        config.attachments = booleanValue(EnvLoader.get("SERVER_ATTACHMENTS"), config.attachments);
+        config.attachmentDirectory = stringValue(EnvLoader.get("SERVER_ATTACHMENT_DIR"), config.attachmentDirectory);
+        config.attachmentMaxMegabytes = intValue(EnvLoader.get("SERVER_ATTACHMENT_MAX_MB"), config.attachmentMaxMegabytes);
+        config.attachmentWindowKilobytes = intValue(EnvLoader.get("SERVER_ATTACHMENT_WINDOW_KB"),
+                config.attachmentWindowKilobytes);
+        config.drainTimeoutMillis = intValue(EnvLoader.get("SERVER_DRAIN_TIMEOUT_MS"), config.drainTimeoutMillis);
+        config.reconnectJitterMillis = intValue(EnvLoader.get("SERVER_RECONNECT_JITTER_MS"), config.reconnectJitterMillis);
+        config.reusePort = booleanValue(EnvLoader.get("SERVER_REUSE_PORT"), config.reusePort);
+        config.broadcastLanes = intValue(EnvLoader.get("SERVER_BROADCAST_LANES"), config.broadcastLanes);
+        config.hotRoomMessagesPerSecond = intValue(EnvLoader.get("SERVER_HOT_ROOM_MSGS_PER_SEC"),
+                config.hotRoomMessagesPerSecond);
+        config.metricsPort = intValue(EnvLoader.get("SERVER_METRICS_PORT"), config.metricsPort);
+        return config;
+    }
+
+    /**
+     * 환경변수 + 실행 인자 기반 설정 생성
+     * 예: --server-engine=nio --io-threads=4 --port=9000 --virtual-threads=true --compression=true
+     *     --outbound-queue-size=1024 --overflow-policy=spill --flush-max-bytes=65536 --flush-window-us=200
+     *     --persist-messages=true --persist-batch-size=256 --persist-flush-ms=5 --resume-batch-size=200
+     *     --history-size=50 --history-max-rooms=10000 --history-max-mb=64
+     *     --cluster-node-id=1 --cluster-host=10.0.0.1 --cluster-port=9100 --cluster-seeds=10.0.0.2:9100
+     *     --cluster-secret=change-me
+     *     --handshake-timeout-ms=10000 --heartbeat-interval-ms=15000 --idle-timeout-ms=45000
+     *     --delivery-ack-timeout-ms=5000
+     *     --offline-delivery=true --offline-max-per-member=10000 --offline-max-mb=64 --offline-spill-dir=/var/tmp/chat
+     *     --offline-ttl-seconds=86400
+     *     --max-sessions-per-member=8
+     *     --rate-limit-per-second=20 --rate-limit-burst=40 --room-rate-limit-per-second=200 --room-rate-limit-burst=400
+     *     --rate-limit-action=throttle
+     *     --attachments=true --attachment-dir=/var/lib/chat/attachments --attachment-max-mb=100 --attachment-window-kb=256
+     *     --drain-timeout-ms=15000 --reconnect-jitter-ms=5000 --reuse-port=true
+     *     --broadcast-lanes=8 --hot-room-messages-per-second=2000
+     *     --metrics-port=9400
+     */
+    public static ChatServerConfig fromArguments(String[] args) {
+        ChatServerConfig config = fromEnvironment();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                continue;
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+
+            switch (key) {
+                case "port":
+                    config.port = intValue(value, config.port);
+                    break;
+                case "server-engine":
+                    config.engineType = enumValue(ServerEngineType.class, value, config.engineType);
+                    break;
+                case "io-threads":
+                    config.ioThreads = intValue(value, config.ioThreads);
+                    break;
+                case "virtual-threads":
+                    config.virtualThreads = booleanValue(value, config.virtualThreads);
+                    break;
+                case "wire-format":
+                    config.wireFormat = enumValue(WireFormat.class, value, config.wireFormat);
+                    break;
+                case "outbound-queue-size":
+                    config.outboundQueueCapacity = intValue(value, config.outboundQueueCapacity);
+                    break;
+                case "overflow-policy":
+                    config.overflowPolicy = enumValue(OverflowPolicy.class, value, config.overflowPolicy);
+                    break;
+                case "flush-max-bytes":
+                    config.flushMaxBytes = intValue(value, config.flushMaxBytes);
+                    break;
+                case "flush-window-us":
+                    config.flushWindowMicros = intValue(value, config.flushWindowMicros);
+                    break;
+                case "compression":
+                    config.compression = booleanValue(value, config.compression);
+                    break;
+                case "persist-messages":
+                    config.persistMessages = booleanValue(value, config.persistMessages);
+                    break;
+                case "persist-batch-size":
+                    config.persistBatchSize = intValue(value, config.persistBatchSize);
+                    break;
+                case "persist-flush-ms":
+                    config.persistFlushMillis = intValue(value, config.persistFlushMillis);
+                    break;
+                case "resume-batch-size":
+                    config.resumeBatchSize = intValue(value, config.resumeBatchSize);
+                    break;
+                case "history-size":
+                    config.historySize = intValue(value, config.historySize);
+                    break;
+                case "history-max-rooms":
+                    config.historyMaxRooms = intValue(value, config.historyMaxRooms);
+                    break;
+                case "history-max-mb":
+                    config.historyMaxMegabytes = intValue(value, config.historyMaxMegabytes);
+                    break;
+                case "cluster-node-id":
+                    config.clusterNodeId = intValue(value, config.clusterNodeId);
+                    break;
+                case "cluster-host":
+                    config.clusterHost = stringValue(value, config.clusterHost);
+                    break;
+                case "cluster-port":
+                    config.clusterPort = intValue(value, config.clusterPort);
+                    break;
+                case "cluster-seeds":
+                    config.clusterSeeds = stringValue(value, config.clusterSeeds);
+                    break;
+                case "cluster-virtual-nodes":
+                    config.clusterVirtualNodes = intValue(value, config.clusterVirtualNodes);
+                    break;
+                case "cluster-secret":
+                    config.clusterSecret = stringValue(value, config.clusterSecret);
+                    break;
+                case "handshake-timeout-ms":
+                    config.handshakeTimeoutMillis = intValue(value, config.handshakeTimeoutMillis);
+                    break;
+                case "heartbeat-interval-ms":
+                    config.heartbeatIntervalMillis = intValue(value, config.heartbeatIntervalMillis);
+                    break;
+                case "idle-timeout-ms":
+                    config.idleTimeoutMillis = intValue(value, config.idleTimeoutMillis);
+                    break;
+                case "delivery-ack-timeout-ms":
+                    config.deliveryAckTimeoutMillis = intValue(value, config.deliveryAckTimeoutMillis);
+                    break;
+                case "offline-delivery":
+                    config.offlineDelivery = booleanValue(value, config.offlineDelivery);
+                    break;
+                case "membership-from-db":
+                    config.membershipFromDb = booleanValue(value, config.membershipFromDb);
+                    break;
+                case "offline-max-per-member":
+                    config.offlineMaxPerMember = intValue(value, config.offlineMaxPerMember);
+                    break;
+                case "offline-max-mb":
+                    config.offlineMaxMegabytes = intValue(value, config.offlineMaxMegabytes);
+                    break;
+                case "offline-spill-dir":
+                    config.offlineSpillDirectory = stringValue(value, config.offlineSpillDirectory);
+                    break;
+                case "offline-ttl-seconds":
+                    config.offlineTtlSeconds = intValue(value, config.offlineTtlSeconds);
+                    break;
+                case "max-sessions-per-member":
+                    config.maxSessionsPerMember = intValue(value, config.maxSessionsPerMember);
+                    break;
+                case "rate-limit-per-second":
+                    config.rateLimitPerSecond = intValue(value, config.rateLimitPerSecond);
+                    break;
+                case "rate-limit-burst":
+                    config.rateLimitBurst = intValue(value, config.rateLimitBurst);
+                    break;
+                case "room-rate-limit-per-second":
+                    config.roomRateLimitPerSecond = intValue(value, config.roomRateLimitPerSecond);
+                    break;
+                case "room-rate-limit-burst":
+                    config.roomRateLimitBurst = intValue(value, config.roomRateLimitBurst);
+                    break;
+                case "rate-limit-action":
+                    config.rateLimitAction = enumValue(RateLimitAction.class, value, config.rateLimitAction);
+                    break;
+                case "attachments":
+                    config.attachments = booleanValue(value, config.attachments);
+                    break;
+                case "attachment-dir":
+                    config.attachmentDirectory = stringValue(value, config.attachmentDirectory);
+                    break;
+                case "attachment-max-mb":
+                    config.attachmentMaxMegabytes = intValue(value, config.attachmentMaxMegabytes);
+                    break;
+                case "attachment-window-kb":
+                    config.attachmentWindowKilobytes = intValue(value, config.attachmentWindowKilobytes);
+                    break;
+                case "drain-timeout-ms":
+                    config.drainTimeoutMillis = intValue(value, config.drainTimeoutMillis);
+                    break;
+                case "reconnect-jitter-ms":
+                    config.reconnectJitterMillis = intValue(value, config.reconnectJitterMillis);
+                    break;
+                case "reuse-port":
+                    config.reusePort = booleanValue(value, config.reusePort);
+                    break;
+                case "broadcast-lanes":
+                    config.broadcastLanes = intValue(value, config.broadcastLanes);
+                    break;
+                case "hot-room-messages-per-second":
+                    config.hotRoomMessagesPerSecond = intValue(value, config.hotRoomMessagesPerSecond);
+                    break;
+                case "metrics-port":
+                    config.metricsPort = intValue(value, config.metricsPort);
+                    break;
+                default:
+                    // 서버와 무관한 인자는 무시
+                    break;
+            }
+        }
+        return config;
+    }
+
+    private static int intValue(String value, int defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LOG.warn("잘못된 숫자 설정값 무시", "value", value);
+            return defaultValue;
+        }
+    }
+
+    private static String stringValue(String value, String defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return value.trim();
+    }
+
+    private static boolean booleanValue(String value, boolean defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value, E defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("알 수 없는 설정값 무시", "type", type.getSimpleName(), "value", value);
+            return defaultValue;
+        }
+    }
+
+    // Getter 및 Setter 메서드
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public ServerEngineType getEngineType() {
+        return engineType;
+    }
+
+    public void setEngineType(ServerEngineType engineType) {
+        this.engineType = engineType;
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    public void setIoThreads(int ioThreads) {
+        this.ioThreads = ioThreads;
+    }
+
+    /**
+     * 블로킹 엔진에서 연결 핸들러를 가상 스레드로 실행할지 여부
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * 클라이언트가 지원할 때 우선 사용할 프레임 본문 형식
+     */
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    public void setWireFormat(WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    /**
+     * 연결별 송신 대기열 최대 프레임 수
+     */
+    public int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+
+    public void setOutboundQueueCapacity(int outboundQueueCapacity) {
+        this.outboundQueueCapacity = outboundQueueCapacity;
+    }
+
+    /**
+     * 송신 대기열이 가득 찼을 때의 처리 방식
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * 소켓 쓰기 한 번에 묶어 보낼 최대 바이트 수
+     */
+    public int getFlushMaxBytes() {
+        return flushMaxBytes;
+    }
+
+    public void setFlushMaxBytes(int flushMaxBytes) {
+        this.flushMaxBytes = flushMaxBytes;
+    }
+
+    /**
+     * 바쁜 연결에서 프레임을 더 모으려고 기다리는 최대 시간 (마이크로초, 0이면 기다리지 않음)
+     * 블로킹 엔진의 writer에만 적용되며, NIO 엔진은 이벤트 루프 한 바퀴 동안 쌓인 프레임을 모아 보냅니다.
+     */
+    public int getFlushWindowMicros() {
+        return flushWindowMicros;
+    }
+
+    public void setFlushWindowMicros(int flushWindowMicros) {
+        this.flushWindowMicros = flushWindowMicros;
+    }
+
+    /**
+     * 압축 형식을 지원하는 클라이언트와 큰 프레임을 압축해서 주고받을지 여부
+     */
+    public boolean isCompression() {
+        return compression;
+    }
+
+    public void setCompression(boolean compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * 서버가 메시지를 DB에 저장한 뒤 브로드캐스트할지 여부
+     */
+    public boolean isPersistMessages() {
+        return persistMessages;
+    }
+
+    public void setPersistMessages(boolean persistMessages) {
+        this.persistMessages = persistMessages;
+    }
+
+    /**
+     * 한 번의 배치 INSERT(트랜잭션)로 묶을 최대 메시지 수
+     */
+    public int getPersistBatchSize() {
+        return persistBatchSize;
+    }
+
+    public void setPersistBatchSize(int persistBatchSize) {
+        this.persistBatchSize = persistBatchSize;
+    }
+
+    /**
+     * 첫 메시지가 도착한 뒤 배치를 채우기 위해 기다리는 최대 시간(ms)
+     */
+    public int getPersistFlushMillis() {
+        return persistFlushMillis;
+    }
+
+    public void setPersistFlushMillis(int persistFlushMillis) {
+        this.persistFlushMillis = persistFlushMillis;
+    }
+
+    /**
+     * 재접속 시 놓친 메시지를 한 번의 응답(RESUME_SUCCESS)에 담아 보낼 최대 개수
+     */
+    public int getResumeBatchSize() {
+        return resumeBatchSize;
+    }
+
+    public void setResumeBatchSize(int resumeBatchSize) {
+        this.resumeBatchSize = resumeBatchSize;
+    }
+
+    /**
+     * 채팅방별로 메모리에 보관할 최근 메시지 수 (입장 응답에 담아 보냄)
+     */
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    public void setHistorySize(int historySize) {
+        this.historySize = historySize;
+    }
+
+    /**
+     * 최근 메시지를 보관할 최대 채팅방 수 (넘으면 가장 오래 사용되지 않은 채팅방부터 제거)
+     */
+    public int getHistoryMaxRooms() {
+        return historyMaxRooms;
+    }
+
+    public void setHistoryMaxRooms(int historyMaxRooms) {
+        this.historyMaxRooms = historyMaxRooms;
+    }
+
+    /**
+     * 최근 메시지 버퍼 전체의 최대 메모리 (MB)
+     */
+    public int getHistoryMaxMegabytes() {
+        return historyMaxMegabytes;
+    }
+
+    public void setHistoryMaxMegabytes(int historyMaxMegabytes) {
+        this.historyMaxMegabytes = historyMaxMegabytes;
+    }
+
+    /**
+     * 클러스터 노드 ID (1 이상이면 클러스터 모드, 0이면 단일 서버)
+     */
+    public int getClusterNodeId() {
+        return clusterNodeId;
+    }
+
+    public void setClusterNodeId(int clusterNodeId) {
+        this.clusterNodeId = clusterNodeId;
+    }
+
+    public boolean isClusterEnabled() {
+        return clusterNodeId > 0;
+    }
+
+    /**
+     * 다른 노드가 이 노드의 내부 링크에 접속할 때 사용할 호스트
+     */
+    public String getClusterHost() {
+        return clusterHost;
+    }
+
+    public void setClusterHost(String clusterHost) {
+        this.clusterHost = clusterHost;
+    }
+
+    /**
+     * 노드 간 내부 링크 포트 (0이면 임의의 빈 포트)
+     */
+    public int getClusterPort() {
+        return clusterPort;
+    }
+
+    public void setClusterPort(int clusterPort) {
+        this.clusterPort = clusterPort;
+    }
+
+    /**
+     * 처음 연결할 다른 노드의 내부 링크 주소 (host:port를 쉼표로 구분, 나머지 노드는 서로 알려줌)
+     */
+    public String getClusterSeeds() {
+        return clusterSeeds;
+    }
+
+    public void setClusterSeeds(String clusterSeeds) {
+        this.clusterSeeds = clusterSeeds;
+    }
+
+    /**
+     * 일관 해시 링에서 노드마다 배치하는 가상 노드 수 (많을수록 채팅방이 고르게 나뉨)
+     */
+    public int getClusterVirtualNodes() {
+        return clusterVirtualNodes;
+    }
+
+    public void setClusterVirtualNodes(int clusterVirtualNodes) {
+        this.clusterVirtualNodes = clusterVirtualNodes;
+    }
+
+    /**
+     * 노드끼리 HELLO를 인증하는 공유 비밀 키 (클러스터 모드에서는 반드시 설정)
+     */
+    public String getClusterSecret() {
+        return clusterSecret;
+    }
+
+    public void setClusterSecret(String clusterSecret) {
+        this.clusterSecret = clusterSecret;
+    }
+
+    /**
+     * 연결 후 인증(첫 프레임)까지 기다리는 최대 시간(ms), 0이면 제한 없음
+     */
+    public int getHandshakeTimeoutMillis() {
+        return handshakeTimeoutMillis;
+    }
+
+    public void setHandshakeTimeoutMillis(int handshakeTimeoutMillis) {
+        this.handshakeTimeoutMillis = handshakeTimeoutMillis;
+    }
+
+    /**
+     * 주고받은 프레임이 없을 때 PING을 보내는 간격(ms), 0이면 생존 확인을 하지 않음
+     */
+    public int getHeartbeatIntervalMillis() {
+        return heartbeatIntervalMillis;
+    }
+
+    public void setHeartbeatIntervalMillis(int heartbeatIntervalMillis) {
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+    }
+
+    /**
+     * 클라이언트로부터 아무 프레임도 받지 못하면 연결을 닫는 시간(ms), 0이면 닫지 않음
+     */
+    public int getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public void setIdleTimeoutMillis(int idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * 브로드캐스트한 메시지의 수신 확인(DELIVERY_ACK)을 기다리는 시간(ms)
+     * 이 시간이 지나도 확인받지 못한 메시지는 다시 보냅니다. 0이면 수신 확인을 사용하지 않음 (서버 저장이 켜져 있어야 동작)
+     */
+    public int getDeliveryAckTimeoutMillis() {
+        return deliveryAckTimeoutMillis;
+    }
+
+    public void setDeliveryAckTimeoutMillis(int deliveryAckTimeoutMillis) {
+        this.deliveryAckTimeoutMillis = deliveryAckTimeoutMillis;
+    }
+
+    /**
+     * 접속하지 않은 채팅방 참여자의 메시지를 보관했다가 인증 직후 묶어서 보낼지 여부 (서버 저장이 켜져 있어야 동작)
+     */
+    public boolean isOfflineDelivery() {
+        return offlineDelivery;
+    }
+
+    public void setOfflineDelivery(boolean offlineDelivery) {
+        this.offlineDelivery = offlineDelivery;
+    }
+
+    /**
+     * 채팅방 참여자를 DB에서 읽고 클라이언트가 보낸 참여자 목록은 거부할지 여부 (서버 저장이 켜져 있어야 동작)
+     */
+    public boolean isMembershipFromDb() {
+        return membershipFromDb;
+    }
+
+    public void setMembershipFromDb(boolean membershipFromDb) {
+        this.membershipFromDb = membershipFromDb;
+    }
+
+    /**
+     * 접속하지 않은 사용자별로 보관하는 최대 메시지 수
+     */
+    public int getOfflineMaxPerMember() {
+        return offlineMaxPerMember;
+    }
+
+    public void setOfflineMaxPerMember(int offlineMaxPerMember) {
+        this.offlineMaxPerMember = offlineMaxPerMember;
+    }
+
+    /**
+     * 보관 메시지가 메모리에서 차지하는 대략적인 최대 크기 (MB), 넘으면 파일에 기록
+     */
+    public int getOfflineMaxMegabytes() {
+        return offlineMaxMegabytes;
+    }
+
+    public void setOfflineMaxMegabytes(int offlineMaxMegabytes) {
+        this.offlineMaxMegabytes = offlineMaxMegabytes;
+    }
+
+    /**
+     * 메모리 상한을 넘은 보관 메시지를 기록할 디렉터리, 비어 있으면 임시 디렉터리를 만들어 사용
+     */
+    public String getOfflineSpillDirectory() {
+        return offlineSpillDirectory;
+    }
+
+    public void setOfflineSpillDirectory(String offlineSpillDirectory) {
+        this.offlineSpillDirectory = offlineSpillDirectory;
+    }
+
+    /**
+     * 연결이 모두 끊긴 사용자를 채팅방에 남겨 두고 메시지를 보관하는 시간 (초), 지나면 채팅방에서 빼고 보관 메시지도 버림
+     */
+    public int getOfflineTtlSeconds() {
+        return offlineTtlSeconds;
+    }
+
+    public void setOfflineTtlSeconds(int offlineTtlSeconds) {
+        this.offlineTtlSeconds = offlineTtlSeconds;
+    }
+
+    /**
+     * 한 사용자가 동시에 유지할 수 있는 최대 세션 수 (여러 컴퓨터에서 접속), 넘으면 가장 오래된 세션을 종료
+     */
+    public int getMaxSessionsPerMember() {
+        return maxSessionsPerMember;
+    }
+
+    public void setMaxSessionsPerMember(int maxSessionsPerMember) {
+        this.maxSessionsPerMember = maxSessionsPerMember;
+    }
+
+    /**
+     * 연결 하나가 초당 보낼 수 있는 채팅 메시지 수 (토큰 버킷 충전 속도), 0이면 연결별 제한 없음
+     */
+    public int getRateLimitPerSecond() {
+        return rateLimitPerSecond;
+    }
+
+    public void setRateLimitPerSecond(int rateLimitPerSecond) {
+        this.rateLimitPerSecond = rateLimitPerSecond;
+    }
+
+    /**
+     * 연결 하나가 한 번에 몰아서 보낼 수 있는 최대 메시지 수 (토큰 버킷 크기)
+     */
+    public int getRateLimitBurst() {
+        return rateLimitBurst;
+    }
+
+    public void setRateLimitBurst(int rateLimitBurst) {
+        this.rateLimitBurst = rateLimitBurst;
+    }
+
+    /**
+     * 채팅방 하나에 초당 들어올 수 있는 채팅 메시지 수 (이 서버가 받은 메시지 기준), 0이면 채팅방별 제한 없음
+     */
+    public int getRoomRateLimitPerSecond() {
+        return roomRateLimitPerSecond;
+    }
+
+    public void setRoomRateLimitPerSecond(int roomRateLimitPerSecond) {
+        this.roomRateLimitPerSecond = roomRateLimitPerSecond;
+    }
+
+    /**
+     * 채팅방 하나에 한 번에 몰려 들어올 수 있는 최대 메시지 수
+     */
+    public int getRoomRateLimitBurst() {
+        return roomRateLimitBurst;
+    }
+
+    public void setRoomRateLimitBurst(int roomRateLimitBurst) {
+        this.roomRateLimitBurst = roomRateLimitBurst;
+    }
+
+    /**
+     * 연결이 전송 속도 제한을 넘었을 때의 처리 방식
+     */
+    public RateLimitAction getRateLimitAction() {
+        return rateLimitAction;
+    }
+
+    public void setRateLimitAction(RateLimitAction rateLimitAction) {
+        this.rateLimitAction = rateLimitAction;
+    }
+
+    /**
+     * 채팅 연결로 첨부 파일을 주고받을지 여부 (바이너리 형식 연결에서만 동작)
+     */
+    public boolean isAttachments() {
+        return attachments;
+    }
+
+    public void setAttachments(boolean attachments) {
+        this.attachments = attachments;
+    }
+
+    /**
+     * 첨부 파일 저장 디렉터리 (파일은 SHA-256 해시 이름으로 저장되며, 처음 업로드할 때 만듦)
+     */
+    public String getAttachmentDirectory() {
+        return attachmentDirectory;
+    }
+
+    public void setAttachmentDirectory(String attachmentDirectory) {
+        this.attachmentDirectory = attachmentDirectory;
+    }
+
+    /**
+     * 첨부 파일 하나의 최대 크기 (MB, 최대 2047)
+     */
+    public int getAttachmentMaxMegabytes() {
+        return Math.min(attachmentMaxMegabytes, MAX_ATTACHMENT_MB);
+    }
+
+    public void setAttachmentMaxMegabytes(int attachmentMaxMegabytes) {
+        this.attachmentMaxMegabytes = attachmentMaxMegabytes;
+    }
+
+    /**
+     * 첨부 파일 하나를 받는 쪽이 기록하지 않은 채로 보낼 수 있는 최대 크기 (KB, 업로드 전송 창)
+     */
+    public int getAttachmentWindowKilobytes() {
+        return attachmentWindowKilobytes;
+    }
+
+    public void setAttachmentWindowKilobytes(int attachmentWindowKilobytes) {
+        this.attachmentWindowKilobytes = attachmentWindowKilobytes;
+    }
+
+    /**
+     * drain()이 클라이언트의 재접속과 송신 대기열 비우기를 기다리는 최대 시간 (밀리초, 0이면 바로 종료)
+     */
+    public int getDrainTimeoutMillis() {
+        return drainTimeoutMillis;
+    }
+
+    public void setDrainTimeoutMillis(int drainTimeoutMillis) {
+        this.drainTimeoutMillis = drainTimeoutMillis;
+    }
+
+    /**
+     * drain() 때 클라이언트가 재접속 시각을 무작위로 고르는 구간 (밀리초, 재접속이 한순간에 몰리지 않도록 분산)
+     */
+    public int getReconnectJitterMillis() {
+        return reconnectJitterMillis;
+    }
+
+    public void setReconnectJitterMillis(int reconnectJitterMillis) {
+        this.reconnectJitterMillis = reconnectJitterMillis;
+    }
+
+    /**
+     * 서버 포트에 SO_REUSEPORT 사용 여부 (새 프로세스가 같은 포트로 먼저 시작한 뒤 기존 프로세스를 drain)
+     */
+    public boolean isReusePort() {
+        return reusePort;
+    }
+
+    public void setReusePort(boolean reusePort) {
+        this.reusePort = reusePort;
+    }
+
+    /**
+     * 브로드캐스트 처리 레인 수 (채팅방별 순서를 지키며 채팅방끼리 병렬 전달, 0이면 메시지를 받은 스레드에서 바로 전달)
+     */
+    public int getBroadcastLanes() {
+        return broadcastLanes;
+    }
+
+    public void setBroadcastLanes(int broadcastLanes) {
+        this.broadcastLanes = broadcastLanes;
+    }
+
+    /**
+     * 전용 브로드캐스트 레인으로 옮기는 채팅방의 초당 메시지 수 (0이면 옮기지 않음)
+     */
+    public int getHotRoomMessagesPerSecond() {
+        return hotRoomMessagesPerSecond;
+    }
+
+    public void setHotRoomMessagesPerSecond(int hotRoomMessagesPerSecond) {
+        this.hotRoomMessagesPerSecond = hotRoomMessagesPerSecond;
+    }
+
+    /**
+     * Prometheus 지표 HTTP 포트 (루프백 주소에만 바인딩), 음수면 HTTP로 노출하지 않음, 0이면 임의의 빈 포트
+     */
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
+    public void setMetricsPort(int metricsPort) {
+        this.metricsPort = metricsPort;
+    }
+
+    @Override
+    public String toString() {
+        return "ChatServerConfig{" +
+                "port=" + port +
+                ", engineType=" + engineType +
+                ", ioThreads=" + ioThreads +
+                ", virtualThreads=" + virtualThreads +
+                ", wireFormat=" + wireFormat +
+                ", outboundQueueCapacity=" + outboundQueueCapacity +
+                ", overflowPolicy=" + overflowPolicy +
+                ", flushMaxBytes=" + flushMaxBytes +
+                ", flushWindowMicros=" + flushWindowMicros +
+                ", compression=" + compression +
+                ", persistMessages=" + persistMessages +
+                ", persistBatchSize=" + persistBatchSize +
+                ", persistFlushMillis=" + persistFlushMillis +
+                ", resumeBatchSize=" + resumeBatchSize +
+                ", historySize=" + historySize +
+                ", historyMaxRooms=" + historyMaxRooms +
+                ", historyMaxMegabytes=" + historyMaxMegabytes +
+                ", clusterNodeId=" + clusterNodeId +
+                ", clusterHost='" + clusterHost + '\'' +
+                ", clusterPort=" + clusterPort +
+                ", clusterSeeds='" + clusterSeeds + '\'' +
+                ", clusterVirtualNodes=" + clusterVirtualNodes +
+                ", handshakeTimeoutMillis=" + handshakeTimeoutMillis +
+                ", heartbeatIntervalMillis=" + heartbeatIntervalMillis +
+                ", idleTimeoutMillis=" + idleTimeoutMillis +
+                ", deliveryAckTimeoutMillis=" + deliveryAckTimeoutMillis +
+                ", offlineDelivery=" + offlineDelivery +
+                ", membershipFromDb=" + membershipFromDb +
+                ", offlineMaxPerMember=" + offlineMaxPerMember +
+                ", offlineMaxMegabytes=" + offlineMaxMegabytes +
+                ", offlineSpillDirectory='" + offlineSpillDirectory + '\'' +
+                ", offlineTtlSeconds=" + offlineTtlSeconds +
+                ", maxSessionsPerMember=" + maxSessionsPerMember +
+                ", rateLimitPerSecond=" + rateLimitPerSecond +
+                ", rateLimitBurst=" + rateLimitBurst +
+                ", roomRateLimitPerSecond=" + roomRateLimitPerSecond +
+                ", roomRateLimitBurst=" + roomRateLimitBurst +
+                ", rateLimitAction=" + rateLimitAction +
+                ", attachments=" + attachments +
+                ", attachmentDirectory='" + attachmentDirectory + '\'' +
+                ", attachmentMaxMegabytes=" + attachmentMaxMegabytes +
+                ", attachmentWindowKilobytes=" + attachmentWindowKilobytes +
+                ", drainTimeoutMillis=" + drainTimeoutMillis +
+                ", reconnectJitterMillis=" + reconnectJitterMillis +
+                ", reusePort=" + reusePort +
+                ", broadcastLanes=" + broadcastLanes +
+                ", hotRoomMessagesPerSecond=" + hotRoomMessagesPerSecond +
+                ", metricsPort=" + metricsPort +
+                '}';
+    }
+}
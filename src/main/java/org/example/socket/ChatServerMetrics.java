@@ -0,0 +1,233 @@
+package org.example.socket;
+
+import org.example.metrics.Counter;
+import org.example.metrics.Histogram;
+import org.example.metrics.MetricsRegistry;
+
+import java.util.Locale;
+
+/**
+ * 채팅 서버 지표
+ * 엔진과 서버가 연결 수락/종료, 프레임 송수신, 브로드캐스트 시점에 호출하며, 모든 기록은 잠금과 할당 없이 끝납니다.
+ * 프레임 유형별 카운터는 미리 배열로 만들어 두고 ordinal로 찾습니다.
+ */
+final class ChatServerMetrics implements EncodedFrame.DeliveryListener {
+    private static final ChatCommandType[] COMMAND_TYPES = ChatCommandType.values();
+    // 프레임 유형 라벨 (0번은 채팅 메시지, 이후는 명령 유형 순서)
+    private static final int MESSAGE_INDEX = 0;
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final Counter connectionsAccepted;
+    private final Counter connectionsClosed;
+    private final Counter[] framesReceived;
+    private final Counter[] framesSent;
+    private final Counter bytesReceived;
+    private final Counter bytesSent;
+    private final Counter handshakeRejected;
+    private final Counter handshakeErrors;
+    private final Counter handshakeLegacyStreams;
+    private final Histogram broadcastFanout;
+    private final Histogram broadcastLatency;
+    private final Histogram writeBatch;
+
+    ChatServerMetrics(ChatSocketServer server) {
+        connectionsAccepted = registry.counter("chat_connections_accepted_total", "수락한 TCP 연결 수");
+        connectionsClosed = registry.counter("chat_connections_closed_total", "종료된 TCP 연결 수");
+        registry.gauge("chat_connections_active", "현재 열려 있는 TCP 연결 수 (인증 전 포함)",
+                () -> connectionsAccepted.get() - connectionsClosed.get());
+        registry.gauge("chat_sessions_active", "인증을 마친 세션 수", server::getSessionCount);
+        registry.gauge("chat_members_online", "세션이 하나 이상 있는 사용자 수", server::getOnlineMemberCount);
+
+        framesReceived = frameCounters("chat_frames_received_total", "받은 프레임 수 (유형별)");
+        framesSent = frameCounters("chat_frames_sent_total", "소켓에 기록한 프레임 수 (유형별)");
+        bytesReceived = registry.counter("chat_bytes_received_total", "받은 바이트 수 (길이 헤더 포함)");
+        bytesSent = registry.counter("chat_bytes_sent_total", "소켓에 기록한 바이트 수 (길이 헤더 포함)");
+
+        broadcastFanout = registry.histogram("chat_broadcast_fanout",
+                "브로드캐스트 한 번에 이 서버에서 프레임을 받은 세션 수", 1);
+        broadcastLatency = registry.histogram("chat_broadcast_latency_seconds",
+                "메시지 수신부터 마지막 수신자의 소켓 쓰기까지 걸린 시간", 1e9);
+        writeBatch = registry.histogram("chat_write_batch_frames",
+                "소켓 쓰기 한 번에 묶어 보낸 프레임 수", 1);
+
+        registry.gauge("chat_outbound_queue_depth_total", "모든 세션의 송신 대기열 프레임 수 합계",
+                () -> server.outboundQueueDepth(false));
+        registry.gauge("chat_outbound_queue_depth_max", "가장 많이 쌓인 세션의 송신 대기열 프레임 수",
+                () -> server.outboundQueueDepth(true));
+        registry.gauge("chat_broadcast_lane_depth", "브로드캐스트 처리 레인에서 전달을 기다리는 메시지 수",
+                () -> {
+                    RoomDispatcher dispatcher = server.getRoomDispatcher();
+                    return dispatcher != null ? dispatcher.queueDepth() : 0;
+                });
+        registry.gauge("chat_broadcast_dedicated_lanes", "전용 브로드캐스트 레인으로 옮긴 채팅방 수",
+                () -> {
+                    RoomDispatcher dispatcher = server.getRoomDispatcher();
+                    return dispatcher != null ? dispatcher.dedicatedLaneCount() : 0;
+                });
+
+        handshakeRejected = registry.counter("chat_handshake_failures_total", "인증에 실패한 연결 수",
+                "reason", "rejected");
+        handshakeErrors = registry.counter("chat_handshake_failures_total", "인증에 실패한 연결 수",
+                "reason", "error");
+        handshakeLegacyStreams = registry.counter("chat_handshake_failures_total", "인증에 실패한 연결 수",
+                "reason", "legacy_stream");
+        registry.counterFunction("chat_handshake_failures_total", "인증에 실패한 연결 수", "reason", "timeout",
+                () -> {
+                    ConnectionMonitor monitor = server.getConnectionMonitor();
+                    return monitor != null ? monitor.getHandshakeTimeoutCount() : 0;
+                });
+        registry.counterFunction("chat_idle_evictions_total", "유휴 제한 시간 초과로 닫은 연결 수", null, null,
+                () -> {
+                    ConnectionMonitor monitor = server.getConnectionMonitor();
+                    return monitor != null ? monitor.getIdleEvictionCount() : 0;
+                });
+        registry.counterFunction("chat_delivery_retransmits_total",
+                "수신 확인을 받지 못해 다시 보낸 재개 응답 수", null, null,
+                () -> {
+                    DeliveryTracker tracker = server.getDeliveryTracker();
+                    return tracker != null ? tracker.getRetransmitCount() : 0;
+                });
+        registry.gauge("chat_delivery_tracked_sessions", "수신 확인을 추적 중인 세션 수",
+                () -> {
+                    DeliveryTracker tracker = server.getDeliveryTracker();
+                    return tracker != null ? tracker.getTrackedSessionCount() : 0;
+                });
+
+        registry.counterFunction("chat_rate_limited_total", "전송 속도 제한으로 버린 메시지 수", "scope", "connection",
+                () -> {
+                    RateLimiter limiter = server.getRateLimiter();
+                    return limiter != null ? limiter.getConnectionLimitedCount() : 0;
+                });
+        registry.counterFunction("chat_rate_limited_total", "전송 속도 제한으로 버린 메시지 수", "scope", "room",
+                () -> {
+                    RateLimiter limiter = server.getRateLimiter();
+                    return limiter != null ? limiter.getRoomLimitedCount() : 0;
+                });
+        registry.counterFunction("chat_rate_limit_disconnects_total", "전송 속도 제한을 넘어 끊은 연결 수", null, null,
+                () -> {
+                    RateLimiter limiter = server.getRateLimiter();
+                    return limiter != null ? limiter.getDisconnectCount() : 0;
+                });
+
+        registry.counterFunction("chat_offline_messages_total", "접속하지 않은 참여자를 위해 보관한 메시지 수",
+                "result", "stored", () -> {
+                    SpillingPendingDeliveryStore store = server.getOfflineStore();
+                    return store != null ? store.getStoredCount() : 0;
+                });
+        registry.counterFunction("chat_offline_messages_total", "접속하지 않은 참여자를 위해 보관한 메시지 수",
+                "result", "spilled", () -> {
+                    SpillingPendingDeliveryStore store = server.getOfflineStore();
+                    return store != null ? store.getSpilledCount() : 0;
+                });
+        registry.counterFunction("chat_offline_messages_total", "접속하지 않은 참여자를 위해 보관한 메시지 수",
+                "result", "discarded", () -> {
+                    SpillingPendingDeliveryStore store = server.getOfflineStore();
+                    return store != null ? store.getDiscardedCount() : 0;
+                });
+        registry.gauge("chat_offline_members", "보관 메시지가 있는 사용자 수", () -> {
+            SpillingPendingDeliveryStore store = server.getOfflineStore();
+            return store != null ? store.getMemberCount() : 0;
+        });
+        registry.gauge("chat_offline_memory_bytes", "메모리에 보관 중인 메시지의 대략적인 크기", () -> {
+            SpillingPendingDeliveryStore store = server.getOfflineStore();
+            return store != null ? store.getMemoryBytes() : 0;
+        });
+    }
+
+    private Counter[] frameCounters(String name, String help) {
+        Counter[] counters = new Counter[COMMAND_TYPES.length + 1];
+        counters[MESSAGE_INDEX] = registry.counter(name, help, "type", "message");
+        for (ChatCommandType type : COMMAND_TYPES) {
+            counters[type.ordinal() + 1] = registry.counter(name, help, "type", type.name().toLowerCase(Locale.ROOT));
+        }
+        return counters;
+    }
+
+    MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    void connectionAccepted() {
+        connectionsAccepted.increment();
+    }
+
+    void connectionClosed() {
+        connectionsClosed.increment();
+    }
+
+    void handshakeRejected() {
+        handshakeRejected.increment();
+    }
+
+    void handshakeError() {
+        handshakeErrors.increment();
+    }
+
+    /**
+     * 길이 헤더 없이 ObjectOutputStream 스트림으로 접속한 예전 클라이언트를 거부함
+     */
+    void handshakeLegacyStream() {
+        handshakeLegacyStreams.increment();
+    }
+
+    void bytesReceived(int bytes) {
+        bytesReceived.add(bytes);
+    }
+
+    void bytesSent(int bytes) {
+        bytesSent.add(bytes);
+    }
+
+    /**
+     * 디코딩된 프레임 수신 기록
+     */
+    void frameReceived(Object payload) {
+        Counter counter = counterFor(framesReceived, payload);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * 프레임 하나를 소켓에 모두 기록함
+     */
+    void frameSent(EncodedFrame frame) {
+        Counter counter = counterFor(framesSent, frame.getPayload());
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * 소켓 쓰기 한 번에 묶어 보낸 프레임 수 기록
+     */
+    void writeBatch(int frames) {
+        writeBatch.record(frames);
+    }
+
+    /**
+     * 브로드캐스트 수신자 수 기록
+     */
+    void broadcast(int fanout) {
+        broadcastFanout.record(fanout);
+    }
+
+    /**
+     * 브로드캐스트 프레임이 마지막 수신자에게까지 기록됨
+     */
+    @Override
+    public void onDelivered(long startNanos) {
+        broadcastLatency.record(System.nanoTime() - startNanos);
+    }
+
+    private static Counter counterFor(Counter[] counters, Object payload) {
+        if (payload instanceof ChatMessage) {
+            return counters[MESSAGE_INDEX];
+        }
+        if (payload instanceof ChatCommand) {
+            ChatCommandType type = ((ChatCommand) payload).getType();
+            return type != null ? counters[type.ordinal() + 1] : null;
+        }
+        return null;
+    }
+}
@@ -1,37 +1,96 @@
 package org.example.socket;
 
 import org.example.config.EnvLoader;
+import org.example.log.LogManager;
+import org.example.log.Logger;
 import org.example.model.Member;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.nio.file.Path;
 import java.sql.Timestamp;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
 /**
  * 채팅 소켓 클라이언트 클래스
  * 서버와의 소켓 통신을 관리합니다.
+ * 채팅방마다 빈틈없이 받은 마지막 메시지 시퀀스를 기억했다가, 재접속하면 그 이후의 메시지만 서버에 요청합니다(RESUME).
+ * 서버가 수신 확인을 지원하면 받은 시퀀스를 채팅방별로 모아 잠시 뒤 한 번에 확인(DELIVERY_ACK)하고,
+ * 서버가 다시 보낸 메시지 중 이미 받은 것은 시퀀스로 걸러냅니다.
+ * 채팅방에 입장하면 서버가 입장 응답(JOIN_CHAT_SUCCESS)에 최근 메시지를 담아 보내므로 DB를 직접 읽지 않아도 됩니다.
+ * 서버가 생존 확인을 하면 PING에 PONG으로 응답하고, 서버가 알려준 유휴 제한 시간 동안 아무것도 받지 못하면
+ * 연결이 끊긴 것으로 보고 정리합니다 (쓰기가 실패할 때까지 기다리지 않음).
+ * 서버가 첨부 파일을 지원하면 같은 연결로 파일을 조각 단위로 올리고 받습니다(AttachmentClient).
+ * 서버가 종료를 앞두고 RECONNECT를 보내면 알려준 구간 안에서 무작위로 고른 시각에 다시 접속하고,
+ * 실패하면 대기 시간을 늘려 가며 다시 시도합니다 (재시작 때 모든 클라이언트가 한순간에 몰리지 않도록).
  */
 public class ChatSocketClient {
+    private static final Logger LOG = LogManager.getLogger(ChatSocketClient.class);
     private static final String SERVER_HOST = EnvLoader.get("SERVER_HOST");
     private static final int SERVER_PORT = Integer.parseInt(EnvLoader.get("SERVER_PORT"));
+    // 수신 스레드를 가상 스레드로 실행할지 여부 (Java 21 이상)
+    private static final boolean VIRTUAL_THREADS = Boolean.parseBoolean(EnvLoader.get("SOCKET_VIRTUAL_THREADS"));
+    // JAVA로 설정하면 본문 형식 협상 없이 기존 방식(Java 직렬화)으로 접속
+    private static final boolean LEGACY_WIRE_FORMAT = "JAVA".equalsIgnoreCase(EnvLoader.get("SOCKET_WIRE_FORMAT"));
+    // 서버가 허용하면 큰 프레임을 압축해서 주고받음 (SOCKET_COMPRESSION=false로 끔)
+    private static final boolean COMPRESSION = !"false".equalsIgnoreCase(EnvLoader.get("SOCKET_COMPRESSION"));
+    // 채팅방별로 보관하는 최근 메시지 수 (화면이 늦게 열려도 바로 표시)
+    private static final int RECENT_MESSAGE_LIMIT = 100;
+    // 서버가 인증 응답을 보내지 않을 때 기다리는 최대 시간
+    private static final int HANDSHAKE_TIMEOUT_MILLIS = 10_000;
+    // 첫 메시지를 받은 뒤 수신 확인을 모아서 보내기까지 기다리는 시간 (바쁜 채팅방에서 확인 프레임 수를 줄임)
+    private static final long ACK_FLUSH_DELAY_MILLIS = 200;
+    // 서버가 재접속을 요청했을 때 보낸 메시지의 저장 확인(MESSAGE_ACK)을 기다리며 연결을 유지하는 최대 시간
+    private static final long RECONNECT_ACK_WAIT_MILLIS = 2_000;
+    private static final long RECONNECT_ACK_POLL_MILLIS = 50;
+    // 재접속 실패 시 최대 시도 횟수와 대기 시간 범위 (대기 시간 상한은 매번 두 배, 실제 대기는 그 안에서 무작위)
+    private static final int MAX_RECONNECT_ATTEMPTS = 6;
+    private static final long MIN_RECONNECT_BACKOFF_MILLIS = 500;
+    private static final long MAX_RECONNECT_BACKOFF_MILLIS = 30_000;
     private static ChatSocketClient instance;
 
     private Socket socket;
-    private ObjectOutputStream outputStream;
-    private ObjectInputStream inputStream;
+    private OutputStream outputStream;
+    private DataInputStream inputStream;
+    // 핸드셰이크에서 정해진 프레임 본문 코덱
+    private volatile WireCodec codec = JavaSerializationCodec.INSTANCE;
+    // 서버가 생존 확인(PING)을 하는 연결이면 읽기 제한 시간이 지났을 때 연결이 끊긴 것으로 판단
+    private volatile boolean heartbeat;
+    // 서버가 수신 확인(DELIVERY_ACK)을 사용하기로 한 연결인지 여부
+    private volatile boolean deliveryAck;
+    // 서버가 채팅방 참여자를 DB에서 읽는 연결인지 여부 (참여자 변경은 전체 목록 대신 변경 알림으로 전달)
+    private volatile boolean serverMembership;
+    // 서버가 첨부 파일 전송을 허용한 연결인지 여부
+    private volatile boolean attachment;
+    // UI 스레드와 백그라운드 스레드의 동시 전송 보호 (가상 스레드 고정을 피하기 위해 ReentrantLock 사용)
+    private final ReentrantLock writeLock = new ReentrantLock();
     private ExecutorService executorService;
     private boolean connected = false;
     private Member currentUser;
@@ -40,10 +99,33 @@ public class ChatSocketClient {
     private final Map<Integer, List<Consumer<ChatMessage>>> messageListeners = new HashMap<>();
     // 명령 수신 리스너
     private final List<Consumer<ChatCommand>> commandListeners = new ArrayList<>();
+    // 서버 저장 확인(MESSAGE_ACK)을 기다리는 메시지 (클라이언트 메시지 ID -> 메시지 ID)
+    private final Map<Long, CompletableFuture<Integer>> pendingAcks = new ConcurrentHashMap<>();
+    private final AtomicLong nextClientMessageId = new AtomicLong(System.currentTimeMillis());
+    // 입장한 채팅방 (재접속 시 다시 입장)
+    private final Set<Integer> joinedRooms = ConcurrentHashMap.newKeySet();
+    // 채팅방별로 받은 메시지 시퀀스 (중복 제거, 재개/수신 확인 기준)
+    private final ReceivedSequences receivedSequences = new ReceivedSequences();
+    // 수신 확인 전송과 서버가 요청한 재접속을 예약하는 타이머 (예약된 확인 전송이 있으면 ackFlushPending이 true)
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "chat-client-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean ackFlushPending = new AtomicBoolean();
+    // 서버가 요청한 재접속이 예약되어 있거나 진행 중인지 (RECONNECT를 여러 번 받아도 한 번만 재접속)
+    private final AtomicBoolean reconnectScheduled = new AtomicBoolean();
+    // 놓친 메시지를 받는 중인 채팅방의 실시간 메시지 (재개가 끝나면 시퀀스 순서로 전달)
+    private final Map<Integer, List<ChatMessage>> resumeBuffers = new ConcurrentHashMap<>();
+    // 서버가 최근 메시지를 보내준 채팅방의 최근 메시지 (수신 스레드와 UI 스레드가 함께 사용)
+    private final Map<Integer, Deque<ChatMessage>> recentMessages = new HashMap<>();
+    private final ReentrantLock recentLock = new ReentrantLock();
+    // 첨부 파일 업로드/다운로드
+    private final AttachmentClient attachments = new AttachmentClient(this::writeFrame, VIRTUAL_THREADS);
 
     private ChatSocketClient() {
         // 싱글톤 패턴
-        executorService = Executors.newCachedThreadPool();
+        executorService = SocketExecutors.newConnectionExecutor(VIRTUAL_THREADS);
     }
 
     /**
@@ -61,7 +143,7 @@ public class ChatSocketClient {
      */
     public boolean connect(Member user) {
         if (connected && socket != null && socket.isConnected() && !socket.isClosed()) {
-            System.out.println("이미 연결되어 있습니다.");
+            LOG.debug("이미 연결되어 있습니다");
             return true;
         }
 
@@ -69,63 +151,95 @@ public class ChatSocketClient {
         connected = false; // 연결 시작 전에 반드시 false로 설정
 
         try {
-            System.out.println("서버 연결 시도: " + SERVER_HOST + ":" + SERVER_PORT);
+            LOG.info("서버 연결 시도", "host", SERVER_HOST, "port", SERVER_PORT);
 
             // 기존 리소스 정리
             if (socket != null) {
                 try {
                     socket.close();
                 } catch (Exception e) {
-                    System.err.println("이전 소켓 닫기 실패: " + e.getMessage());
+                    LOG.warn("이전 소켓 닫기 실패", e);
                 }
             }
 
             // 새 소켓 연결
             socket = new Socket(SERVER_HOST, SERVER_PORT);
 
-            // 중요: 출력 스트림을 먼저 생성하고 flush
-            outputStream = new ObjectOutputStream(socket.getOutputStream());
-            outputStream.flush(); // 헤더 먼저 전송
+            // 길이 헤더가 붙은 프레임 단위로 송수신
+            outputStream = socket.getOutputStream();
+            inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
 
-            // 그 다음 입력 스트림 생성
-            inputStream = new ObjectInputStream(socket.getInputStream());
-
-            // 사용자 ID로 인증 (첫 메시지로 전송)
-            System.out.println("인증 시도: 멤버ID=" + user.getMemberId());
-            outputStream.writeObject(user.getMemberId());
-            outputStream.flush();
-
-            // 인증 응답 확인 (서버 측 수정 필요)
-            try {
-                Object response = inputStream.readObject();
-                System.out.println("인증 응답: " + response);
-
-                if (!(response instanceof Boolean) || !((Boolean)response)) {
-                    System.err.println("인증 실패: 서버가 거부했습니다");
-                    disconnect();
-                    return false;
-                }
-            } catch (ClassNotFoundException e) {
-                System.err.println("인증 응답 처리 오류: " + e.getMessage());
+            // 사용자 ID로 인증 (첫 프레임으로 전송)
+            LOG.debug("인증 시도", "memberId", user.getMemberId());
+            if (!authenticate(user.getMemberId())) {
+                LOG.warn("인증 실패: 서버가 거부했습니다", "memberId", user.getMemberId());
                 disconnect();
                 return false;
             }
 
             connected = true;
-            System.out.println("서버 연결 및 인증 성공");
+            LOG.info("서버 연결 및 인증 성공", "memberId", user.getMemberId());
 
             // 메시지 수신 스레드 시작
             startMessageReceiver();
 
+            // 이전에 입장해 있던 채팅방에 다시 입장하고 놓친 메시지 요청
+            rejoinChatRooms();
+
             return true;
         } catch (IOException e) {
-            System.err.println("서버 연결 실패: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("서버 연결 실패", e);
             disconnect();
             return false;
         }
     }
 
+    /**
+     * 인증 및 본문 형식 협상
+     * 서버가 바이너리 형식을 지원하면 이후 모든 프레임을 바이너리로 주고받습니다.
+     */
+    private boolean authenticate(int memberId) throws IOException {
+        heartbeat = false;
+        deliveryAck = false;
+        serverMembership = false;
+        attachment = false;
+        socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+        if (LEGACY_WIRE_FORMAT) {
+            FrameCodec.writeFrame(outputStream, memberId);
+            try {
+                Object response = FrameCodec.readFrame(inputStream);
+                LOG.debug("인증 응답", "accepted", response);
+                codec = JavaSerializationCodec.INSTANCE;
+                socket.setSoTimeout(0);
+                return Boolean.TRUE.equals(response);
+            } catch (ClassNotFoundException e) {
+                LOG.warn("인증 응답 처리 오류", e);
+                return false;
+            }
+        }
+
+        int supportedFormats = WireFormat.JAVA.getMask() | WireFormat.BINARY.getMask();
+        if (COMPRESSION) {
+            supportedFormats |= WireFormat.DEFLATE.getMask();
+        }
+        outputStream.write(Handshake.encodeClientHello(memberId, supportedFormats,
+                Handshake.FEATURE_HEARTBEAT | Handshake.FEATURE_DELIVERY_ACK | Handshake.FEATURE_RATE_LIMIT
+                        | Handshake.FEATURE_MEMBERSHIP | Handshake.FEATURE_ATTACHMENT | Handshake.FEATURE_RECONNECT));
+        outputStream.flush();
+
+        byte[] body = FrameCodec.readFrameBody(inputStream);
+        Handshake.ServerAck ack = Handshake.decodeServerAck(body, 0, body.length);
+        LOG.debug("인증 응답", "accepted", ack.accepted, "format", ack.format);
+        codec = ack.format.codec();
+        // 서버는 PING 간격마다 무엇이든 보내므로, 유휴 제한 시간 동안 받은 것이 없으면 연결이 끊긴 것
+        heartbeat = ack.heartbeatIntervalMillis > 0 && ack.idleTimeoutMillis > 0;
+        deliveryAck = ack.deliveryAck();
+        serverMembership = ack.membership();
+        attachment = ack.attachment();
+        socket.setSoTimeout(heartbeat ? ack.idleTimeoutMillis : 0);
+        return ack.accepted;
+    }
+
     /**
      * 서버 연결 종료
      */
@@ -143,13 +257,22 @@ public class ChatSocketClient {
                 outputStream.close();
             }
         } catch (IOException e) {
-            System.err.println("연결 종료 오류: " + e.getMessage());
+            LOG.warn("연결 종료 오류", e);
         }
 
         if (executorService != null && !executorService.isShutdown()) {
             executorService.shutdownNow();
-            executorService = Executors.newCachedThreadPool();
+            executorService = SocketExecutors.newConnectionExecutor(VIRTUAL_THREADS);
         }
+
+        // 확인을 받지 못한 메시지와 진행 중인 첨부 파일 전송은 실패 처리
+        for (Long clientMessageId : pendingAcks.keySet()) {
+            CompletableFuture<Integer> ack = pendingAcks.remove(clientMessageId);
+            if (ack != null) {
+                ack.completeExceptionally(new SocketException("서버 연결이 끊어졌습니다."));
+            }
+        }
+        attachments.failAll(new SocketException("서버 연결이 끊어졌습니다."));
     }
 
     /**
@@ -157,21 +280,26 @@ public class ChatSocketClient {
      */
     private void startMessageReceiver() {
         if (executorService == null || executorService.isShutdown()) {
-            executorService = Executors.newCachedThreadPool();
+            executorService = SocketExecutors.newConnectionExecutor(VIRTUAL_THREADS);
         }
 
+        // 재접속하면 필드가 새 연결로 바뀌므로 이 스레드가 읽을 연결을 고정
+        Socket receiving = socket;
+        DataInputStream in = inputStream;
         executorService.submit(() -> {
-            System.out.println("메시지 수신 스레드 시작");
+            LOG.debug("메시지 수신 스레드 시작");
             try {
-                while (connected && socket != null && !socket.isClosed()) {
+                while (connected && !receiving.isClosed()) {
                     try {
-                        Object received = inputStream.readObject();
+                        Object received = FrameCodec.readFrame(in, codec);
                         if (received == null) {
-                            System.out.println("수신된 객체가 null입니다.");
+                            LOG.debug("수신된 객체가 null입니다");
                             continue;
                         }
 
-                        System.out.println("메시지 수신: " + received.getClass().getSimpleName());
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debug("메시지 수신", "type", received.getClass().getSimpleName());
+                        }
 
                         if (received instanceof ChatMessage) {
                             ChatMessage message = (ChatMessage) received;
@@ -179,22 +307,28 @@ public class ChatSocketClient {
                         } else if (received instanceof ChatCommand) {
                             ChatCommand command = (ChatCommand) received;
                             handleIncomingCommand(command);
+                        } else if (received instanceof AttachmentFrame) {
+                            attachments.handle((AttachmentFrame) received);
                         } else {
-                            System.out.println("알 수 없는 메시지 유형: " + received.getClass().getName());
+                            LOG.warn("알 수 없는 메시지 유형", "type", received.getClass().getName());
                         }
                     } catch (ClassNotFoundException e) {
-                        System.err.println("알 수 없는 객체 유형: " + e.getMessage());
+                        LOG.warn("알 수 없는 객체 유형", e);
                     } catch (java.net.SocketTimeoutException e) {
-                        // 타임아웃은 정상적인 것이므로 무시하고 계속 진행
-                        System.out.println("소켓 타임아웃 (정상): " + e.getMessage());
+                        if (heartbeat) {
+                            // PING조차 오지 않음 - 응답 없는 연결(half-open)로 보고 정리
+                            LOG.warn("서버 응답 없음", e);
+                            break;
+                        }
+                        // 생존 확인을 하지 않는 서버에서는 정상적인 것이므로 무시하고 계속 진행
+                        LOG.debug("소켓 타임아웃 (정상)", e);
                         continue;
                     } catch (java.io.EOFException | java.net.SocketException e) {
                         // 연결이 끊어진 경우
-                        System.err.println("서버 연결이 끊어짐: " + e.getMessage());
+                        LOG.warn("서버 연결이 끊어짐", e);
                         break;
                     } catch (Exception e) {
-                        System.err.println("메시지 수신 중 예외 발생: " + e.getMessage());
-                        e.printStackTrace();
+                        LOG.error("메시지 수신 중 예외 발생", e);
                         // 치명적이지 않은 예외인 경우 계속 진행
                         if (e instanceof IOException) {
                             break; // IO 예외는 연결 문제이므로 종료
@@ -203,20 +337,47 @@ public class ChatSocketClient {
                 }
             } catch (Exception e) {
                 if (connected) {
-                    System.err.println("메시지 수신 스레드에서 예외 발생: " + e.getMessage());
-                    e.printStackTrace();
+                    LOG.error("메시지 수신 스레드에서 예외 발생", e);
                 }
             } finally {
-                System.out.println("메시지 수신 스레드 종료");
-                disconnect();
+                LOG.debug("메시지 수신 스레드 종료");
+                // 이미 새 연결로 재접속했으면 그 연결은 닫지 않음
+                if (socket == receiving) {
+                    disconnect();
+                }
             }
         });
     }
 
     /**
      * 수신된 메시지 처리
+     * 시퀀스가 있는 메시지는 이미 받은 것을 걸러내고, 재개 중인 채팅방이면 재개가 끝날 때까지 보관합니다.
      */
     private void handleIncomingMessage(ChatMessage message) {
+        if (message.getSequence() > 0) {
+            List<ChatMessage> buffer = resumeBuffers.get(message.getChatRoomId());
+            if (buffer != null) {
+                buffer.add(message);
+                return;
+            }
+        }
+        deliverMessage(message);
+    }
+
+    /**
+     * 리스너에게 메시지 전달 (이미 받은 시퀀스는 무시)
+     * 재전송으로 빠진 메시지가 늦게 도착하면 순서와 관계없이 바로 전달합니다.
+     */
+    private void deliverMessage(ChatMessage message) {
+        long sequence = message.getSequence();
+        if (sequence > 0) {
+            if (!receivedSequences.accept(message.getChatRoomId(), sequence)) {
+                return;
+            }
+            rememberRecent(message);
+            scheduleAckFlush();
+        }
+
         List<Consumer<ChatMessage>> listeners = messageListeners.get(message.getChatRoomId());
 
         if (listeners != null) {
@@ -231,12 +392,277 @@ public class ChatSocketClient {
      * 수신된 명령 처리
      */
     private void handleIncomingCommand(ChatCommand command) {
+        if (command.getType() == ChatCommandType.PING) {
+            sendPong();
+            return;
+        }
+        if (command.getType() == ChatCommandType.MESSAGE_ACK) {
+            CompletableFuture<Integer> ack = pendingAcks.remove(command.getClientMessageId());
+            if (ack != null) {
+                ack.complete(command.getMessageId());
+            }
+        } else if (command.getType() == ChatCommandType.JOIN_CHAT_SUCCESS) {
+            handleJoinResponse(command);
+        } else if (command.getType() == ChatCommandType.RESUME_SUCCESS) {
+            handleResumeResponse(command);
+        } else if (command.getType() == ChatCommandType.RATE_LIMITED) {
+            // 서버가 메시지를 버림 - 확인을 기다리던 전송은 실패로 완료 (sequence에 다시 보낼 수 있는 시간)
+            LOG.warn("전송 속도 제한으로 메시지가 전송되지 않았습니다", "chatRoomId", command.getChatRoomId(),
+                    "retryAfterMillis", command.getSequence());
+            CompletableFuture<Integer> ack = pendingAcks.remove(command.getClientMessageId());
+            if (ack != null) {
+                ack.complete(-1);
+            }
+        } else if (command.getType() == ChatCommandType.RECONNECT) {
+            // 서버 종료 예정 (sequence에 재접속 분산 구간)
+            scheduleReconnect(command.getSequence());
+        } else if (command.getType() == ChatCommandType.ERROR) {
+            // 재개 실패 시 보관하던 메시지는 그대로 전달
+            finishResume(command.getChatRoomId());
+        }
+
         for (Consumer<ChatCommand> listener : commandListeners) {
             // JavaFX 스레드에서 UI 업데이트 처리를 위해 나중에 Platform.runLater로 래핑 필요
             listener.accept(command);
         }
     }
 
+    /**
+     * 입장 응답 처리 - 함께 온 최근 메시지를 전달하고, 입장하는 동안 보관한 실시간 메시지를 이어서 전달
+     * 메시지 목록이 없으면(서버 저장이 꺼져 있는 경우) 화면이 DB에서 직접 읽습니다.
+     */
+    private void handleJoinResponse(ChatCommand command) {
+        int chatRoomId = command.getChatRoomId();
+        if (command.getMessages() != null) {
+            recentLock.lock();
+            try {
+                recentMessages.put(chatRoomId, new ArrayDeque<>());
+            } finally {
+                recentLock.unlock();
+            }
+            // 입장 시점에는 최근 메시지부터 받으므로 그 이전은 받은 것으로 봄
+            if (!command.getMessages().isEmpty()) {
+                receivedSequences.fillTo(chatRoomId, command.getMessages().get(0).getSequence() - 1);
+            }
+            for (ChatMessage message : command.getMessages()) {
+                deliverMessage(message);
+            }
+        }
+        finishResume(chatRoomId);
+    }
+
+    private void rememberRecent(ChatMessage message) {
+        recentLock.lock();
+        try {
+            Deque<ChatMessage> recent = recentMessages.get(message.getChatRoomId());
+            if (recent != null) {
+                recent.addLast(message);
+                if (recent.size() > RECENT_MESSAGE_LIMIT) {
+                    recent.removeFirst();
+                }
+            }
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    /**
+     * 채팅방의 최근 메시지 (오래된 순서)
+     * @return 서버가 최근 메시지를 보내주지 않았으면 null (DB에서 직접 읽어야 함)
+     */
+    public List<ChatMessage> getRecentMessages(int chatRoomId) {
+        recentLock.lock();
+        try {
+            Deque<ChatMessage> recent = recentMessages.get(chatRoomId);
+            return recent == null ? null : new ArrayList<>(recent);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    private void forgetRecent(int chatRoomId) {
+        recentLock.lock();
+        try {
+            recentMessages.remove(chatRoomId);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    /**
+     * 놓친 메시지 묶음 처리 - 다음 페이지가 있으면 이어서 요청하고, 없으면 재개 완료
+     */
+    private void handleResumeResponse(ChatCommand command) {
+        int chatRoomId = command.getChatRoomId();
+        List<ChatMessage> messages = command.getMessages();
+        if (messages != null && !messages.isEmpty() && getLastSequence(chatRoomId) == 0
+                && !resumeBuffers.containsKey(chatRoomId)) {
+            // 접속하지 않은 동안 보관된 메시지 - 처음 받는 채팅방이면 그 이전은 받은 것으로 봄
+            receivedSequences.fillTo(chatRoomId, messages.get(0).getSequence() - 1);
+        }
+        if (command.getMessages() != null) {
+            for (ChatMessage message : command.getMessages()) {
+                deliverMessage(message);
+            }
+        }
+
+        if (command.getSequence() > 0 && resumeBuffers.containsKey(chatRoomId)) {
+            sendCommand(ChatCommand.resume(chatRoomId, currentUser.getMemberId(), getLastSequence(chatRoomId)));
+        } else {
+            finishResume(chatRoomId);
+        }
+    }
+
+    /**
+     * 재개 중 보관한 실시간 메시지를 시퀀스 순서로 전달
+     */
+    private void finishResume(int chatRoomId) {
+        List<ChatMessage> buffered = resumeBuffers.remove(chatRoomId);
+        if (buffered == null) {
+            return;
+        }
+        buffered.sort(Comparator.comparingLong(ChatMessage::getSequence));
+        for (ChatMessage message : buffered) {
+            deliverMessage(message);
+        }
+    }
+
+    /**
+     * 재접속 후 입장해 있던 채팅방에 다시 입장
+     * 받은 시퀀스가 있는 채팅방은 그 이후 메시지만 요청합니다.
+     */
+    private void rejoinChatRooms() {
+        for (Integer chatRoomId : joinedRooms) {
+            sendJoinCommand(chatRoomId);
+        }
+    }
+
+    private boolean sendJoinCommand(int chatRoomId) {
+        long lastSequence = getLastSequence(chatRoomId);
+        if (lastSequence > 0) {
+            if (resumeBuffers.putIfAbsent(chatRoomId, new ArrayList<>()) != null) {
+                return true; // 이미 재개 중
+            }
+            boolean sent = sendCommand(ChatCommand.resume(chatRoomId, currentUser.getMemberId(), lastSequence));
+            if (!sent) {
+                resumeBuffers.remove(chatRoomId);
+            }
+            return sent;
+        }
+        // 입장 응답의 최근 메시지보다 실시간 메시지가 먼저 화면에 나가지 않도록 응답이 올 때까지 보관
+        resumeBuffers.putIfAbsent(chatRoomId, new ArrayList<>());
+        boolean sent = sendCommand(new ChatCommand(ChatCommandType.JOIN_CHAT, chatRoomId, currentUser.getMemberId()));
+        if (!sent) {
+            resumeBuffers.remove(chatRoomId);
+        }
+        return sent;
+    }
+
+    /**
+     * 채팅방에서 빈틈없이 받은 마지막 메시지 시퀀스 (없으면 0)
+     * 중간에 빠진 메시지가 있으면 그 앞까지이므로, 재접속하면 빠진 메시지부터 다시 받습니다.
+     */
+    public long getLastSequence(int chatRoomId) {
+        return receivedSequences.contiguous(chatRoomId);
+    }
+
+    /**
+     * DB에서 직접 읽어온 메시지의 시퀀스 기록 (이후 재접속 시 그 다음부터 요청)
+     */
+    public void recordSequence(int chatRoomId, long sequence) {
+        if (sequence > 0) {
+            receivedSequences.fillTo(chatRoomId, sequence);
+        }
+    }
+
+    /**
+     * 수신 확인 전송 예약 - 이미 예약되어 있으면 그 전송에 함께 담김
+     */
+    private void scheduleAckFlush() {
+        if (!deliveryAck || !ackFlushPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.schedule(this::flushAcks, ACK_FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            ackFlushPending.set(false);
+        }
+    }
+
+    /**
+     * 그동안 받은 시퀀스를 채팅방별로 하나의 DELIVERY_ACK로 전송 (누적 확인)
+     */
+    private void flushAcks() {
+        ackFlushPending.set(false);
+        Map<Integer, Long> advanced = receivedSequences.takeAdvanced();
+        if (!deliveryAck || !isConnected() || currentUser == null) {
+            return; // 재접속하면 RESUME이 같은 역할을 함
+        }
+        for (Map.Entry<Integer, Long> entry : advanced.entrySet()) {
+            if (joinedRooms.contains(entry.getKey())) {
+                sendCommand(ChatCommand.deliveryAck(entry.getKey(), currentUser.getMemberId(), entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * 서버가 요청한 재접속 예약 - 분산 구간 안에서 무작위로 고른 시각에 다시 접속
+     * RECONNECT는 서버가 먼저 보낸 메시지 뒤에 도착하므로 그때까지의 메시지는 이미 받은 상태입니다.
+     */
+    private void scheduleReconnect(long jitterMillis) {
+        if (!reconnectScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        long delay = jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis) : 0;
+        long ackDeadline = System.currentTimeMillis() + delay + RECONNECT_ACK_WAIT_MILLIS;
+        long backoff = Math.max(MIN_RECONNECT_BACKOFF_MILLIS, jitterMillis);
+        LOG.info("서버가 재접속을 요청했습니다", "delayMillis", delay);
+        scheduleReconnectAttempt(() -> reconnect(ackDeadline, backoff, 0), delay);
+    }
+
+    private void scheduleReconnectAttempt(Runnable attempt, long delayMillis) {
+        try {
+            scheduler.schedule(attempt, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            reconnectScheduled.set(false);
+        }
+    }
+
+    /**
+     * 재접속 시도 (타이머 스레드)
+     * 첫 시도는 저장 확인을 기다리는 메시지가 있으면 잠시 더 기다리고, 받은 시퀀스의 수신 확인을 보낸 뒤 연결을 끊습니다.
+     * 새 연결에서는 입장해 있던 채팅방을 RESUME으로 다시 입장하므로 끊긴 사이의 메시지도 받습니다.
+     * 실패하면 대기 시간 상한을 두 배씩 늘리고 그 안에서 무작위로 골라 다시 시도합니다.
+     */
+    private void reconnect(long ackDeadline, long backoffMillis, int attempt) {
+        Member user = currentUser;
+        if (attempt == 0) {
+            if (user == null || !isConnected()) {
+                // 그 사이 직접 연결을 끊었거나 이미 끊김 - 다음 사용 때 다시 연결
+                reconnectScheduled.set(false);
+                return;
+            }
+            if (!pendingAcks.isEmpty() && System.currentTimeMillis() < ackDeadline) {
+                scheduleReconnectAttempt(() -> reconnect(ackDeadline, backoffMillis, 0), RECONNECT_ACK_POLL_MILLIS);
+                return;
+            }
+            flushAcks();
+            disconnect();
+        }
+        if (connect(user)) {
+            reconnectScheduled.set(false);
+            return;
+        }
+        if (attempt + 1 >= MAX_RECONNECT_ATTEMPTS) {
+            LOG.warn("서버 재접속 실패", "attempts", attempt + 1);
+            reconnectScheduled.set(false);
+            return;
+        }
+        long nextBackoff = Math.min(backoffMillis * 2, MAX_RECONNECT_BACKOFF_MILLIS);
+        scheduleReconnectAttempt(() -> reconnect(ackDeadline, nextBackoff, attempt + 1),
+                1 + ThreadLocalRandom.current().nextLong(nextBackoff));
+    }
+
     /**
      * 채팅방에 메시지 전송
      */
@@ -246,59 +672,167 @@ public class ChatSocketClient {
         }
 
         try {
-            ChatMessage message = new ChatMessage(
-                    ChatMessageType.CHAT,
-                    chatRoomId,
-                    currentUser.getMemberId(),
-                    content,
-                    new Timestamp(System.currentTimeMillis()),
-                    currentUser.getNickname(),
-                    currentUser.getStatus()
-            );
-
-            outputStream.writeObject(message);
-            outputStream.flush();
+            writeFrame(createMessage(chatRoomId, content));
             return true;
         } catch (IOException e) {
-            System.err.println("메시지 전송 오류: " + e.getMessage());
+            LOG.warn("메시지 전송 오류", e);
             disconnect();
             return false;
         }
     }
 
+    /**
+     * 서버 저장을 요청하며 메시지 전송
+     * 서버가 메시지를 저장하고 브로드캐스트한 뒤 MESSAGE_ACK로 메시지 ID를 알려주면 완료됩니다.
+     * 호출한 쪽이 Future를 먼저 완료하면(orTimeout 등) 확인 대기 목록에서 바로 지웁니다.
+     * @return 메시지 ID(저장 실패나 전송 속도 제한 시 -1, 서버가 저장하지 않으면 0)로 완료되는 Future, 연결되어 있지 않으면 null
+     */
+    public CompletableFuture<Integer> sendMessageForAck(int chatRoomId, String content) {
+        if (!connected) {
+            return null;
+        }
+
+        ChatMessage message = createMessage(chatRoomId, content);
+        long clientMessageId = nextClientMessageId.incrementAndGet();
+        message.setClientMessageId(clientMessageId);
+
+        CompletableFuture<Integer> ack = new CompletableFuture<>();
+        pendingAcks.put(clientMessageId, ack);
+        // 호출한 쪽이 시간 초과 등으로 먼저 완료해도 대기 목록에 남지 않도록 정리
+        ack.whenComplete((messageId, error) -> pendingAcks.remove(clientMessageId, ack));
+        try {
+            writeFrame(message);
+        } catch (IOException e) {
+            LOG.warn("메시지 전송 오류", e);
+            pendingAcks.remove(clientMessageId);
+            ack.completeExceptionally(e);
+            disconnect();
+        }
+        return ack;
+    }
+
+    /**
+     * 파일을 업로드하고 채팅방에 첨부 파일 메시지(FILE) 전송
+     * 메시지 내용은 "해시:크기:파일 이름"이며, 받은 쪽은 downloadAttachment()로 파일을 받습니다.
+     * @return 보낸 메시지로 완료되는 Future (서버가 첨부 파일을 지원하지 않으면 실패)
+     */
+    public CompletableFuture<ChatMessage> sendAttachment(int chatRoomId, Path file) {
+        return uploadAttachment(file).thenApply(hash -> {
+            ChatMessage message = createMessage(chatRoomId,
+                    hash + ":" + file.toFile().length() + ":" + file.getFileName());
+            message.setType(ChatMessageType.FILE);
+            try {
+                writeFrame(message);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            return message;
+        });
+    }
+
+    /**
+     * 파일 업로드 (서버에 같은 파일이 이미 있으면 보내지 않음, 끊겼던 업로드는 이어서 보냄)
+     * @return 파일의 SHA-256 해시로 완료되는 Future
+     */
+    public CompletableFuture<String> uploadAttachment(Path file) {
+        if (!connected || !attachment) {
+            return unsupportedAttachment();
+        }
+        return attachments.upload(file);
+    }
+
+    /**
+     * 첨부 파일 다운로드 (받다 만 "<대상>.part" 파일이 있으면 이어서 받음)
+     * @return 해시를 확인하고 대상 경로에 저장하면 완료되는 Future
+     */
+    public CompletableFuture<Path> downloadAttachment(String hash, Path target) {
+        if (!connected || !attachment) {
+            return unsupportedAttachment();
+        }
+        return attachments.download(hash, target);
+    }
+
+    /**
+     * 서버가 첨부 파일 전송을 허용했는지 여부
+     */
+    public boolean isAttachmentSupported() {
+        return attachment;
+    }
+
+    private static <T> CompletableFuture<T> unsupportedAttachment() {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        result.completeExceptionally(new SocketException("첨부 파일을 보낼 수 있는 연결이 아닙니다."));
+        return result;
+    }
+
+    private ChatMessage createMessage(int chatRoomId, String content) {
+        return new ChatMessage(
+                ChatMessageType.CHAT,
+                chatRoomId,
+                currentUser.getMemberId(),
+                content,
+                new Timestamp(System.currentTimeMillis()),
+                currentUser.getNickname(),
+                currentUser.getStatus()
+        );
+    }
+
     /**
      * 명령 전송
      */
     public boolean sendCommand(ChatCommand command) {
         if (!isConnected()) {
-            System.err.println("sendCommand: 소켓이 연결되어 있지 않습니다.");
+            LOG.warn("명령 전송 실패: 소켓이 연결되어 있지 않습니다", "type", command.getType());
             return false;
         }
 
         try {
-            System.out.println("명령 전송 중: " + command.getType() + ", chatRoomId=" + command.getChatRoomId());
-            outputStream.writeObject(command);
-            outputStream.flush();
-            outputStream.reset(); // 객체 캐시 초기화 (중요!)
-            System.out.println("명령 전송 성공");
+            writeFrame(command);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("명령 전송", "type", command.getType(), "chatRoomId", command.getChatRoomId());
+            }
             return true;
         } catch (IOException e) {
-            System.err.println("명령 전송 오류: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("명령 전송 오류", "type", command.getType(), e);
             disconnect();
             return false;
         }
     }
 
+    /**
+     * 생존 확인 응답 (수신 스레드에서 호출)
+     */
+    private void sendPong() {
+        try {
+            writeFrame(new ChatCommand(ChatCommandType.PONG, 0));
+        } catch (IOException e) {
+            LOG.warn("PONG 전송 오류", e);
+        }
+    }
+
+    /**
+     * 프레임 전송 (직렬화는 잠금 밖에서 수행)
+     */
+    private void writeFrame(Object payload) throws IOException {
+        byte[] frame = codec.encode(payload);
+        writeLock.lock();
+        try {
+            outputStream.write(frame);
+            outputStream.flush();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     // 예: ChatSocketClient.java의 연결 확인 부분
     public boolean ensureConnected(Member user) {
-        System.out.println("ensureConnected 호출: " + (user != null ? "memberId=" + user.getMemberId() : "user=null"));
+        LOG.debug("연결 확인", "memberId", user != null ? user.getMemberId() : null);
         if (isConnected()) {
-            System.out.println("이미 연결 상태임");
+            LOG.debug("이미 연결 상태임");
             return true;
         }
 
-        System.out.println("소켓 연결이 끊어져 있어 재연결 시도...");
+        LOG.info("소켓 연결이 끊어져 있어 재연결 시도");
         return connect(user);
     }
 
@@ -311,25 +845,28 @@ public class ChatSocketClient {
         if (!isConnected() && currentUser != null) {
             boolean reconnected = connect(currentUser);
             if (!reconnected) {
-                System.err.println("채팅방 입장 전 소켓 재연결 실패");
+                LOG.warn("채팅방 입장 전 소켓 재연결 실패", "chatRoomId", chatRoomId);
                 return false;
             }
         }
 
         try {
-            ChatCommand command = new ChatCommand(ChatCommandType.JOIN_CHAT, chatRoomId, currentUser.getMemberId());
-            boolean sent = sendCommand(command);
+            // 새로 입장할 때는 최근 메시지를 처음부터 다시 받음 (재접속 시 자동 재입장만 RESUME 사용)
+            joinedRooms.add(chatRoomId);
+            receivedSequences.reset(chatRoomId);
+            resumeBuffers.remove(chatRoomId);
+            forgetRecent(chatRoomId);
+            boolean sent = sendJoinCommand(chatRoomId);
 
             if (!sent) {
-                System.err.println("채팅방 입장 명령 전송 실패");
+                LOG.warn("채팅방 입장 명령 전송 실패", "chatRoomId", chatRoomId);
                 return false;
             }
 
-            System.out.println("채팅방 " + chatRoomId + " 입장 명령 전송 성공");
+            LOG.debug("채팅방 입장 명령 전송 성공", "chatRoomId", chatRoomId);
             return true;
         } catch (Exception e) {
-            System.err.println("채팅방 입장 명령 전송 중 예외 발생: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("채팅방 입장 명령 전송 중 예외 발생", "chatRoomId", chatRoomId, e);
             return false;
         }
     }
@@ -341,7 +878,7 @@ public class ChatSocketClient {
      */
     public boolean leaveChatRoom(int chatRoomId) {
         if (!isConnected()) {
-            System.err.println("leaveChatRoom: 소켓이 연결되어 있지 않습니다.");
+            LOG.warn("채팅방 퇴장 실패: 소켓이 연결되어 있지 않습니다", "chatRoomId", chatRoomId);
             return false;
         }
 
@@ -350,19 +887,22 @@ public class ChatSocketClient {
             boolean sent = sendCommand(command);
 
             if (sent) {
-                System.out.println("채팅방 " + chatRoomId + " 퇴장 명령 전송 성공");
+                LOG.debug("채팅방 퇴장 명령 전송 성공", "chatRoomId", chatRoomId);
 
                 // 해당 채팅방의 모든 메시지 리스너 제거
                 clearMessageListeners(chatRoomId);
+                joinedRooms.remove(chatRoomId);
+                receivedSequences.reset(chatRoomId);
+                resumeBuffers.remove(chatRoomId);
+                forgetRecent(chatRoomId);
 
                 return true;
             } else {
-                System.err.println("채팅방 퇴장 명령 전송 실패");
+                LOG.warn("채팅방 퇴장 명령 전송 실패", "chatRoomId", chatRoomId);
                 return false;
             }
         } catch (Exception e) {
-            System.err.println("채팅방 퇴장 명령 전송 중 예외 발생: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("채팅방 퇴장 명령 전송 중 예외 발생", "chatRoomId", chatRoomId, e);
             return false;
         }
     }
@@ -375,6 +915,22 @@ public class ChatSocketClient {
         sendCommand(command);
     }
 
+    /**
+     * 채팅방 참여자 변경 알림 전송 (서버가 알린 사용자만 DB에서 다시 확인)
+     * @param memberIds 추가되거나 제거된 참여자 ID
+     */
+    public void notifyMembershipChanged(int chatRoomId, List<Integer> memberIds) {
+        sendCommand(new ChatCommand(ChatCommandType.MEMBERSHIP_CHANGED, chatRoomId, memberIds));
+    }
+
+    /**
+     * 서버가 채팅방 참여자를 DB에서 읽는지 여부
+     * true면 전체 참여자 목록(UPDATE_MEMBERS)을 보내지 않아도 되며, 보내도 서버가 무시합니다.
+     */
+    public boolean isServerMembership() {
+        return serverMembership;
+    }
+
     /**
      * 메시지 리스너 추가
      */
@@ -431,7 +987,7 @@ public class ChatSocketClient {
 
         if (!result && connected) {
             // 연결 상태 플래그는 true이지만 소켓 상태가 좋지 않음
-            System.out.println("연결 상태 불일치 감지: connected 플래그는 true이지만 실제 소켓은 연결되지 않음");
+            LOG.warn("연결 상태 불일치 감지: connected 플래그는 true이지만 실제 소켓은 연결되지 않음");
             connected = false; // 상태 일치 시키기
         }
 
@@ -1,39 +1,132 @@
 package org.example.socket;
 
-import org.example.model.Message;
-import org.example.model.Member;
-import org.example.repository.MemberRepository;
+import org.example.log.LogManager;
+import org.example.log.Logger;
+import org.example.metrics.MetricsHttpServer;
+import org.example.metrics.MetricsMBean;
+import org.example.metrics.MetricsRegistry;
+import org.example.repository.ChatRoomRepository;
+import org.example.repository.MessageRepository;
 
-import java.io.*;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import javax.management.ObjectName;
 
 /**
  * 채팅 소켓 서버 클래스
  * 사용자 연결과 메시지 브로드캐스팅을 처리합니다.
+ * 소켓 입출력은 설정된 ServerEngine(블로킹/NIO)이 담당하고,
+ * 이 클래스는 인증, 채팅방 멤버 관리, 명령 처리를 담당합니다.
+ * 메시지 저장이 켜져 있으면 서버가 메시지를 배치로 저장한 뒤 브로드캐스트하고,
+ * 보낸 사람에게 할당된 메시지 ID를 MESSAGE_ACK로 알려줍니다.
+ * 저장된 메시지에는 채팅방별 시퀀스가 붙으며, 재접속한 클라이언트는 RESUME으로 놓친 범위만 받아갑니다.
+ * 채팅방별 최근 메시지는 메모리 링 버퍼에 보관해 입장 응답(JOIN_CHAT_SUCCESS)에 바로 담아 보냅니다.
+ * 클러스터 모드에서는 채팅방 소유 노드가 메시지를 처리하고, 참여자가 있는 다른 노드로 중계합니다(ClusterNode).
+ * 핸드셰이크 제한 시간, PING 전송, 유휴 연결 정리는 하나의 타이밍 휠에서 처리합니다(ConnectionMonitor).
+ * 수신 확인(DELIVERY_ACK)을 보내는 클라이언트는 확인하지 않은 메시지를 제한 시간 뒤에 다시 받습니다(DeliveryTracker).
+ * 채팅 메시지는 저장과 브로드캐스트 전에 연결별/채팅방별 전송 속도 제한을 통과해야 합니다(RateLimiter).
+ * 접속하지 않은 채팅방 참여자의 메시지는 보관했다가 인증 직후 채팅방별로 묶어서 보냅니다(SpillingPendingDeliveryStore).
+ * 첨부 파일은 같은 연결로 조각 단위로 주고받아 로컬 디스크에 해시 이름으로 저장합니다(AttachmentService).
+ * 이 서버의 참여자에게 나눠 주는 작업은 채팅방별 처리 레인에서 순서대로 하며, 채팅방끼리는 병렬로 처리합니다(RoomDispatcher).
+ * 재시작할 때는 drain()으로 새 연결 수락을 멈추고, 클라이언트가 시각을 분산해 재접속하도록 알린 뒤 대기열을 비우고 종료합니다.
+ * 연결, 프레임, 브로드캐스트 지연 등의 지표는 JMX와 (설정 시) Prometheus HTTP 엔드포인트로 노출합니다(ChatServerMetrics).
  */
-public class ChatSocketServer {
-    private static final int PORT = 9000;
+public final class ChatSocketServer {
+    private static final Logger LOG = LogManager.getLogger(ChatSocketServer.class);
+    // 입장/재개 응답 한 번에 담을 메시지의 대략적인 최대 크기 (프레임 크기 제한 이내로 유지)
+    private static final int MAX_HISTORY_BYTES = FrameCodec.MAX_FRAME_SIZE / 2;
+    // 접속 직후 보관 메시지를 저장소에서 한 번에 꺼내는 개수
+    private static final int OFFLINE_POLL_SIZE = 1000;
+    // 참여자 변경 알림 하나로 다시 확인하는 최대 사용자 수 (알림마다 사용자별로 DB를 조회하므로 제한)
+    private static final int MAX_MEMBERSHIP_CHANGES = 256;
+    // drain 중 세션 종료와 대기열 비우기를 확인하는 간격
+    private static final long DRAIN_POLL_MILLIS = 50;
+
     private static ChatSocketServer instance;
-    private ServerSocket serverSocket;
-    private boolean running;
-    private ExecutorService executorService;
+    private ChatServerConfig config;
+    private ServerEngine engine;
+    private volatile boolean running;
+    // drain 중인지 (새 연결 수락을 멈추고 세션에 재접속을 요청한 상태)
+    private volatile boolean draining;
 
-    // 사용자 ID와 소켓 연결 매핑
-    private final Map<Integer, ClientHandler> clientHandlers = new ConcurrentHashMap<>();
-    // 채팅방 ID와 참여자 목록 매핑
-    private final Map<Integer, List<Integer>> chatRoomMembers = new ConcurrentHashMap<>();
+    // 사용자별 접속 중인 세션 (한 사용자가 여러 컴퓨터에서 동시에 접속 가능)
+    private final SessionRegistry sessions = new SessionRegistry();
+    // 재접속 요청(RECONNECT)을 이해하는 세션 (drain 때 재접속을 요청하고 끊기기를 기다릴 대상)
+    private final Set<ClientSession> reconnectSessions = ConcurrentHashMap.newKeySet();
+    // 채팅방별 참여자 (int 배열 기반, 브로드캐스트 순회 시 잠금/할당 없음)
+    private final RoomMembershipRegistry roomMembers = new RoomMembershipRegistry();
+    // 브로드캐스트 방문자 (매번 람다를 만들지 않도록 필드로 보관)
+    private final RoomMembershipRegistry.MemberVisitor<EncodedFrame> frameDelivery = this::deliverFrame;
+    // 느린 연결의 송신 대기열에서 넘친 프레임 보관 (SPILL 정책)
+    private final PendingDeliveryStore pendingDeliveryStore = new InMemoryPendingDeliveryStore();
+    // 접속하지 않은 채팅방 참여자에게 보낼 메시지 (서버 저장과 오프라인 전달을 사용할 때만 존재)
+    private volatile SpillingPendingDeliveryStore offlineStore;
+    // 연결이 모두 끊겨 메시지를 보관 중인 사용자와 채팅방에서 뺄 시점 예약 (다시 접속하면 취소)
+    private final Map<Integer, OfflineExpiry> offlineMembers = new ConcurrentHashMap<>();
+    // 설정이 없어 직접 만든 넘김 디렉터리 (종료 시 삭제)
+    private Path offlineTempDirectory;
+    // 메시지 저장소와 쓰기 지연 저장 파이프라인 (서버 실행 중에만 존재)
+    private MessageStore messageStore;
+    private MessagePersistencePipeline persistencePipeline;
+    // 채팅방 참여자 저장소와 DB 기준 참여자 목록 (참여자를 DB에서 읽을 때만 존재)
+    private MembershipStore membershipStore;
+    private volatile MembershipDirectory membership;
+    // 같은 프로세스의 저장소에서 오는 참여자 변경 알림 (등록/해제에 같은 객체를 쓰도록 필드로 보관)
+    private final ChatRoomRepository.MembershipListener membershipListener = this::membershipChanged;
+    // 참여자 확인 후 브로드캐스트 (매번 람다를 만들지 않도록 필드로 보관)
+    private final Consumer<ChatMessage> memberDelivery = this::deliverToMembers;
+    // 채팅방별 최근 메시지 (입장 응답과 짧은 재개는 DB 조회 없이 처리)
+    private RoomHistoryCache historyCache;
+    // 최근/놓친 메시지 조회(DB)를 연결 스레드/이벤트 루프 밖에서 실행
+    private ExecutorService historyExecutor;
+    // 클러스터 모드의 노드 간 링크와 채팅방 소유권 (단일 서버 모드에서는 null)
+    private volatile ClusterNode cluster;
+    // 핸드셰이크 제한 시간과 연결 생존 확인 (서버 실행 중에만 존재)
+    private volatile ConnectionMonitor connectionMonitor;
+    // 수신 확인과 재전송 (서버 저장을 사용하고 확인 제한 시간이 설정된 경우에만 존재)
+    private volatile DeliveryTracker deliveryTracker;
+    // 연결별/채팅방별 전송 속도 제한 (제한을 모두 끈 경우 null)
+    private volatile RateLimiter rateLimiter;
+    // 첨부 파일 업로드/다운로드 (첨부 파일을 끈 경우 null)
+    private volatile AttachmentService attachments;
+    // 채팅방별 브로드캐스트 처리 레인 (레인 수가 0이면 null - 메시지를 받은 스레드에서 바로 전달)
+    private volatile RoomDispatcher dispatcher;
+    // 저장 완료 콜백 (매번 람다를 만들지 않도록 필드로 보관)
+    private final MessagePersistencePipeline.Callback persistedDelivery = this::onMessagePersisted;
+    // 서버 지표 (엔진과 서버가 기록, 서버를 다시 시작해도 누적)
+    private final ChatServerMetrics metrics;
+    // JMX 등록 이름과 Prometheus 엔드포인트 (서버 실행 중에만 존재)
+    private ObjectName metricsObjectName;
+    private MetricsHttpServer metricsHttpServer;
 
     private ChatSocketServer() {
         // 싱글톤 패턴
+        this(ChatServerConfig.fromEnvironment());
+    }
+
+    /**
+     * 별도 설정으로 서버 생성 (벤치마크, 테스트용)
+     */
+    public ChatSocketServer(ChatServerConfig config) {
+        this.config = config;
+        // 지표는 서버 조회 메서드를 게이지로 등록하므로 다른 필드가 모두 초기화된 뒤 마지막에 생성
+        this.metrics = new ChatServerMetrics(this);
     }
 
     /**
@@ -46,340 +139,1216 @@ public class ChatSocketServer {
         return instance;
     }
 
+    /**
+     * 서버 설정 변경 (시작 전에만 가능)
+     */
+    public void configure(ChatServerConfig config) {
+        if (running) {
+            throw new IllegalStateException("실행 중인 서버의 설정은 변경할 수 없습니다.");
+        }
+        this.config = config;
+    }
+
+    public ChatServerConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * 메시지 저장소 변경 (시작 전에만 가능, 테스트용)
+     * 지정하지 않으면 MessageRepository로 DB에 저장합니다.
+     */
+    public void setMessageStore(MessageStore messageStore) {
+        if (running) {
+            throw new IllegalStateException("실행 중인 서버의 메시지 저장소는 변경할 수 없습니다.");
+        }
+        this.messageStore = messageStore;
+    }
+
+    /**
+     * 채팅방 참여자 저장소 변경 (시작 전에만 가능, 테스트용)
+     * 지정하지 않으면 메시지 저장소를 직접 만들 때 ChatRoomRepository로 DB에서 읽습니다.
+     */
+    public void setMembershipStore(MembershipStore membershipStore) {
+        if (running) {
+            throw new IllegalStateException("실행 중인 서버의 참여자 저장소는 변경할 수 없습니다.");
+        }
+        this.membershipStore = membershipStore;
+    }
+
     /**
      * 서버 시작
      */
     public void start() {
         if (running) {
-            System.out.println("서버가 이미 실행 중입니다.");
+            LOG.info("서버가 이미 실행 중입니다");
             return;
         }
 
-        executorService = Executors.newCachedThreadPool();
+        engine = createEngine();
         running = true;
+        connectionMonitor = new ConnectionMonitor(config);
+        connectionMonitor.start();
+        rateLimiter = RateLimiter.isEnabled(config) ? new RateLimiter(config) : null;
+        if (config.getBroadcastLanes() > 0) {
+            dispatcher = new RoomDispatcher(config.getBroadcastLanes(), config.getHotRoomMessagesPerSecond(),
+                    this::deliverInRoom);
+            dispatcher.start();
+        }
+        if (config.isAttachments()) {
+            attachments = new AttachmentService(new AttachmentStore(Paths.get(config.getAttachmentDirectory())),
+                    config.getAttachmentMaxMegabytes() * 1024L * 1024L, config.getAttachmentWindowKilobytes() * 1024,
+                    config.isVirtualThreads());
+        }
 
-        try {
-            serverSocket = new ServerSocket(PORT);
-            System.out.println("채팅 서버가 포트 " + PORT + "에서 시작되었습니다.");
-
-            // 클라이언트 연결 수락 스레드
-            executorService.submit(() -> {
-                while (running) {
-                    try {
-                        Socket clientSocket = serverSocket.accept();
-                        handleClientConnection(clientSocket);
-                    } catch (IOException e) {
-                        if (running) {
-                            System.err.println("클라이언트 연결 수락 중 오류 발생: " + e.getMessage());
-                        }
-                    }
+        if (config.isPersistMessages()) {
+            if (messageStore == null) {
+                messageStore = new MessageRepository();
+                if (membershipStore == null) {
+                    membershipStore = new ChatRoomRepository();
                 }
-            });
+            }
+            persistencePipeline = new MessagePersistencePipeline(messageStore, config.getPersistBatchSize(),
+                    config.getPersistFlushMillis(), config.getPersistBatchSize() * 64);
+            historyCache = new RoomHistoryCache(config.getHistorySize(), config.getHistoryMaxRooms(),
+                    config.getHistoryMaxMegabytes() * 1024L * 1024L);
+            persistencePipeline.start();
+            historyExecutor = SocketExecutors.newConnectionExecutor(config.isVirtualThreads());
+            if (membershipStore != null && config.isMembershipFromDb()) {
+                membership = new MembershipDirectory(this, membershipStore, historyExecutor);
+                ChatRoomRepository.addMembershipListener(membershipListener);
+            }
+            if (config.getDeliveryAckTimeoutMillis() > 0) {
+                deliveryTracker = new DeliveryTracker(this, connectionMonitor, config.getDeliveryAckTimeoutMillis());
+                deliveryTracker.start();
+            }
+            if (config.isOfflineDelivery()) {
+                offlineStore = createOfflineStore();
+            }
+        }
 
+        try {
+            engine.start();
+            if (config.isClusterEnabled()) {
+                cluster = new ClusterNode(this, config);
+                cluster.start();
+            }
+            LOG.info("채팅 서버가 시작되었습니다", "port", engine.getLocalPort(), "engine", config.getEngineType());
+            startMetrics();
         } catch (IOException e) {
-            System.err.println("서버 시작 중 오류 발생: " + e.getMessage());
+            LOG.error("서버 시작 중 오류 발생", e);
+            stopCluster();
+            engine.stop();
+            stopDeliveryTracker();
+            stopPersistence();
+            stopDispatcher();
+            stopAttachments();
+            stopConnectionMonitor();
             running = false;
         }
     }
 
+    private ServerEngine createEngine() {
+        switch (config.getEngineType()) {
+            case NIO:
+                return new NioServerEngine(this, config);
+            case BLOCKING:
+            default:
+                return new BlockingServerEngine(this, config);
+        }
+    }
+
+    /**
+     * 연결을 정리하며 서버 종료 (무중단 재시작용)
+     * 1. 새 연결 수락을 멈춤 - reusePort 설정으로 같은 포트에 먼저 시작한 새 프로세스가 이후 연결을 받음
+     * 2. 재접속을 지원하는 세션에 RECONNECT를 보냄 - 이미 쌓인 메시지 뒤에 도착하고, 클라이언트는
+     *    재접속 분산 구간 안에서 무작위로 시각을 골라 다시 접속 (모든 클라이언트가 한순간에 몰리지 않음)
+     * 3. 그 세션들이 끊길 때까지 기다림 - 그동안 받은 메시지도 평소처럼 저장하고 브로드캐스트
+     *    (끊긴 뒤의 메시지는 새 연결에서 RESUME으로 받음)
+     * 4. 남은 메시지를 저장/브로드캐스트 레인까지 전달하고 남은 세션(기존 클라이언트)의 송신 대기열이 빌 때까지 기다린 뒤 stop()
+     * 3과 4는 합쳐서 drainTimeoutMillis까지만 기다립니다.
+     */
+    public void drain() {
+        if (!running) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + Math.max(0, config.getDrainTimeoutMillis());
+        draining = true;
+        engine.stopAccepting();
+        int jitterMillis = Math.max(0, config.getReconnectJitterMillis());
+        LOG.info("서버 drain 시작", "sessions", getSessionCount(), "reconnectJitterMillis", jitterMillis);
+        for (ClientSession session : reconnectSessions) {
+            session.sendCommand(ChatCommand.reconnect(jitterMillis));
+        }
+        awaitDrain(reconnectSessions::isEmpty, deadline);
+
+        stopDeliveryTracker();
+        stopPersistence();
+        stopCluster();
+        stopDispatcher();
+        awaitDrain(() -> outboundQueueDepth(false) == 0, deadline);
+        LOG.info("서버 drain 완료", "remainingSessions", getSessionCount());
+        stop();
+    }
+
+    /**
+     * 조건을 만족하거나 마감 시각이 될 때까지 대기
+     */
+    private static void awaitDrain(BooleanSupplier condition, long deadline) {
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(DRAIN_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
     /**
      * 서버 종료
      */
     public void stop() {
         running = false;
+        draining = false;
+
+        // 받은 메시지를 모두 저장하고 브로드캐스트한 뒤 연결 종료
+        stopDeliveryTracker();
+        stopPersistence();
+        stopCluster();
+        stopDispatcher();
+
+        // 모든 클라이언트 연결 종료
+        if (engine != null) {
+            engine.stop();
+        }
+        stopAttachments();
+        stopConnectionMonitor();
+        stopMetrics();
+        sessions.clear();
+        reconnectSessions.clear();
+        offlineMembers.clear();
+        roomMembers.clear();
+
+        LOG.info("채팅 서버가 종료되었습니다");
+    }
+
+    /**
+     * 오프라인 전달 저장소 생성 - 넘김 디렉터리를 만들 수 없으면 오프라인 전달 없이 실행
+     */
+    private SpillingPendingDeliveryStore createOfflineStore() {
         try {
-            if (serverSocket != null && !serverSocket.isClosed()) {
-                serverSocket.close();
+            Path directory;
+            if (config.getOfflineSpillDirectory().isEmpty()) {
+                offlineTempDirectory = Files.createTempDirectory("chat-offline-");
+                directory = offlineTempDirectory;
+            } else {
+                directory = Paths.get(config.getOfflineSpillDirectory());
             }
+            return new SpillingPendingDeliveryStore(config.getOfflineMaxMegabytes() * 1024L * 1024L,
+                    config.getOfflineMaxPerMember(), directory);
         } catch (IOException e) {
-            System.err.println("서버 소켓 닫기 오류: " + e.getMessage());
+            LOG.warn("오프라인 전달 저장소를 만들 수 없어 사용하지 않습니다", e);
+            return null;
         }
+    }
 
-        // 모든 클라이언트 연결 종료
-        for (ClientHandler handler : clientHandlers.values()) {
-            handler.close();
+    private void stopPersistence() {
+        if (persistencePipeline != null) {
+            persistencePipeline.stop();
+            persistencePipeline = null;
+        }
+        if (offlineStore != null) {
+            offlineStore.clear();
+            offlineStore = null;
+        }
+        if (offlineTempDirectory != null) {
+            try {
+                Files.deleteIfExists(offlineTempDirectory);
+            } catch (IOException e) {
+                LOG.warn("오프라인 전달 디렉터리 삭제 실패", "directory", offlineTempDirectory, e);
+            }
+            offlineTempDirectory = null;
+        }
+        if (membership != null) {
+            ChatRoomRepository.removeMembershipListener(membershipListener);
+            membership.clear();
+            membership = null;
+        }
+        if (historyExecutor != null) {
+            historyExecutor.shutdownNow();
+            historyExecutor = null;
+        }
+    }
+
+    private void stopAttachments() {
+        if (attachments != null) {
+            attachments.stop();
+            attachments = null;
+        }
+    }
+
+    private void stopDispatcher() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+            dispatcher = null;
+        }
+    }
+
+    private void stopDeliveryTracker() {
+        if (deliveryTracker != null) {
+            deliveryTracker.stop();
+            deliveryTracker = null;
         }
-        clientHandlers.clear();
-        chatRoomMembers.clear();
+    }
 
-        if (executorService != null) {
-            executorService.shutdownNow();
+    private void stopConnectionMonitor() {
+        if (connectionMonitor != null) {
+            connectionMonitor.stop();
+            connectionMonitor = null;
         }
-        System.out.println("채팅 서버가 종료되었습니다.");
     }
 
     /**
-     * 클라이언트 연결 처리
+     * JMX 등록과 Prometheus 엔드포인트 시작 - 실패해도 채팅 서버는 계속 실행
      */
-    private void handleClientConnection(Socket clientSocket) {
-        executorService.submit(() -> {
-            ObjectInputStream inputStream = null;
-            ObjectOutputStream outputStream = null;
+    private void startMetrics() {
+        metricsObjectName = MetricsMBean.register(metrics.getRegistry(),
+                "org.example.socket:type=ChatServer,port=" + engine.getLocalPort());
+        if (config.getMetricsPort() < 0) {
+            return;
+        }
+        MetricsHttpServer httpServer = new MetricsHttpServer(metrics.getRegistry());
+        try {
+            httpServer.start(config.getMetricsPort());
+            metricsHttpServer = httpServer;
+            LOG.info("지표 엔드포인트 시작", "url", "http://localhost:" + httpServer.getPort() + "/metrics");
+        } catch (IOException e) {
+            LOG.warn("지표 엔드포인트 시작 실패", "port", config.getMetricsPort(), e);
+        }
+    }
 
-            try {
-                System.out.println("새 클라이언트 연결 수락됨");
+    private void stopMetrics() {
+        MetricsMBean.unregister(metricsObjectName);
+        metricsObjectName = null;
+        if (metricsHttpServer != null) {
+            metricsHttpServer.stop();
+            metricsHttpServer = null;
+        }
+    }
 
-                // 중요: 출력 스트림을 먼저 생성하고 flush
-                outputStream = new ObjectOutputStream(clientSocket.getOutputStream());
-                outputStream.flush(); // 헤더 먼저 전송
+    private void stopCluster() {
+        if (cluster != null) {
+            cluster.stop();
+            cluster = null;
+        }
+    }
 
-                // 그 다음 입력 스트림 생성
-                inputStream = new ObjectInputStream(clientSocket.getInputStream());
+    /**
+     * 클러스터 노드 (단일 서버 모드에서는 null)
+     */
+    ClusterNode getCluster() {
+        return cluster;
+    }
 
-                // 초기 인증 단계 (사용자 ID 수신)
-                Object receivedId = inputStream.readObject();
+    /**
+     * 연결 생존 확인 (서버가 실행 중이 아니면 null)
+     */
+    ConnectionMonitor getConnectionMonitor() {
+        return connectionMonitor;
+    }
 
-                if (receivedId == null) {
-                    System.err.println("클라이언트 인증 실패: 받은 ID가 null입니다");
-                    outputStream.writeObject(false); // 인증 실패 응답
-                    outputStream.flush();
-                    clientSocket.close();
-                    return;
-                }
+    /**
+     * 수신 확인 추적 (사용하지 않으면 null)
+     */
+    DeliveryTracker getDeliveryTracker() {
+        return deliveryTracker;
+    }
 
-                if (!(receivedId instanceof Integer)) {
-                    System.err.println("클라이언트 인증 실패: 잘못된 형식의 ID: " + receivedId.getClass().getName());
-                    outputStream.writeObject(false); // 인증 실패 응답
-                    outputStream.flush();
-                    clientSocket.close();
-                    return;
-                }
+    /**
+     * 오프라인 전달 저장소 (사용하지 않으면 null)
+     */
+    SpillingPendingDeliveryStore getOfflineStore() {
+        return offlineStore;
+    }
 
-                Integer memberId = (Integer) receivedId;
-                System.out.println("사용자 ID: " + memberId + " 연결됨");
+    /**
+     * 브로드캐스트 처리 레인 (사용하지 않으면 null)
+     */
+    RoomDispatcher getRoomDispatcher() {
+        return dispatcher;
+    }
 
-                // 인증 성공 응답
-                outputStream.writeObject(true);
-                outputStream.flush();
+    /**
+     * 서버 지표 (엔진이 연결/프레임 단위로 기록)
+     */
+    ChatServerMetrics getMetrics() {
+        return metrics;
+    }
 
-                // 인증 성공
-                ClientHandler clientHandler = new ClientHandler(clientSocket, memberId, inputStream, outputStream);
-                clientHandlers.put(memberId, clientHandler);
-                executorService.submit(clientHandler);
-            } catch (IOException | ClassNotFoundException e) {
-                System.err.println("클라이언트 연결 처리 중 오류: " + e.getMessage());
-                e.printStackTrace();
-                try {
-                    if (outputStream != null) {
-                        try {
-                            outputStream.writeObject(false); // 오류 발생 시 실패 응답
-                            outputStream.flush();
-                        } catch (Exception ex) {
-                            // 무시
-                        }
-                    }
-                    if (inputStream != null) {
-                        inputStream.close();
-                    }
-                    if (outputStream != null) {
-                        outputStream.close();
-                    }
-                    clientSocket.close();
-                } catch (IOException ex) {
-                    System.err.println("소켓 닫기 오류: " + ex.getMessage());
-                }
-            }
+    /**
+     * 서버 지표 저장소 (Prometheus 텍스트 출력, JMX 노출용)
+     */
+    public MetricsRegistry getMetricsRegistry() {
+        return metrics.getRegistry();
+    }
+
+    /**
+     * Prometheus 엔드포인트가 실제로 바인딩된 포트 (꺼져 있으면 -1)
+     */
+    int getMetricsHttpPort() {
+        MetricsHttpServer httpServer = metricsHttpServer;
+        return httpServer != null ? httpServer.getPort() : -1;
+    }
+
+    /**
+     * 인증을 마친 세션 수
+     */
+    int getSessionCount() {
+        return sessions.getSessionCount();
+    }
+
+    /**
+     * 세션이 하나 이상 있는 사용자 수
+     */
+    int getOnlineMemberCount() {
+        return sessions.getMemberCount();
+    }
+
+    /**
+     * 세션 송신 대기열에 쌓인 프레임 수
+     * @param max true면 가장 많이 쌓인 세션의 값, false면 모든 세션의 합계
+     */
+    long outboundQueueDepth(boolean max) {
+        long[] result = new long[1];
+        sessions.forEach(session -> {
+            int depth = session.getOutboundQueueDepth();
+            result[0] = max ? Math.max(result[0], depth) : result[0] + depth;
         });
+        return result[0];
+    }
+
+    public boolean isRunning() {
+        return running;
     }
 
     /**
-     * 채팅방 멤버 목록 업데이트
+     * 실제로 바인딩된 포트
      */
-    public void updateChatRoomMembers(int chatRoomId, List<Integer> members) {
-        chatRoomMembers.put(chatRoomId, new ArrayList<>(members));
+    public int getLocalPort() {
+        return engine != null ? engine.getLocalPort() : config.getPort();
     }
 
     /**
-     * 채팅방에 메시지 브로드캐스팅
+     * 길이 헤더 없이 ObjectOutputStream 스트림으로 접속한 예전 클라이언트 거부
+     * 프레임 형식을 해석하지 못하는 클라이언트이므로 응답 없이 연결을 닫고, 운영자가 알 수 있도록 기록합니다.
      */
-    public void broadcastMessage(ChatMessage chatMessage) {
-        int chatRoomId = chatMessage.getChatRoomId();
-        List<Integer> members = chatRoomMembers.get(chatRoomId);
-
-        if (members != null) {
-            for (Integer memberId : members) {
-                ClientHandler handler = clientHandlers.get(memberId);
-                if (handler != null) {
-                    handler.sendMessage(chatMessage);
-                }
+    void rejectLegacyStream(SocketAddress remote) {
+        metrics.handshakeLegacyStream();
+        LOG.warn("프레임 형식을 지원하지 않는 예전 클라이언트의 연결을 거부했습니다 (클라이언트 업데이트 필요)",
+                "remote", remote);
+    }
+
+    /**
+     * 초기 인증 단계 - 클라이언트가 보낸 첫 프레임으로 사용자 ID와 본문 형식 결정
+     * @param body 첫 프레임 본문
+     * @return 인증 결과와 응답 프레임
+     */
+    Handshake.Result handshake(byte[] body, int offset, int length) throws IOException {
+        if (Handshake.isClientHello(body, offset, length)) {
+            Handshake.ClientHello hello = Handshake.decodeClientHello(body, offset, length);
+            WireFormat format = hello.supports(config.getWireFormat()) ? config.getWireFormat() : WireFormat.JAVA;
+            // 압축 형식을 지원하는 클라이언트는 바이너리 대신 압축 바이너리 형식 사용 (기존 클라이언트는 요청하지 않음)
+            if (format == WireFormat.BINARY && config.isCompression() && hello.supports(WireFormat.DEFLATE)) {
+                format = WireFormat.DEFLATE;
+            }
+            Integer memberId = authenticate(hello.memberId);
+            if (memberId == null) {
+                metrics.handshakeRejected();
             }
+            // PING/PONG을 지원하는 클라이언트에게만 생존 확인 설정을 알려줌
+            ConnectionMonitor monitor = connectionMonitor;
+            boolean heartbeat = hello.supportsHeartbeat() && monitor != null && monitor.isHeartbeatEnabled();
+            // 수신 확인도 요청한 클라이언트에게만 사용한다고 알려줌 (기존 서버는 DELIVERY_ACK를 해석하지 못함)
+            int features = hello.supportsDeliveryAck() && deliveryTracker != null ? Handshake.FEATURE_DELIVERY_ACK : 0;
+            if (hello.supportsRateLimit() && rateLimiter != null) {
+                features |= Handshake.FEATURE_RATE_LIMIT;
+            }
+            // 참여자를 DB에서 읽는 서버는 전체 목록 대신 변경 알림만 받음
+            if (hello.supportsMembership() && membership != null) {
+                features |= Handshake.FEATURE_MEMBERSHIP;
+            }
+            // 첨부 파일 프레임은 바이너리 형식으로만 주고받음
+            if (hello.supportsAttachment() && attachments != null && format != WireFormat.JAVA) {
+                features |= Handshake.FEATURE_ATTACHMENT;
+            }
+            if (hello.supportsReconnect()) {
+                features |= Handshake.FEATURE_RECONNECT;
+            }
+            byte[] response = heartbeat || features != 0
+                    ? Handshake.encodeServerAck(memberId != null, format,
+                            heartbeat ? monitor.getHeartbeatIntervalMillis() : 0,
+                            heartbeat ? monitor.getIdleTimeoutMillis() : 0, features)
+                    : Handshake.encodeServerAck(memberId != null, format);
+            return new Handshake.Result(memberId, format.codec(), response, heartbeat, features);
+        }
+
+        // 기존 클라이언트: Java 직렬화된 사용자 ID를 보내고 Boolean 응답을 기다림
+        Object receivedId;
+        try {
+            receivedId = FrameCodec.decode(body, offset, length);
+        } catch (ClassNotFoundException e) {
+            receivedId = null;
         }
+        Integer memberId = authenticate(receivedId);
+        if (memberId == null) {
+            metrics.handshakeRejected();
+        }
+        return new Handshake.Result(memberId, JavaSerializationCodec.INSTANCE, FrameCodec.encode(memberId != null), false);
     }
 
     /**
-     * 사용자가 채팅방에 입장함을 알림 - 입장 메시지 제거
+     * 사용자 ID 확인
+     * @return 사용자 ID, 인증 실패 시 null
      */
-    public void notifyChatRoomJoin(int chatRoomId, int memberId) {
-        List<Integer> members = chatRoomMembers.get(chatRoomId);
-        if (members == null) {
-            members = new ArrayList<>();
-            chatRoomMembers.put(chatRoomId, members);
+    private Integer authenticate(Object receivedId) {
+        if (receivedId == null) {
+            LOG.warn("클라이언트 인증 실패: 받은 ID가 null입니다");
+            return null;
         }
 
-        if (!members.contains(memberId)) {
-            members.add(memberId);
+        if (!(receivedId instanceof Integer)) {
+            LOG.warn("클라이언트 인증 실패: 잘못된 형식의 ID", "type", receivedId.getClass().getName());
+            return null;
         }
 
-        // 입장 메시지는 더 이상 전송하지 않음
+        Integer memberId = (Integer) receivedId;
+        LOG.info("사용자 연결됨", "memberId", memberId);
+        return memberId;
     }
 
     /**
-     * 사용자가 채팅방에서 퇴장함을 알림 - 퇴장 메시지 제거
+     * 인증된 사용자의 송신 대기열 생성
      */
-    public void notifyChatRoomLeave(int chatRoomId, int memberId) {
-        List<Integer> members = chatRoomMembers.get(chatRoomId);
-        if (members != null) {
-            members.remove(Integer.valueOf(memberId));
+    OutboundQueue createOutboundQueue(int memberId) {
+        return new OutboundQueue(memberId, config.getOutboundQueueCapacity(), config.getOverflowPolicy(),
+                pendingDeliveryStore);
+    }
+
+    /**
+     * 인증된 연결의 전송 속도 제한 상태 생성
+     * @return 제한을 사용하지 않으면 null
+     */
+    RateLimiter.Connection createRateLimit(Handshake.Result handshake) {
+        RateLimiter limiter = rateLimiter;
+        return limiter != null
+                ? limiter.newConnection((handshake.features & Handshake.FEATURE_RATE_LIMIT) != 0) : null;
+    }
+
+    /**
+     * 전송 속도 제한 (사용하지 않으면 null)
+     */
+    RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * 접속 중인 사용자의 가장 최근 세션 조회 (대기열 길이, 버린 프레임 수 확인용)
+     * @return 접속 중이 아니면 null
+     */
+    public ClientSession getSession(int memberId) {
+        return sessions.latest(memberId);
+    }
+
+    /**
+     * 접속 중인 사용자의 모든 세션 (등록 순서)
+     * @return 접속 중이 아니면 빈 목록
+     */
+    public List<ClientSession> getSessions(int memberId) {
+        ClientSession[] memberSessions = sessions.get(memberId);
+        return memberSessions != null ? List.of(memberSessions) : Collections.emptyList();
+    }
+
+    /**
+     * 세션이 아직 등록되어 있는지 (종료된 세션에 대한 지연 작업을 건너뛰기 위함)
+     */
+    boolean isRegistered(ClientSession session) {
+        return sessions.contains(session);
+    }
+
+    /**
+     * 인증이 끝난 세션 등록 (핸드셰이크에서 사용하기로 한 기능 비트 포함)
+     * drain 중에 수락된 연결이면 재접속 요청을 바로 보냅니다.
+     */
+    void registerSession(ClientSession session, int features) {
+        boolean reconnect = (features & Handshake.FEATURE_RECONNECT) != 0;
+        if (reconnect) {
+            reconnectSessions.add(session);
+        }
+        registerSession(session);
+        if (reconnect && draining) {
+            session.sendCommand(ChatCommand.reconnect(Math.max(0, config.getReconnectJitterMillis())));
+        }
+    }
 
-            // 채팅방에 아무도 없으면 목록에서 제거
-            if (members.isEmpty()) {
-                chatRoomMembers.remove(chatRoomId);
+    /**
+     * 인증이 끝난 세션 등록
+     * 같은 사용자의 기존 세션은 유지하며, 사용자별 최대 세션 수를 넘으면 가장 오래된 세션을 종료합니다.
+     */
+    void registerSession(ClientSession session) {
+        ClientSession evicted = sessions.add(session, config.getMaxSessionsPerMember());
+        OfflineExpiry expiry = offlineMembers.remove(session.getMemberId());
+        if (expiry != null) {
+            expiry.cancel();
+        }
+        if (evicted != null) {
+            LOG.info("최대 세션 수를 넘어 가장 오래된 세션을 종료합니다", "memberId", session.getMemberId());
+            DeliveryTracker tracker = deliveryTracker;
+            if (tracker != null) {
+                tracker.remove(evicted);
             }
+            evicted.close();
+        }
+        deliverOfflineMessages(session);
+    }
 
-            // 퇴장 메시지는 더 이상 전송하지 않음
+    /**
+     * 접속하지 않은 동안 보관한 메시지를 채팅방별 재개 응답(RESUME_SUCCESS)으로 묶어서 전송
+     * 저장소 파일을 읽을 수 있으므로 연결 스레드/이벤트 루프 밖에서 실행합니다.
+     */
+    private void deliverOfflineMessages(ClientSession session) {
+        SpillingPendingDeliveryStore offline = offlineStore;
+        ExecutorService executor = historyExecutor;
+        if (offline == null || executor == null || !offline.hasPending(session.getMemberId())) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                int memberId = session.getMemberId();
+                List<Object> pending;
+                // 보내는 도중 연결이 끊기면 남은 메시지는 다음 접속 때 전송
+                while (sessions.contains(session)
+                        && !(pending = offline.poll(memberId, OFFLINE_POLL_SIZE)).isEmpty()) {
+                    sendOfflineBatches(session, pending);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 서버 종료 중
+        }
+    }
+
+    private void sendOfflineBatches(ClientSession session, List<Object> pending) {
+        // 채팅방별로 모으되 채팅방 안의 순서는 유지
+        Map<Integer, List<ChatMessage>> byRoom = new LinkedHashMap<>();
+        for (Object payload : pending) {
+            ChatMessage message = (ChatMessage) payload;
+            byRoom.computeIfAbsent(message.getChatRoomId(), id -> new ArrayList<>()).add(message);
+        }
+        for (Map.Entry<Integer, List<ChatMessage>> entry : byRoom.entrySet()) {
+            List<ChatMessage> messages = entry.getValue();
+            int from = 0;
+            while (from < messages.size()) {
+                ChatCommand batch = resumeResponse(entry.getKey(), session.getMemberId(),
+                        messages.subList(from, messages.size()));
+                // 이어지는 묶음도 서버가 보내므로 클라이언트가 다음 페이지를 요청하지 않도록 함
+                batch.setSequence(0);
+                session.sendCommand(batch);
+                from += batch.getMessages().size();
+            }
         }
     }
 
     /**
-     * 클라이언트 핸들러 클래스
-     * 각 클라이언트 연결을 처리합니다.
+     * 종료된 세션 제거 (같은 사용자의 다른 세션은 유지)
+     * 사용자의 마지막 세션이 끊기면 역색인으로 참여 중인 채팅방에서만 제거합니다.
+     * 오프라인 전달을 사용하면 보관 시간 동안 채팅방 참여를 유지해 접속하지 않은 동안의 메시지를 보관하고,
+     * 그동안 다시 접속하지 않으면 채팅방에서 빼고 보관 메시지도 버립니다.
      */
-    private class ClientHandler implements Runnable {
-        private final Socket socket;
+    void unregisterSession(ClientSession session) {
+        reconnectSessions.remove(session);
+        DeliveryTracker tracker = deliveryTracker;
+        if (tracker != null) {
+            tracker.remove(session);
+        }
+        AttachmentService attachmentService = attachments;
+        if (attachmentService != null) {
+            attachmentService.remove(session);
+        }
+        if (sessions.remove(session) == 0) {
+            ConnectionMonitor monitor = connectionMonitor;
+            if (offlineStore != null && monitor != null) {
+                watchOffline(monitor, session.getMemberId());
+                return;
+            }
+            removeFromRooms(session.getMemberId());
+        }
+    }
+
+    private void removeFromRooms(int memberId) {
+        ClusterNode clusterNode = cluster;
+        int[] rooms = clusterNode != null ? roomMembers.roomsOf(memberId) : null;
+        roomMembers.removeMember(memberId);
+        if (rooms != null) {
+            for (int roomId : rooms) {
+                clusterNode.refreshInterest(roomId);
+            }
+        }
+    }
+
+    /**
+     * 연결이 모두 끊긴 사용자의 보관 시간 예약 (이전 예약이 남아 있으면 새로 바꿈)
+     */
+    private void watchOffline(ConnectionMonitor monitor, int memberId) {
+        OfflineExpiry expiry = new OfflineExpiry(memberId);
+        OfflineExpiry previous = offlineMembers.put(memberId, expiry);
+        if (previous != null) {
+            previous.cancel();
+        }
+        expiry.timeout = monitor.schedule(expiry, TimeUnit.SECONDS.toMillis(Math.max(1, config.getOfflineTtlSeconds())));
+    }
+
+    /**
+     * 보관 시간이 지난 사용자를 채팅방에서 빼고 보관 메시지를 버림
+     * 만료는 타이머 스레드에서 일어나므로, 파일을 지울 수 있는 실제 작업은 조회 스레드에서 실행합니다.
+     */
+    private final class OfflineExpiry implements Runnable {
         private final int memberId;
-        private final ObjectInputStream inputStream;
-        private final ObjectOutputStream outputStream;
-        private boolean running = true;
+        private volatile HashedWheelTimer.Timeout timeout;
 
-        public ClientHandler(Socket socket, int memberId, ObjectInputStream inputStream, ObjectOutputStream outputStream) {
-            this.socket = socket;
+        OfflineExpiry(int memberId) {
             this.memberId = memberId;
-            this.inputStream = inputStream;
-            this.outputStream = outputStream;
+        }
+
+        void cancel() {
+            HashedWheelTimer.Timeout scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel();
+            }
         }
 
         @Override
         public void run() {
+            ExecutorService executor = historyExecutor;
+            if (!offlineMembers.remove(memberId, this) || executor == null) {
+                return;
+            }
             try {
-                // 클라이언트가 연결되어 있는 동안 메시지 대기
-                while (running && !socket.isClosed()) {
-                    try {
-                        // 클라이언트로부터 메시지 수신
-                        Object message = inputStream.readObject();
-                        System.out.println("클라이언트로부터 메시지 수신: " +
-                                (message != null ? message.getClass().getSimpleName() : "null"));
-
-                        if (message instanceof ChatMessage) {
-                            handleChatMessage((ChatMessage) message);
-                        } else if (message instanceof ChatCommand) {
-                            handleChatCommand((ChatCommand) message);
-                        }
-                    } catch (ClassNotFoundException e) {
-                        System.err.println("알 수 없는 메시지 타입: " + e.getMessage());
-                    }
-                }
-            } catch (IOException e) {
-                if (running) {
-                    System.err.println("클라이언트 " + memberId + " 처리 중 오류: " + e.getMessage());
-                }
-            } finally {
-                close();
+                executor.execute(this::evict);
+            } catch (RejectedExecutionException e) {
+                // 서버 종료 중
+            }
+        }
+
+        private void evict() {
+            if (sessions.get(memberId) != null) {
+                // 만료와 같은 때에 다시 접속함
+                return;
+            }
+            removeFromRooms(memberId);
+            SpillingPendingDeliveryStore offline = offlineStore;
+            int discarded = offline != null ? offline.discard(memberId) : 0;
+            LOG.debug("보관 시간이 지나 접속하지 않은 사용자를 채팅방에서 제거했습니다", "memberId", memberId,
+                    "discarded", discarded);
+        }
+    }
+
+    /**
+     * 클라이언트로부터 받은 프레임 처리
+     * @param rateLimit 연결의 전송 속도 제한 상태 (사용하지 않으면 null)
+     */
+    void handleFrame(ClientSession session, RateLimiter.Connection rateLimit, Object message) {
+        metrics.frameReceived(message);
+        if (message instanceof ChatCommand && ((ChatCommand) message).getType() == ChatCommandType.PONG) {
+            // 생존 확인 응답 - 수신 시각은 엔진이 이미 기록함
+            return;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("클라이언트로부터 메시지 수신", "memberId", session.getMemberId(),
+                    "type", message != null ? message.getClass().getSimpleName() : null);
+        }
+
+        if (message instanceof ChatMessage) {
+            // 제한을 넘은 메시지는 저장/브로드캐스트 전에 버림
+            RateLimiter limiter = rateLimiter;
+            if (rateLimit != null && limiter != null && !limiter.admit(session, rateLimit, (ChatMessage) message)) {
+                return;
+            }
+            ((ChatMessage) message).setReceivedNanos(System.nanoTime());
+            handleChatMessage(session, (ChatMessage) message);
+        } else if (message instanceof ChatCommand) {
+            handleChatCommand(session, rateLimit, (ChatCommand) message);
+        } else if (message instanceof AttachmentFrame) {
+            AttachmentService attachmentService = attachments;
+            if (attachmentService != null) {
+                attachmentService.handle(session, (AttachmentFrame) message);
+            }
+        }
+    }
+
+    /**
+     * 채팅방 멤버 목록 업데이트 (참여자를 DB에서 읽지 않는 서버에서만 클라이언트 요청으로 호출)
+     */
+    public void updateChatRoomMembers(int chatRoomId, List<Integer> members) {
+        int[] memberIds = new int[members.size()];
+        for (int i = 0; i < memberIds.length; i++) {
+            memberIds[i] = members.get(i);
+        }
+        roomMembers.replaceMembers(chatRoomId, memberIds);
+        refreshClusterInterest(chatRoomId);
+    }
+
+    /**
+     * 채팅방 멤버십 레지스트리
+     */
+    public RoomMembershipRegistry getRoomMembers() {
+        return roomMembers;
+    }
+
+    /**
+     * 채팅방에 메시지 브로드캐스팅
+     * 메시지는 본문 형식별로 한 번만 인코딩되고, 모든 수신자가 같은 프레임을 공유합니다.
+     */
+    public void broadcastMessage(ChatMessage chatMessage) {
+        deliverLocally(chatMessage);
+        ClusterNode clusterNode = cluster;
+        if (clusterNode != null) {
+            clusterNode.relay(chatMessage);
+        }
+    }
+
+    /**
+     * 이 서버에 연결된 채팅방 참여자에게만 전달
+     * 처리 레인을 쓰면 채팅방의 레인에 넣기만 하고 바로 반환합니다 (같은 채팅방은 넣은 순서대로 전달).
+     */
+    private void deliverLocally(ChatMessage chatMessage) {
+        RoomDispatcher roomDispatcher = dispatcher;
+        if (roomDispatcher != null) {
+            roomDispatcher.dispatch(chatMessage);
+        } else {
+            deliverInRoom(chatMessage);
+        }
+    }
+
+    /**
+     * 채팅방 참여자에게 전달 (처리 레인 스레드, 레인을 쓰지 않으면 메시지를 받은 스레드)
+     * 메시지를 받은 시각부터 마지막 수신자의 소켓에 기록될 때까지를 브로드캐스트 지연으로 기록합니다.
+     */
+    private void deliverInRoom(ChatMessage chatMessage) {
+        MembershipDirectory directory = membership;
+        if (directory != null) {
+            // 참여자를 아직 읽지 않은 채팅방이면 읽은 뒤 전달 (같은 채팅방의 입장/메시지 순서 유지)
+            directory.run(chatMessage.getChatRoomId(), memberDelivery, chatMessage);
+        } else {
+            deliverToMembers(chatMessage);
+        }
+    }
+
+    private void deliverToMembers(ChatMessage chatMessage) {
+        EncodedFrame frame = new EncodedFrame(chatMessage);
+        long receivedNanos = chatMessage.getReceivedNanos();
+        frame.trackDelivery(receivedNanos != 0 ? receivedNanos : System.nanoTime(), metrics);
+        roomMembers.forEachMember(chatMessage.getChatRoomId(), frameDelivery, frame);
+        metrics.broadcast(frame.finishFanout());
+    }
+
+    /**
+     * 소유 노드가 중계한 메시지 처리 (클러스터 모드)
+     */
+    void deliverRelayed(ChatMessage chatMessage) {
+        RoomHistoryCache cache = historyCache;
+        if (cache != null) {
+            cache.append(chatMessage);
+        }
+        deliverLocally(chatMessage);
+    }
+
+    /**
+     * 중계가 끊겼을 수 있는 채팅방의 최근 메시지 버퍼 제거 (클러스터 모드)
+     */
+    void dropRoomHistory(int chatRoomId) {
+        RoomHistoryCache cache = historyCache;
+        if (cache != null) {
+            cache.remove(chatRoomId);
+        }
+    }
+
+    /**
+     * 채팅방 소유 노드가 바뀌면 시퀀스를 저장소에서 다시 읽도록 함 (클러스터 모드)
+     */
+    void resetSequences() {
+        MessagePersistencePipeline pipeline = persistencePipeline;
+        if (pipeline != null) {
+            pipeline.resetSequences();
+        }
+    }
+
+    void refreshClusterInterest(int chatRoomId) {
+        ClusterNode clusterNode = cluster;
+        if (clusterNode != null) {
+            clusterNode.refreshInterest(chatRoomId);
+        }
+    }
+
+    private void deliverFrame(int memberId, EncodedFrame frame) {
+        // 사용자의 모든 세션에 같은 프레임 전달 (세션 배열은 바뀌지 않는 스냅샷이므로 잠금 없이 순회)
+        ClientSession[] memberSessions = sessions.get(memberId);
+        if (memberSessions != null) {
+            for (ClientSession session : memberSessions) {
+                frame.retainWrite();
+                session.sendFrame(frame);
             }
+            return;
         }
+        // 보관 시간 안의 접속하지 않은 참여자 - 서버가 저장한(시퀀스가 있는) 메시지만 보관 (클라이언트가 시퀀스로 중복 제거)
+        SpillingPendingDeliveryStore offline = offlineStore;
+        if (offline != null && frame.getPayload() instanceof ChatMessage
+                && ((ChatMessage) frame.getPayload()).getSequence() > 0 && offlineMembers.containsKey(memberId)) {
+            offline.store(memberId, frame.getPayload());
+        }
+    }
+
+    /**
+     * 사용자가 채팅방에 입장함을 알림 - 입장 메시지 제거
+     */
+    public void notifyChatRoomJoin(int chatRoomId, int memberId) {
+        if (roomMembers.join(chatRoomId, memberId)) {
+            refreshClusterInterest(chatRoomId);
+        }
+
+        // 입장 메시지는 더 이상 전송하지 않음
+    }
 
-        /**
-         * 채팅 메시지 처리
-         */
-        private void handleChatMessage(ChatMessage message) {
+    /**
+     * 사용자가 채팅방에서 퇴장함을 알림 - 퇴장 메시지 제거
+     */
+    public void notifyChatRoomLeave(int chatRoomId, int memberId) {
+        // 채팅방에 아무도 없으면 레지스트리에서 채팅방도 제거됨
+        if (roomMembers.leave(chatRoomId, memberId)) {
+            refreshClusterInterest(chatRoomId);
+        }
+        DeliveryTracker tracker = deliveryTracker;
+        if (tracker != null) {
+            tracker.onLeave(memberId, chatRoomId);
+        }
+
+        // 퇴장 메시지는 더 이상 전송하지 않음
+    }
+
+    /**
+     * 채팅 메시지 처리
+     * clientMessageId가 있는 메시지는 서버가 저장한 뒤 브로드캐스트합니다.
+     * 기존 클라이언트(clientMessageId 0)는 직접 DB에 저장하고 MESSAGE_ACK를 모르므로 바로 브로드캐스트합니다.
+     */
+    private void handleChatMessage(ClientSession session, ChatMessage message) {
+        ClusterNode clusterNode = cluster;
+        if (clusterNode != null && !clusterNode.isOwner(message.getChatRoomId())) {
+            // 채팅방 소유 노드가 저장과 브로드캐스트를 맡음
+            clusterNode.forward(session, message);
+            return;
+        }
+        handleOwnedMessage(session, message);
+    }
+
+    /**
+     * 이 서버가 소유한 채팅방의 메시지 처리 (클러스터 모드에서는 다른 노드가 넘긴 메시지도 포함)
+     * @param session 보낸 사람 (다른 노드에 연결된 사용자면 RelayedSession)
+     */
+    void handleOwnedMessage(ClientSession session, ChatMessage message) {
+        if (message.getClientMessageId() == 0) {
             // 채팅방에 메시지 브로드캐스팅
             broadcastMessage(message);
+            return;
         }
 
-        /**
-         * 채팅 명령 처리 (개선된 버전)
-         */
-        private void handleChatCommand(ChatCommand command) {
-            System.out.println("채팅 명령 수신: " + command.getType() + ", chatRoomId=" + command.getChatRoomId());
+        MessagePersistencePipeline pipeline = persistencePipeline;
+        if (pipeline == null) {
+            // 저장이 꺼져 있으면 브로드캐스트 후 메시지 ID 0으로 확인 (클라이언트가 직접 저장)
+            broadcastMessage(message);
+            session.sendCommand(ChatCommand.messageAck(message, 0));
+            return;
+        }
 
-            try {
-                switch (command.getType()) {
-                    case JOIN_CHAT:
-                        System.out.println("JOIN_CHAT 처리 시작 - 멤버ID: " + memberId + ", 채팅방ID: " + command.getChatRoomId());
-                        notifyChatRoomJoin(command.getChatRoomId(), memberId);
-                        // 성공 응답 전송
-                        sendCommandResponse(new ChatCommand(ChatCommandType.JOIN_CHAT_SUCCESS, command.getChatRoomId(), memberId));
-                        System.out.println("JOIN_CHAT 처리 완료");
-                        break;
+        // 보낸 사람과 시각은 서버 기준으로 기록하고, 메시지 ID와 시퀀스는 클라이언트가 보낸 값을 버림
+        message.setSenderId(session.getMemberId());
+        message.setTimestamp(new Timestamp(System.currentTimeMillis()));
+        message.setMessageId(0);
+        message.setSequence(0);
+        pipeline.submit(message, session, persistedDelivery);
+    }
 
-                    case LEAVE_CHAT:
-                        System.out.println("LEAVE_CHAT 처리 시작");
-                        notifyChatRoomLeave(command.getChatRoomId(), memberId);
-                        // 성공 응답 전송
-                        sendCommandResponse(new ChatCommand(ChatCommandType.LEAVE_CHAT_SUCCESS, command.getChatRoomId(), memberId));
-                        System.out.println("LEAVE_CHAT 처리 완료");
-                        break;
+    /**
+     * 저장이 끝난 메시지 처리 - 성공하면 브로드캐스트 후 보낸 사람에게 확인 전송
+     */
+    private void onMessagePersisted(ChatMessage message, ClientSession sender, int messageId) {
+        if (messageId > 0) {
+            message.setMessageId(messageId);
+            historyCache.append(message);
+            broadcastMessage(message);
+        }
+        sender.sendCommand(ChatCommand.messageAck(message, messageId));
+    }
 
-                    case UPDATE_MEMBERS:
-                        System.out.println("UPDATE_MEMBERS 처리 시작");
-                        updateChatRoomMembers(command.getChatRoomId(), command.getMembers());
-                        System.out.println("UPDATE_MEMBERS 처리 완료");
-                        break;
+    /**
+     * 채팅방 입장 응답 - 최근 메시지를 담아 전송
+     * 최근 메시지 버퍼에 있으면 DB 조회 없이 바로 응답하고, 없으면 DB에서 읽어 버퍼를 채운 뒤 응답합니다.
+     * 서버 저장이 꺼져 있으면 메시지 목록 없이(null) 응답하며, 클라이언트는 DB에서 직접 읽습니다.
+     */
+    private void sendJoinResponse(ClientSession session, int chatRoomId) {
+        int memberId = session.getMemberId();
+        ExecutorService executor = historyExecutor;
+        if (executor == null) {
+            session.sendCommand(new ChatCommand(ChatCommandType.JOIN_CHAT_SUCCESS, chatRoomId, memberId));
+            return;
+        }
+
+        List<ChatMessage> recent = historyCache.recent(chatRoomId);
+        if (recent != null) {
+            session.sendCommand(joinResponse(chatRoomId, memberId, recent));
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    List<ChatMessage> latest = messageStore.loadLatest(chatRoomId, config.getHistorySize());
+                    session.sendCommand(joinResponse(chatRoomId, memberId, historyCache.seed(chatRoomId, latest)));
+                } catch (Exception e) {
+                    LOG.warn("최근 메시지 조회 중 오류 발생", "chatRoomId", chatRoomId, e);
+                    // 메시지 목록 없이 입장 성공만 알림 (클라이언트가 DB에서 직접 읽음)
+                    session.sendCommand(new ChatCommand(ChatCommandType.JOIN_CHAT_SUCCESS, chatRoomId, memberId));
                 }
-            } catch (Exception e) {
-                System.err.println("명령 처리 중 오류 발생: " + e.getMessage());
-                e.printStackTrace();
-                // 실패 응답 전송
-                sendCommandResponse(new ChatCommand(ChatCommandType.ERROR, command.getChatRoomId(), memberId));
+            });
+        } catch (RejectedExecutionException e) {
+            // 서버 종료 중
+        }
+    }
+
+    private static ChatCommand joinResponse(int chatRoomId, int memberId, List<ChatMessage> recent) {
+        // 프레임 크기 제한을 넘지 않도록 최근 메시지부터 담음
+        int from = recent.size();
+        long bytes = 0;
+        while (from > 0) {
+            bytes += RoomHistoryCache.estimateSize(recent.get(from - 1));
+            if (from < recent.size() && bytes > MAX_HISTORY_BYTES) {
+                break;
             }
+            from--;
         }
 
-        /**
-         * 명령 응답 전송
-         */
-        private void sendCommandResponse(ChatCommand response) {
-            try {
-                if (outputStream != null && running) {
-                    outputStream.writeObject(response);
-                    outputStream.flush();
-                    outputStream.reset();
+        ChatCommand response = new ChatCommand(ChatCommandType.JOIN_CHAT_SUCCESS, chatRoomId, memberId);
+        response.setMessages(from == 0 ? recent : new ArrayList<>(recent.subList(from, recent.size())));
+        return response;
+    }
+
+    /**
+     * 재접속한 클라이언트에게 마지막 시퀀스 이후의 메시지를 묶어서 전송
+     * 최근 메시지 버퍼로 빈틈없이 채울 수 있으면 DB 조회 없이 응답하고, 아니면 DB에서 놓친 범위만 읽습니다.
+     * 입장 처리 후 조회하므로 그 사이에 저장된 메시지는 실시간 브로드캐스트와 조회 결과 양쪽에 올 수 있으며,
+     * 클라이언트가 시퀀스로 중복을 걸러냅니다. 남은 메시지가 있으면 응답의 sequence에 다음 시작 시퀀스를 담습니다.
+     */
+    private void resumeChatRoom(ClientSession session, int chatRoomId, long lastSequence) {
+        ExecutorService executor = historyExecutor;
+        if (executor == null) {
+            // 서버 저장이 꺼져 있으면 시퀀스가 없으므로 보낼 메시지도 없음
+            session.sendCommand(resumeResponse(chatRoomId, session.getMemberId(), Collections.emptyList()));
+            return;
+        }
+
+        List<ChatMessage> cached = historyCache.after(chatRoomId, lastSequence);
+        if (cached != null) {
+            session.sendCommand(resumeResponse(chatRoomId, session.getMemberId(), cached));
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    // 한 개 더 읽어서 다음 페이지가 있는지 확인
+                    List<ChatMessage> missed = messageStore.loadAfter(chatRoomId, lastSequence,
+                            Math.max(1, config.getResumeBatchSize()) + 1);
+                    session.sendCommand(resumeResponse(chatRoomId, session.getMemberId(), missed));
+                } catch (Exception e) {
+                    LOG.warn("놓친 메시지 조회 중 오류 발생", "chatRoomId", chatRoomId, e);
+                    session.sendCommand(new ChatCommand(ChatCommandType.ERROR, chatRoomId, session.getMemberId()));
                 }
-            } catch (IOException e) {
-                System.err.println("명령 응답 전송 오류: " + e.getMessage());
+            });
+        } catch (RejectedExecutionException e) {
+            // 서버 종료 중
+        }
+    }
+
+    /**
+     * 수신 확인을 받지 못한 메시지 재전송 - 재개와 같은 방식으로 확인된 시퀀스 이후를 묶어서 보냄
+     */
+    void retransmit(ClientSession session, int chatRoomId, long ackedSequence) {
+        resumeChatRoom(session, chatRoomId, ackedSequence);
+    }
+
+    /**
+     * 채팅방에 마지막으로 브로드캐스트한 메시지의 시퀀스 (최근 메시지 버퍼에 없으면 0)
+     */
+    long newestSequence(int chatRoomId) {
+        RoomHistoryCache cache = historyCache;
+        return cache != null ? cache.newestSequence(chatRoomId) : 0;
+    }
+
+    /**
+     * 재개 응답 생성 - 개수와 크기 제한까지만 담고, 남은 메시지가 있으면 다음 시작 시퀀스를 기록
+     */
+    private ChatCommand resumeResponse(int chatRoomId, int memberId, List<ChatMessage> missed) {
+        int batchSize = Math.max(1, config.getResumeBatchSize());
+        int count = 0;
+        long bytes = 0;
+        while (count < missed.size() && count < batchSize) {
+            bytes += RoomHistoryCache.estimateSize(missed.get(count));
+            if (count > 0 && bytes > MAX_HISTORY_BYTES) {
+                break;
             }
+            count++;
         }
 
-        /**
-         * 클라이언트에 메시지 전송
-         */
-        public void sendMessage(ChatMessage message) {
-            try {
-                if (outputStream != null && running) {
-                    outputStream.writeObject(message);
-                    outputStream.flush();
-                    outputStream.reset(); // 캐시 초기화 (중요!)
-                }
-            } catch (IOException e) {
-                System.err.println("메시지 전송 오류 (사용자 " + memberId + "): " + e.getMessage());
-                close();
+        ChatCommand response = new ChatCommand(ChatCommandType.RESUME_SUCCESS, chatRoomId, memberId);
+        response.setMessages(new ArrayList<>(missed.subList(0, count)));
+        response.setSequence(count < missed.size() ? missed.get(count).getSequence() : 0);
+        LOG.debug("RESUME 처리 완료", "chatRoomId", chatRoomId, "count", count);
+        return response;
+    }
+
+    /**
+     * 채팅방 입장/재개 - 참여자를 DB에서 읽는 서버는 참여자인지 확인한 뒤 입장시키고, 아니면 ERROR로 거부
+     */
+    private void enterChatRoom(ClientSession session, ChatCommand command) {
+        MembershipDirectory directory = membership;
+        if (directory == null) {
+            enterVerifiedChatRoom(session, command);
+            return;
+        }
+        int chatRoomId = command.getChatRoomId();
+        directory.run(chatRoomId, () -> {
+            if (directory.isMember(chatRoomId, session.getMemberId())) {
+                enterVerifiedChatRoom(session, command);
+            } else {
+                LOG.warn("참여자가 아닌 사용자의 채팅방 입장을 거부했습니다", "memberId", session.getMemberId(),
+                        "chatRoomId", chatRoomId);
+                session.sendCommand(new ChatCommand(ChatCommandType.ERROR, chatRoomId, session.getMemberId()));
             }
+        });
+    }
+
+    private void enterVerifiedChatRoom(ClientSession session, ChatCommand command) {
+        notifyChatRoomJoin(command.getChatRoomId(), session.getMemberId());
+        if (command.getType() == ChatCommandType.RESUME) {
+            resumeChatRoom(session, command.getChatRoomId(), command.getSequence());
+        } else {
+            // 최근 메시지를 담아 성공 응답 전송
+            sendJoinResponse(session, command.getChatRoomId());
         }
+    }
 
-        /**
-         * 연결 종료
-         */
-        public void close() {
-            running = false;
-            clientHandlers.remove(memberId, this);
+    /**
+     * 채팅방 퇴장 - 참여자를 DB에서 읽는 중이면 앞선 입장 요청을 처리한 뒤 퇴장
+     */
+    private void leaveChatRoom(ClientSession session, int chatRoomId) {
+        int memberId = session.getMemberId();
+        Runnable leave = () -> {
+            notifyChatRoomLeave(chatRoomId, memberId);
+            // 성공 응답 전송
+            session.sendCommand(new ChatCommand(ChatCommandType.LEAVE_CHAT_SUCCESS, chatRoomId, memberId));
+        };
+        MembershipDirectory directory = membership;
+        if (directory != null) {
+            directory.run(chatRoomId, leave);
+        } else {
+            leave.run();
+        }
+    }
 
-            try {
-                if (inputStream != null) inputStream.close();
-                if (outputStream != null) outputStream.close();
-                if (socket != null && !socket.isClosed()) {
-                    socket.close();
-                }
-            } catch (IOException e) {
-                System.err.println("소켓 종료 오류: " + e.getMessage());
+    /**
+     * 클라이언트가 보낸 참여자 변경 알림 (MEMBERSHIP_CHANGED)
+     * 알림마다 DB를 조회하므로 그 채팅방 참여자가 보낸 알림만 받고, 연결별 전송 속도 제한에도 포함합니다.
+     */
+    private void clientMembershipChanged(ClientSession session, RateLimiter.Connection rateLimit,
+                                         ChatCommand command) {
+        MembershipDirectory directory = membership;
+        if (directory == null) {
+            return;
+        }
+        RateLimiter limiter = rateLimiter;
+        if (rateLimit != null && limiter != null && !limiter.admitCommand(session, rateLimit)) {
+            return;
+        }
+        int memberId = session.getMemberId();
+        int chatRoomId = command.getChatRoomId();
+        if (!directory.isMember(chatRoomId, memberId)) {
+            LOG.debug("채팅방 참여자가 아닌 사용자의 참여자 변경 알림을 거부했습니다", "memberId", memberId,
+                    "chatRoomId", chatRoomId);
+            session.sendCommand(new ChatCommand(ChatCommandType.ERROR, chatRoomId, memberId));
+            return;
+        }
+        membershipChanged(chatRoomId, command.getMembers());
+    }
+
+    /**
+     * 채팅방 참여자 변경 알림 - 알린 사용자만 DB에서 다시 확인해 반영
+     * 알림 내용으로 참여자를 바꾸지 않으므로 DB 변경 리스너와 클라이언트 알림을 같은 방식으로 처리합니다.
+     */
+    private void membershipChanged(int chatRoomId, List<Integer> memberIds) {
+        MembershipDirectory directory = membership;
+        if (directory == null || memberIds == null) {
+            return;
+        }
+        int[] changed = new int[Math.min(memberIds.size(), MAX_MEMBERSHIP_CHANGES)];
+        for (int i = 0; i < changed.length; i++) {
+            changed[i] = memberIds.get(i);
+        }
+        directory.recheck(chatRoomId, changed);
+    }
+
+    /**
+     * 채팅 명령 처리 (개선된 버전)
+     */
+    private void handleChatCommand(ClientSession session, RateLimiter.Connection rateLimit, ChatCommand command) {
+        int memberId = session.getMemberId();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("채팅 명령 수신", "type", command.getType(), "memberId", memberId,
+                    "chatRoomId", command.getChatRoomId());
+        }
+
+        try {
+            switch (command.getType()) {
+                case JOIN_CHAT:
+                case RESUME:
+                    enterChatRoom(session, command);
+                    break;
+
+                case LEAVE_CHAT:
+                    leaveChatRoom(session, command.getChatRoomId());
+                    break;
+
+                case UPDATE_MEMBERS:
+                    if (membership != null) {
+                        // 참여자는 DB 기준으로만 관리 (기존 클라이언트는 채팅방 입장 때마다 보내므로 오류 응답 없이 무시)
+                        LOG.debug("클라이언트가 보낸 참여자 목록을 거부했습니다", "memberId", memberId,
+                                "chatRoomId", command.getChatRoomId());
+                        break;
+                    }
+                    updateChatRoomMembers(command.getChatRoomId(), command.getMembers());
+                    break;
+
+                case MEMBERSHIP_CHANGED:
+                    clientMembershipChanged(session, rateLimit, command);
+                    break;
+
+                case DELIVERY_ACK:
+                    DeliveryTracker tracker = deliveryTracker;
+                    if (tracker != null) {
+                        tracker.onAck(session, command.getChatRoomId(), command.getSequence());
+                    }
+                    break;
             }
+        } catch (Exception e) {
+            LOG.error("명령 처리 중 오류 발생", "type", command.getType(), e);
+            // 실패 응답 전송
+            session.sendCommand(new ChatCommand(ChatCommandType.ERROR, command.getChatRoomId(), memberId));
         }
     }
-}
\ No newline at end of file
+}
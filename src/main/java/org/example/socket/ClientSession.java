@@ -0,0 +1,50 @@
+package org.example.socket;
+
+/**
+ * 서버에 연결된 클라이언트 세션
+ * 서버 엔진(블로킹/NIO)에 상관없이 동일한 방식으로 메시지를 전달하기 위한 인터페이스입니다.
+ */
+public interface ClientSession {
+
+    /**
+     * 인증된 사용자 ID
+     */
+    int getMemberId();
+
+    /**
+     * 클라이언트에 채팅 메시지 전송
+     */
+    void sendMessage(ChatMessage message);
+
+    /**
+     * 클라이언트에 명령 응답 전송
+     */
+    void sendCommand(ChatCommand command);
+
+    /**
+     * 미리 인코딩된 공유 프레임 전송 (브로드캐스트용)
+     * 세션의 본문 형식에 맞는 인코딩 결과를 재사용하며, 프레임 내용을 변경하지 않습니다.
+     * 프레임을 소켓에 기록했거나 버렸으면 frame.releaseWrite()를 정확히 한 번 호출해야 합니다 (전달 지연 측정).
+     */
+    void sendFrame(EncodedFrame frame);
+
+    /**
+     * 송신 대기열에 쌓인 프레임 수
+     */
+    int getOutboundQueueDepth();
+
+    /**
+     * 송신 대기열이 가득 차서 버린 프레임 수
+     */
+    long getDroppedFrameCount();
+
+    /**
+     * 송신 대기열에서 넘쳐 보류 저장소로 옮긴 프레임 수
+     */
+    long getSpilledFrameCount();
+
+    /**
+     * 연결 종료
+     */
+    void close();
+}
@@ -0,0 +1,621 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+import org.example.utils.IntIntHashMap;
+import org.example.utils.IntObjectHashMap;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 클러스터 노드 - 여러 서버 프로세스가 채팅방을 나눠 맡도록 연결
+ * 채팅방은 일관 해시 링으로 소유 노드가 정해지며, 소유 노드가 그 채팅방 메시지의 저장/시퀀스/브로드캐스트를 담당합니다.
+ * - 클라이언트는 아무 노드에나 연결하고, 소유 노드가 아닌 노드는 받은 메시지를 소유 노드로 넘깁니다(FORWARD).
+ * - 채팅방에 참여자가 있는 노드는 소유 노드에 구독(SUBSCRIBE)하고, 소유 노드는 브로드캐스트할 메시지를
+ *   한 번만 인코딩해서 구독 노드에만 중계합니다(DELIVER). 각 노드는 자기 연결에만 전달합니다.
+ * - 노드가 연결되거나 끊기면 링을 다시 만들고, 소유 노드가 바뀐 채팅방의 구독을 새 소유 노드로 옮깁니다.
+ *
+ * 노드 목록은 시드 주소에서 시작해 HELLO에 담긴 다른 노드 목록으로 퍼집니다.
+ * 링은 노드마다 자기가 연결에 성공한 노드로 만들기 때문에 연결/끊김 직후 잠시 서로 다를 수 있으며,
+ * 그동안 잘못 도착한 FORWARD는 자기 링 기준 소유 노드로 한 번 더 넘깁니다.
+ *
+ * 내부 링크는 clusterHost 주소에서만 받으며(기본값 localhost), 같은 비밀 키로 만든 HELLO를 보낸 노드의
+ * 프레임만 처리합니다. 인증된 노드가 넘긴 FORWARD의 보낸 사람 ID는 그 노드가 인증한 값으로 믿습니다.
+ */
+final class ClusterNode {
+    private static final Logger LOG = LogManager.getLogger(ClusterNode.class);
+
+    // 소유 노드를 찾아 다시 넘기는 최대 횟수
+    private static final int MAX_FORWARD_HOPS = 2;
+
+    private final ChatSocketServer server;
+    private final ChatServerConfig config;
+    private final int selfId;
+    private final byte[] secret;
+    private volatile boolean running;
+    private ServerSocket serverSocket;
+    private ExecutorService executor;
+    private ClusterProtocol.NodeAddress selfAddress;
+
+    // 알고 있는 노드로 나가는 링크 (노드 ID -> 링크)
+    private final Map<Integer, ClusterPeer> peers = new ConcurrentHashMap<>();
+    // 노드 ID를 아직 모르는 시드 링크
+    private final List<ClusterPeer> seedPeers = new ArrayList<>();
+    // 다른 노드에서 들어온 링크 (종료 시 정리용)
+    private final Map<Socket, Boolean> inboundSockets = new ConcurrentHashMap<>();
+
+    private volatile ConsistentHashRing ring;
+    private final ReentrantLock ringLock = new ReentrantLock();
+
+    // 구독 상태 (아래 두 맵은 subscriptionLock으로 보호)
+    private final ReentrantLock subscriptionLock = new ReentrantLock();
+    // 이 노드에 참여자가 있는 채팅방 -> 구독한 소유 노드
+    private final IntIntHashMap subscribedOwners = new IntIntHashMap(0);
+    // 이 노드가 소유한 채팅방 -> 구독 노드 (쓰기 시 복사, 중계 시 잠금 밖에서 순회)
+    private final IntObjectHashMap<int[]> subscribers = new IntObjectHashMap<>();
+
+    ClusterNode(ChatSocketServer server, ChatServerConfig config) {
+        this.server = server;
+        this.config = config;
+        this.selfId = config.getClusterNodeId();
+        this.secret = config.getClusterSecret().getBytes(StandardCharsets.UTF_8);
+        this.ring = new ConsistentHashRing(new int[]{selfId}, config.getClusterVirtualNodes());
+    }
+
+    /**
+     * 내부 링크 수신 시작 및 시드 노드 연결
+     */
+    void start() throws IOException {
+        if (secret.length == 0) {
+            throw new IOException("클러스터 비밀 키(--cluster-secret)를 설정해야 합니다.");
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(config.getClusterHost(), config.getClusterPort()));
+        executor = SocketExecutors.newConnectionExecutor(config.isVirtualThreads());
+        selfAddress = new ClusterProtocol.NodeAddress(selfId, config.getClusterHost(), serverSocket.getLocalPort());
+        running = true;
+
+        executor.execute(this::acceptLoop);
+
+        for (String seed : config.getClusterSeeds().split(",")) {
+            int separator = seed.lastIndexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+            try {
+                String host = seed.substring(0, separator).trim();
+                int port = Integer.parseInt(seed.substring(separator + 1).trim());
+                ClusterPeer peer = new ClusterPeer(this, 0, host, port);
+                addSeedPeer(peer);
+                peer.start(executor);
+            } catch (NumberFormatException e) {
+                LOG.warn("잘못된 클러스터 시드 주소 무시", "seed", seed);
+            }
+        }
+        LOG.info("클러스터 노드 시작", "nodeId", selfId, "clusterPort", selfAddress.port);
+    }
+
+    private void addSeedPeer(ClusterPeer peer) {
+        ringLock.lock();
+        try {
+            seedPeers.add(peer);
+        } finally {
+            ringLock.unlock();
+        }
+    }
+
+    void stop() {
+        running = false;
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            LOG.warn("클러스터 소켓 닫기 오류", e);
+        }
+        for (ClusterPeer peer : peers.values()) {
+            peer.stop();
+        }
+        ringLock.lock();
+        try {
+            for (ClusterPeer peer : seedPeers) {
+                peer.stop();
+            }
+            seedPeers.clear();
+        } finally {
+            ringLock.unlock();
+        }
+        for (Socket socket : inboundSockets.keySet()) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // 무시
+            }
+        }
+        inboundSockets.clear();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    int getNodeId() {
+        return selfId;
+    }
+
+    /**
+     * 내부 링크 포트 (0으로 설정했으면 실제로 바인딩된 포트)
+     */
+    int getLocalPort() {
+        return selfAddress != null ? selfAddress.port : config.getClusterPort();
+    }
+
+    ConsistentHashRing getRing() {
+        return ring;
+    }
+
+    boolean isOwner(int chatRoomId) {
+        return ring.ownerOf(chatRoomId) == selfId;
+    }
+
+    // ---------------------------------------------------------------------
+    // 노드 목록 관리
+
+    byte[] helloFrame() throws IOException {
+        List<ClusterProtocol.NodeAddress> known = new ArrayList<>();
+        for (ClusterPeer peer : peers.values()) {
+            if (peer.isRunning()) {
+                known.add(new ClusterProtocol.NodeAddress(peer.getNodeId(), peer.getHost(), peer.getPort()));
+            }
+        }
+        return ClusterProtocol.hello(selfAddress, known, secret);
+    }
+
+    /**
+     * 같은 클러스터 비밀 키를 가진 노드의 HELLO인지 확인
+     */
+    boolean isAuthentic(ClusterProtocol.Hello hello) throws IOException {
+        return hello.isAuthentic(secret);
+    }
+
+    /**
+     * HELLO 응답을 받은 링크 등록
+     * @return 링크를 계속 사용하면 true, 자기 자신이거나 같은 노드로 가는 다른 링크가 있으면 false
+     */
+    boolean registerPeer(ClusterPeer peer, ClusterProtocol.Hello hello) {
+        int nodeId = hello.self.nodeId;
+        boolean registered;
+        ringLock.lock();
+        try {
+            seedPeers.remove(peer);
+            if (nodeId == selfId) {
+                registered = false;
+            } else {
+                ClusterPeer existing = peers.putIfAbsent(nodeId, peer);
+                registered = existing == null || existing == peer;
+                if (registered) {
+                    peer.setNodeId(nodeId);
+                }
+            }
+        } finally {
+            ringLock.unlock();
+        }
+        learnNodes(hello.knownNodes);
+        return registered;
+    }
+
+    private void learnNodes(List<ClusterProtocol.NodeAddress> nodes) {
+        for (ClusterProtocol.NodeAddress node : nodes) {
+            ensurePeer(node);
+        }
+    }
+
+    /**
+     * 처음 알게 된 노드에 링크 생성
+     * 같은 ID의 노드가 다른 주소로 다시 나타났고 기존 링크가 끊긴 상태면 새 주소로 교체합니다.
+     */
+    private void ensurePeer(ClusterProtocol.NodeAddress address) {
+        if (address.nodeId == selfId || address.nodeId <= 0 || !running) {
+            return;
+        }
+        ClusterPeer created = null;
+        ringLock.lock();
+        try {
+            ClusterPeer existing = peers.get(address.nodeId);
+            boolean moved = existing != null && !existing.isAlive()
+                    && (existing.getPort() != address.port || !existing.getHost().equals(address.host));
+            if (existing == null || moved) {
+                if (moved) {
+                    existing.stop();
+                }
+                created = new ClusterPeer(this, address.nodeId, address.host, address.port);
+                peers.put(address.nodeId, created);
+            }
+        } finally {
+            ringLock.unlock();
+        }
+        if (created != null) {
+            try {
+                created.start(executor);
+            } catch (RuntimeException e) {
+                // 종료 중
+            }
+        }
+    }
+
+    /**
+     * 링크가 연결되거나 끊기면 호출 - 살아 있는 노드로 링을 다시 만들고 구독을 옮김
+     */
+    void membershipChanged() {
+        ConsistentHashRing previous;
+        ConsistentHashRing current;
+        ringLock.lock();
+        try {
+            int[] nodeIds = aliveNodeIds();
+            previous = ring;
+            if (Arrays.equals(previous.nodeIds(), nodeIds)) {
+                return;
+            }
+            current = new ConsistentHashRing(nodeIds, config.getClusterVirtualNodes());
+            ring = current;
+        } finally {
+            ringLock.unlock();
+        }
+        LOG.info("클러스터 링 변경", "nodeId", selfId, "nodes", Arrays.toString(current.nodeIds()));
+        rebalance(previous, current);
+    }
+
+    private int[] aliveNodeIds() {
+        int[] nodeIds = new int[peers.size() + 1];
+        int count = 0;
+        nodeIds[count++] = selfId;
+        for (ClusterPeer peer : peers.values()) {
+            if (peer.isAlive() && count < nodeIds.length) {
+                nodeIds[count++] = peer.getNodeId();
+            }
+        }
+        int[] alive = Arrays.copyOf(nodeIds, count);
+        Arrays.sort(alive);
+        return alive;
+    }
+
+    /**
+     * 소유 노드가 바뀐 채팅방 처리
+     * - 참여자가 있는 채팅방은 이전 소유 노드 구독을 해제하고 새 소유 노드에 구독
+     * - 빠진 노드의 구독은 제거
+     * - 중계가 잠시 끊겼을 수 있으므로 해당 채팅방의 최근 메시지 버퍼를 비우고, 시퀀스는 저장소에서 다시 읽음
+     */
+    private void rebalance(ConsistentHashRing previous, ConsistentHashRing current) {
+        List<int[]> moved = new ArrayList<>();
+        List<Integer> staleRooms = new ArrayList<>();
+        subscriptionLock.lock();
+        try {
+            subscribedOwners.forEach((roomId, oldOwner) -> {
+                int newOwner = current.ownerOf(roomId);
+                if (newOwner != oldOwner) {
+                    moved.add(new int[]{roomId, oldOwner, newOwner});
+                }
+            });
+            for (int[] change : moved) {
+                subscribedOwners.put(change[0], change[2]);
+                staleRooms.add(change[0]);
+            }
+
+            List<Integer> ownedRooms = new ArrayList<>();
+            subscribers.forEachKey(ownedRooms::add);
+            for (int roomId : ownedRooms) {
+                int[] nodes = subscribers.get(roomId);
+                int[] remaining = Arrays.stream(nodes).filter(current::contains).toArray();
+                if (remaining.length == 0) {
+                    subscribers.remove(roomId);
+                } else if (remaining.length != nodes.length) {
+                    subscribers.put(roomId, remaining);
+                }
+                if (previous.ownerOf(roomId) == selfId && current.ownerOf(roomId) != selfId) {
+                    staleRooms.add(roomId);
+                }
+            }
+        } finally {
+            subscriptionLock.unlock();
+        }
+
+        for (int[] change : moved) {
+            int roomId = change[0];
+            if (change[1] != selfId) {
+                sendTo(change[1], subscriptionFrame(false, roomId));
+            }
+            if (change[2] != selfId) {
+                sendTo(change[2], subscriptionFrame(true, roomId));
+            }
+        }
+        for (int roomId : staleRooms) {
+            server.dropRoomHistory(roomId);
+        }
+        server.resetSequences();
+    }
+
+    // ---------------------------------------------------------------------
+    // 구독
+
+    /**
+     * 이 노드의 채팅방 참여자 수가 바뀌면 호출
+     * 참여자가 생기면 소유 노드에 구독하고, 모두 나가면 구독을 해제합니다.
+     */
+    void refreshInterest(int chatRoomId) {
+        int owner;
+        boolean subscribe;
+        subscriptionLock.lock();
+        try {
+            boolean hasMembers = server.getRoomMembers().memberCount(chatRoomId) > 0;
+            boolean subscribed = subscribedOwners.containsKey(chatRoomId);
+            if (hasMembers == subscribed) {
+                return;
+            }
+            subscribe = hasMembers;
+            if (subscribe) {
+                owner = ring.ownerOf(chatRoomId);
+                subscribedOwners.put(chatRoomId, owner);
+            } else {
+                owner = subscribedOwners.remove(chatRoomId);
+            }
+        } finally {
+            subscriptionLock.unlock();
+        }
+
+        if (owner != selfId) {
+            sendTo(owner, subscriptionFrame(subscribe, chatRoomId));
+            if (!subscribe) {
+                // 더 이상 중계를 받지 않으므로 최근 메시지 버퍼도 갱신되지 않음
+                server.dropRoomHistory(chatRoomId);
+            }
+        }
+    }
+
+    private void onSubscription(boolean subscribe, int chatRoomId, int nodeId) {
+        subscriptionLock.lock();
+        try {
+            int[] nodes = subscribers.get(chatRoomId);
+            if (subscribe) {
+                if (nodes == null) {
+                    subscribers.put(chatRoomId, new int[]{nodeId});
+                } else if (Arrays.stream(nodes).noneMatch(id -> id == nodeId)) {
+                    int[] grown = Arrays.copyOf(nodes, nodes.length + 1);
+                    grown[nodes.length] = nodeId;
+                    subscribers.put(chatRoomId, grown);
+                }
+            } else if (nodes != null) {
+                int[] remaining = Arrays.stream(nodes).filter(id -> id != nodeId).toArray();
+                if (remaining.length == 0) {
+                    subscribers.remove(chatRoomId);
+                } else {
+                    subscribers.put(chatRoomId, remaining);
+                }
+            }
+        } finally {
+            subscriptionLock.unlock();
+        }
+    }
+
+    /**
+     * 채팅방을 구독한 다른 노드 (테스트, 모니터링용)
+     */
+    int[] subscribersOf(int chatRoomId) {
+        subscriptionLock.lock();
+        try {
+            int[] nodes = subscribers.get(chatRoomId);
+            return nodes != null ? nodes.clone() : new int[0];
+        } finally {
+            subscriptionLock.unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // 메시지 라우팅
+
+    /**
+     * 소유 노드가 아닌 노드에서 받은 메시지를 소유 노드로 넘김
+     * 소유 노드에 보낼 수 없으면 저장 실패(-1)로 확인을 보냅니다.
+     */
+    void forward(ClientSession session, ChatMessage message) {
+        forward(session.getMemberId(), selfId, 0, message, session);
+    }
+
+    private void forward(int memberId, int originNodeId, int hops, ChatMessage message, ClientSession origin) {
+        int owner = ring.ownerOf(message.getChatRoomId());
+        boolean sent = false;
+        if (owner != selfId) {
+            try {
+                sent = sendTo(owner, ClusterProtocol.forward(originNodeId, memberId, hops, message));
+            } catch (IOException e) {
+                LOG.warn("메시지 중계 인코딩 오류", e);
+            }
+        }
+        if (!sent) {
+            if (owner == selfId) {
+                server.handleOwnedMessage(origin, message);
+            } else if (message.getClientMessageId() != 0) {
+                origin.sendCommand(ChatCommand.messageAck(message, -1));
+            } else {
+                LOG.warn("채팅방 소유 노드에 메시지를 넘기지 못했습니다", "chatRoomId", message.getChatRoomId(), "owner", owner);
+            }
+        }
+    }
+
+    /**
+     * 소유 노드에서 브로드캐스트한 메시지를 구독 노드로 중계 (한 번만 인코딩해서 공유)
+     */
+    void relay(ChatMessage message) {
+        int[] nodes;
+        subscriptionLock.lock();
+        try {
+            nodes = subscribers.get(message.getChatRoomId());
+        } finally {
+            subscriptionLock.unlock();
+        }
+        if (nodes == null) {
+            return;
+        }
+
+        byte[] frame;
+        try {
+            frame = ClusterProtocol.deliver(message);
+        } catch (IOException e) {
+            LOG.warn("메시지 중계 인코딩 오류", e);
+            return;
+        }
+        for (int nodeId : nodes) {
+            if (nodeId != selfId) {
+                sendTo(nodeId, frame);
+            }
+        }
+    }
+
+    /**
+     * 다른 노드에 연결된 사용자에게 메시지/명령 전송
+     */
+    void sendToMember(int nodeId, int memberId, Object payload) {
+        try {
+            sendTo(nodeId, ClusterProtocol.toMember(memberId, payload));
+        } catch (IOException e) {
+            LOG.warn("사용자 응답 중계 인코딩 오류", e);
+        }
+    }
+
+    private byte[] subscriptionFrame(boolean subscribe, int chatRoomId) {
+        try {
+            return ClusterProtocol.subscription(subscribe, chatRoomId, selfId);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean sendTo(int nodeId, byte[] frame) {
+        ClusterPeer peer = peers.get(nodeId);
+        return peer != null && peer.send(frame);
+    }
+
+    // ---------------------------------------------------------------------
+    // 들어오는 링크
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                inboundSockets.put(socket, Boolean.TRUE);
+                executor.execute(() -> readInbound(socket));
+            } catch (IOException e) {
+                if (running) {
+                    LOG.warn("클러스터 연결 수락 중 오류 발생", e);
+                }
+            } catch (RuntimeException e) {
+                // 종료 중
+                return;
+            }
+        }
+    }
+
+    private void readInbound(Socket socket) {
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+            OutputStream out = socket.getOutputStream();
+
+            byte[] body = FrameCodec.readFrameBody(in);
+            if (body.length == 0 || body[0] != ClusterProtocol.KIND_HELLO) {
+                throw new StreamCorruptedException("클러스터 링크가 HELLO로 시작하지 않았습니다.");
+            }
+            ClusterProtocol.Hello hello = ClusterProtocol.readHello(new BinaryReader(body, 1, body.length - 1));
+            if (!isAuthentic(hello)) {
+                // 인증하지 못한 링크의 프레임은 하나도 처리하지 않고 끊음
+                LOG.warn("클러스터 노드 인증 실패", "nodeId", hello.self.nodeId, "remote", socket.getRemoteSocketAddress());
+                return;
+            }
+            out.write(helloFrame());
+            out.flush();
+
+            // 연결해 온 노드로도 링크를 만들고, 그 노드가 아는 노드도 연결
+            ensurePeer(hello.self);
+            learnNodes(hello.knownNodes);
+
+            while (running) {
+                body = FrameCodec.readFrameBody(in);
+                try {
+                    dispatch(body);
+                } catch (IOException | RuntimeException e) {
+                    LOG.warn("클러스터 프레임 처리 중 오류 발생", e);
+                }
+            }
+        } catch (IOException e) {
+            // 연결 종료
+        } finally {
+            inboundSockets.remove(socket);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // 무시
+            }
+        }
+    }
+
+    private void dispatch(byte[] body) throws IOException {
+        BinaryReader reader = new BinaryReader(body, 1, body.length - 1);
+        switch (body[0]) {
+            case ClusterProtocol.KIND_SUBSCRIBE:
+            case ClusterProtocol.KIND_UNSUBSCRIBE: {
+                int chatRoomId = reader.readVarInt();
+                int nodeId = reader.readVarInt();
+                onSubscription(body[0] == ClusterProtocol.KIND_SUBSCRIBE, chatRoomId, nodeId);
+                break;
+            }
+            case ClusterProtocol.KIND_FORWARD: {
+                int originNodeId = reader.readVarInt();
+                int memberId = reader.readVarInt();
+                int hops = reader.readByte();
+                ChatMessage message = ClusterProtocol.readMessage(reader);
+                RelayedSession origin = new RelayedSession(this, originNodeId, memberId);
+                if (!isOwner(message.getChatRoomId()) && hops < MAX_FORWARD_HOPS) {
+                    forward(memberId, originNodeId, hops + 1, message, origin);
+                } else {
+                    server.handleOwnedMessage(origin, message);
+                }
+                break;
+            }
+            case ClusterProtocol.KIND_DELIVER:
+                server.deliverRelayed(ClusterProtocol.readMessage(reader));
+                break;
+            case ClusterProtocol.KIND_TO_MEMBER: {
+                int memberId = reader.readVarInt();
+                Object payload = ClusterProtocol.readPayload(reader);
+                // 어느 세션이 보낸 요청인지 알 수 없으므로 사용자의 모든 세션에 전달 (클라이언트는 모르는 확인을 무시함)
+                for (ClientSession session : server.getSessions(memberId)) {
+                    if (payload instanceof ChatMessage) {
+                        session.sendMessage((ChatMessage) payload);
+                    } else {
+                        session.sendCommand((ChatCommand) payload);
+                    }
+                }
+                break;
+            }
+            default:
+                throw new StreamCorruptedException("알 수 없는 클러스터 프레임 종류: " + body[0]);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 다른 클러스터 노드로 나가는 내부 링크
+ * 보낼 프레임은 대기열에 넣기만 하고 전용 writer가 기록하며, 대기열이 빌 때만 flush하므로
+ * 몰려드는 중계 프레임은 자연스럽게 한 번의 쓰기로 묶입니다.
+ * 상대 노드는 HELLO 응답 외에는 이 연결로 보내지 않으므로, 읽기 쪽은 연결이 끊기는 것(EOF)만 감시합니다.
+ * 연결이 끊기면 대기 중인 프레임을 버리고 점점 긴 간격으로 다시 연결합니다.
+ */
+final class ClusterPeer {
+    private static final Logger LOG = LogManager.getLogger(ClusterPeer.class);
+
+    private static final int QUEUE_CAPACITY = 65_536;
+    private static final int CONNECT_TIMEOUT_MILLIS = 2000;
+    private static final long MIN_RETRY_MILLIS = 100;
+    private static final long MAX_RETRY_MILLIS = 2000;
+
+    private final ClusterNode node;
+    private final String host;
+    private final int port;
+    private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong droppedFrames = new AtomicLong();
+
+    // 시드 주소로 만든 링크는 HELLO 응답을 받기 전까지 0
+    private volatile int nodeId;
+    private volatile Socket socket;
+    private volatile boolean alive;
+    private volatile boolean running = true;
+
+    ClusterPeer(ClusterNode node, int nodeId, String host, int port) {
+        this.node = node;
+        this.nodeId = nodeId;
+        this.host = host;
+        this.port = port;
+    }
+
+    void start(ExecutorService executor) {
+        executor.execute(() -> connectLoop(executor));
+    }
+
+    /**
+     * 프레임 전송 요청
+     * @return 연결이 끊겼거나 대기열이 가득 차서 보내지 못하면 false
+     */
+    boolean send(byte[] frame) {
+        if (!alive) {
+            return false;
+        }
+        if (!queue.offer(frame)) {
+            droppedFrames.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void stop() {
+        running = false;
+        alive = false;
+        closeQuietly(socket);
+        queue.clear();
+    }
+
+    private void connectLoop(ExecutorService executor) {
+        long retryMillis = MIN_RETRY_MILLIS;
+        while (running && node.isRunning()) {
+            Socket current = new Socket();
+            try {
+                current.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+                current.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(current.getInputStream()));
+                OutputStream out = new BufferedOutputStream(current.getOutputStream(), 64 * 1024);
+
+                out.write(node.helloFrame());
+                out.flush();
+                byte[] reply = FrameCodec.readFrameBody(in);
+                ClusterProtocol.Hello hello = ClusterProtocol.readHello(
+                        new BinaryReader(reply, 1, reply.length - 1));
+                if (reply[0] == ClusterProtocol.KIND_HELLO && !node.isAuthentic(hello)) {
+                    // 비밀 키가 다른 노드 - 설정이 고쳐질 수 있으므로 끊고 재시도
+                    LOG.warn("클러스터 노드 인증 실패", "nodeId", hello.self.nodeId, "address", host + ":" + port);
+                    throw new StreamCorruptedException("클러스터 비밀 키가 다른 노드입니다.");
+                }
+                if (reply[0] != ClusterProtocol.KIND_HELLO || !node.registerPeer(this, hello)) {
+                    // 자기 자신이거나 이미 다른 링크가 있는 노드
+                    running = false;
+                    return;
+                }
+
+                socket = current;
+                alive = true;
+                retryMillis = MIN_RETRY_MILLIS;
+                executor.execute(() -> writeLoop(current, out));
+                node.membershipChanged();
+
+                // 상대가 연결을 닫을 때까지 대기
+                while (in.read() >= 0) {
+                    // HELLO 이후에는 받을 프레임이 없음
+                }
+            } catch (IOException | RejectedExecutionException e) {
+                // 연결 실패 또는 끊김 - 아래에서 정리 후 재시도
+            } finally {
+                closeQuietly(current);
+                boolean wasAlive = alive && socket == current;
+                if (socket == current) {
+                    alive = false;
+                    socket = null;
+                    queue.clear();
+                }
+                if (wasAlive) {
+                    LOG.warn("클러스터 노드 연결 끊김", "nodeId", nodeId, "address", host + ":" + port);
+                    node.membershipChanged();
+                }
+            }
+
+            try {
+                Thread.sleep(retryMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            retryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+        }
+    }
+
+    private void writeLoop(Socket current, OutputStream out) {
+        try {
+            while (socket == current) {
+                byte[] frame = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (frame == null) {
+                    continue;
+                }
+                out.write(frame);
+                // 대기열에 남은 프레임을 모아서 쓰고 한 번만 flush
+                while ((frame = queue.poll()) != null) {
+                    out.write(frame);
+                }
+                out.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            // 읽기 쪽이 끊김을 감지하도록 소켓을 닫음
+            closeQuietly(current);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        if (socket == null) {
+            return;
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // 무시
+        }
+    }
+
+    int getNodeId() {
+        return nodeId;
+    }
+
+    void setNodeId(int nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    String getHost() {
+        return host;
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    boolean isAlive() {
+        return alive;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 대기열이 가득 차서 버린 프레임 수
+     */
+    long getDroppedFrameCount() {
+        return droppedFrames.get();
+    }
+}
@@ -0,0 +1,206 @@
+package org.example.socket;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 클러스터 노드 간 내부 링크 프레임
+ * 클라이언트 프레임과 같은 [4바이트 길이][본문] 형식이며, 본문은 [종류 1B][필드...]입니다.
+ * 메시지/명령 필드는 BinaryWireCodec과 같은 방식으로 기록하므로 Java 직렬화를 거치지 않습니다.
+ * - HELLO: 연결 직후 양쪽이 한 번씩 보냄 (노드 ID, 내부 주소, 알고 있는 다른 노드 목록, 인증 값)
+ *   인증 값은 공유 비밀 키로 만든 HMAC-SHA256이며, 키를 모르는 상대의 링크는 HELLO에서 끊습니다.
+ * - SUBSCRIBE / UNSUBSCRIBE: 채팅방 참여자가 있는 노드가 소유 노드에 중계를 요청/해제
+ * - FORWARD: 소유 노드가 아닌 노드가 받은 채팅 메시지를 소유 노드로 넘김
+ * - DELIVER: 소유 노드가 브로드캐스트할 메시지를 구독 노드로 중계
+ * - TO_MEMBER: 다른 노드에 연결된 사용자에게 보내는 응답 (MESSAGE_ACK 등)
+ */
+final class ClusterProtocol {
+    static final int VERSION = 2;
+
+    static final int KIND_HELLO = 1;
+    static final int KIND_SUBSCRIBE = 2;
+    static final int KIND_UNSUBSCRIBE = 3;
+    static final int KIND_FORWARD = 4;
+    static final int KIND_DELIVER = 5;
+    static final int KIND_TO_MEMBER = 6;
+
+    private static final int PAYLOAD_MESSAGE = 1;
+    private static final int PAYLOAD_COMMAND = 2;
+
+    private static final String AUTH_ALGORITHM = "HmacSHA256";
+
+    private ClusterProtocol() {
+    }
+
+    /**
+     * 노드 주소
+     */
+    static final class NodeAddress {
+        final int nodeId;
+        final String host;
+        final int port;
+
+        NodeAddress(int nodeId, String host, int port) {
+            this.nodeId = nodeId;
+            this.host = host;
+            this.port = port;
+        }
+
+        @Override
+        public String toString() {
+            return nodeId + "@" + host + ":" + port;
+        }
+    }
+
+    /**
+     * HELLO 내용
+     */
+    static final class Hello {
+        final NodeAddress self;
+        final List<NodeAddress> knownNodes;
+        final byte[] authTag;
+
+        Hello(NodeAddress self, List<NodeAddress> knownNodes, byte[] authTag) {
+            this.self = self;
+            this.knownNodes = knownNodes;
+            this.authTag = authTag;
+        }
+
+        /**
+         * 같은 비밀 키를 가진 노드가 보낸 HELLO인지 확인
+         */
+        boolean isAuthentic(byte[] secret) throws IOException {
+            return MessageDigest.isEqual(authTag(secret, self), authTag);
+        }
+    }
+
+    /**
+     * @param secret 클러스터 공유 비밀 키 (HELLO의 인증 값을 만드는 데 사용)
+     */
+    static byte[] hello(NodeAddress self, List<NodeAddress> knownNodes, byte[] secret) throws IOException {
+        BinaryWriter writer = new BinaryWriter(32 + knownNodes.size() * 24);
+        writer.writeByte(KIND_HELLO);
+        writer.writeVarInt(VERSION);
+        writeAddress(writer, self);
+        writer.writeVarInt(knownNodes.size());
+        for (NodeAddress node : knownNodes) {
+            writeAddress(writer, node);
+        }
+        byte[] tag = authTag(secret, self);
+        writer.writeBytes(tag, 0, tag.length);
+        return writer.toFrame();
+    }
+
+    static Hello readHello(BinaryReader reader) throws IOException {
+        int version = reader.readVarInt();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("지원하지 않는 클러스터 프로토콜 버전: " + version);
+        }
+        NodeAddress self = readAddress(reader);
+        int count = reader.readVarInt();
+        if (count < 0 || count > reader.remaining()) {
+            throw new StreamCorruptedException("잘못된 노드 수: " + count);
+        }
+        List<NodeAddress> knownNodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            knownNodes.add(readAddress(reader));
+        }
+        return new Hello(self, knownNodes, reader.readRemaining());
+    }
+
+    /**
+     * 노드 주소에 대한 HMAC-SHA256 인증 값 (비밀 키 자체는 링크로 보내지 않음)
+     */
+    private static byte[] authTag(byte[] secret, NodeAddress self) throws IOException {
+        try {
+            Mac mac = Mac.getInstance(AUTH_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, AUTH_ALGORITHM));
+            return mac.doFinal(self.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IOException("클러스터 인증 값을 만들 수 없습니다.", e);
+        }
+    }
+
+    static byte[] subscription(boolean subscribe, int chatRoomId, int nodeId) throws IOException {
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeByte(subscribe ? KIND_SUBSCRIBE : KIND_UNSUBSCRIBE);
+        writer.writeVarInt(chatRoomId);
+        writer.writeVarInt(nodeId);
+        return writer.toFrame();
+    }
+
+    /**
+     * @param hops 소유 노드를 찾아 다시 넘긴 횟수 (노드마다 링이 잠시 다를 때 무한히 돌지 않도록 제한)
+     */
+    static byte[] forward(int originNodeId, int memberId, int hops, ChatMessage message) throws IOException {
+        BinaryWriter writer = new BinaryWriter(96);
+        writer.writeByte(KIND_FORWARD);
+        writer.writeVarInt(originNodeId);
+        writer.writeVarInt(memberId);
+        writer.writeByte(hops);
+        BinaryWireCodec.writeMessage(writer, message);
+        return writer.toFrame();
+    }
+
+    static byte[] deliver(ChatMessage message) throws IOException {
+        BinaryWriter writer = new BinaryWriter(96);
+        writer.writeByte(KIND_DELIVER);
+        BinaryWireCodec.writeMessage(writer, message);
+        return writer.toFrame();
+    }
+
+    static byte[] toMember(int memberId, Object payload) throws IOException {
+        BinaryWriter writer = new BinaryWriter(64);
+        writer.writeByte(KIND_TO_MEMBER);
+        writer.writeVarInt(memberId);
+        if (payload instanceof ChatMessage) {
+            writer.writeByte(PAYLOAD_MESSAGE);
+            BinaryWireCodec.writeMessage(writer, (ChatMessage) payload);
+        } else if (payload instanceof ChatCommand) {
+            writer.writeByte(PAYLOAD_COMMAND);
+            BinaryWireCodec.writeCommand(writer, (ChatCommand) payload);
+        } else {
+            throw new IOException("중계할 수 없는 객체: " + (payload != null ? payload.getClass().getName() : "null"));
+        }
+        return writer.toFrame();
+    }
+
+    static ChatMessage readMessage(BinaryReader reader) throws IOException {
+        return BinaryWireCodec.readMessage(reader, BinaryWireCodec.VERSION);
+    }
+
+    /**
+     * TO_MEMBER 본문의 메시지 또는 명령
+     */
+    static Object readPayload(BinaryReader reader) throws IOException {
+        int type = reader.readByte();
+        switch (type) {
+            case PAYLOAD_MESSAGE:
+                return BinaryWireCodec.readMessage(reader, BinaryWireCodec.VERSION);
+            case PAYLOAD_COMMAND:
+                return BinaryWireCodec.readCommand(reader, BinaryWireCodec.VERSION);
+            default:
+                throw new StreamCorruptedException("알 수 없는 중계 본문 종류: " + type);
+        }
+    }
+
+    private static void writeAddress(BinaryWriter writer, NodeAddress address) {
+        writer.writeVarInt(address.nodeId);
+        writer.writeString(address.host);
+        writer.writeVarInt(address.port);
+    }
+
+    private static NodeAddress readAddress(BinaryReader reader) throws IOException {
+        int nodeId = reader.readVarInt();
+        String host = reader.readString();
+        int port = reader.readVarInt();
+        return new NodeAddress(nodeId, host, port);
+    }
+}
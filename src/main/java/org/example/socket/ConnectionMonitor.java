@@ -0,0 +1,203 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 연결 생존 확인
+ * 하나의 타이밍 휠(HashedWheelTimer)로 모든 연결의 핸드셰이크 제한 시간, PING 전송, 유휴 연결 정리를 처리합니다.
+ * 연결마다 다음 확인 시점 하나만 예약해 두고, 프레임을 주고받을 때는 마지막 활동 시각만 기록하므로
+ * 프레임 처리 경로에 타이머 등록/취소 비용이 없습니다.
+ * 읽기나 쓰기가 PING 간격 동안 없으면 PING을 보내고, 유휴 제한 시간 동안 아무것도 받지 못하면 연결을 닫습니다.
+ */
+final class ConnectionMonitor {
+    private static final Logger LOG = LogManager.getLogger(ConnectionMonitor.class);
+
+    private static final long TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 512;
+
+    // 모든 연결이 공유하는 PING 프레임 (형식별로 한 번만 인코딩)
+    static final EncodedFrame PING_FRAME = new EncodedFrame(new ChatCommand(ChatCommandType.PING, 0));
+
+    private final HashedWheelTimer timer = new HashedWheelTimer("chat-timer", TICK_MILLIS, WHEEL_SIZE);
+    private final long handshakeTimeoutMillis;
+    private final long heartbeatIntervalNanos;
+    private final long idleTimeoutNanos;
+    private final AtomicLong handshakeTimeouts = new AtomicLong();
+    private final AtomicLong idleEvictions = new AtomicLong();
+
+    ConnectionMonitor(ChatServerConfig config) {
+        this.handshakeTimeoutMillis = config.getHandshakeTimeoutMillis();
+        this.heartbeatIntervalNanos = TimeUnit.MILLISECONDS.toNanos(config.getHeartbeatIntervalMillis());
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeoutMillis());
+    }
+
+    void start() {
+        timer.start();
+    }
+
+    void stop() {
+        timer.stop();
+    }
+
+    /**
+     * 핸드셰이크 제한 시간 예약 - 인증이 끝나면 반환된 핸들을 취소해야 합니다.
+     * @param onTimeout 제한 시간 안에 인증하지 않았을 때 실행할 작업 (연결 닫기)
+     * @return 제한 시간이 꺼져 있으면 null
+     */
+    HashedWheelTimer.Timeout watchHandshake(Runnable onTimeout) {
+        if (handshakeTimeoutMillis <= 0) {
+            return null;
+        }
+        return timer.schedule(() -> {
+            handshakeTimeouts.incrementAndGet();
+            LOG.info("핸드셰이크 제한 시간 초과로 연결 종료");
+            onTimeout.run();
+        }, handshakeTimeoutMillis);
+    }
+
+    /**
+     * 같은 타이밍 휠에 작업 예약 (수신 확인 점검 등 연결 수와 무관한 주기 작업용)
+     */
+    HashedWheelTimer.Timeout schedule(Runnable task, long delayMillis) {
+        return timer.schedule(task, Math.max(TICK_MILLIS, delayMillis));
+    }
+
+    /**
+     * 인증된 연결의 생존 확인 시작
+     * @param heartbeat 클라이언트가 PING/PONG을 지원하는지 여부 (기존 클라이언트는 유휴 상태로 두어도 닫지 않음)
+     * @return 생존 확인을 하지 않으면 null
+     */
+    Liveness watch(ClientSession session, boolean heartbeat) {
+        if (!heartbeat || !isHeartbeatEnabled()) {
+            return null;
+        }
+        Liveness liveness = new Liveness(session);
+        liveness.scheduleCheck(heartbeatIntervalNanos);
+        return liveness;
+    }
+
+    /**
+     * PING 간격과 유휴 제한 시간이 모두 설정되어 있으면 생존 확인 사용
+     */
+    boolean isHeartbeatEnabled() {
+        return heartbeatIntervalNanos > 0 && idleTimeoutNanos > 0;
+    }
+
+    /**
+     * 핸드셰이크 응답으로 클라이언트에 알려줄 PING 간격(ms)
+     */
+    int getHeartbeatIntervalMillis() {
+        return (int) TimeUnit.NANOSECONDS.toMillis(heartbeatIntervalNanos);
+    }
+
+    /**
+     * 핸드셰이크 응답으로 클라이언트에 알려줄 유휴 제한 시간(ms)
+     */
+    int getIdleTimeoutMillis() {
+        return (int) TimeUnit.NANOSECONDS.toMillis(idleTimeoutNanos);
+    }
+
+    /**
+     * 핸드셰이크 제한 시간 초과로 닫은 연결 수
+     */
+    long getHandshakeTimeoutCount() {
+        return handshakeTimeouts.get();
+    }
+
+    /**
+     * 유휴 제한 시간 초과로 닫은 연결 수
+     */
+    long getIdleEvictionCount() {
+        return idleEvictions.get();
+    }
+
+    /**
+     * 연결 하나의 생존 상태
+     * 엔진은 프레임을 받거나 보낼 때 onRead()/onWrite()만 호출하고, 판단은 타이머 스레드에서 합니다.
+     */
+    final class Liveness implements Runnable {
+        private final ClientSession session;
+        private volatile long lastRead;
+        private volatile long lastWrite;
+        private volatile HashedWheelTimer.Timeout timeout;
+        private volatile boolean cancelled;
+
+        private Liveness(ClientSession session) {
+            this.session = session;
+            this.lastRead = timer.now();
+            this.lastWrite = lastRead;
+        }
+
+        /**
+         * 프레임 수신 기록
+         */
+        void onRead() {
+            long now = timer.now();
+            if (lastRead != now) {
+                lastRead = now;
+            }
+        }
+
+        /**
+         * 프레임 송신 기록 (브로드캐스트 중 같은 값을 반복해서 쓰지 않도록 값이 바뀔 때만 기록)
+         */
+        void onWrite() {
+            long now = timer.now();
+            if (lastWrite != now) {
+                lastWrite = now;
+            }
+        }
+
+        /**
+         * 생존 확인 중지 (연결 종료 시)
+         */
+        void cancel() {
+            cancelled = true;
+            HashedWheelTimer.Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        private void scheduleCheck(long delayNanos) {
+            timeout = timer.schedule(this, Math.max(TICK_MILLIS, TimeUnit.NANOSECONDS.toMillis(delayNanos)));
+            if (cancelled) {
+                // 예약하는 사이에 연결이 닫힘
+                timeout.cancel();
+            }
+        }
+
+        /**
+         * 확인 시점 도착 (타이머 스레드)
+         */
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            long now = timer.now();
+            long readIdle = now - lastRead;
+            if (readIdle >= idleTimeoutNanos) {
+                idleEvictions.incrementAndGet();
+                LOG.info("유휴 제한 시간 초과로 연결 종료", "memberId", session.getMemberId());
+                cancelled = true;
+                session.close();
+                return;
+            }
+
+            long idle = Math.max(readIdle, now - lastWrite);
+            if (idle >= heartbeatIntervalNanos) {
+                // 한쪽이라도 조용하면 PING - 클라이언트는 PONG으로, 서버는 PING 자체로 서로 살아 있음을 알림
+                session.sendFrame(PING_FRAME);
+                lastWrite = now;
+                scheduleCheck(Math.min(heartbeatIntervalNanos, idleTimeoutNanos - readIdle));
+            } else {
+                scheduleCheck(Math.min(heartbeatIntervalNanos - idle, idleTimeoutNanos - readIdle));
+            }
+        }
+    }
+}
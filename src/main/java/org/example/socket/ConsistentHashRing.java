@@ -0,0 +1,83 @@
+package org.example.socket;
+
+import java.util.Arrays;
+
+/**
+ * 채팅방 → 노드 일관 해시 링 (불변)
+ * 노드마다 virtualNodes개의 점을 링 위에 흩어 두고, 채팅방 해시에서 시계 방향으로 처음 만나는 점의 노드가 채팅방을 소유합니다.
+ * 노드가 추가/제거되면 그 노드와 인접한 구간의 채팅방만 소유자가 바뀝니다(평균 1/N).
+ *
+ * 각 점은 long 하나에 [해시 상위 40비트][노드 인덱스 24비트]로 담아 정렬 배열 하나로 이진 탐색합니다.
+ */
+final class ConsistentHashRing {
+    private static final int INDEX_BITS = 24;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    private static final long HASH_MASK = ~INDEX_MASK;
+    // 채팅방 ID와 노드 점이 같은 해시 공간에서 겹치지 않도록 섞는 값
+    private static final long ROOM_SALT = 0x5DEECE66DL;
+
+    private final int[] nodeIds;
+    private final long[] points;
+
+    /**
+     * @param nodeIds 링에 참여하는 노드 ID (중복 무시)
+     */
+    ConsistentHashRing(int[] nodeIds, int virtualNodes) {
+        int[] sorted = Arrays.stream(nodeIds).distinct().sorted().toArray();
+        if (sorted.length == 0) {
+            throw new IllegalArgumentException("노드가 하나 이상 필요합니다.");
+        }
+        int perNode = Math.max(1, virtualNodes);
+        this.nodeIds = sorted;
+        this.points = new long[sorted.length * perNode];
+
+        int count = 0;
+        for (int index = 0; index < sorted.length; index++) {
+            for (int replica = 0; replica < perNode; replica++) {
+                long hash = mix(((long) sorted[index] << 32) | replica);
+                points[count++] = (hash & HASH_MASK) | index;
+            }
+        }
+        Arrays.sort(points);
+    }
+
+    /**
+     * 채팅방을 소유한 노드 ID
+     */
+    int ownerOf(int roomId) {
+        long key = mix(roomId ^ ROOM_SALT) & HASH_MASK;
+        int position = Arrays.binarySearch(points, key);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        if (position == points.length) {
+            position = 0; // 링 끝을 지나면 처음으로
+        }
+        return nodeIds[(int) (points[position] & INDEX_MASK)];
+    }
+
+    boolean contains(int nodeId) {
+        return Arrays.binarySearch(nodeIds, nodeId) >= 0;
+    }
+
+    /**
+     * 참여 노드 ID (오름차순, 수정 금지)
+     */
+    int[] nodeIds() {
+        return nodeIds;
+    }
+
+    int size() {
+        return nodeIds.length;
+    }
+
+    /**
+     * 64비트 해시 섞기 (SplitMix64 마무리 단계)
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
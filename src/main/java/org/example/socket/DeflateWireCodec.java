@@ -0,0 +1,181 @@
+package org.example.socket;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 압축 바이너리 프레임 코덱
+ * 본문은 BinaryWireCodec과 같고, 본문이 MIN_COMPRESS_SIZE 이상이면 공유 사전을 넣은 raw Deflate로 압축합니다.
+ * 압축한 본문 형식: [DEFLATED 1B][원래 본문 길이 varint][압축 데이터]
+ * 압축하지 않은 본문은 BinaryWireCodec의 버전 바이트(1~3)로 시작하므로 첫 바이트로 구분합니다.
+ * - 짧은 메시지는 압축해도 거의 줄지 않고 CPU만 쓰므로 그대로 보내고, 압축 결과가 원본보다 작지 않아도 원본을 보냄
+ * - 브로드캐스트 프레임은 EncodedFrame이 형식별로 한 번만 인코딩하므로 수신자가 많아도 압축은 한 번
+ * - 공유 사전에는 자주 나오는 필드 값(상태 문자열, 메시지 헤더)과 자주 쓰는 문구를 넣어, 첫 메시지부터 압축이 잘 되게 함
+ * Deflater/Inflater는 네이티브 메모리를 쓰므로 스레드마다 만들지 않고 작은 풀에서 빌려 씁니다 (가상 스레드 대비).
+ * 첨부 파일 프레임은 이미 압축된 파일이 대부분이고 파일 구간을 복사 없이 보내야 하므로 압축하지 않습니다.
+ * 공유 사전을 바꾸면 이전 버전과 압축 본문을 주고받을 수 없으므로, 바꿀 때는 새 WireFormat 값을 추가합니다.
+ */
+public final class DeflateWireCodec implements WireCodec {
+    // 압축을 시도하는 최소 본문 크기 (바이트)
+    static final int MIN_COMPRESS_SIZE = 256;
+    // 압축한 본문의 첫 바이트 (BinaryWireCodec 버전 값과 겹치지 않음)
+    private static final int DEFLATED = 0x80;
+    private static final int POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final byte[] DICTIONARY = dictionary();
+
+    // 풀 크기 등 위의 상수를 쓰므로 상수 뒤에 생성
+    public static final DeflateWireCodec INSTANCE = new DeflateWireCodec();
+
+    private final BlockingQueue<Deflater> deflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final BlockingQueue<Inflater> inflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private DeflateWireCodec() {
+    }
+
+    @Override
+    public WireFormat getFormat() {
+        return WireFormat.DEFLATE;
+    }
+
+    @Override
+    public byte[] encode(Object payload) throws IOException {
+        byte[] plain = BinaryWireCodec.INSTANCE.encode(payload);
+        int length = plain.length - FrameCodec.HEADER_SIZE;
+        if (length < MIN_COMPRESS_SIZE || payload instanceof AttachmentFrame) {
+            return plain;
+        }
+        byte[] compressed = compress(plain, length);
+        return compressed != null ? compressed : plain;
+    }
+
+    /**
+     * 본문 압축
+     * @return 압축한 프레임, 원본보다 작아지지 않으면 null
+     */
+    private byte[] compress(byte[] plain, int length) throws IOException {
+        int dataStart = FrameCodec.HEADER_SIZE + 1 + varIntSize(length);
+        byte[] out = new byte[plain.length];
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(plain, FrameCodec.HEADER_SIZE, length);
+            deflater.finish();
+            int position = dataStart;
+            while (!deflater.finished() && position < out.length) {
+                position += deflater.deflate(out, position, out.length - position);
+            }
+            if (!deflater.finished() || position >= plain.length) {
+                return null;
+            }
+            out[FrameCodec.HEADER_SIZE] = (byte) DEFLATED;
+            writeVarInt(out, FrameCodec.HEADER_SIZE + 1, length);
+            byte[] frame = Arrays.copyOf(out, position);
+            FrameCodec.putLength(frame);
+            return frame;
+        } finally {
+            deflater.reset();
+            if (!deflaters.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    @Override
+    public Object decode(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0 || (buffer[offset] & 0xFF) != DEFLATED) {
+            return BinaryWireCodec.INSTANCE.decode(buffer, offset, length);
+        }
+
+        int end = offset + length;
+        int position = offset + 1;
+        int originalLength = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (position >= end || shift > 28) {
+                throw new StreamCorruptedException("잘못된 압축 본문 길이");
+            }
+            int b = buffer[position++] & 0xFF;
+            originalLength |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        // 압축 해제 결과도 프레임 크기 제한을 넘지 않아야 함 (압축 폭탄 방지)
+        FrameCodec.checkLength(originalLength);
+
+        byte[] body = new byte[originalLength];
+        Inflater inflater = inflaters.poll();
+        if (inflater == null) {
+            inflater = new Inflater(true);
+        }
+        try {
+            inflater.setDictionary(DICTIONARY);
+            inflater.setInput(buffer, position, end - position);
+            int inflated = 0;
+            while (inflated < originalLength) {
+                int count = inflater.inflate(body, inflated, originalLength - inflated);
+                if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != originalLength) {
+                throw new StreamCorruptedException("압축 본문 길이 불일치: " + inflated + "/" + originalLength);
+            }
+        } catch (DataFormatException e) {
+            throw new StreamCorruptedException("잘못된 압축 데이터: " + e.getMessage());
+        } finally {
+            inflater.reset();
+            if (!inflaters.offer(inflater)) {
+                inflater.end();
+            }
+        }
+        return BinaryWireCodec.INSTANCE.decode(body, 0, originalLength);
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static void writeVarInt(byte[] out, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[position] = (byte) value;
+    }
+
+    /**
+     * 공유 사전 (내용을 바꾸면 새 WireFormat 값이 필요)
+     * Deflate는 사전의 뒤쪽일수록 짧은 거리로 참조하므로 가장 자주 나오는 값을 뒤에 둡니다.
+     */
+    private static byte[] dictionary() {
+        String phrases = "감사합니다 수고하셨습니다 확인 부탁드립니다 회의 일정 공유드립니다 "
+                + "님이 채팅방에 추가되었습니다. 님이 채팅방에서 제거되었습니다. "
+                + "오늘 내일 오전 오후 잠시만요 네 알겠습니다 안녕하세요 ㅋㅋㅋ ㅎㅎ ";
+        byte[] text = phrases.getBytes(StandardCharsets.UTF_8);
+        // 문자열 필드는 [길이+1 varint][UTF-8]로 기록되므로 상태 값은 길이 바이트까지 포함
+        byte[] fields = {
+                8, 'O', 'F', 'F', 'L', 'I', 'N', 'E',
+                7, 'O', 'N', 'L', 'I', 'N', 'E',
+                // 버전 3 채팅 메시지 헤더: [버전][메시지][CHAT][시간 있음]
+                3, 1, 0, 1,
+        };
+        byte[] dictionary = Arrays.copyOf(text, text.length + fields.length);
+        System.arraycopy(fields, 0, dictionary, text.length, fields.length);
+        return dictionary;
+    }
+}
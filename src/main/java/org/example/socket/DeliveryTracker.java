@@ -0,0 +1,229 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+import org.example.utils.IntObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 수신 확인(DELIVERY_ACK) 추적과 재전송
+ * 서버가 저장한 메시지는 채팅방별 시퀀스가 빈틈없이 붙으므로, 수신 세션별로 "이 시퀀스까지 모두 받음"이라는
+ * 누적 확인 값 하나만 채팅방마다 기억하면 됩니다. 메시지마다 대기 목록을 두지 않고 프레임은 지금처럼 공유합니다.
+ *
+ * 확인 제한 시간마다 한 번씩 모든 세션을 점검해, 지난 점검 때 이미 브로드캐스트했던 메시지(최소 제한 시간만큼 지난 메시지)를
+ * 아직 확인받지 못했고 송신 대기열도 비어 있으면(대기열에서 버려졌거나 전달 중 유실) 확인된 시퀀스 이후를
+ * 재개 응답(RESUME_SUCCESS)으로 다시 보냅니다. 클라이언트는 시퀀스로 중복을 걸러냅니다.
+ * 연결이 끊긴 뒤에는 클라이언트가 빈틈없이 받은 시퀀스로 RESUME을 보내므로, 재접속하면 확인하지 못한 범위부터 다시 받습니다.
+ *
+ * 추적 상태는 수신 확인을 보낸 세션에만 처음 확인을 받을 때 만들어지므로, 기존 클라이언트에는 비용이 없습니다.
+ * 점검은 연결 생존 확인과 같은 타이밍 휠에서 실행합니다.
+ */
+final class DeliveryTracker implements Runnable {
+    private static final Logger LOG = LogManager.getLogger(DeliveryTracker.class);
+
+    private final ChatSocketServer server;
+    private final ConnectionMonitor monitor;
+    private final long ackTimeoutMillis;
+    // 세션 -> 채팅방별 확인 상태 (같은 사용자의 세션마다 따로 추적)
+    private final Map<ClientSession, SessionDeliveries> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong retransmits = new AtomicLong();
+    private volatile HashedWheelTimer.Timeout timeout;
+    private volatile boolean stopped;
+
+    DeliveryTracker(ChatSocketServer server, ConnectionMonitor monitor, long ackTimeoutMillis) {
+        this.server = server;
+        this.monitor = monitor;
+        this.ackTimeoutMillis = ackTimeoutMillis;
+    }
+
+    void start() {
+        timeout = monitor.schedule(this, ackTimeoutMillis);
+    }
+
+    void stop() {
+        stopped = true;
+        HashedWheelTimer.Timeout current = timeout;
+        if (current != null) {
+            current.cancel();
+        }
+        sessions.clear();
+    }
+
+    /**
+     * 수신 확인 기록 (세션의 수신 스레드/이벤트 루프)
+     * @param sequence 채팅방에서 빈틈없이 받은 마지막 시퀀스
+     */
+    void onAck(ClientSession session, int chatRoomId, long sequence) {
+        int memberId = session.getMemberId();
+        if (sequence <= 0 || !server.getRoomMembers().isMember(chatRoomId, memberId)) {
+            return; // 참여하지 않은 채팅방의 확인은 상태를 만들지 않음
+        }
+        SessionDeliveries deliveries = sessions.get(session);
+        if (deliveries == null) {
+            deliveries = sessions.computeIfAbsent(session, SessionDeliveries::new);
+        }
+        deliveries.ack(chatRoomId, sequence);
+    }
+
+    /**
+     * 채팅방 퇴장 - 사용자의 모든 세션에서 그 채팅방의 확인 상태 제거
+     */
+    void onLeave(int memberId, int chatRoomId) {
+        for (ClientSession session : server.getSessions(memberId)) {
+            SessionDeliveries deliveries = sessions.get(session);
+            if (deliveries != null) {
+                deliveries.remove(chatRoomId);
+            }
+        }
+    }
+
+    /**
+     * 세션 종료 - 같은 사용자의 다른 세션 상태는 유지
+     */
+    void remove(ClientSession session) {
+        sessions.remove(session);
+    }
+
+    /**
+     * 확인받지 못해 다시 보낸 재개 응답 수
+     */
+    long getRetransmitCount() {
+        return retransmits.get();
+    }
+
+    /**
+     * 수신 확인을 추적 중인 세션 수
+     */
+    int getTrackedSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * 점검 시점 도착 (타이머 스레드)
+     */
+    @Override
+    public void run() {
+        if (stopped) {
+            return;
+        }
+        try {
+            for (SessionDeliveries deliveries : sessions.values()) {
+                if (server.isRegistered(deliveries.session)) {
+                    deliveries.check();
+                } else {
+                    // 종료 처리와 엇갈려 확인이 늦게 도착한 세션
+                    sessions.remove(deliveries.session, deliveries);
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("수신 확인 점검 중 오류 발생", e);
+        } finally {
+            if (!stopped) {
+                timeout = monitor.schedule(this, ackTimeoutMillis);
+            }
+        }
+    }
+
+    /**
+     * 채팅방 하나의 확인 상태
+     */
+    private static final class RoomDelivery {
+        final int chatRoomId;
+        long acked;      // 클라이언트가 확인한 시퀀스
+        long watermark;  // 지난 점검 때 브로드캐스트되어 있던 마지막 시퀀스 (0이면 아직 모름)
+
+        RoomDelivery(int chatRoomId) {
+            this.chatRoomId = chatRoomId;
+        }
+    }
+
+    /**
+     * 세션 하나의 채팅방별 확인 상태 (수신 스레드와 타이머 스레드가 함께 사용)
+     */
+    private final class SessionDeliveries {
+        final ClientSession session;
+        final ReentrantLock lock = new ReentrantLock();
+        final IntObjectHashMap<RoomDelivery> rooms = new IntObjectHashMap<>();
+
+        SessionDeliveries(ClientSession session) {
+            this.session = session;
+        }
+
+        void ack(int chatRoomId, long sequence) {
+            lock.lock();
+            try {
+                RoomDelivery room = rooms.get(chatRoomId);
+                if (room == null) {
+                    room = new RoomDelivery(chatRoomId);
+                    rooms.put(chatRoomId, room);
+                }
+                room.acked = Math.max(room.acked, sequence);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(int chatRoomId) {
+            lock.lock();
+            try {
+                rooms.remove(chatRoomId);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void check() {
+            int memberId = session.getMemberId();
+            // 재전송할 채팅방과 확인된 시퀀스 (전송은 잠금 밖에서)
+            List<long[]> retransmit = null;
+            lock.lock();
+            try {
+                List<RoomDelivery> left = null;
+                for (RoomDelivery room : roomList()) {
+                    if (!server.getRoomMembers().isMember(room.chatRoomId, memberId)) {
+                        if (left == null) {
+                            left = new ArrayList<>();
+                        }
+                        left.add(room);
+                        continue;
+                    }
+                    // 대기열에 프레임이 남아 있으면 아직 전달 중이므로 기다림
+                    if (room.acked < room.watermark && session.getOutboundQueueDepth() == 0) {
+                        if (retransmit == null) {
+                            retransmit = new ArrayList<>();
+                        }
+                        retransmit.add(new long[]{room.chatRoomId, room.acked});
+                    }
+                    room.watermark = server.newestSequence(room.chatRoomId);
+                }
+                if (left != null) {
+                    for (RoomDelivery room : left) {
+                        rooms.remove(room.chatRoomId);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (retransmit != null) {
+                for (long[] room : retransmit) {
+                    retransmits.incrementAndGet();
+                    LOG.debug("수신 확인 없음 - 재전송", "memberId", memberId, "chatRoomId", room[0], "acked", room[1]);
+                    server.retransmit(session, (int) room[0], room[1]);
+                }
+            }
+        }
+
+        private List<RoomDelivery> roomList() {
+            List<RoomDelivery> list = new ArrayList<>(rooms.size());
+            rooms.forEachValue(list::add);
+            return list;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.socket;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 한 번만 인코딩해서 여러 연결이 공유하는 프레임
+ * 브로드캐스트 시 수신자마다 직렬화하지 않고, 본문 형식(WireFormat)별로 처음 요청될 때 한 번만 인코딩합니다.
+ * 인코딩된 바이트는 이후 변경되지 않으므로 여러 스레드가 동시에 읽어도 안전합니다.
+ * - 블로킹 엔진은 frame()의 바이트 배열을 그대로 스트림에 기록
+ * - NIO 엔진은 buffer()로 얻은 읽기 전용 버퍼(같은 바이트 배열을 감쌈)를 채널에 기록 (수신자마다 인코딩하거나 복사하지 않음)
+ *   프레임마다 다이렉트 버퍼를 새로 할당하면 GC가 돌 때까지 해제되지 않아 부하가 높을 때 할당이 멈출 수 있으므로 힙 배열을 그대로 씀
+ *   (채널은 기록할 때 스레드별로 재사용하는 JDK 내부 임시 다이렉트 버퍼로 복사)
+ * 첨부 파일 조각은 인코딩 결과가 헤더까지이고, 본문 끝의 데이터는 data()의 파일 구간을 이어서 기록합니다.
+ * 브로드캐스트 프레임은 아직 기록되지 않은 수신자 수를 세어, 마지막 수신자에게 기록된 시점을 알려줄 수 있습니다(trackDelivery).
+ */
+public final class EncodedFrame {
+    private static final WireFormat[] FORMATS = WireFormat.values();
+    private static final AtomicIntegerFieldUpdater<EncodedFrame> PENDING_WRITES =
+            AtomicIntegerFieldUpdater.newUpdater(EncodedFrame.class, "pendingWrites");
+
+    private final Object payload;
+    private final AtomicReferenceArray<byte[]> encoded = new AtomicReferenceArray<>(FORMATS.length);
+    // 전달 완료 추적 (브로드캐스트 지연 측정용, 추적하지 않는 프레임은 null)
+    private DeliveryListener deliveryListener;
+    private long startNanos;
+    private int fanout;   // 나눠준 수신자 수 (브로드캐스트 스레드만 변경)
+    private volatile int pendingWrites;
+
+    /**
+     * 브로드캐스트 프레임이 모든 수신자에게 기록되었을 때 호출됨
+     */
+    interface DeliveryListener {
+        void onDelivered(long startNanos);
+    }
+
+    public EncodedFrame(Object payload) {
+        this.payload = payload;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+
+    /**
+     * 전달 완료 추적 시작 (수신자에게 나눠주기 전에 호출)
+     * 나눠주는 동안 완료로 판단하지 않도록 finishFanout()까지 한 건을 미리 잡아 둡니다.
+     */
+    void trackDelivery(long startNanos, DeliveryListener listener) {
+        this.startNanos = startNanos;
+        this.deliveryListener = listener;
+        this.pendingWrites = 1;
+    }
+
+    /**
+     * 수신자 하나의 송신 대기열에 넣기 전에 호출
+     */
+    void retainWrite() {
+        if (deliveryListener != null) {
+            fanout++;
+            PENDING_WRITES.incrementAndGet(this);
+        }
+    }
+
+    /**
+     * 수신자 하나에게 기록을 마쳤거나(또는 버렸거나) 호출, 마지막이면 완료 알림
+     */
+    void releaseWrite() {
+        DeliveryListener listener = deliveryListener;
+        if (listener != null && PENDING_WRITES.decrementAndGet(this) == 0) {
+            listener.onDelivered(startNanos);
+        }
+    }
+
+    /**
+     * 수신자에게 모두 나눠줌 - 받을 사람이 없었으면 완료로 기록하지 않음
+     * @return 나눠준 수신자 수
+     */
+    int finishFanout() {
+        if (fanout == 0) {
+            deliveryListener = null;
+            return 0;
+        }
+        int count = fanout;
+        releaseWrite();
+        return count;
+    }
+
+    /**
+     * 지정한 형식의 프레임 바이트 (길이 헤더 포함, 수정 금지)
+     */
+    byte[] frame(WireFormat format) throws IOException {
+        return encoded(format);
+    }
+
+    /**
+     * 지정한 형식의 프레임을 감싼 읽기 전용 버퍼
+     * 바이트 배열은 모든 수신자가 공유하고, 위치(position)는 호출마다 독립적입니다.
+     */
+    ByteBuffer buffer(WireFormat format) throws IOException {
+        return ByteBuffer.wrap(encoded(format)).asReadOnlyBuffer();
+    }
+
+    /**
+     * 프레임 뒤에 이어서 기록할 파일 구간 (첨부 파일 조각이 아니면 null)
+     * frame()/buffer()의 길이 헤더는 이 구간의 길이까지 포함합니다.
+     */
+    ByteBuffer data() {
+        return payload instanceof AttachmentFrame ? ((AttachmentFrame) payload).region() : null;
+    }
+
+    private byte[] encoded(WireFormat format) throws IOException {
+        int index = format.ordinal();
+        byte[] current = encoded.get(index);
+        if (current == null) {
+            // 동시에 요청되면 중복 인코딩될 수 있지만 결과는 같으므로 먼저 저장된 것을 사용
+            encoded.compareAndSet(index, null, format.codec().encode(payload));
+            current = encoded.get(index);
+        }
+        return current;
+    }
+}
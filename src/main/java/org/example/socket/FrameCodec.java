@@ -0,0 +1,117 @@
+package org.example.socket;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+
+/**
+ * 소켓 프레임 유틸리티
+ * 모든 데이터를 [4바이트 길이][본문] 형태의 독립된 프레임으로 주고받습니다.
+ * 프레임 경계가 명확해야 NIO 엔진에서 논블로킹으로 끊어 읽을 수 있습니다.
+ * 본문 형식은 핸드셰이크에서 정해진 WireCodec이 결정하며, 이 클래스의 encode/decode는
+ * 핸드셰이크 이전 및 기존 클라이언트용 Java 직렬화 형식을 사용합니다.
+ */
+public final class FrameCodec {
+    public static final int HEADER_SIZE = 4;
+    public static final int MAX_FRAME_SIZE = 1024 * 1024;
+    // 인증 전 첫 프레임(ClientHello 또는 기존 클라이언트의 Java 직렬화 Integer)의 최대 크기
+    static final int MAX_HANDSHAKE_FRAME_SIZE = 512;
+
+    private FrameCodec() {
+    }
+
+    /**
+     * 객체를 Java 직렬화 프레임으로 인코딩
+     */
+    public static byte[] encode(Object payload) throws IOException {
+        return JavaSerializationCodec.INSTANCE.encode(payload);
+    }
+
+    /**
+     * Java 직렬화 프레임 본문을 객체로 디코딩
+     */
+    public static Object decode(byte[] buffer, int offset, int length) throws IOException, ClassNotFoundException {
+        return JavaSerializationCodec.INSTANCE.decode(buffer, offset, length);
+    }
+
+    /**
+     * 스트림에 Java 직렬화 프레임 하나를 기록
+     */
+    public static void writeFrame(OutputStream out, Object payload) throws IOException {
+        out.write(encode(payload));
+        out.flush();
+    }
+
+    /**
+     * 스트림에서 Java 직렬화 프레임 하나를 읽어 객체로 반환 (블로킹)
+     */
+    public static Object readFrame(DataInputStream in) throws IOException, ClassNotFoundException {
+        return readFrame(in, JavaSerializationCodec.INSTANCE);
+    }
+
+    /**
+     * 스트림에서 프레임 하나를 읽어 지정한 코덱으로 디코딩 (블로킹)
+     */
+    public static Object readFrame(DataInputStream in, WireCodec codec) throws IOException, ClassNotFoundException {
+        byte[] body = readFrameBody(in);
+        return codec.decode(body, 0, body.length);
+    }
+
+    /**
+     * 스트림에서 프레임 본문(길이 헤더 제외)을 그대로 읽음 (블로킹)
+     */
+    public static byte[] readFrameBody(DataInputStream in) throws IOException {
+        return readFrameBody(in, MAX_FRAME_SIZE);
+    }
+
+    /**
+     * 스트림에서 maxLength 이하인 프레임 본문을 읽음 (블로킹, 인증 전 연결용)
+     */
+    static byte[] readFrameBody(DataInputStream in, int maxLength) throws IOException {
+        return readFrameBody(in, in.readInt(), maxLength);
+    }
+
+    /**
+     * 길이 헤더를 이미 읽은 프레임의 본문을 읽음 (블로킹)
+     */
+    static byte[] readFrameBody(DataInputStream in, int length, int maxLength) throws IOException {
+        checkLength(length, maxLength);
+        byte[] body = new byte[length];
+        in.readFully(body);
+        return body;
+    }
+
+    /**
+     * 프레임 앞 4바이트에 본문 길이 기록
+     */
+    static void putLength(byte[] frame) throws IOException {
+        putLength(frame, frame.length - HEADER_SIZE);
+    }
+
+    /**
+     * 프레임 앞 4바이트에 본문 길이 기록 (본문 일부를 배열 밖에서 따로 보내는 프레임용)
+     */
+    static void putLength(byte[] frame, int length) throws IOException {
+        if (length > MAX_FRAME_SIZE) {
+            throw new IOException("프레임 크기 초과: " + length);
+        }
+        frame[0] = (byte) (length >>> 24);
+        frame[1] = (byte) (length >>> 16);
+        frame[2] = (byte) (length >>> 8);
+        frame[3] = (byte) length;
+    }
+
+    /**
+     * 프레임 길이 검증
+     */
+    static void checkLength(int length) throws IOException {
+        checkLength(length, MAX_FRAME_SIZE);
+    }
+
+    static void checkLength(int length, int maxLength) throws IOException {
+        if (length < 0 || length > maxLength) {
+            throw new StreamCorruptedException("잘못된 프레임 길이: " + length);
+        }
+    }
+}
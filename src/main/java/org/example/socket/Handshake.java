@@ -0,0 +1,249 @@
+package org.example.socket;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+
+/**
+ * 연결 핸드셰이크 (본문 형식 협상)
+ * 새 클라이언트는 첫 프레임으로 ClientHello [매직 'N''Y'][버전][지원 형식 비트마스크][사용자 ID varint]를 보내고,
+ * 서버는 ServerAck [매직][버전][수락 여부][선택 형식]으로 응답합니다.
+ * 첫 프레임이 Java 직렬화 Integer인 기존 클라이언트는 예전처럼 Boolean 응답을 받고 Java 형식을 계속 사용합니다.
+ * 두 프레임 모두 끝에 선택 항목을 덧붙일 수 있으며, 이전 버전은 남은 바이트를 읽지 않으므로 버전을 올리지 않습니다.
+ * - ClientHello [기능 비트마스크]: FEATURE_HEARTBEAT면 PING에 PONG으로 응답할 수 있음,
+ *   FEATURE_DELIVERY_ACK면 받은 메시지를 DELIVERY_ACK로 확인할 수 있음, FEATURE_RATE_LIMIT면 RATE_LIMITED 응답을 해석할 수 있음,
+ *   FEATURE_MEMBERSHIP이면 참여자 변경을 전체 목록(UPDATE_MEMBERS) 대신 MEMBERSHIP_CHANGED로 알릴 수 있음,
+ *   FEATURE_ATTACHMENT면 첨부 파일 프레임(AttachmentFrame)을 주고받을 수 있음 (바이너리 형식 연결에서만 사용),
+ *   FEATURE_RECONNECT면 서버 종료 전에 RECONNECT를 받아 스스로 시각을 분산해 재접속할 수 있음
+ * - ServerAck [PING 간격 ms varint][유휴 제한 시간 ms varint][기능 비트마스크]: 생존 확인 값은 서버가 생존 확인을 할 때만,
+ *   기능 비트마스크는 클라이언트가 요청한 기능 중 서버가 사용하는 것이 있을 때만 포함 (이때 생존 확인 값이 없으면 0, 0)
+ */
+final class Handshake {
+    private static final int MAGIC_0 = 'N';
+    private static final int MAGIC_1 = 'Y';
+    private static final int VERSION = 1;
+
+    // 클라이언트 기능 비트
+    static final int FEATURE_HEARTBEAT = 1;
+    static final int FEATURE_DELIVERY_ACK = 2;
+    static final int FEATURE_RATE_LIMIT = 4;
+    static final int FEATURE_MEMBERSHIP = 8;
+    static final int FEATURE_ATTACHMENT = 16;
+    static final int FEATURE_RECONNECT = 32;
+
+    // ObjectOutputStream이 스트림 맨 앞에 쓰는 헤더 (STREAM_MAGIC 0xACED + STREAM_VERSION 5)
+    private static final int JAVA_STREAM_HEADER = 0xACED0005;
+
+    private Handshake() {
+    }
+
+    /**
+     * 첫 4바이트가 길이 헤더가 아니라 ObjectOutputStream 스트림 헤더인지 확인
+     * 프레임 형식 이전의 클라이언트는 소켓을 ObjectOutputStream으로 바로 감싸 이 헤더부터 보냅니다.
+     */
+    static boolean isLegacyObjectStream(int firstWord) {
+        return firstWord == JAVA_STREAM_HEADER;
+    }
+
+    /**
+     * 프레임 본문이 새 형식의 ClientHello인지 확인 (Java 직렬화 본문은 0xACED로 시작)
+     */
+    static boolean isClientHello(byte[] body, int offset, int length) {
+        return length >= 3 && body[offset] == MAGIC_0 && body[offset + 1] == MAGIC_1;
+    }
+
+    static byte[] encodeClientHello(int memberId, int supportedFormats) throws IOException {
+        return encodeClientHello(memberId, supportedFormats, 0);
+    }
+
+    static byte[] encodeClientHello(int memberId, int supportedFormats, int features) throws IOException {
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeByte(MAGIC_0);
+        writer.writeByte(MAGIC_1);
+        writer.writeByte(VERSION);
+        writer.writeByte(supportedFormats);
+        writer.writeVarInt(memberId);
+        if (features != 0) {
+            writer.writeByte(features);
+        }
+        return writer.toFrame();
+    }
+
+    static ClientHello decodeClientHello(byte[] body, int offset, int length) throws IOException {
+        BinaryReader reader = readHeader(body, offset, length);
+        int supportedFormats = reader.readByte();
+        int memberId = reader.readVarInt();
+        int features = reader.remaining() > 0 ? reader.readByte() : 0;
+        return new ClientHello(memberId, supportedFormats, features);
+    }
+
+    static byte[] encodeServerAck(boolean accepted, WireFormat format) throws IOException {
+        return encodeServerAck(accepted, format, 0, 0);
+    }
+
+    /**
+     * @param heartbeatIntervalMillis 서버가 PING을 보내는 간격, 0이면 생략 (클라이언트가 생존 확인을 하지 않음)
+     */
+    static byte[] encodeServerAck(boolean accepted, WireFormat format, int heartbeatIntervalMillis,
+                                  int idleTimeoutMillis) throws IOException {
+        return encodeServerAck(accepted, format, heartbeatIntervalMillis, idleTimeoutMillis, 0);
+    }
+
+    /**
+     * @param features 서버가 사용하기로 한 기능 비트 (클라이언트가 ClientHello로 요청한 것 중에서)
+     */
+    static byte[] encodeServerAck(boolean accepted, WireFormat format, int heartbeatIntervalMillis,
+                                  int idleTimeoutMillis, int features) throws IOException {
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeByte(MAGIC_0);
+        writer.writeByte(MAGIC_1);
+        writer.writeByte(VERSION);
+        writer.writeByte(accepted ? 1 : 0);
+        writer.writeByte(format.getMask());
+        if (heartbeatIntervalMillis > 0 || features != 0) {
+            writer.writeVarInt(Math.max(0, heartbeatIntervalMillis));
+            writer.writeVarInt(heartbeatIntervalMillis > 0 ? idleTimeoutMillis : 0);
+        }
+        if (features != 0) {
+            writer.writeByte(features);
+        }
+        return writer.toFrame();
+    }
+
+    static ServerAck decodeServerAck(byte[] body, int offset, int length) throws IOException {
+        BinaryReader reader = readHeader(body, offset, length);
+        boolean accepted = reader.readByte() == 1;
+        WireFormat format = WireFormat.fromMask(reader.readByte());
+        if (format == null) {
+            throw new StreamCorruptedException("알 수 없는 본문 형식");
+        }
+        int heartbeatIntervalMillis = 0;
+        int idleTimeoutMillis = 0;
+        int features = 0;
+        if (reader.remaining() > 0) {
+            heartbeatIntervalMillis = reader.readVarInt();
+            idleTimeoutMillis = reader.readVarInt();
+        }
+        if (reader.remaining() > 0) {
+            features = reader.readByte();
+        }
+        return new ServerAck(accepted, format, heartbeatIntervalMillis, idleTimeoutMillis, features);
+    }
+
+    private static BinaryReader readHeader(byte[] body, int offset, int length) throws IOException {
+        if (!isClientHello(body, offset, length)) {
+            throw new StreamCorruptedException("핸드셰이크 프레임이 아닙니다");
+        }
+        BinaryReader reader = new BinaryReader(body, offset + 2, length - 2);
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("지원하지 않는 핸드셰이크 버전: " + version);
+        }
+        return reader;
+    }
+
+    /**
+     * 클라이언트 인사 프레임
+     */
+    static final class ClientHello {
+        final int memberId;
+        final int supportedFormats;
+        final int features;
+
+        ClientHello(int memberId, int supportedFormats, int features) {
+            this.memberId = memberId;
+            this.supportedFormats = supportedFormats;
+            this.features = features;
+        }
+
+        boolean supports(WireFormat format) {
+            return (supportedFormats & format.getMask()) != 0;
+        }
+
+        boolean supportsHeartbeat() {
+            return (features & FEATURE_HEARTBEAT) != 0;
+        }
+
+        boolean supportsDeliveryAck() {
+            return (features & FEATURE_DELIVERY_ACK) != 0;
+        }
+
+        boolean supportsRateLimit() {
+            return (features & FEATURE_RATE_LIMIT) != 0;
+        }
+
+        boolean supportsMembership() {
+            return (features & FEATURE_MEMBERSHIP) != 0;
+        }
+
+        boolean supportsAttachment() {
+            return (features & FEATURE_ATTACHMENT) != 0;
+        }
+
+        boolean supportsReconnect() {
+            return (features & FEATURE_RECONNECT) != 0;
+        }
+    }
+
+    /**
+     * 서버 응답 프레임
+     */
+    static final class ServerAck {
+        final boolean accepted;
+        final WireFormat format;
+        final int heartbeatIntervalMillis;  // 0이면 서버가 생존 확인을 하지 않음
+        final int idleTimeoutMillis;
+        final int features;                 // 서버가 사용하기로 한 기능 비트
+
+        ServerAck(boolean accepted, WireFormat format, int heartbeatIntervalMillis, int idleTimeoutMillis,
+                  int features) {
+            this.accepted = accepted;
+            this.format = format;
+            this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+            this.idleTimeoutMillis = idleTimeoutMillis;
+            this.features = features;
+        }
+
+        boolean deliveryAck() {
+            return (features & FEATURE_DELIVERY_ACK) != 0;
+        }
+
+        boolean rateLimit() {
+            return (features & FEATURE_RATE_LIMIT) != 0;
+        }
+
+        boolean membership() {
+            return (features & FEATURE_MEMBERSHIP) != 0;
+        }
+
+        boolean attachment() {
+            return (features & FEATURE_ATTACHMENT) != 0;
+        }
+
+        boolean reconnect() {
+            return (features & FEATURE_RECONNECT) != 0;
+        }
+    }
+
+    /**
+     * 서버 측 핸드셰이크 처리 결과
+     */
+    static final class Result {
+        final Integer memberId;        // 인증 실패 시 null
+        final WireCodec codec;         // 이후 프레임에 사용할 코덱
+        final byte[] response;         // 클라이언트에 보낼 응답 프레임
+        final boolean heartbeat;       // 클라이언트가 PING/PONG을 지원하는지 여부
+        final int features;            // 서버가 이 연결에 사용하기로 한 기능 비트
+
+        Result(Integer memberId, WireCodec codec, byte[] response, boolean heartbeat) {
+            this(memberId, codec, response, heartbeat, 0);
+        }
+
+        Result(Integer memberId, WireCodec codec, byte[] response, boolean heartbeat, int features) {
+            this.memberId = memberId;
+            this.codec = codec;
+            this.response = response;
+            this.heartbeat = heartbeat;
+            this.features = features;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 해시 타이밍 휠
+ * 정해진 간격(tick)마다 휠의 칸 하나를 확인해 만료된 작업만 실행합니다.
+ * 작업 등록과 취소는 O(1)이고, tick마다 확인하는 작업은 그 칸에 들어 있는 것뿐이므로
+ * 연결이 10만 개여도 연결마다 스레드나 ScheduledFuture를 두지 않고 하나의 스레드로 처리할 수 있습니다.
+ * 실행 시점은 tick 단위로 반올림되므로 초 단위 타임아웃처럼 정밀도가 중요하지 않은 곳에 사용합니다.
+ * 만료된 작업은 타이머 스레드에서 실행되므로 오래 걸리는 일은 다른 스레드로 넘겨야 합니다.
+ */
+final class HashedWheelTimer {
+    private static final Logger LOG = LogManager.getLogger(HashedWheelTimer.class);
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    // 다른 스레드에서 등록한 작업 (타이머 스레드가 tick마다 휠로 옮김)
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private volatile boolean running;
+    // tick마다 갱신되는 대략적인 현재 시각 (System.nanoTime 기준)
+    private volatile long now = System.nanoTime();
+    private long startNanos;
+    private long tick;
+
+    /**
+     * @param tickMillis 휠 한 칸의 시간 간격
+     * @param wheelSize 휠 칸 수 (2의 거듭제곱으로 올림)
+     */
+    HashedWheelTimer(String name, long tickMillis, int wheelSize) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tick 간격은 0보다 커야 합니다: " + tickMillis);
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int size = Integer.highestOneBit(Math.max(2, wheelSize) * 2 - 1);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    void start() {
+        running = true;
+        worker.start();
+    }
+
+    void stop() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pendingTimeouts.clear();
+    }
+
+    /**
+     * 작업 예약
+     * @param delayMillis 실행까지 기다릴 시간 (tick 단위로 올림)
+     * @return 취소용 핸들
+     */
+    Timeout schedule(Runnable task, long delayMillis) {
+        Timeout timeout = new Timeout(task, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis)));
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 마지막 tick 시각 (System.nanoTime 기준, 최대 tick 간격만큼 늦음)
+     * 프레임마다 호출해도 부담이 없도록 시계를 읽지 않고 저장된 값을 돌려줍니다.
+     */
+    long now() {
+        return now;
+    }
+
+    private void run() {
+        startNanos = System.nanoTime();
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long current;
+            while ((current = System.nanoTime()) < deadline) {
+                LockSupport.parkNanos(deadline - current);
+                if (!running) {
+                    return;
+                }
+            }
+            now = current;
+            transferPending();
+            expire(wheel[(int) (tick & mask)], current);
+            tick++;
+        }
+    }
+
+    /**
+     * 새로 등록된 작업을 만료 시각에 해당하는 칸에 배치
+     */
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.state != Timeout.ST_INIT) {
+                continue;
+            }
+            long ticks = Math.max(tick, (timeout.deadline - startNanos + tickNanos - 1) / tickNanos);
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Bucket bucket, long current) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.state != Timeout.ST_INIT) {
+                // 취소된 작업은 칸을 지날 때 정리
+                bucket.remove(timeout);
+            } else if (timeout.remainingRounds <= 0 && timeout.deadline <= current) {
+                bucket.remove(timeout);
+                timeout.expire();
+            } else if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * 예약된 작업 핸들
+     * 휠 안의 연결 리스트 포인터는 타이머 스레드만 변경합니다.
+     */
+    static final class Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = ST_INIT;
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 작업 취소 (이미 실행되었으면 false)
+         */
+        boolean cancel() {
+            return STATE.compareAndSet(this, ST_INIT, ST_CANCELLED);
+        }
+
+        boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.error("타이머 작업 실행 중 오류", e);
+            }
+        }
+    }
+
+    /**
+     * 휠 한 칸 (이중 연결 리스트)
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            if (tail == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.socket;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메모리 기반 보류 전송 저장소
+ * 사용자별 보관 개수에 상한을 두고, 넘치면 가장 오래된 항목부터 버립니다.
+ */
+public class InMemoryPendingDeliveryStore implements PendingDeliveryStore {
+    private static final int DEFAULT_MAX_PER_MEMBER = 10_000;
+
+    private final Map<Integer, ArrayDeque<Object>> pending = new ConcurrentHashMap<>();
+    private final int maxPerMember;
+    private final AtomicLong discardedCount = new AtomicLong();
+
+    public InMemoryPendingDeliveryStore() {
+        this(DEFAULT_MAX_PER_MEMBER);
+    }
+
+    public InMemoryPendingDeliveryStore(int maxPerMember) {
+        this.maxPerMember = maxPerMember;
+    }
+
+    @Override
+    public void store(int memberId, Object payload) {
+        pending.compute(memberId, (id, queue) -> {
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+            }
+            if (queue.size() >= maxPerMember) {
+                queue.poll();
+                discardedCount.incrementAndGet();
+            }
+            queue.add(payload);
+            return queue;
+        });
+    }
+
+    @Override
+    public List<Object> poll(int memberId, int maxCount) {
+        List<Object> polled = new ArrayList<>();
+        pending.computeIfPresent(memberId, (id, queue) -> {
+            while (polled.size() < maxCount && !queue.isEmpty()) {
+                polled.add(queue.poll());
+            }
+            return queue.isEmpty() ? null : queue;
+        });
+        return polled.isEmpty() ? Collections.emptyList() : polled;
+    }
+
+    @Override
+    public boolean hasPending(int memberId) {
+        return pending.containsKey(memberId);
+    }
+
+    /**
+     * 보관 한도를 넘어 버려진 항목 수
+     */
+    public long getDiscardedCount() {
+        return discardedCount.get();
+    }
+}
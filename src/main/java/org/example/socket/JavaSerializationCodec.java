@@ -0,0 +1,43 @@
+package org.example.socket;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Java 직렬화 코덱 (기존 형식)
+ * 프레임마다 독립된 ObjectOutputStream을 사용하므로 클래스 기술자가 매번 포함됩니다.
+ */
+public final class JavaSerializationCodec implements WireCodec {
+    public static final JavaSerializationCodec INSTANCE = new JavaSerializationCodec();
+
+    private JavaSerializationCodec() {
+    }
+
+    @Override
+    public WireFormat getFormat() {
+        return WireFormat.JAVA;
+    }
+
+    @Override
+    public byte[] encode(Object payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        bytes.write(new byte[FrameCodec.HEADER_SIZE]); // 길이 자리 확보
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(payload);
+        }
+
+        byte[] frame = bytes.toByteArray();
+        FrameCodec.putLength(frame);
+        return frame;
+    }
+
+    @Override
+    public Object decode(byte[] buffer, int offset, int length) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(buffer, offset, length))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+
+/**
+ * 부하 생성기 설정
+ * 실행 인자(--key=value)로 지정하며, 서버 설정(ChatServerConfig)과 겹치지 않는 키만 읽습니다.
+ * 내장 서버 모드에서는 같은 실행 인자로 서버 설정도 만들므로 --server-engine=nio 등을 함께 넘길 수 있습니다.
+ */
+public class LoadTestConfig {
+    private static final Logger LOG = LogManager.getLogger(LoadTestConfig.class);
+
+    private boolean embeddedServer = true;
+    private String host = "localhost";
+    private int port = 9000;
+    private int members = 1000;
+    private int memberIdStart = 1_000_000;
+    private int rooms = 300;
+    private int roomIdStart = 1_000_000;
+    private String roomSizes = "2:80,8:15,500:5";
+    private int rate = 1000;
+    private int durationSeconds = 30;
+    private int warmupSeconds = 5;
+    private int drainSeconds = 5;
+    private int messageSize = 64;
+    private int senderThreads = 2;
+    private boolean virtualThreads = false;
+    private WireFormat wireFormat = WireFormat.BINARY;
+    private long seed = 42;
+    private String reportFile = "loadtest-report.txt";
+
+    /**
+     * 실행 인자 기반 설정 생성
+     * 예: --members=5000 --rooms=1000 --room-sizes=2:80,8:15,500:5 --rate=2000
+     *     --duration=60 --warmup=10 --drain=5 --message-size=64 --sender-threads=4
+     *     --embedded-server=false --target-host=10.0.0.1 --target-port=9000
+     *     --member-id-start=1000000 --room-id-start=1000000 --seed=42 --report=loadtest-report.txt
+     */
+    public static LoadTestConfig fromArguments(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                continue;
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+
+            try {
+                switch (key) {
+                    case "embedded-server":
+                        config.embeddedServer = Boolean.parseBoolean(value);
+                        break;
+                    case "target-host":
+                        config.host = value;
+                        break;
+                    case "target-port":
+                        config.port = Integer.parseInt(value);
+                        break;
+                    case "members":
+                        config.members = Integer.parseInt(value);
+                        break;
+                    case "member-id-start":
+                        config.memberIdStart = Integer.parseInt(value);
+                        break;
+                    case "rooms":
+                        config.rooms = Integer.parseInt(value);
+                        break;
+                    case "room-id-start":
+                        config.roomIdStart = Integer.parseInt(value);
+                        break;
+                    case "room-sizes":
+                        RoomSizeDistribution.parse(value);
+                        config.roomSizes = value;
+                        break;
+                    case "rate":
+                        config.rate = Integer.parseInt(value);
+                        break;
+                    case "duration":
+                        config.durationSeconds = Integer.parseInt(value);
+                        break;
+                    case "warmup":
+                        config.warmupSeconds = Integer.parseInt(value);
+                        break;
+                    case "drain":
+                        config.drainSeconds = Integer.parseInt(value);
+                        break;
+                    case "message-size":
+                        config.messageSize = Integer.parseInt(value);
+                        break;
+                    case "sender-threads":
+                        config.senderThreads = Integer.parseInt(value);
+                        break;
+                    case "virtual-threads":
+                        config.virtualThreads = Boolean.parseBoolean(value);
+                        break;
+                    case "wire-format":
+                        config.wireFormat = WireFormat.valueOf(value.toUpperCase().replace('-', '_'));
+                        break;
+                    case "seed":
+                        config.seed = Long.parseLong(value);
+                        break;
+                    case "report":
+                        config.reportFile = value;
+                        break;
+                    default:
+                        // 서버 설정 등 부하 생성기와 무관한 인자는 무시
+                        break;
+                }
+            } catch (IllegalArgumentException e) {
+                LOG.warn("잘못된 부하 테스트 설정값 무시", "key", key, "value", value);
+            }
+        }
+        return config;
+    }
+
+    // Getter 및 Setter 메서드
+    public boolean isEmbeddedServer() {
+        return embeddedServer;
+    }
+
+    /**
+     * @param embeddedServer true면 같은 프로세스에 H2 인메모리 DB를 쓰는 서버를 띄워 측정
+     */
+    public void setEmbeddedServer(boolean embeddedServer) {
+        this.embeddedServer = embeddedServer;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public int getMembers() {
+        return members;
+    }
+
+    public void setMembers(int members) {
+        this.members = members;
+    }
+
+    public int getMemberIdStart() {
+        return memberIdStart;
+    }
+
+    public void setMemberIdStart(int memberIdStart) {
+        this.memberIdStart = memberIdStart;
+    }
+
+    public int getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(int rooms) {
+        this.rooms = rooms;
+    }
+
+    public int getRoomIdStart() {
+        return roomIdStart;
+    }
+
+    public void setRoomIdStart(int roomIdStart) {
+        this.roomIdStart = roomIdStart;
+    }
+
+    public String getRoomSizes() {
+        return roomSizes;
+    }
+
+    /**
+     * @param roomSizes "인원:가중치" 목록, 예: 2:80,8:15,500:5 (1:1 대화 80%, 8명 15%, 500명 5%)
+     */
+    public void setRoomSizes(String roomSizes) {
+        RoomSizeDistribution.parse(roomSizes);
+        this.roomSizes = roomSizes;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    /**
+     * @param rate 초당 전송할 메시지 수 (전체 합계)
+     */
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    /**
+     * @param warmupSeconds 측정 전에 같은 속도로 보내되 결과에서 제외하는 시간 (JIT, 최근 메시지 버퍼 준비)
+     */
+    public void setWarmupSeconds(int warmupSeconds) {
+        this.warmupSeconds = warmupSeconds;
+    }
+
+    public int getDrainSeconds() {
+        return drainSeconds;
+    }
+
+    /**
+     * @param drainSeconds 전송을 멈춘 뒤 남은 메시지 수신을 기다리는 최대 시간
+     */
+    public void setDrainSeconds(int drainSeconds) {
+        this.drainSeconds = drainSeconds;
+    }
+
+    public int getMessageSize() {
+        return messageSize;
+    }
+
+    public void setMessageSize(int messageSize) {
+        this.messageSize = messageSize;
+    }
+
+    public int getSenderThreads() {
+        return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * @param virtualThreads 시뮬레이션 사용자의 수신 루프를 가상 스레드로 실행 (Java 21 이상)
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    public void setWireFormat(WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public String getReportFile() {
+        return reportFile;
+    }
+
+    /**
+     * @param reportFile 보고서 파일 경로 (비어 있으면 로그에만 출력)
+     */
+    public void setReportFile(String reportFile) {
+        this.reportFile = reportFile;
+    }
+
+    @Override
+    public String toString() {
+        return "members=" + members + ", rooms=" + rooms + ", roomSizes=" + roomSizes +
+                ", rate=" + rate + "/s, duration=" + durationSeconds + "s, warmup=" + warmupSeconds +
+                "s, messageSize=" + messageSize + ", senderThreads=" + senderThreads +
+                ", wireFormat=" + wireFormat + ", seed=" + seed +
+                (embeddedServer ? ", embeddedServer" : ", target=" + host + ":" + port);
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.socket;
+
+import org.example.metrics.Histogram;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 테스트 집계 및 보고서
+ * 송신 스레드와 시뮬레이션 사용자의 수신 루프가 동시에 기록하므로 카운터는 LongAdder, 지연 분포는 Histogram을 사용합니다.
+ * 전송 예정 시각이 측정 구간(준비 시간 이후 ~ 전송 종료) 안에 있는 메시지만 지연 분포와 처리량에 포함합니다.
+ */
+final class LoadTestResult {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    final LongAdder connectFailures = new LongAdder();
+    final LongAdder joined = new LongAdder();
+    final LongAdder sent = new LongAdder();
+    final LongAdder sendFailures = new LongAdder();
+    final LongAdder measuredSent = new LongAdder();
+    final LongAdder expectedDeliveries = new LongAdder();
+    final LongAdder measuredDeliveries = new LongAdder();
+    final LongAdder deliveries = new LongAdder();
+    final LongAdder acked = new LongAdder();
+    final LongAdder ackFailures = new LongAdder();
+    final LongAdder pings = new LongAdder();
+    final LongAdder disconnects = new LongAdder();
+    final Histogram latency = new Histogram();
+
+    // 측정 구간 (System.nanoTime 기준, 시작 전에는 비어 있음)
+    private volatile long measureStartNanos = Long.MAX_VALUE;
+    private volatile long measureEndNanos = Long.MAX_VALUE;
+    private volatile long lateSendNanos;
+
+    private Map<Integer, Integer> roomSizeCounts;
+    private int connected;
+    private int memberships;
+
+    void setMeasureWindow(long startNanos, long endNanos) {
+        this.measureStartNanos = startNanos;
+        this.measureEndNanos = endNanos;
+    }
+
+    boolean inMeasureWindow(long intendedNanos) {
+        return intendedNanos >= measureStartNanos && intendedNanos < measureEndNanos;
+    }
+
+    /**
+     * 메시지 수신 기록
+     * @param intendedNanos 보내기로 예정했던 시각 (실제 전송이 밀렸어도 예정 시각 기준으로 지연을 잽니다)
+     */
+    void recordDelivery(long intendedNanos, long receivedNanos) {
+        deliveries.increment();
+        if (inMeasureWindow(intendedNanos)) {
+            measuredDeliveries.increment();
+            latency.record(receivedNanos - intendedNanos);
+        }
+    }
+
+    /**
+     * 송신 스레드가 예정 시각보다 늦게 보낸 시간 중 가장 큰 값 기록 (생성기 자체가 병목인지 판단용)
+     */
+    void recordSendLag(long lagNanos) {
+        if (lagNanos > lateSendNanos) {
+            lateSendNanos = lagNanos;
+        }
+    }
+
+    void setTopology(Map<Integer, Integer> roomSizeCounts, int connected, int memberships) {
+        this.roomSizeCounts = roomSizeCounts;
+        this.connected = connected;
+        this.memberships = memberships;
+    }
+
+    long getExpectedDeliveries() {
+        return expectedDeliveries.sum();
+    }
+
+    long getMeasuredDeliveries() {
+        return measuredDeliveries.sum();
+    }
+
+    /**
+     * 텍스트 보고서 작성
+     * @param measuredSeconds 측정 구간 길이 (초)
+     */
+    String toReport(LoadTestConfig config, String target, double measuredSeconds) {
+        long expected = expectedDeliveries.sum();
+        long measured = measuredDeliveries.sum();
+        StringBuilder report = new StringBuilder(1024);
+        report.append("=== 채팅 서버 부하 테스트 보고서 ===\n");
+        line(report, "대상", target);
+        line(report, "설정", config.toString());
+        line(report, "연결", connected + " / " + config.getMembers() + " (실패 " + connectFailures.sum() + ")");
+        line(report, "채팅방 참여", joined.sum() + " / " + memberships);
+        if (roomSizeCounts != null) {
+            StringBuilder rooms = new StringBuilder();
+            for (Map.Entry<Integer, Integer> entry : roomSizeCounts.entrySet()) {
+                if (rooms.length() > 0) {
+                    rooms.append(", ");
+                }
+                rooms.append(entry.getKey()).append("명 x").append(entry.getValue());
+            }
+            line(report, "채팅방 구성", rooms.toString());
+        }
+
+        report.append("--- 전송 ---\n");
+        line(report, "전송", sent.sum() + " (측정 구간 " + measuredSent.sum() + ", 실패 " + sendFailures.sum() + ")");
+        line(report, "저장 확인", acked.sum() + " (실패 " + ackFailures.sum() + ")");
+        line(report, "송신 최대 지연", format("%.2f ms", lateSendNanos / NANOS_PER_MILLI));
+
+        report.append("--- 수신 (측정 구간) ---\n");
+        line(report, "예상 수신", Long.toString(expected));
+        line(report, "실제 수신", measured + format(" (%.2f%%)", expected > 0 ? measured * 100.0 / expected : 0.0));
+        line(report, "전체 수신", Long.toString(deliveries.sum()));
+        if (measuredSeconds > 0) {
+            line(report, "처리량", format("%.1f msg/s 전송, %.1f msg/s 수신",
+                    measuredSent.sum() / measuredSeconds, measured / measuredSeconds));
+        }
+
+        report.append("--- 전송 예정 시각 -> 수신 지연 (ms) ---\n");
+        line(report, "p50", millis(latency.getPercentile(0.50)));
+        line(report, "p90", millis(latency.getPercentile(0.90)));
+        line(report, "p99", millis(latency.getPercentile(0.99)));
+        line(report, "p99.9", millis(latency.getPercentile(0.999)));
+        line(report, "max", millis(latency.getMax()));
+        line(report, "평균", millis(latency.getCount() > 0 ? latency.getSum() / latency.getCount() : 0));
+
+        report.append("--- 기타 ---\n");
+        line(report, "PING 응답", Long.toString(pings.sum()));
+        line(report, "연결 끊김", Long.toString(disconnects.sum()));
+        return report.toString();
+    }
+
+    private static void line(StringBuilder report, String label, String value) {
+        report.append(label).append(": ").append(value).append('\n');
+    }
+
+    private static String millis(long nanos) {
+        return format("%.3f", nanos / NANOS_PER_MILLI);
+    }
+
+    private static String format(String pattern, Object... args) {
+        return String.format(Locale.ROOT, pattern, args);
+    }
+}
@@ -0,0 +1,257 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+import org.example.utils.IntHashSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * DB 기준 채팅방 참여자 목록
+ * 채팅방을 처음 쓸 때 저장소에서 참여자를 한 번 읽어 브로드캐스트 레지스트리를 채우고, 이후에는 변경 알림을 받은 사용자만
+ * 저장소에서 다시 확인해 반영합니다. 클라이언트가 보낸 참여자 목록은 쓰지 않습니다.
+ *
+ * 입장/퇴장/브로드캐스트처럼 참여자에 따라 결과가 달라지는 작업은 run()으로 실행합니다.
+ * 채팅방을 아직 읽지 않았으면 조회 스레드에서 읽는 동안 작업을 받은 순서대로 모아 두었다가 읽은 뒤 실행하므로,
+ * 이벤트 루프는 DB를 기다리지 않고 같은 채팅방의 작업 순서(입장 후 첫 메시지 등)도 바뀌지 않습니다.
+ * 연결이 끊겨 레지스트리에서 빠진 사용자도 여기에는 남아 있어, 다시 접속해 입장할 때 DB를 조회하지 않습니다.
+ * 변경 알림은 채팅방마다 확인할 사용자 집합에 모아 두고 조회 작업은 하나만 실행하므로,
+ * 알림이 몰려도 같은 사용자를 여러 번 조회하거나 조회 작업이 쌓이지 않습니다.
+ */
+final class MembershipDirectory {
+    private static final Logger LOG = LogManager.getLogger(MembershipDirectory.class);
+    private static final int[] EMPTY = new int[0];
+    // 채팅방별로 확인을 기다리는 최대 사용자 수 (넘는 알림은 버림)
+    private static final int MAX_PENDING_RECHECKS = 1024;
+
+    private final ChatSocketServer server;
+    private final MembershipStore store;
+    private final Executor executor;
+    private final Map<Integer, Room> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * 채팅방별 참여자와 읽기 상태
+     */
+    private static final class Room {
+        final ReentrantLock lock = new ReentrantLock();
+        // 읽기를 마치고 쌓인 작업도 모두 실행했으면 true (이후 작업은 호출한 스레드에서 바로 실행)
+        volatile boolean ready;
+        // 정렬된 참여자 ID (바꿀 때마다 새 배열)
+        volatile int[] members = EMPTY;
+        // 아래는 lock으로 보호
+        boolean loading;
+        final List<Runnable> waiting = new ArrayList<>();
+        // 변경 알림을 받았지만 아직 확인하지 않은 사용자
+        final IntHashSet dirty = new IntHashSet();
+        // 변경 확인 작업이 예약되었거나 실행 중 (채팅방마다 하나만 - 늦게 조회한 결과가 먼저 조회한 결과를 덮어쓰지 않도록)
+        boolean rechecking;
+    }
+
+    MembershipDirectory(ChatSocketServer server, MembershipStore store, Executor executor) {
+        this.server = server;
+        this.store = store;
+        this.executor = executor;
+    }
+
+    /**
+     * 채팅방 참여자를 읽은 뒤 작업 실행
+     * 이미 읽은 채팅방이면 호출한 스레드에서 바로 실행하고, 아니면 읽기가 끝난 뒤 조회 스레드에서 받은 순서대로 실행합니다.
+     */
+    void run(int chatRoomId, Runnable action) {
+        Room room = rooms.computeIfAbsent(chatRoomId, id -> new Room());
+        if (room.ready || !enqueue(chatRoomId, room, action)) {
+            action.run();
+        }
+    }
+
+    /**
+     * run()과 같지만, 이미 읽은 채팅방이면 작업 객체를 만들지 않음 (브로드캐스트용)
+     */
+    <T> void run(int chatRoomId, Consumer<T> action, T argument) {
+        Room room = rooms.computeIfAbsent(chatRoomId, id -> new Room());
+        if (room.ready || !enqueue(chatRoomId, room, () -> action.accept(argument))) {
+            action.accept(argument);
+        }
+    }
+
+    /**
+     * 사용자가 채팅방 참여자인지 여부 (run()으로 실행하는 작업 안에서 호출)
+     */
+    boolean isMember(int chatRoomId, int memberId) {
+        Room room = rooms.get(chatRoomId);
+        return room != null && Arrays.binarySearch(room.members, memberId) >= 0;
+    }
+
+    /**
+     * 참여자 변경 알림 처리 - 알린 사용자만 저장소에서 다시 확인해 레지스트리에 반영
+     * 확인할 사용자를 채팅방의 집합에 더하고, 확인 작업이 없을 때만 새로 예약합니다.
+     * 아직 읽지 않은 채팅방은 처음 쓸 때 DB에서 읽으므로 무시합니다.
+     */
+    void recheck(int chatRoomId, int[] memberIds) {
+        Room room = rooms.get(chatRoomId);
+        if (room == null || memberIds.length == 0) {
+            return;
+        }
+        room.lock.lock();
+        try {
+            for (int memberId : memberIds) {
+                if (room.dirty.size() >= MAX_PENDING_RECHECKS) {
+                    LOG.warn("확인을 기다리는 참여자 변경이 너무 많아 버립니다", "chatRoomId", chatRoomId);
+                    break;
+                }
+                room.dirty.add(memberId);
+            }
+            if (room.rechecking) {
+                return;
+            }
+            room.rechecking = true;
+        } finally {
+            room.lock.unlock();
+        }
+        Runnable check = () -> applyChanges(chatRoomId, room);
+        if (!room.ready && enqueue(chatRoomId, room, check)) {
+            return;
+        }
+        try {
+            executor.execute(check);
+        } catch (RejectedExecutionException e) {
+            // 서버 종료 중
+        }
+    }
+
+    void clear() {
+        rooms.clear();
+    }
+
+    /**
+     * 읽기가 끝나지 않은 채팅방이면 작업을 대기 목록에 넣고, 읽는 중이 아니면 읽기 시작
+     * @return 이미 준비된 채팅방이면 false (호출한 쪽에서 바로 실행)
+     */
+    private boolean enqueue(int chatRoomId, Room room, Runnable action) {
+        boolean load;
+        room.lock.lock();
+        try {
+            if (room.ready) {
+                return false;
+            }
+            room.waiting.add(action);
+            load = !room.loading;
+            room.loading = true;
+        } finally {
+            room.lock.unlock();
+        }
+        if (load) {
+            try {
+                executor.execute(() -> load(chatRoomId, room));
+            } catch (RejectedExecutionException e) {
+                // 서버 종료 중 - 대기 중인 작업은 버림
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 채팅방 참여자를 읽고 대기 중인 작업 실행 (조회 스레드)
+     * 읽기에 실패하면 대기 중인 작업은 참여자 없이 실행하고(입장 거부), 다음 작업 때 다시 읽습니다.
+     */
+    private void load(int chatRoomId, Room room) {
+        boolean loaded = false;
+        try {
+            int[] memberIds = store.loadMemberIds(chatRoomId).clone();
+            Arrays.sort(memberIds);
+            room.members = memberIds;
+            server.getRoomMembers().replaceMembers(chatRoomId, memberIds);
+            server.refreshClusterInterest(chatRoomId);
+            loaded = true;
+            LOG.debug("채팅방 참여자 조회 완료", "chatRoomId", chatRoomId, "count", memberIds.length);
+        } catch (Exception e) {
+            LOG.warn("채팅방 참여자 조회 중 오류 발생", "chatRoomId", chatRoomId, e);
+        }
+
+        // 읽는 동안 쌓인 작업을 순서대로 실행하고, 대기 목록이 빈 것을 확인한 뒤에 준비 완료로 표시
+        while (true) {
+            List<Runnable> batch;
+            room.lock.lock();
+            try {
+                if (room.waiting.isEmpty()) {
+                    room.ready = loaded;
+                    room.loading = false;
+                    if (loaded && room.members.length == 0) {
+                        // 없는 채팅방은 보관하지 않음 (임의의 채팅방 ID로 입장을 반복해도 메모리가 늘지 않도록)
+                        rooms.remove(chatRoomId, room);
+                    }
+                    return;
+                }
+                batch = new ArrayList<>(room.waiting);
+                room.waiting.clear();
+            } finally {
+                room.lock.unlock();
+            }
+            for (Runnable action : batch) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    LOG.warn("채팅방 대기 작업 실행 중 오류 발생", "chatRoomId", chatRoomId, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 변경 알림을 받은 사용자를 저장소에서 확인해 반영 (조회 스레드)
+     * 확인하는 동안 들어온 알림도 이어서 처리하고, 확인할 사용자가 없으면 종료합니다.
+     */
+    private void applyChanges(int chatRoomId, Room room) {
+        while (true) {
+            int[] memberIds;
+            room.lock.lock();
+            try {
+                if (room.dirty.isEmpty()) {
+                    room.rechecking = false;
+                    return;
+                }
+                memberIds = room.dirty.toArray();
+                room.dirty.clear();
+            } finally {
+                room.lock.unlock();
+            }
+            for (int memberId : memberIds) {
+                boolean member;
+                try {
+                    member = store.isMember(chatRoomId, memberId);
+                } catch (Exception e) {
+                    LOG.warn("채팅방 참여 여부 확인 중 오류 발생", "chatRoomId", chatRoomId, "memberId", memberId, e);
+                    continue;
+                }
+                int[] current = room.members;
+                int index = Arrays.binarySearch(current, memberId);
+                if (member == (index >= 0)) {
+                    continue;
+                }
+                if (member) {
+                    int insertAt = -index - 1;
+                    int[] next = new int[current.length + 1];
+                    System.arraycopy(current, 0, next, 0, insertAt);
+                    next[insertAt] = memberId;
+                    System.arraycopy(current, insertAt, next, insertAt + 1, current.length - insertAt);
+                    room.members = next;
+                    server.notifyChatRoomJoin(chatRoomId, memberId);
+                } else {
+                    int[] next = new int[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, index);
+                    System.arraycopy(current, index + 1, next, index, next.length - index);
+                    room.members = next;
+                    server.notifyChatRoomLeave(chatRoomId, memberId);
+                }
+            }
+        }
+    }
+}
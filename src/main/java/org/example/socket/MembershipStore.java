@@ -0,0 +1,20 @@
+package org.example.socket;
+
+import java.sql.SQLException;
+
+/**
+ * 채팅방 참여자 저장소
+ * 서버는 채팅방을 처음 쓸 때 참여자 전체를 한 번 읽고, 이후에는 변경 알림을 받은 사용자만 다시 확인합니다.
+ */
+public interface MembershipStore {
+
+    /**
+     * 채팅방 참여자 ID 목록 (채팅방이 없으면 빈 배열)
+     */
+    int[] loadMemberIds(int chatRoomId) throws SQLException;
+
+    /**
+     * 사용자가 채팅방 참여자인지 여부
+     */
+    boolean isMember(int chatRoomId, int memberId) throws SQLException;
+}
@@ -0,0 +1,233 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+import org.example.utils.IntObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 쓰기 지연(write-behind) 저장 파이프라인
+ * 연결 스레드는 메시지를 대기열에 넣기만 하고, 전용 스레드가 batchSize개가 모이거나
+ * 첫 메시지 도착 후 flushMillis가 지나면 한 번의 배치 INSERT(한 트랜잭션)로 저장합니다.
+ * 메시지마다 커밋하던 것을 배치당 한 번으로 줄여 DB 왕복과 fsync 비용을 나눠 냅니다.
+ * 저장이 끝난 메시지는 도착 순서대로 콜백에 전달됩니다.
+ * 채팅방 시퀀스도 이 스레드 하나에서만 매기므로 잠금 없이 저장/브로드캐스트 순서와 같아지며,
+ * 저장에 실패한 배치의 시퀀스는 되돌려 번호에 빈틈이 생기지 않습니다.
+ */
+final class MessagePersistencePipeline {
+    private static final Logger LOG = LogManager.getLogger(MessagePersistencePipeline.class);
+
+    /**
+     * 저장 결과 콜백 (저장 스레드에서 호출)
+     */
+    interface Callback {
+        /**
+         * @param origin 메시지를 보낸 세션 (submit에 넘긴 값)
+         * @param messageId 할당된 메시지 ID, 저장 실패 시 -1
+         */
+        void onPersisted(ChatMessage message, ClientSession origin, int messageId);
+    }
+
+    private static final class Pending {
+        final ChatMessage message;
+        final ClientSession origin;
+        final Callback callback;
+
+        Pending(ChatMessage message, ClientSession origin, Callback callback) {
+            this.message = message;
+            this.origin = origin;
+            this.callback = callback;
+        }
+    }
+
+    // 종료 신호 (대기 중인 poll을 깨우기 위한 표식)
+    private static final Pending POISON = new Pending(null, null, null);
+
+    private final MessageStore store;
+    private final int batchSize;
+    private final long flushNanos;
+    private final BlockingQueue<Pending> queue;
+    private final Thread worker;
+    // 채팅방별 마지막 시퀀스 (저장 스레드 전용, 처음 쓰는 채팅방은 저장소에서 읽어 시작)
+    private final IntObjectHashMap<long[]> roomSequences = new IntObjectHashMap<>();
+    // 다른 노드가 시퀀스를 매겼을 수 있어 저장소에서 다시 읽어야 함 (클러스터 소유 노드 변경 시)
+    private volatile boolean sequencesStale;
+    private volatile boolean running = true;
+
+    MessagePersistencePipeline(MessageStore store, int batchSize, int flushMillis, int queueCapacity) {
+        this.store = store;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, flushMillis));
+        this.queue = new ArrayBlockingQueue<>(Math.max(this.batchSize, queueCapacity));
+        this.worker = new Thread(this::run, "chat-persist");
+        this.worker.setDaemon(true);
+    }
+
+    void start() {
+        worker.start();
+    }
+
+    /**
+     * 저장 요청
+     * 대기열이 가득 차면(DB가 따라오지 못하면) 즉시 실패로 콜백합니다.
+     */
+    void submit(ChatMessage message, ClientSession origin, Callback callback) {
+        if (!running || !queue.offer(new Pending(message, origin, callback))) {
+            callback.onPersisted(message, origin, -1);
+        }
+    }
+
+    /**
+     * 기억하는 채팅방 시퀀스를 버리고 다음 저장 때 저장소에서 다시 읽음
+     */
+    void resetSequences() {
+        sequencesStale = true;
+    }
+
+    /**
+     * 파이프라인 종료 - 이미 받은 메시지는 모두 저장한 뒤 반환
+     */
+    void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            queue.put(POISON);
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                Pending first = queue.take();
+                if (first == POISON) {
+                    break;
+                }
+                batch.add(first);
+
+                // 배치가 찰 때까지 첫 메시지 도착 시점부터 flushNanos만큼만 기다림
+                long deadline = System.nanoTime() + flushNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == POISON) {
+                        stopping = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                stopping = true;
+            }
+            flushSafely(batch);
+        }
+
+        // 종료 시 남은 요청 처리
+        List<Pending> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (Pending pending : rest) {
+            if (pending != POISON) {
+                batch.add(pending);
+                if (batch.size() == batchSize) {
+                    flushSafely(batch);
+                }
+            }
+        }
+        flushSafely(batch);
+    }
+
+    /**
+     * 배치 저장 - 예상하지 못한 오류가 나도 저장 스레드가 멈추지 않도록 남은 메시지를 실패로 콜백
+     */
+    private void flushSafely(List<Pending> batch) {
+        try {
+            flush(batch);
+        } catch (RuntimeException e) {
+            LOG.error("메시지 배치 처리 중 오류 발생", "count", batch.size(), e);
+            for (Pending pending : batch) {
+                try {
+                    pending.callback.onPersisted(pending.message, pending.origin, -1);
+                } catch (RuntimeException callbackError) {
+                    LOG.error("메시지 저장 콜백 처리 중 오류 발생", callbackError);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<ChatMessage> messages = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            messages.add(pending.message);
+        }
+
+        int[] ids = null;
+        try {
+            assignSequences(messages);
+            ids = store.saveAll(messages);
+        } catch (Exception e) {
+            LOG.error("메시지 저장 중 오류 발생", "count", batch.size(), e);
+            rewindSequences(messages);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            int messageId = ids != null && i < ids.length ? ids[i] : -1;
+            try {
+                pending.callback.onPersisted(pending.message, pending.origin, messageId);
+            } catch (Exception e) {
+                LOG.error("메시지 저장 콜백 처리 중 오류 발생", e);
+            }
+        }
+        batch.clear();
+    }
+
+    private void assignSequences(List<ChatMessage> messages) throws Exception {
+        if (sequencesStale) {
+            sequencesStale = false;
+            roomSequences.clear();
+        }
+        for (ChatMessage message : messages) {
+            long[] sequence = roomSequences.get(message.getChatRoomId());
+            if (sequence == null) {
+                sequence = new long[]{store.lastSequence(message.getChatRoomId())};
+                roomSequences.put(message.getChatRoomId(), sequence);
+            }
+            message.setSequence(++sequence[0]);
+        }
+    }
+
+    /**
+     * 저장되지 않은 메시지에 매긴 시퀀스를 되돌림
+     */
+    private void rewindSequences(List<ChatMessage> messages) {
+        for (ChatMessage message : messages) {
+            if (message.getSequence() > 0) {
+                long[] sequence = roomSequences.get(message.getChatRoomId());
+                // 저장소에서 시작 시퀀스를 읽지 못한 채팅방은 되돌릴 번호가 없음
+                if (sequence != null) {
+                    sequence[0] = Math.min(sequence[0], message.getSequence() - 1);
+                }
+                message.setSequence(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.socket;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 채팅 메시지 저장소
+ * 서버가 메시지를 브로드캐스트하기 전에 여러 건을 한 트랜잭션으로 저장하고,
+ * 재접속한 클라이언트가 놓친 메시지를 채팅방 시퀀스 범위로 다시 읽어옵니다.
+ */
+public interface MessageStore {
+
+    /**
+     * 메시지를 순서대로 저장
+     * @return 저장된 메시지 ID (messages와 같은 순서)
+     */
+    int[] saveAll(List<ChatMessage> messages) throws SQLException;
+
+    /**
+     * 채팅방에 저장된 마지막 시퀀스 (메시지가 없으면 0)
+     */
+    long lastSequence(int chatRoomId) throws SQLException;
+
+    /**
+     * afterSequence보다 큰 시퀀스의 메시지를 시퀀스 순서로 최대 limit개 조회
+     */
+    List<ChatMessage> loadAfter(int chatRoomId, long afterSequence, int limit) throws SQLException;
+
+    /**
+     * 시퀀스가 있는 최근 메시지를 최대 limit개 조회 (오래된 순서로 반환)
+     */
+    List<ChatMessage> loadLatest(int chatRoomId, int limit) throws SQLException;
+}
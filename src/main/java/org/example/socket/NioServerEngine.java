@@ -0,0 +1,683 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * NIO 서버 엔진
+ * 코어 수만큼의 이벤트 루프 스레드가 Selector로 모든 연결의 읽기/쓰기를 논블로킹으로 처리합니다.
+ * 연결 수가 늘어도 스레드 수는 고정되어 문맥 교환 비용이 커지지 않습니다.
+ * 핸드셰이크 제한 시간과 유휴 연결 정리는 ConnectionMonitor의 타이밍 휠이 담당하므로 이벤트 루프에는 타이머가 없습니다.
+ * 소켓 쓰기는 연결별로 모아서 처리합니다. 이벤트 루프 스레드에서 생긴 쓰기 요청(같은 루프 연결 사이의 브로드캐스트 등)은
+ * 루프 한 바퀴가 끝날 때 한 번에 처리하고, 쌓인 프레임은 최대 flushMaxBytes까지 gathering write 한 번으로 보냅니다.
+ * 부하가 높을수록 한 바퀴 동안 쌓이는 프레임이 많아져 묶음이 커지고, 한가할 때는 메시지 하나도 그 바퀴 안에 바로 나갑니다.
+ * 첨부 파일 조각은 메모리 매핑한 파일 구간을 같은 gathering write에 넣어 힙으로 복사하지 않고 보냅니다.
+ * reusePort 설정이면 SO_REUSEPORT로 바인딩해, 재시작할 새 프로세스가 같은 포트로 먼저 연결을 받을 수 있습니다.
+ */
+class NioServerEngine implements ServerEngine {
+    private static final Logger LOG = LogManager.getLogger(NioServerEngine.class);
+
+    private static final int INITIAL_READ_BUFFER_SIZE = 1024;
+    // gathering write 한 번에 넘기는 최대 프레임 수
+    private static final int MAX_GATHER_FRAMES = 64;
+
+    private final ChatSocketServer server;
+    private final ChatServerConfig config;
+    private final Map<NioConnection, Boolean> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private ServerSocketChannel serverChannel;
+    private EventLoop[] eventLoops;
+    private Thread acceptThread;
+    private volatile boolean running;
+    // 새 연결을 수락하는 중인지 (drain 중에는 false, 이벤트 루프는 계속 실행)
+    private volatile boolean accepting;
+    // 바인딩된 포트 (리스닝 소켓을 닫은 뒤에도 확인할 수 있도록 보관)
+    private volatile int localPort;
+
+    NioServerEngine(ChatSocketServer server, ChatServerConfig config) {
+        this.server = server;
+        this.config = config;
+    }
+
+    @Override
+    public void start() throws IOException {
+        int loopCount = Math.max(1, config.getIoThreads());
+        eventLoops = new EventLoop[loopCount];
+        for (int i = 0; i < loopCount; i++) {
+            eventLoops[i] = new EventLoop(i);
+        }
+
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        if (config.isReusePort()) {
+            if (serverChannel.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT)) {
+                serverChannel.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+            } else {
+                LOG.warn("이 플랫폼은 SO_REUSEPORT를 지원하지 않습니다", "port", config.getPort());
+            }
+        }
+        serverChannel.bind(new InetSocketAddress(config.getPort()), 1024);
+        localPort = ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        running = true;
+        accepting = true;
+
+        for (EventLoop loop : eventLoops) {
+            loop.thread.start();
+        }
+
+        // 연결 수락은 블로킹 accept()를 쓰는 전용 스레드에서 처리하고, 수락된 채널은 이벤트 루프에 분배
+        acceptThread = new Thread(this::acceptLoop, "chat-nio-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    private void acceptLoop() {
+        while (accepting) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+
+                EventLoop loop = eventLoops[Math.floorMod(nextLoop.getAndIncrement(), eventLoops.length)];
+                loop.execute(() -> loop.register(channel));
+            } catch (IOException e) {
+                if (accepting) {
+                    LOG.warn("클라이언트 연결 수락 중 오류 발생", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void stopAccepting() {
+        accepting = false;
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+        } catch (IOException e) {
+            LOG.warn("서버 소켓 닫기 오류", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        stopAccepting();
+        running = false;
+
+        for (NioConnection connection : connections.keySet()) {
+            connection.close();
+        }
+
+        if (eventLoops != null) {
+            for (EventLoop loop : eventLoops) {
+                loop.shutdown();
+            }
+        }
+        connections.clear();
+    }
+
+    @Override
+    public int getLocalPort() {
+        return localPort > 0 ? localPort : config.getPort();
+    }
+
+    /**
+     * 이벤트 루프
+     * Selector 하나와 작업 큐 하나를 가지며, 담당 연결의 모든 입출력을 단일 스레드에서 처리합니다.
+     */
+    private class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        // 루프 한 바퀴가 끝날 때 쓰기를 처리할 연결 (이벤트 루프 스레드에서만 접근)
+        private final ArrayDeque<NioConnection> deferredFlushes = new ArrayDeque<>();
+        // gathering write용 작업 배열 (이벤트 루프 스레드에서만 접근, 쓰기가 끝나면 비움)
+        private final ByteBuffer[] gatherBuffers = new ByteBuffer[MAX_GATHER_FRAMES];
+        private final EncodedFrame[] gatherFrames = new EncodedFrame[MAX_GATHER_FRAMES];
+        private final Thread thread;
+
+        EventLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "chat-nio-loop-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        boolean inEventLoop() {
+            return Thread.currentThread() == thread;
+        }
+
+        /**
+         * 이벤트 루프 스레드에서 작업 실행 (다른 스레드에서 호출하면 큐에 넣고 Selector를 깨움)
+         */
+        void execute(Runnable task) {
+            if (inEventLoop()) {
+                task.run();
+                return;
+            }
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        /**
+         * 이번 바퀴가 끝날 때 연결의 쓰기 처리 (이벤트 루프 스레드에서만 호출)
+         */
+        void deferFlush(NioConnection connection) {
+            deferredFlushes.add(connection);
+        }
+
+        private void runDeferredFlushes() {
+            NioConnection connection;
+            while ((connection = deferredFlushes.poll()) != null) {
+                connection.flushScheduled.set(false);
+                connection.flush();
+            }
+        }
+
+        void register(SocketChannel channel) {
+            try {
+                NioConnection connection = new NioConnection(channel, this);
+                connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                connections.put(connection, Boolean.TRUE);
+                connection.handshakeTimeout = server.getConnectionMonitor().watchHandshake(connection::close);
+                server.getMetrics().connectionAccepted();
+                LOG.debug("새 클라이언트 연결 수락됨");
+            } catch (IOException e) {
+                LOG.warn("채널 등록 오류", e);
+                try {
+                    channel.close();
+                } catch (IOException ex) {
+                    // 무시
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    runTasks();
+
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+
+                        NioConnection connection = (NioConnection) key.attachment();
+                        if (!key.isValid()) {
+                            connection.close();
+                            continue;
+                        }
+                        if (key.isReadable()) {
+                            connection.onReadable();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.flush();
+                        }
+                    }
+                    runDeferredFlushes();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                if (running) {
+                    LOG.error("이벤트 루프 오류", e);
+                }
+            }
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOG.error("이벤트 루프 작업 처리 중 오류", e);
+                }
+            }
+        }
+
+        void shutdown() {
+            selector.wakeup();
+            try {
+                thread.join(1000);
+                // 루프 종료 후 남은 작업(연결 종료 등)은 호출 스레드에서 마무리
+                runTasks();
+                for (SelectionKey key : selector.keys()) {
+                    key.channel().close();
+                }
+                selector.close();
+            } catch (IOException e) {
+                LOG.warn("Selector 닫기 오류", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * NIO 연결
+     * 연결별 읽기 버퍼와 크기 제한 송신 대기열을 가집니다. 송신 대기열에는 어느 스레드에서나 넣을 수 있고,
+     * 소켓 쓰기를 포함한 나머지 상태는 담당 이벤트 루프 스레드에서만 변경됩니다.
+     */
+    private class NioConnection implements ClientSession {
+        private final SocketChannel channel;
+        private final EventLoop loop;
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private volatile OutboundQueue outboundQueue; // 인증 후 생성
+        private ByteBuffer[] pendingBuffers;          // 소켓 버퍼가 가득 차 아직 기록하지 못한 버퍼
+        private EncodedFrame[] pendingFrames;         // pendingBuffers의 원본 (핸드셰이크 응답이면 null)
+        private int pendingIndex;                     // pendingBuffers에서 다음에 기록할 위치
+        private ByteBuffer readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE);
+        private SelectionKey key;
+        private HashedWheelTimer.Timeout handshakeTimeout;
+        // 생존 확인 (PING/PONG을 지원하지 않는 기존 클라이언트는 null)
+        private volatile ConnectionMonitor.Liveness liveness;
+        private volatile int memberId = -1;
+        private volatile WireCodec codec = JavaSerializationCodec.INSTANCE;
+        private RateLimiter.Connection rateLimit;     // 인증 후 생성 (제한을 사용하지 않으면 null)
+        private boolean authenticated;
+        private volatile boolean closed;
+
+        NioConnection(SocketChannel channel, EventLoop loop) {
+            this.channel = channel;
+            this.loop = loop;
+        }
+
+        @Override
+        public int getMemberId() {
+            return memberId;
+        }
+
+        /**
+         * 읽기 가능 이벤트 처리 - 완성된 프레임을 모두 꺼내 처리
+         */
+        void onReadable() {
+            try {
+                int read = channel.read(readBuffer);
+                if (read < 0) {
+                    if (!authenticated) {
+                        server.getMetrics().handshakeError();
+                    }
+                    close();
+                    return;
+                }
+                server.getMetrics().bytesReceived(read);
+                ConnectionMonitor.Liveness current = liveness;
+                if (current != null && read > 0) {
+                    current.onRead();
+                }
+
+                readBuffer.flip();
+                while (!closed && readBuffer.remaining() >= FrameCodec.HEADER_SIZE) {
+                    int length = readBuffer.getInt(readBuffer.position());
+                    if (!authenticated && Handshake.isLegacyObjectStream(length)) {
+                        server.rejectLegacyStream(channel.getRemoteAddress());
+                        close();
+                        return;
+                    }
+                    // 인증 전에는 핸드셰이크 크기까지만 받아, 헤더만 보낸 연결이 큰 버퍼를 잡지 못하게 함
+                    FrameCodec.checkLength(length, authenticated ? FrameCodec.MAX_FRAME_SIZE
+                            : FrameCodec.MAX_HANDSHAKE_FRAME_SIZE);
+
+                    if (readBuffer.remaining() < FrameCodec.HEADER_SIZE + length) {
+                        ensureCapacity(FrameCodec.HEADER_SIZE + length);
+                        break;
+                    }
+
+                    int bodyStart = readBuffer.position() + FrameCodec.HEADER_SIZE;
+                    readBuffer.position(bodyStart + length);
+                    try {
+                        onFrame(readBuffer.array(), readBuffer.arrayOffset() + bodyStart, length);
+                    } catch (ClassNotFoundException e) {
+                        LOG.warn("알 수 없는 메시지 타입", "memberId", memberId, e);
+                    }
+                }
+                readBuffer.compact();
+                shrinkReadBuffer();
+            } catch (IOException e) {
+                if (!closed) {
+                    if (!authenticated) {
+                        server.getMetrics().handshakeError();
+                    }
+                    LOG.warn("클라이언트 처리 중 오류", "memberId", memberId, e);
+                }
+                close();
+            }
+        }
+
+        /**
+         * 읽기 버퍼가 프레임 하나를 담을 수 있도록 확장 (flip 상태 유지)
+         */
+        private void ensureCapacity(int frameSize) {
+            if (readBuffer.capacity() >= frameSize) {
+                return;
+            }
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(frameSize, readBuffer.capacity() * 2));
+            larger.put(readBuffer);
+            larger.flip();
+            readBuffer = larger;
+        }
+
+        /**
+         * 큰 프레임(첨부 파일 조각 등)을 처리한 뒤 읽기 버퍼를 처음 크기로 되돌림 (compact 상태에서 호출)
+         * 남은 바이트가 아직 덜 받은 큰 프레임의 앞부분이면 그대로 둡니다.
+         */
+        private void shrinkReadBuffer() {
+            int buffered = readBuffer.position();
+            if (readBuffer.capacity() == INITIAL_READ_BUFFER_SIZE || buffered > INITIAL_READ_BUFFER_SIZE) {
+                return;
+            }
+            if (buffered >= FrameCodec.HEADER_SIZE
+                    && FrameCodec.HEADER_SIZE + readBuffer.getInt(0) > INITIAL_READ_BUFFER_SIZE) {
+                return;
+            }
+            ByteBuffer smaller = ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE);
+            readBuffer.flip();
+            smaller.put(readBuffer);
+            readBuffer = smaller;
+        }
+
+        private void onFrame(byte[] buffer, int offset, int length) throws IOException, ClassNotFoundException {
+            if (authenticated) {
+                server.handleFrame(this, rateLimit, codec.decode(buffer, offset, length));
+                return;
+            }
+
+            // 초기 인증 단계 (사용자 ID 수신 및 본문 형식 협상)
+            Handshake.Result handshake = server.handshake(buffer, offset, length);
+            if (handshakeTimeout != null) {
+                handshakeTimeout.cancel();
+                handshakeTimeout = null;
+            }
+            pendingBuffers = new ByteBuffer[]{ByteBuffer.wrap(handshake.response)};
+            pendingFrames = new EncodedFrame[1];
+            pendingIndex = 0;
+            flush();
+            if (handshake.memberId == null) {
+                close();
+                return;
+            }
+            memberId = handshake.memberId;
+            codec = handshake.codec;
+            outboundQueue = server.createOutboundQueue(memberId);
+            rateLimit = server.createRateLimit(handshake);
+            authenticated = true;
+            server.registerSession(this, handshake.features);
+            liveness = server.getConnectionMonitor().watch(this, handshake.heartbeat);
+            if (outboundQueue.hasPending()) {
+                flush();
+            }
+        }
+
+        @Override
+        public void sendMessage(ChatMessage message) {
+            sendFrame(new EncodedFrame(message));
+        }
+
+        @Override
+        public void sendCommand(ChatCommand command) {
+            sendFrame(new EncodedFrame(command));
+        }
+
+        /**
+         * 송신 대기열에 프레임 추가 후 이벤트 루프에 쓰기 요청
+         * 인코딩은 호출 스레드에서 미리 수행해 이벤트 루프의 부담을 줄입니다.
+         */
+        @Override
+        public void sendFrame(EncodedFrame frame) {
+            OutboundQueue queue = outboundQueue;
+            if (closed || queue == null) {
+                frame.releaseWrite();
+                return;
+            }
+            try {
+                frame.frame(codec.getFormat());
+            } catch (IOException e) {
+                LOG.warn("메시지 인코딩 오류", "memberId", memberId, e);
+                frame.releaseWrite();
+                return;
+            }
+
+            if (!queue.offer(frame)) {
+                LOG.warn("송신 대기열 초과로 연결 종료", "memberId", memberId);
+                close();
+                return;
+            }
+            scheduleFlush();
+        }
+
+        /**
+         * 이벤트 루프에 쓰기 작업 예약 (이미 예약되어 있으면 생략)
+         * 이벤트 루프 스레드에서 호출되면 바로 쓰지 않고 이번 바퀴 끝으로 미뤄, 그 사이 쌓이는 프레임을 함께 보냄
+         */
+        private void scheduleFlush() {
+            if (flushScheduled.compareAndSet(false, true)) {
+                if (loop.inEventLoop()) {
+                    loop.deferFlush(this);
+                    return;
+                }
+                loop.execute(() -> {
+                    flushScheduled.set(false);
+                    flush();
+                });
+            }
+        }
+
+        @Override
+        public int getOutboundQueueDepth() {
+            OutboundQueue queue = outboundQueue;
+            return queue != null ? queue.size() : 0;
+        }
+
+        @Override
+        public long getDroppedFrameCount() {
+            OutboundQueue queue = outboundQueue;
+            return queue != null ? queue.getDroppedCount() : 0;
+        }
+
+        @Override
+        public long getSpilledFrameCount() {
+            OutboundQueue queue = outboundQueue;
+            return queue != null ? queue.getSpilledCount() : 0;
+        }
+
+        /**
+         * 송신 대기열 비우기 - 쌓인 프레임을 gathering write로 묶어 보내고,
+         * 소켓 버퍼가 가득 차면 남은 버퍼를 보관한 뒤 OP_WRITE를 등록하고 다음 이벤트를 기다림
+         */
+        void flush() {
+            if (closed) {
+                return;
+            }
+            ChatServerMetrics metrics = server.getMetrics();
+            boolean wrote = false;
+            try {
+                if (pendingBuffers != null) {
+                    long written = channel.write(pendingBuffers, pendingIndex, pendingBuffers.length - pendingIndex);
+                    if (written > 0) {
+                        wrote = true;
+                        metrics.bytesSent((int) written);
+                    }
+                    pendingIndex = completeWrites(pendingBuffers, pendingFrames, pendingIndex, pendingBuffers.length);
+                    if (pendingIndex == pendingBuffers.length) {
+                        pendingBuffers = null;
+                        pendingFrames = null;
+                    }
+                }
+
+                OutboundQueue queue = outboundQueue;
+                int maxBytes = Math.max(1, config.getFlushMaxBytes());
+                ByteBuffer[] buffers = loop.gatherBuffers;
+                EncodedFrame[] frames = loop.gatherFrames;
+                while (pendingBuffers == null && queue != null) {
+                    int count = 0;
+                    long bytes = 0;
+                    // 첨부 파일 조각은 헤더와 파일 구간 두 자리를 쓰므로 한 자리를 남겨 둠
+                    while (count < MAX_GATHER_FRAMES - 1 && bytes < maxBytes) {
+                        EncodedFrame frame = queue.poll();
+                        if (frame == null) {
+                            break;
+                        }
+                        try {
+                            buffers[count] = frame.buffer(codec.getFormat());
+                        } catch (IOException e) {
+                            LOG.warn("메시지 인코딩 오류", "memberId", memberId, e);
+                            frame.releaseWrite();
+                            continue;
+                        }
+                        bytes += buffers[count].remaining();
+                        ByteBuffer data = frame.data();
+                        if (data != null) {
+                            // 메모리 매핑한 파일 구간을 힙으로 복사하지 않고 그대로 기록 (헤더 자리의 프레임은 null)
+                            frames[count] = null;
+                            count++;
+                            buffers[count] = data;
+                            bytes += data.remaining();
+                        }
+                        frames[count] = frame;
+                        count++;
+                    }
+                    if (count == 0) {
+                        break;
+                    }
+
+                    long written;
+                    try {
+                        written = channel.write(buffers, 0, count);
+                    } catch (IOException e) {
+                        for (int i = 0; i < count; i++) {
+                            if (frames[i] != null) {
+                                frames[i].releaseWrite();
+                            }
+                        }
+                        Arrays.fill(buffers, 0, count, null);
+                        Arrays.fill(frames, 0, count, null);
+                        throw e;
+                    }
+                    metrics.writeBatch(count);
+                    if (written > 0) {
+                        wrote = true;
+                        metrics.bytesSent((int) written);
+                    }
+                    int done = completeWrites(buffers, frames, 0, count);
+                    if (done < count) {
+                        // 소켓 버퍼가 가득 참 - 남은 버퍼만 연결에 보관하고 작업 배열은 비움
+                        pendingBuffers = Arrays.copyOfRange(buffers, done, count);
+                        pendingFrames = Arrays.copyOfRange(frames, done, count);
+                        pendingIndex = 0;
+                    }
+                    Arrays.fill(buffers, 0, count, null);
+                    Arrays.fill(frames, 0, count, null);
+                    if (count < MAX_GATHER_FRAMES - 1 && bytes < maxBytes) {
+                        break;
+                    }
+                }
+
+                if (pendingBuffers != null) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                } else {
+                    key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+                }
+                ConnectionMonitor.Liveness current = liveness;
+                if (wrote && current != null) {
+                    current.onWrite();
+                }
+            } catch (IOException e) {
+                LOG.warn("메시지 전송 오류", "memberId", memberId, e);
+                close();
+            }
+        }
+
+        /**
+         * 모두 기록된 버퍼의 프레임을 전송 완료 처리
+         * @return 아직 남은 바이트가 있는 첫 위치 (모두 기록되었으면 to)
+         */
+        private int completeWrites(ByteBuffer[] buffers, EncodedFrame[] frames, int from, int to) {
+            ChatServerMetrics metrics = server.getMetrics();
+            for (int i = from; i < to; i++) {
+                if (buffers[i].hasRemaining()) {
+                    return i;
+                }
+                EncodedFrame frame = frames[i];
+                if (frame != null) {
+                    metrics.frameSent(frame);
+                    frame.releaseWrite();
+                    frames[i] = null;
+                }
+            }
+            return to;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            if (!loop.inEventLoop() && loop.thread.isAlive()) {
+                loop.execute(this::close);
+                return;
+            }
+            // 바퀴 끝으로 미뤄 둔 쓰기(종료 직전 요청의 응답 등)는 닫기 전에 보낼 수 있는 만큼 보냄
+            if (loop.inEventLoop() && flushScheduled.compareAndSet(true, false)) {
+                flush();
+                if (closed) {
+                    return;
+                }
+            }
+            closed = true;
+            connections.remove(this);
+            if (handshakeTimeout != null) {
+                handshakeTimeout.cancel();
+                handshakeTimeout = null;
+            }
+            ConnectionMonitor.Liveness current = liveness;
+            if (current != null) {
+                current.cancel();
+            }
+            if (authenticated) {
+                server.unregisterSession(this);
+            }
+            if (outboundQueue != null) {
+                outboundQueue.close();
+            }
+            if (pendingFrames != null) {
+                for (int i = pendingIndex; i < pendingFrames.length; i++) {
+                    if (pendingFrames[i] != null) {
+                        pendingFrames[i].releaseWrite();
+                    }
+                }
+            }
+            pendingBuffers = null;
+            pendingFrames = null;
+            server.getMetrics().connectionClosed();
+
+            try {
+                if (key != null) {
+                    key.cancel();
+                }
+                channel.close();
+            } catch (IOException e) {
+                LOG.warn("소켓 종료 오류", "memberId", memberId, e);
+            }
+        }
+    }
+}
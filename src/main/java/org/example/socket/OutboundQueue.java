@@ -0,0 +1,313 @@
+package org.example.socket;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 연결별 송신 대기열 (크기 제한)
+ * 보내는 쪽(브로드캐스트, 명령 응답)은 대기열에 넣기만 하고, 실제 소켓 쓰기는 연결 전용 writer가 처리합니다.
+ * 느린 수신자의 TCP 창이 가득 차도 다른 수신자나 보낸 사람의 읽기 루프가 멈추지 않습니다.
+ * 대기열이 가득 차면 OverflowPolicy에 따라 오래된 프레임을 버리거나, 연결을 끊거나, 보류 목록으로 옮깁니다.
+ * 버리거나 보류 목록으로 옮긴 프레임은 기록된 것으로 보고 releaseWrite()를 호출해 브로드캐스트 전달 추적을 끝냅니다.
+ *
+ * 보류 목록(SPILL)은 연결마다 따로 두므로, 같은 사용자의 다른 세션이 이 연결에서 넘친 프레임을 가져가지 않습니다.
+ * 연결이 닫힐 때 남은 보류 프레임만 사용자별 보류 저장소에 넘기고, 그 사용자의 다음 연결이 생성될 때 모두 가져가 먼저 전송합니다.
+ *
+ * 제어 명령(입장/퇴장 응답, 오류, 확인 응답, PING 등)은 채팅 메시지와 별도의 제어 대기열로 보내고 항상 먼저 꺼냅니다.
+ * 바쁜 채팅방의 메시지가 쌓여 있어도 PING이나 확인 응답이 그 뒤에서 기다리지 않으므로,
+ * 하트비트 시간 초과나 재전송이 메시지 적체 때문에 잘못 일어나지 않습니다.
+ * 제어 대기열은 전체 용량과 별도로 정해진 만큼만 쓰며, 보류 목록으로 옮기지 않습니다.
+ * (RESUME_SUCCESS는 밀린 메시지를 담은 큰 응답이므로 채팅 메시지와 같은 대기열을 씀)
+ *
+ * 첨부 파일 조각(DATA)은 가장 낮은 우선순위의 전송 대기열로 보내고, 제어 명령과 채팅 메시지가 모두 비었을 때만 꺼냅니다.
+ * 조각 수는 첨부 파일 전송 창(CREDIT)이 제한하므로 용량 제한, 버리기, 보류 목록 옮기기를 하지 않습니다.
+ * 나머지 첨부 파일 프레임(CREDIT, COMPLETE 등)은 전송 창이 늦게 돌아오지 않도록 제어 명령으로 취급합니다.
+ */
+final class OutboundQueue {
+    // 제어 대기열 최소 용량 (전체 용량의 1/8과 비교해 큰 값을 씀)
+    private static final int MIN_CONTROL_CAPACITY = 16;
+    // 연결별 보류 목록 최대 크기 (넘치면 가장 오래된 프레임부터 버림)
+    private static final int MAX_SPILLED = 10_000;
+
+    private final int memberId;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final PendingDeliveryStore pendingStore;
+    private final int controlCapacity;
+    private final ArrayDeque<EncodedFrame> frames = new ArrayDeque<>();
+    private final ArrayDeque<EncodedFrame> controlFrames = new ArrayDeque<>();
+    private final ArrayDeque<EncodedFrame> transferFrames = new ArrayDeque<>();
+    // 이 연결에서 넘친 프레임 (비어 있지 않은 동안은 순서 유지를 위해 새 프레임도 여기에 넣음)
+    private final ArrayDeque<Object> spilled = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private boolean closed;
+    private long droppedCount;
+    private long spilledCount;
+
+    OutboundQueue(int memberId, int capacity, OverflowPolicy policy, PendingDeliveryStore pendingStore) {
+        this.memberId = memberId;
+        this.capacity = Math.max(1, capacity);
+        this.controlCapacity = Math.max(MIN_CONTROL_CAPACITY, this.capacity / 8);
+        this.policy = policy;
+        this.pendingStore = pendingStore;
+        // 이전 연결이 닫히며 넘긴 보류 프레임이 있으면 한 번에 가져와 먼저 전송 (동시에 열린 연결끼리 나눠 갖지 않음)
+        if (policy == OverflowPolicy.SPILL && pendingStore.hasPending(memberId)) {
+            spilled.addAll(pendingStore.poll(memberId, Integer.MAX_VALUE));
+        }
+    }
+
+    /**
+     * 프레임을 대기열에 추가
+     * @return false면 DISCONNECT 정책에 따라 연결을 끊어야 함
+     */
+    boolean offer(EncodedFrame frame) {
+        lock.lock();
+        try {
+            if (closed) {
+                frame.releaseWrite();
+                return true;
+            }
+            if (isTransfer(frame)) {
+                transferFrames.add(frame);
+                notEmpty.signal();
+                return true;
+            }
+            if (isControl(frame)) {
+                return offerControl(frame);
+            }
+            if (!spilled.isEmpty()) {
+                spill(frame);
+                return true;
+            }
+            if (frames.size() < capacity) {
+                frames.add(frame);
+                notEmpty.signal();
+                return true;
+            }
+
+            switch (policy) {
+                case DISCONNECT:
+                    droppedCount++;
+                    frame.releaseWrite();
+                    return false;
+                case SPILL:
+                    spill(frame);
+                    return true;
+                case DROP_OLDEST:
+                default:
+                    frames.poll().releaseWrite();
+                    droppedCount++;
+                    frames.add(frame);
+                    return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 제어 명령인지 (채팅 메시지와 RESUME_SUCCESS, RECONNECT 외의 명령, 조각이 아닌 첨부 파일 프레임)
+     * RECONNECT는 먼저 쌓인 메시지를 모두 받은 뒤 끊도록 메시지와 같은 대기열로 보냄
+     */
+    static boolean isControl(EncodedFrame frame) {
+        Object payload = frame.getPayload();
+        if (payload instanceof AttachmentFrame) {
+            return ((AttachmentFrame) payload).getType() != AttachmentFrameType.DATA;
+        }
+        if (!(payload instanceof ChatCommand)) {
+            return false;
+        }
+        ChatCommandType type = ((ChatCommand) payload).getType();
+        return type != ChatCommandType.RESUME_SUCCESS && type != ChatCommandType.RECONNECT;
+    }
+
+    /**
+     * 첨부 파일 조각인지
+     */
+    static boolean isTransfer(EncodedFrame frame) {
+        Object payload = frame.getPayload();
+        return payload instanceof AttachmentFrame
+                && ((AttachmentFrame) payload).getType() == AttachmentFrameType.DATA;
+    }
+
+    private boolean offerControl(EncodedFrame frame) {
+        if (controlFrames.size() >= controlCapacity) {
+            droppedCount++;
+            if (policy == OverflowPolicy.DISCONNECT) {
+                frame.releaseWrite();
+                return false;
+            }
+            // 제어 명령은 보류 목록으로 옮기지 않고 가장 오래된 것을 버림 (SPILL 정책 포함)
+            controlFrames.poll().releaseWrite();
+        }
+        controlFrames.add(frame);
+        notEmpty.signal();
+        return true;
+    }
+
+    private void spill(EncodedFrame frame) {
+        if (spilled.size() >= MAX_SPILLED) {
+            spilled.poll();
+            droppedCount++;
+        }
+        spilled.add(frame.getPayload());
+        spilledCount++;
+        frame.releaseWrite();
+    }
+
+    /**
+     * 다음 프레임 꺼내기 (논블로킹, 없으면 null)
+     */
+    EncodedFrame poll() {
+        lock.lock();
+        try {
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다음 프레임 꺼내기 (블로킹)
+     * @return 대기열이 닫히면 null
+     */
+    EncodedFrame take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                EncodedFrame frame = next();
+                if (frame != null || closed) {
+                    return frame;
+                }
+                notEmpty.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다음 프레임 꺼내기 (최대 timeoutNanos까지 기다림)
+     * @return 시간 안에 프레임이 없거나 대기열이 닫히면 null
+     */
+    EncodedFrame poll(long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = timeoutNanos;
+            while (true) {
+                EncodedFrame frame = next();
+                if (frame != null || closed || remaining <= 0) {
+                    return frame;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 제어 대기열, 메시지 대기열, 전송 대기열 순서로 꺼냄 (잠금을 잡은 상태에서 호출)
+     */
+    private EncodedFrame next() {
+        EncodedFrame control = controlFrames.poll();
+        if (control != null) {
+            return control;
+        }
+        refillFromSpilled();
+        EncodedFrame frame = frames.poll();
+        return frame != null ? frame : transferFrames.poll();
+    }
+
+    /**
+     * 대기열이 비었을 때 보류 목록에서 한 번에 capacity개까지 다시 가져옴
+     */
+    private void refillFromSpilled() {
+        if (spilled.isEmpty() || !frames.isEmpty() || closed) {
+            return;
+        }
+        Object payload;
+        while (frames.size() < capacity && (payload = spilled.poll()) != null) {
+            frames.add(new EncodedFrame(payload));
+        }
+    }
+
+    /**
+     * 대기열 닫기 - 남은 프레임은 버리고 대기 중인 writer를 깨움
+     * 보류 목록에 남은 프레임은 사용자의 다음 연결이 받도록 보류 저장소로 넘깁니다.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            Object payload;
+            while ((payload = spilled.poll()) != null) {
+                pendingStore.store(memberId, payload);
+            }
+            EncodedFrame frame;
+            while ((frame = frames.poll()) != null) {
+                frame.releaseWrite();
+            }
+            while ((frame = controlFrames.poll()) != null) {
+                frame.releaseWrite();
+            }
+            while ((frame = transferFrames.poll()) != null) {
+                frame.releaseWrite();
+            }
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 보낼 프레임이 남아 있는지 (보류 목록 포함)
+     */
+    boolean hasPending() {
+        lock.lock();
+        try {
+            return !frames.isEmpty() || !controlFrames.isEmpty() || !transferFrames.isEmpty() || !spilled.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 대기 중인 프레임 수 (제어 명령, 첨부 파일 조각 포함)
+     */
+    int size() {
+        lock.lock();
+        try {
+            return frames.size() + controlFrames.size() + transferFrames.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기열이 가득 차서 버린 프레임 수
+     */
+    long getDroppedCount() {
+        lock.lock();
+        try {
+            return droppedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 보류 목록으로 옮긴 프레임 수
+     */
+    long getSpilledCount() {
+        lock.lock();
+        try {
+            return spilledCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
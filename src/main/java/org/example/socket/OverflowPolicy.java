@@ -0,0 +1,10 @@
+package org.example.socket;
+
+/**
+ * 연결별 송신 대기열이 가득 찼을 때의 처리 방식 열거형
+ */
+public enum OverflowPolicy {
+    DROP_OLDEST,   // 가장 오래된 프레임을 버리고 새 프레임을 넣음
+    DISCONNECT,    // 느린 연결을 끊음 (클라이언트가 재접속 후 기록을 다시 불러옴)
+    SPILL          // 넘치는 프레임을 보류 저장소에 옮기고 대기열이 비면 순서대로 다시 전송
+}
@@ -0,0 +1,26 @@
+package org.example.socket;
+
+import java.util.List;
+
+/**
+ * 보류 전송 저장소
+ * 사용자별로 메시지를 보관했다가 사용자가 다시 접속하면 저장된 순서대로 꺼내 전송합니다.
+ * (SPILL 정책에서 보내지 못하고 닫힌 연결의 보류 프레임, 접속하지 않은 채팅방 참여자의 메시지)
+ */
+public interface PendingDeliveryStore {
+
+    /**
+     * 사용자에게 보낼 메시지/명령을 저장
+     */
+    void store(int memberId, Object payload);
+
+    /**
+     * 저장된 항목을 오래된 순서로 최대 maxCount개 꺼냄 (꺼낸 항목은 저장소에서 제거)
+     */
+    List<Object> poll(int memberId, int maxCount);
+
+    /**
+     * 사용자에게 보류된 항목이 있는지 확인
+     */
+    boolean hasPending(int memberId);
+}
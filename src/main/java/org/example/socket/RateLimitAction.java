@@ -0,0 +1,9 @@
+package org.example.socket;
+
+/**
+ * 연결이 메시지 전송 속도 제한을 넘었을 때의 처리 방식 열거형
+ */
+public enum RateLimitAction {
+    THROTTLE,      // 메시지를 버리고 보낸 사람에게 제한 응답 (다시 보낼 수 있는 시간 포함)
+    DISCONNECT     // 연결을 끊음 (채팅방 제한을 넘은 경우에는 THROTTLE과 같이 처리)
+}
@@ -0,0 +1,170 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 메시지 전송 속도 제한 (연결별 + 채팅방별 토큰 버킷)
+ * DB 조회를 일으키는 참여자 변경 알림(MEMBERSHIP_CHANGED)도 연결별 버킷에서 토큰을 씁니다.
+ * 연결의 수신 스레드/이벤트 루프가 메시지를 디코딩한 직후, 저장과 브로드캐스트 전에 검사하므로
+ * 한 클라이언트가 메시지를 쏟아내도 팬아웃과 저장 비용이 다른 사용자에게 번지지 않습니다.
+ * 버킷은 잠금 없이 CAS 한 번으로 토큰을 쓰고(TokenBucket), 카운터도 원자 변수만 올립니다.
+ *
+ * 제한을 넘은 메시지는 버리고, RATE_LIMITED를 이해하는 클라이언트에게는 다시 보낼 수 있는 시간을 알려줍니다.
+ * 그 외에 확인을 기다리는 클라이언트는 저장 실패(MESSAGE_ACK -1)로 응답받고, 기존 클라이언트는 응답 없이 버려집니다.
+ * DISCONNECT 방식은 연결별 제한을 넘은 연결만 끊으며, 채팅방 제한은 같은 채팅방의 다른 사용자도 함께 걸리므로 항상 응답만 보냅니다.
+ */
+final class RateLimiter {
+    private static final Logger LOG = LogManager.getLogger(RateLimiter.class);
+    // 채팅방 버킷이 이보다 많아지면 가득 찬(한동안 메시지가 없던) 버킷을 정리
+    private static final int MAX_IDLE_ROOM_BUCKETS = 10_000;
+
+    private final int connectionRate;
+    private final int connectionBurst;
+    private final int roomRate;
+    private final int roomBurst;
+    private final RateLimitAction action;
+    private final Map<Integer, TokenBucket> roomBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong connectionLimited = new AtomicLong();
+    private final AtomicLong roomLimited = new AtomicLong();
+    private final AtomicLong disconnects = new AtomicLong();
+
+    /**
+     * 연결 하나의 제한 상태 (연결이 인증될 때 만들어 엔진이 보관)
+     */
+    static final class Connection {
+        // 연결별 버킷 (연결별 제한을 쓰지 않으면 null)
+        final TokenBucket bucket;
+        // RATE_LIMITED 응답을 해석하는 클라이언트인지
+        final boolean throttleReply;
+
+        Connection(TokenBucket bucket, boolean throttleReply) {
+            this.bucket = bucket;
+            this.throttleReply = throttleReply;
+        }
+    }
+
+    RateLimiter(ChatServerConfig config) {
+        this.connectionRate = config.getRateLimitPerSecond();
+        this.connectionBurst = config.getRateLimitBurst();
+        this.roomRate = config.getRoomRateLimitPerSecond();
+        this.roomBurst = config.getRoomRateLimitBurst();
+        this.action = config.getRateLimitAction();
+    }
+
+    /**
+     * 연결별 또는 채팅방별 제한 중 하나라도 사용하는지
+     */
+    static boolean isEnabled(ChatServerConfig config) {
+        return config.getRateLimitPerSecond() > 0 || config.getRoomRateLimitPerSecond() > 0;
+    }
+
+    /**
+     * 인증된 연결의 제한 상태 생성
+     */
+    Connection newConnection(boolean throttleReply) {
+        TokenBucket bucket = connectionRate > 0
+                ? new TokenBucket(connectionRate, connectionBurst, System.nanoTime()) : null;
+        return new Connection(bucket, throttleReply);
+    }
+
+    /**
+     * 메시지 처리 허용 여부 확인 - 제한을 넘었으면 응답 또는 연결 종료까지 처리
+     * @return 처리해도 되면 true, 버려야 하면 false
+     */
+    boolean admit(ClientSession session, Connection connection, ChatMessage message) {
+        long now = System.nanoTime();
+        TokenBucket bucket = connection.bucket;
+        if (bucket != null && !bucket.tryAcquire(now)) {
+            connectionLimited.incrementAndGet();
+            if (action == RateLimitAction.DISCONNECT) {
+                disconnects.incrementAndGet();
+                LOG.warn("전송 속도 제한을 넘어 연결을 종료합니다", "memberId", session.getMemberId());
+                session.close();
+            } else {
+                reject(session, connection, message, bucket.nanosUntilAvailable(now));
+            }
+            return false;
+        }
+        if (roomRate > 0) {
+            TokenBucket room = roomBucket(message.getChatRoomId(), now);
+            if (!room.tryAcquire(now)) {
+                roomLimited.incrementAndGet();
+                reject(session, connection, message, room.nanosUntilAvailable(now));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * DB 조회를 일으키는 명령(MEMBERSHIP_CHANGED) 처리 허용 여부 - 채팅 메시지와 같은 연결별 버킷을 씀
+     * 제한을 넘은 명령은 응답 없이 버리고, DISCONNECT 방식이면 연결을 끊습니다.
+     * @return 처리해도 되면 true
+     */
+    boolean admitCommand(ClientSession session, Connection connection) {
+        TokenBucket bucket = connection.bucket;
+        if (bucket == null || bucket.tryAcquire(System.nanoTime())) {
+            return true;
+        }
+        connectionLimited.incrementAndGet();
+        if (action == RateLimitAction.DISCONNECT) {
+            disconnects.incrementAndGet();
+            LOG.warn("전송 속도 제한을 넘어 연결을 종료합니다", "memberId", session.getMemberId());
+            session.close();
+        } else if (LOG.isDebugEnabled()) {
+            LOG.debug("전송 속도 제한으로 명령을 버립니다", "memberId", session.getMemberId());
+        }
+        return false;
+    }
+
+    private TokenBucket roomBucket(int chatRoomId, long now) {
+        TokenBucket bucket = roomBuckets.get(chatRoomId);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (roomBuckets.size() >= MAX_IDLE_ROOM_BUCKETS) {
+            roomBuckets.values().removeIf(idle -> idle.isFull(now));
+        }
+        return roomBuckets.computeIfAbsent(chatRoomId, id -> new TokenBucket(roomRate, roomBurst, now));
+    }
+
+    private static void reject(ClientSession session, Connection connection, ChatMessage message, long waitNanos) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("전송 속도 제한으로 메시지를 버립니다", "memberId", session.getMemberId(),
+                    "chatRoomId", message.getChatRoomId());
+        }
+        if (connection.throttleReply) {
+            long retryAfterMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            session.sendCommand(ChatCommand.rateLimited(message, retryAfterMillis));
+        } else if (message.getClientMessageId() != 0) {
+            session.sendCommand(ChatCommand.messageAck(message, -1));
+        }
+    }
+
+    /**
+     * 연결별 제한으로 버린 메시지 수
+     */
+    long getConnectionLimitedCount() {
+        return connectionLimited.get();
+    }
+
+    /**
+     * 채팅방별 제한으로 버린 메시지 수
+     */
+    long getRoomLimitedCount() {
+        return roomLimited.get();
+    }
+
+    /**
+     * 제한을 넘어 끊은 연결 수
+     */
+    long getDisconnectCount() {
+        return disconnects.get();
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.socket;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 클라이언트가 채팅방별로 받은 메시지 시퀀스
+ * 빈틈없이 받은 마지막 시퀀스(contiguous)와, 그보다 앞서 도착한 시퀀스(빠진 메시지 뒤에 온 것)를 따로 기억합니다.
+ * 이미 받은 시퀀스는 중복으로 걸러내고, 빠진 메시지가 재전송되어 빈틈이 메워지면 contiguous가 앞으로 이동합니다.
+ * 재접속 시 RESUME과 수신 확인(DELIVERY_ACK)은 모두 contiguous를 기준으로 하므로 빠진 메시지부터 다시 받습니다.
+ *
+ * 수신 스레드와 UI 스레드가 함께 사용하므로 잠금 하나로 보호합니다 (가상 스레드 고정을 피하기 위해 ReentrantLock 사용).
+ */
+final class ReceivedSequences {
+    // 앞서 도착한 시퀀스를 최대 몇 개까지 기억할지 (넘으면 빠진 메시지를 포기하고 건너뜀)
+    private static final int MAX_AHEAD = 10_000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Integer, Room> rooms = new HashMap<>();
+    // 마지막으로 꺼낸 뒤 contiguous가 바뀐 채팅방 (수신 확인 대상)
+    private final Map<Integer, Long> advanced = new HashMap<>();
+
+    private static final class Room {
+        long contiguous;
+        final TreeSet<Long> ahead = new TreeSet<>();
+    }
+
+    /**
+     * 받은 메시지 기록
+     * @return 처음 받은 시퀀스면 true, 이미 받은 시퀀스면 false (중복)
+     */
+    boolean accept(int chatRoomId, long sequence) {
+        lock.lock();
+        try {
+            Room room = rooms.computeIfAbsent(chatRoomId, id -> new Room());
+            if (sequence <= room.contiguous || room.ahead.contains(sequence)) {
+                return false;
+            }
+            if (sequence == room.contiguous + 1) {
+                room.contiguous = sequence;
+                drain(room);
+                advanced.put(chatRoomId, room.contiguous);
+            } else {
+                room.ahead.add(sequence);
+                if (room.ahead.size() > MAX_AHEAD) {
+                    // 빠진 메시지를 너무 오래 기다림 - 가장 오래된 빈틈을 건너뜀
+                    room.contiguous = room.ahead.pollFirst();
+                    drain(room);
+                    advanced.put(chatRoomId, room.contiguous);
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * sequence까지 모두 받은 것으로 기록 (DB에서 직접 읽은 경우, 입장 응답의 첫 메시지 이전)
+     */
+    void fillTo(int chatRoomId, long sequence) {
+        lock.lock();
+        try {
+            Room room = rooms.computeIfAbsent(chatRoomId, id -> new Room());
+            if (sequence <= room.contiguous) {
+                return;
+            }
+            room.contiguous = sequence;
+            room.ahead.headSet(sequence, true).clear();
+            drain(room);
+            advanced.put(chatRoomId, room.contiguous);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void drain(Room room) {
+        while (!room.ahead.isEmpty() && room.ahead.first() == room.contiguous + 1) {
+            room.contiguous = room.ahead.pollFirst();
+        }
+    }
+
+    /**
+     * 빈틈없이 받은 마지막 시퀀스 (없으면 0)
+     */
+    long contiguous(int chatRoomId) {
+        lock.lock();
+        try {
+            Room room = rooms.get(chatRoomId);
+            return room == null ? 0 : room.contiguous;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 채팅방 기록 제거 (새로 입장하거나 퇴장할 때)
+     */
+    void reset(int chatRoomId) {
+        lock.lock();
+        try {
+            rooms.remove(chatRoomId);
+            advanced.remove(chatRoomId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 마지막으로 꺼낸 뒤 contiguous가 바뀐 채팅방과 그 값을 꺼냄
+     * @return 채팅방 ID -> contiguous, 없으면 빈 맵
+     */
+    Map<Integer, Long> takeAdvanced() {
+        lock.lock();
+        try {
+            if (advanced.isEmpty()) {
+                return Map.of();
+            }
+            Map<Integer, Long> result = new HashMap<>(advanced);
+            advanced.clear();
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.socket;
+
+/**
+ * 다른 클러스터 노드에 연결된 사용자를 나타내는 세션
+ * 소유 노드가 넘겨받은 메시지를 처리할 때 보낸 사람 자리에 쓰이며,
+ * 이 세션으로 보낸 응답(MESSAGE_ACK 등)은 사용자가 연결된 노드로 중계됩니다.
+ */
+final class RelayedSession implements ClientSession {
+    private final ClusterNode cluster;
+    private final int nodeId;
+    private final int memberId;
+
+    RelayedSession(ClusterNode cluster, int nodeId, int memberId) {
+        this.cluster = cluster;
+        this.nodeId = nodeId;
+        this.memberId = memberId;
+    }
+
+    @Override
+    public int getMemberId() {
+        return memberId;
+    }
+
+    @Override
+    public void sendMessage(ChatMessage message) {
+        cluster.sendToMember(nodeId, memberId, message);
+    }
+
+    @Override
+    public void sendCommand(ChatCommand command) {
+        cluster.sendToMember(nodeId, memberId, command);
+    }
+
+    @Override
+    public void sendFrame(EncodedFrame frame) {
+        cluster.sendToMember(nodeId, memberId, frame.getPayload());
+        frame.releaseWrite();
+    }
+
+    @Override
+    public int getOutboundQueueDepth() {
+        return 0;
+    }
+
+    @Override
+    public long getDroppedFrameCount() {
+        return 0;
+    }
+
+    @Override
+    public long getSpilledFrameCount() {
+        return 0;
+    }
+
+    @Override
+    public void close() {
+        // 연결은 사용자가 접속한 노드가 관리
+    }
+}
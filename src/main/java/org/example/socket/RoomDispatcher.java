@@ -0,0 +1,349 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+import org.example.utils.IntIntHashMap;
+import org.example.utils.IntObjectHashMap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 채팅방별 순서를 지키는 브로드캐스트 실행기
+ * 메시지를 받은 스레드(연결 스레드, 저장 스레드, 클러스터 중계 스레드)가 직접 수신자에게 나눠 주지 않고,
+ * 채팅방 ID로 고른 처리 레인에 넣기만 합니다. 레인마다 스레드가 하나뿐이므로 같은 채팅방의 메시지는
+ * 넣은 순서대로 전달되고, 서로 다른 채팅방은 여러 레인에서 동시에 전달됩니다.
+ *
+ * 공유 레인에서 다른 채팅방과 함께 처리되던 채팅방이 1초 동안 hotRoomThreshold개 이상의 메시지를 받으면
+ * 전용 레인으로 옮겨 같은 레인의 다른 채팅방이 뒤에서 기다리지 않게 합니다 (전용 레인은 공유 레인 수까지만).
+ * 옮기는 작업은 기존 레인의 스레드가 레인 잠금 안에서 하며, 아직 전달하지 않은 그 채팅방의 메시지를
+ * 순서대로 새 레인에 먼저 넘긴 뒤 경로를 바꾸므로 옮기는 중에도 순서가 바뀌지 않습니다.
+ * 전용 레인은 메시지가 기준의 절반 아래로 줄어든 채 대기열이 비면 경로를 되돌리고 종료합니다.
+ */
+final class RoomDispatcher {
+    private static final Logger LOG = LogManager.getLogger(RoomDispatcher.class);
+    // 뜨거운 채팅방을 판단하는 구간
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // 종료할 때 레인별로 남은 메시지 전달을 기다리는 최대 시간
+    private static final long STOP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final Consumer<ChatMessage> delivery;
+    private final int hotRoomThreshold;
+    private final Lane[] sharedLanes;
+    // 아래는 routeLock으로 보호 (pinnedLanes는 바꿀 때마다 복사본을 만들어 교체하므로 읽을 때는 잠금 없음)
+    private final ReentrantLock routeLock = new ReentrantLock();
+    private volatile IntObjectHashMap<Lane> pinnedLanes = new IntObjectHashMap<>();
+    private final List<Lane> dedicatedLanes = new ArrayList<>();
+    private boolean stopped;
+
+    /**
+     * @param laneCount 공유 레인 수
+     * @param hotRoomThreshold 전용 레인으로 옮길 채팅방의 초당 메시지 수 (0이면 옮기지 않음)
+     * @param delivery 메시지 전달 (레인 스레드에서 호출)
+     */
+    RoomDispatcher(int laneCount, int hotRoomThreshold, Consumer<ChatMessage> delivery) {
+        this.delivery = delivery;
+        this.hotRoomThreshold = Math.max(0, hotRoomThreshold);
+        this.sharedLanes = new Lane[Math.max(1, laneCount)];
+        for (int i = 0; i < sharedLanes.length; i++) {
+            sharedLanes[i] = new Lane("chat-broadcast-" + i, 0, true);
+        }
+    }
+
+    void start() {
+        for (Lane lane : sharedLanes) {
+            lane.thread.start();
+        }
+    }
+
+    /**
+     * 채팅방의 레인에 메시지 추가
+     * 레인을 잠근 뒤 경로를 다시 확인해, 그 사이 채팅방이 옮겨졌으면 새 레인으로 다시 넣습니다.
+     * 종료된 뒤에는 호출한 스레드에서 바로 전달합니다.
+     */
+    void dispatch(ChatMessage message) {
+        int chatRoomId = message.getChatRoomId();
+        while (true) {
+            Lane lane = laneFor(chatRoomId);
+            lane.lock.lock();
+            try {
+                if (lane.retired || laneFor(chatRoomId) != lane) {
+                    continue;
+                }
+                if (!lane.closed) {
+                    lane.queue.add(message);
+                    lane.notEmpty.signal();
+                    return;
+                }
+            } finally {
+                lane.lock.unlock();
+            }
+            delivery.accept(message);
+            return;
+        }
+    }
+
+    /**
+     * 종료 - 레인에 남은 메시지를 모두 전달한 뒤 반환
+     */
+    void stop() {
+        List<Lane> lanes = new ArrayList<>();
+        routeLock.lock();
+        try {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            lanes.addAll(dedicatedLanes);
+        } finally {
+            routeLock.unlock();
+        }
+        for (Lane lane : sharedLanes) {
+            lanes.add(lane);
+        }
+        for (Lane lane : lanes) {
+            lane.close();
+        }
+        try {
+            for (Lane lane : lanes) {
+                lane.thread.join(STOP_TIMEOUT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 레인 대기열에 쌓인 메시지 수 합계
+     */
+    int queueDepth() {
+        int depth = 0;
+        for (Lane lane : sharedLanes) {
+            depth += lane.size();
+        }
+        // 레인 잠금 → routeLock 순서를 지키기 위해 목록만 복사한 뒤 잠금 밖에서 셈
+        List<Lane> dedicated;
+        routeLock.lock();
+        try {
+            dedicated = new ArrayList<>(dedicatedLanes);
+        } finally {
+            routeLock.unlock();
+        }
+        for (Lane lane : dedicated) {
+            depth += lane.size();
+        }
+        return depth;
+    }
+
+    /**
+     * 전용 레인에서 처리 중인 채팅방 수
+     */
+    int dedicatedLaneCount() {
+        routeLock.lock();
+        try {
+            return dedicatedLanes.size();
+        } finally {
+            routeLock.unlock();
+        }
+    }
+
+    private Lane laneFor(int chatRoomId) {
+        Lane pinned = pinnedLanes.get(chatRoomId);
+        return pinned != null ? pinned : sharedLanes[Math.floorMod(chatRoomId, sharedLanes.length)];
+    }
+
+    /**
+     * 채팅방을 전용 레인으로 옮김 (공유 레인 스레드가 그 레인의 잠금을 잡은 채 호출)
+     */
+    private void pin(Lane from, int chatRoomId) {
+        routeLock.lock();
+        try {
+            if (stopped || dedicatedLanes.size() >= sharedLanes.length) {
+                return;
+            }
+            Lane lane = new Lane("chat-broadcast-room-" + chatRoomId, chatRoomId, false);
+            // 아직 전달하지 않은 이 채팅방의 메시지를 순서대로 먼저 넘김 (새 레인은 경로를 바꾸기 전에는 보이지 않음)
+            Iterator<ChatMessage> it = from.queue.iterator();
+            while (it.hasNext()) {
+                ChatMessage message = it.next();
+                if (message.getChatRoomId() == chatRoomId) {
+                    lane.queue.add(message);
+                    it.remove();
+                }
+            }
+            IntObjectHashMap<Lane> routes = copyRoutes();
+            routes.put(chatRoomId, lane);
+            pinnedLanes = routes;
+            dedicatedLanes.add(lane);
+            lane.thread.start();
+        } finally {
+            routeLock.unlock();
+        }
+        LOG.info("채팅방을 전용 브로드캐스트 레인으로 옮김", "chatRoomId", chatRoomId, "from", from.thread.getName());
+    }
+
+    /**
+     * 전용 레인을 없애고 채팅방을 공유 레인으로 되돌림 (전용 레인 스레드가 대기열이 빈 채로 잠금을 잡고 호출)
+     */
+    private void unpin(Lane lane) {
+        routeLock.lock();
+        try {
+            IntObjectHashMap<Lane> routes = copyRoutes();
+            routes.remove(lane.chatRoomId);
+            pinnedLanes = routes;
+            dedicatedLanes.remove(lane);
+            lane.retired = true;
+        } finally {
+            routeLock.unlock();
+        }
+        LOG.info("채팅방을 공유 브로드캐스트 레인으로 되돌림", "chatRoomId", lane.chatRoomId);
+    }
+
+    private IntObjectHashMap<Lane> copyRoutes() {
+        IntObjectHashMap<Lane> current = pinnedLanes;
+        IntObjectHashMap<Lane> copy = new IntObjectHashMap<>(current.size() + 1);
+        current.forEachKey(key -> copy.put(key, current.get(key)));
+        return copy;
+    }
+
+    /**
+     * 처리 레인 하나 (스레드 하나가 대기열을 순서대로 전달)
+     */
+    private final class Lane implements Runnable {
+        final Thread thread;
+        // 전용 레인이 맡은 채팅방 (공유 레인은 0)
+        final int chatRoomId;
+        final boolean shared;
+        final ArrayDeque<ChatMessage> queue = new ArrayDeque<>();
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition notEmpty = lock.newCondition();
+        // 아래 두 값은 lock으로 보호
+        boolean closed;
+        // 경로에서 빠진 전용 레인 (잠근 뒤 이 값을 보면 경로를 다시 찾음)
+        boolean retired;
+        // 아래는 레인 스레드 전용 - 현재 구간의 채팅방별(공유 레인) 또는 전체(전용 레인) 메시지 수
+        final IntIntHashMap roomCounts = new IntIntHashMap(0);
+        int windowCount;
+        long windowStart = System.nanoTime();
+
+        Lane(String name, int chatRoomId, boolean shared) {
+            this.chatRoomId = chatRoomId;
+            this.shared = shared;
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return queue.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                ChatMessage message = take();
+                if (message == null) {
+                    return;
+                }
+                try {
+                    delivery.accept(message);
+                } catch (RuntimeException e) {
+                    LOG.warn("브로드캐스트 중 오류 발생", "chatRoomId", message.getChatRoomId(), e);
+                }
+                if (!shared) {
+                    windowCount++;
+                } else if (hotRoomThreshold > 0) {
+                    countShared(message.getChatRoomId());
+                }
+            }
+        }
+
+        /**
+         * 다음 메시지 (종료됐거나 전용 레인을 없앴으면 null)
+         */
+        private ChatMessage take() {
+            lock.lock();
+            try {
+                while (queue.isEmpty()) {
+                    if (closed) {
+                        return null;
+                    }
+                    if (shared) {
+                        notEmpty.await();
+                    } else {
+                        notEmpty.awaitNanos(WINDOW_NANOS);
+                        if (queue.isEmpty() && !closed && isIdle()) {
+                            unpin(this);
+                            return null;
+                        }
+                    }
+                }
+                return queue.poll();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 전용 레인의 한 구간 메시지가 기준의 절반 아래면 true (구간이 지났으면 새 구간 시작)
+         */
+        private boolean isIdle() {
+            if (System.nanoTime() - windowStart < WINDOW_NANOS) {
+                return false;
+            }
+            boolean idle = windowCount < Math.max(1, hotRoomThreshold / 2);
+            windowCount = 0;
+            windowStart = System.nanoTime();
+            return idle;
+        }
+
+        /**
+         * 공유 레인의 채팅방별 메시지 수 - 다른 채팅방과 함께 처리되는 채팅방이 기준을 넘으면 전용 레인으로 옮김
+         */
+        private void countShared(int roomId) {
+            long now = System.nanoTime();
+            if (now - windowStart >= WINDOW_NANOS) {
+                roomCounts.clear();
+                windowStart = now;
+            }
+            int count = roomCounts.get(roomId) + 1;
+            roomCounts.put(roomId, count);
+            if (count < hotRoomThreshold || roomCounts.size() < 2) {
+                return;
+            }
+            lock.lock();
+            try {
+                if (!closed) {
+                    pin(this, roomId);
+                }
+            } finally {
+                lock.unlock();
+            }
+            // 옮겼으면 더 이상 이 레인으로 오지 않고, 옮기지 못했으면 기준만큼 더 받은 뒤 다시 시도
+            roomCounts.remove(roomId);
+        }
+    }
+}
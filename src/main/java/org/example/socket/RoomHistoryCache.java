@@ -0,0 +1,290 @@
+package org.example.socket;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅방별 최근 메시지 링 버퍼
+ * 서버가 저장한(시퀀스가 붙은) 메시지를 채팅방마다 최근 capacity개까지 보관합니다.
+ * 채팅방 입장 응답과 짧은 재접속 재개는 DB 조회 없이 이 버퍼에서 처리합니다.
+ * 전체 메모리(대략적인 바이트 수)와 채팅방 수에 상한을 두고, 넘치면 가장 오래 사용되지 않은 채팅방부터 제거합니다(LRU).
+ *
+ * 메시지 추가는 저장 스레드 하나에서만 일어나고 조회는 O(capacity) 복사이므로 잠금 하나로 충분합니다.
+ */
+final class RoomHistoryCache {
+    // 메시지 객체, 필드, 배열 칸 등 내용 외의 대략적인 크기
+    private static final int MESSAGE_OVERHEAD_BYTES = 128;
+
+    private final int capacity;
+    private final int maxRooms;
+    private final long maxBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    // 접근 순서 LinkedHashMap - 맨 앞이 가장 오래 사용되지 않은 채팅방
+    private final LinkedHashMap<Integer, Ring> rooms = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long totalBytes;
+    private long evictedRoomCount;
+
+    RoomHistoryCache(int capacity, int maxRooms, long maxBytes) {
+        this.capacity = Math.max(1, capacity);
+        this.maxRooms = Math.max(1, maxRooms);
+        this.maxBytes = Math.max(1, maxBytes);
+    }
+
+    /**
+     * 채팅방별 링 버퍼
+     * complete가 true이면 채팅방의 최근 메시지가 빠짐없이 들어 있음 (1번부터 받았거나, 가득 찼거나, DB에서 채움)
+     */
+    private static final class Ring {
+        final ChatMessage[] slots;
+        int start;
+        int size;
+        long bytes;
+        boolean complete;
+
+        Ring(int capacity) {
+            this.slots = new ChatMessage[capacity];
+        }
+
+        ChatMessage get(int index) {
+            return slots[(start + index) % slots.length];
+        }
+
+        /**
+         * @return 밀려난 메시지, 없으면 null
+         */
+        ChatMessage add(ChatMessage message) {
+            ChatMessage evicted = null;
+            if (size == slots.length) {
+                evicted = slots[start];
+                slots[start] = message;
+                start = (start + 1) % slots.length;
+                complete = true;
+            } else {
+                slots[(start + size) % slots.length] = message;
+                size++;
+            }
+            return evicted;
+        }
+
+        long newestSequence() {
+            return size == 0 ? 0 : get(size - 1).getSequence();
+        }
+    }
+
+    /**
+     * 저장된 메시지 추가 (시퀀스 순서대로 호출)
+     */
+    void append(ChatMessage message) {
+        if (message.getSequence() <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            Ring ring = rooms.get(message.getChatRoomId());
+            if (ring == null) {
+                ring = new Ring(capacity);
+                // 첫 메시지부터 받는 채팅방만 처음부터 완전함
+                ring.complete = message.getSequence() == 1;
+                rooms.put(message.getChatRoomId(), ring);
+            } else if (message.getSequence() <= ring.newestSequence()) {
+                return; // DB에서 채울 때 이미 들어온 메시지
+            }
+            addToRing(ring, message);
+            evictIfNeeded(message.getChatRoomId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addToRing(Ring ring, ChatMessage message) {
+        long size = estimateSize(message);
+        ring.bytes += size;
+        totalBytes += size;
+        ChatMessage evicted = ring.add(message);
+        if (evicted != null) {
+            long evictedSize = estimateSize(evicted);
+            ring.bytes -= evictedSize;
+            totalBytes -= evictedSize;
+        }
+    }
+
+    /**
+     * 입장 응답용 최근 메시지 (오래된 순서)
+     * @return 보관 중이 아니거나 최근 메시지가 빠져 있을 수 있으면 null (DB에서 읽어야 함)
+     */
+    List<ChatMessage> recent(int roomId) {
+        lock.lock();
+        try {
+            Ring ring = rooms.get(roomId);
+            if (ring == null || !ring.complete) {
+                return null;
+            }
+            return copy(ring, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 재개용 - afterSequence 이후의 메시지 (오래된 순서)
+     * @return 버퍼만으로 빈틈없이 채울 수 없으면 null (DB에서 읽어야 함)
+     */
+    List<ChatMessage> after(int roomId, long afterSequence) {
+        lock.lock();
+        try {
+            Ring ring = rooms.get(roomId);
+            if (ring == null || ring.size == 0 || ring.get(0).getSequence() > afterSequence + 1) {
+                return null;
+            }
+            int from = 0;
+            while (from < ring.size && ring.get(from).getSequence() <= afterSequence) {
+                from++;
+            }
+            return copy(ring, from);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 채팅방에 마지막으로 추가된 메시지의 시퀀스 (수신 확인 대상 범위)
+     * @return 보관 중이 아니면 0
+     */
+    long newestSequence(int roomId) {
+        lock.lock();
+        try {
+            Ring ring = rooms.get(roomId);
+            return ring == null ? 0 : ring.newestSequence();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * DB에서 읽은 최근 메시지로 버퍼 채우기
+     * 조회하는 동안 저장된 메시지가 이미 버퍼에 있으면 그 뒤에 이어 붙입니다.
+     * @param latest DB에서 읽은 최근 메시지 (오래된 순서)
+     * @return 채운 뒤의 최근 메시지
+     */
+    List<ChatMessage> seed(int roomId, List<ChatMessage> latest) {
+        lock.lock();
+        try {
+            Ring previous = rooms.remove(roomId);
+            if (previous != null) {
+                totalBytes -= previous.bytes;
+            }
+
+            Ring ring = new Ring(capacity);
+            ring.complete = true;
+            long newest = 0;
+            for (ChatMessage message : latest) {
+                addToRing(ring, message);
+                newest = message.getSequence();
+            }
+            if (previous != null) {
+                for (int i = 0; i < previous.size; i++) {
+                    ChatMessage message = previous.get(i);
+                    if (message.getSequence() > newest) {
+                        addToRing(ring, message);
+                    }
+                }
+            }
+            rooms.put(roomId, ring);
+            evictIfNeeded(roomId);
+            return copy(ring, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 채팅방 버퍼 제거
+     */
+    void remove(int roomId) {
+        lock.lock();
+        try {
+            Ring ring = rooms.remove(roomId);
+            if (ring != null) {
+                totalBytes -= ring.bytes;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 상한을 넘으면 가장 오래 사용되지 않은 채팅방부터 제거 (방금 사용한 채팅방은 유지)
+     */
+    private void evictIfNeeded(int touchedRoomId) {
+        Iterator<Map.Entry<Integer, Ring>> iterator = rooms.entrySet().iterator();
+        while ((rooms.size() > maxRooms || totalBytes > maxBytes) && iterator.hasNext()) {
+            Map.Entry<Integer, Ring> eldest = iterator.next();
+            if (eldest.getKey() == touchedRoomId) {
+                continue;
+            }
+            totalBytes -= eldest.getValue().bytes;
+            iterator.remove();
+            evictedRoomCount++;
+        }
+    }
+
+    private static List<ChatMessage> copy(Ring ring, int from) {
+        List<ChatMessage> messages = new ArrayList<>(ring.size - from);
+        for (int i = from; i < ring.size; i++) {
+            messages.add(ring.get(i));
+        }
+        return messages;
+    }
+
+    /**
+     * 메시지의 대략적인 메모리/전송 크기
+     */
+    static int estimateSize(ChatMessage message) {
+        int size = MESSAGE_OVERHEAD_BYTES;
+        if (message.getContent() != null) {
+            size += message.getContent().length() * 2;
+        }
+        if (message.getSenderNickname() != null) {
+            size += message.getSenderNickname().length() * 2;
+        }
+        if (message.getSenderStatus() != null) {
+            size += message.getSenderStatus().length() * 2;
+        }
+        return size;
+    }
+
+    int roomCount() {
+        lock.lock();
+        try {
+            return rooms.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long byteSize() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 상한 때문에 제거된 채팅방 수
+     */
+    long getEvictedRoomCount() {
+        lock.lock();
+        try {
+            return evictedRoomCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,445 @@
+package org.example.socket;
+
+import org.example.utils.IntHashSet;
+import org.example.utils.IntIntHashMap;
+import org.example.utils.IntObjectHashMap;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 채팅방 멤버십 레지스트리
+ * 채팅방별 멤버를 int 배열로 보관하고, 사용자별 참여 채팅방 역색인을 함께 유지합니다.
+ * - 입장/퇴장: 채팅방 잠금 안에서 O(1) (배열 끝에 추가, 퇴장한 칸은 빈 칸 표시 후 절반 이상 비면 압축)
+ * - 브로드캐스트 순회: 채팅방 조회 후에는 잠금 없이 게시된 배열 스냅샷을 읽으며 객체를 할당하지 않음
+ * - 연결 종료 정리: 역색인으로 참여 중인 채팅방만 찾아 제거
+ * 순회 중에 입장/퇴장이 일어나도 ConcurrentModificationException이 발생하지 않으며,
+ * 순회는 잠금을 잡지 않으므로 방문 콜백 안에서 입장/퇴장/연결 종료를 호출해도 교착되지 않습니다.
+ */
+public class RoomMembershipRegistry {
+    private static final int STRIPE_COUNT = 64;
+    private static final int VACANT = Integer.MIN_VALUE;
+    private static final int MIN_SLOTS = 8;
+    private static final int COMPACT_MIN_SLOTS = 16;
+
+    /**
+     * 채팅방 멤버 방문자 (arg로 전달할 값을 넘겨 람다 캡처 할당을 피함)
+     */
+    @FunctionalInterface
+    public interface MemberVisitor<A> {
+        void visit(int memberId, A arg);
+    }
+
+    private final RoomStripe[] roomStripes = new RoomStripe[STRIPE_COUNT];
+    private final MemberStripe[] memberStripes = new MemberStripe[STRIPE_COUNT];
+
+    public RoomMembershipRegistry() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            roomStripes[i] = new RoomStripe();
+            memberStripes[i] = new MemberStripe();
+        }
+    }
+
+    /**
+     * 채팅방에 멤버 추가
+     * @return 새로 추가되었으면 true
+     */
+    public boolean join(int roomId, int memberId) {
+        while (true) {
+            Room room = getOrCreateRoom(roomId);
+            room.lock.lock();
+            try {
+                if (room.removed) {
+                    continue; // 동시에 빈 채팅방으로 제거됨 - 새로 만들어 다시 시도
+                }
+                if (!room.add(memberId)) {
+                    return false;
+                }
+                addRoomOfMember(memberId, roomId);
+                return true;
+            } finally {
+                room.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 채팅방에서 멤버 제거 (마지막 멤버가 나가면 채팅방도 제거)
+     * @return 제거되었으면 true
+     */
+    public boolean leave(int roomId, int memberId) {
+        Room room = getRoom(roomId);
+        if (room == null) {
+            return false;
+        }
+        room.lock.lock();
+        try {
+            if (room.removed || !room.remove(memberId)) {
+                return false;
+            }
+            removeRoomOfMember(memberId, roomId);
+            if (room.memberCount() == 0) {
+                removeRoom(room);
+            }
+            return true;
+        } finally {
+            room.lock.unlock();
+        }
+    }
+
+    /**
+     * 채팅방 멤버 목록 전체 교체 (중복 ID는 하나로 처리)
+     */
+    public void replaceMembers(int roomId, int[] memberIds) {
+        while (true) {
+            Room room = getOrCreateRoom(roomId);
+            room.lock.lock();
+            try {
+                if (room.removed) {
+                    continue;
+                }
+
+                IntHashSet next = new IntHashSet(memberIds.length);
+                for (int memberId : memberIds) {
+                    next.add(memberId);
+                }
+
+                Slots current = room.slots;
+                for (int i = 0; i < current.length; i++) {
+                    int memberId = current.members[i];
+                    if (memberId != VACANT && !next.contains(memberId)) {
+                        removeRoomOfMember(memberId, roomId);
+                    }
+                }
+                for (int memberId : next.toArray()) {
+                    if (!room.slotByMember.containsKey(memberId)) {
+                        addRoomOfMember(memberId, roomId);
+                    }
+                }
+
+                room.rebuild(next.toArray());
+                if (room.memberCount() == 0) {
+                    removeRoom(room);
+                }
+                return;
+            } finally {
+                room.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 채팅방 멤버 순회 (순회 중 잠금 없음, 할당 없음)
+     * 순회 시점에 게시된 스냅샷 기준이며, 동시에 입장/퇴장한 멤버는 포함될 수도 있고 아닐 수도 있습니다.
+     * @return 방문한 멤버 수
+     */
+    public <A> int forEachMember(int roomId, MemberVisitor<A> visitor, A arg) {
+        Room room = getRoom(roomId);
+        if (room == null) {
+            return 0;
+        }
+        Slots slots = room.slots;
+        int[] members = slots.members;
+        int visited = 0;
+        for (int i = 0; i < slots.length; i++) {
+            int memberId = members[i];
+            if (memberId != VACANT) {
+                visitor.visit(memberId, arg);
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    public boolean isMember(int roomId, int memberId) {
+        Room room = getRoom(roomId);
+        if (room == null) {
+            return false;
+        }
+        room.lock.lock();
+        try {
+            return room.slotByMember.containsKey(memberId);
+        } finally {
+            room.lock.unlock();
+        }
+    }
+
+    public int memberCount(int roomId) {
+        Room room = getRoom(roomId);
+        if (room == null) {
+            return 0;
+        }
+        room.lock.lock();
+        try {
+            return room.memberCount();
+        } finally {
+            room.lock.unlock();
+        }
+    }
+
+    /**
+     * 채팅방 멤버 ID 복사본 (순서 없음)
+     */
+    public int[] members(int roomId) {
+        Room room = getRoom(roomId);
+        if (room == null) {
+            return new int[0];
+        }
+        room.lock.lock();
+        try {
+            Slots slots = room.slots;
+            int[] result = new int[room.memberCount()];
+            int count = 0;
+            for (int i = 0; i < slots.length; i++) {
+                if (slots.members[i] != VACANT) {
+                    result[count++] = slots.members[i];
+                }
+            }
+            return result;
+        } finally {
+            room.lock.unlock();
+        }
+    }
+
+    /**
+     * 사용자가 참여 중인 채팅방 ID 복사본 (순서 없음)
+     */
+    public int[] roomsOf(int memberId) {
+        MemberStripe stripe = memberStripe(memberId);
+        stripe.lock.lock();
+        try {
+            IntHashSet rooms = stripe.roomsByMember.get(memberId);
+            return rooms != null ? rooms.toArray() : new int[0];
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 사용자를 참여 중인 모든 채팅방에서 제거 (연결 종료 시 정리)
+     * @return 제거된 채팅방 수
+     */
+    public int removeMember(int memberId) {
+        int removed = 0;
+        for (int roomId : roomsOf(memberId)) {
+            if (leave(roomId, memberId)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 모든 채팅방 제거
+     */
+    public void clear() {
+        for (RoomStripe stripe : roomStripes) {
+            long stamp = stripe.lock.writeLock();
+            try {
+                stripe.rooms.forEachValue(room -> room.removed = true);
+                stripe.rooms.clear();
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+        for (MemberStripe stripe : memberStripes) {
+            stripe.lock.lock();
+            try {
+                stripe.roomsByMember.clear();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private RoomStripe roomStripe(int roomId) {
+        return roomStripes[roomId & (STRIPE_COUNT - 1)];
+    }
+
+    private MemberStripe memberStripe(int memberId) {
+        return memberStripes[memberId & (STRIPE_COUNT - 1)];
+    }
+
+    /**
+     * 채팅방 조회 (읽기 잠금은 공유되므로 여러 브로드캐스트가 동시에 조회해도 서로 막지 않음)
+     */
+    private Room getRoom(int roomId) {
+        RoomStripe stripe = roomStripe(roomId);
+        long stamp = stripe.lock.readLock();
+        try {
+            return stripe.rooms.get(roomId);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    private Room getOrCreateRoom(int roomId) {
+        Room room = getRoom(roomId);
+        if (room != null) {
+            return room;
+        }
+        RoomStripe stripe = roomStripe(roomId);
+        long stamp = stripe.lock.writeLock();
+        try {
+            room = stripe.rooms.get(roomId);
+            if (room == null) {
+                room = new Room(roomId);
+                stripe.rooms.put(roomId, room);
+            }
+            return room;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 빈 채팅방 제거 (채팅방 잠금을 잡은 상태에서 호출)
+     */
+    private void removeRoom(Room room) {
+        room.removed = true;
+        RoomStripe stripe = roomStripe(room.roomId);
+        long stamp = stripe.lock.writeLock();
+        try {
+            if (stripe.rooms.get(room.roomId) == room) {
+                stripe.rooms.remove(room.roomId);
+            }
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    private void addRoomOfMember(int memberId, int roomId) {
+        MemberStripe stripe = memberStripe(memberId);
+        stripe.lock.lock();
+        try {
+            IntHashSet rooms = stripe.roomsByMember.get(memberId);
+            if (rooms == null) {
+                rooms = new IntHashSet(4);
+                stripe.roomsByMember.put(memberId, rooms);
+            }
+            rooms.add(roomId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private void removeRoomOfMember(int memberId, int roomId) {
+        MemberStripe stripe = memberStripe(memberId);
+        stripe.lock.lock();
+        try {
+            IntHashSet rooms = stripe.roomsByMember.get(memberId);
+            if (rooms != null && rooms.remove(roomId) && rooms.isEmpty()) {
+                stripe.roomsByMember.remove(memberId);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private static final class RoomStripe {
+        final StampedLock lock = new StampedLock();
+        final IntObjectHashMap<Room> rooms = new IntObjectHashMap<>();
+    }
+
+    private static final class MemberStripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final IntObjectHashMap<IntHashSet> roomsByMember = new IntObjectHashMap<>();
+    }
+
+    /**
+     * 게시된 멤버 배열 스냅샷 - length 이후 칸은 아직 게시되지 않은 영역
+     */
+    private static final class Slots {
+        static final Slots EMPTY = new Slots(new int[0], 0);
+
+        final int[] members;
+        final int length;
+
+        Slots(int[] members, int length) {
+            this.members = members;
+            this.length = length;
+        }
+    }
+
+    /**
+     * 채팅방 - 변경은 lock 안에서만, 읽기는 slots 스냅샷으로 잠금 없이
+     * 배열 끝 추가는 기존 스냅샷 범위 밖에 쓰고 새 길이를 게시하므로 순회 중인 스레드에 영향이 없고,
+     * 퇴장은 칸을 VACANT로 표시만 하므로 다른 멤버의 위치가 바뀌지 않습니다.
+     */
+    private static final class Room {
+        final int roomId;
+        final ReentrantLock lock = new ReentrantLock();
+        final IntIntHashMap slotByMember = new IntIntHashMap(-1);
+        volatile Slots slots = Slots.EMPTY;
+        volatile boolean removed;
+
+        Room(int roomId) {
+            this.roomId = roomId;
+        }
+
+        int memberCount() {
+            return slotByMember.size();
+        }
+
+        boolean add(int memberId) {
+            if (slotByMember.containsKey(memberId)) {
+                return false;
+            }
+            Slots current = slots;
+            int[] members = current.members;
+            int length = current.length;
+            if (length == members.length) {
+                // 공간이 없으면 빈 칸을 정리하면서 새 배열로 옮김 (기존 배열은 순회 중인 스레드가 계속 사용)
+                members = compactInto(new int[Math.max(MIN_SLOTS, memberCount() * 2)]);
+                length = memberCount();
+            }
+            members[length] = memberId;
+            slotByMember.put(memberId, length);
+            slots = new Slots(members, length + 1);
+            return true;
+        }
+
+        boolean remove(int memberId) {
+            int slot = slotByMember.remove(memberId);
+            if (slot < 0) {
+                return false;
+            }
+            Slots current = slots;
+            current.members[slot] = VACANT;
+
+            int live = memberCount();
+            if (current.length >= COMPACT_MIN_SLOTS && live * 2 < current.length) {
+                int[] compacted = compactInto(new int[Math.max(MIN_SLOTS, live * 2)]);
+                slots = new Slots(compacted, live);
+            }
+            return true;
+        }
+
+        /**
+         * 빈 칸을 제외한 멤버를 새 배열 앞쪽으로 복사하고 위치 색인을 갱신
+         */
+        private int[] compactInto(int[] target) {
+            Slots current = slots;
+            int count = 0;
+            for (int i = 0; i < current.length; i++) {
+                int memberId = current.members[i];
+                if (memberId != VACANT) {
+                    target[count] = memberId;
+                    slotByMember.put(memberId, count);
+                    count++;
+                }
+            }
+            return target;
+        }
+
+        void rebuild(int[] memberIds) {
+            slotByMember.clear();
+            int[] members = new int[Math.max(MIN_SLOTS, memberIds.length * 2)];
+            for (int i = 0; i < memberIds.length; i++) {
+                members[i] = memberIds[i];
+                slotByMember.put(memberIds[i], i);
+            }
+            slots = new Slots(members, memberIds.length);
+        }
+    }
+}
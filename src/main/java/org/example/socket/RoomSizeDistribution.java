@@ -0,0 +1,83 @@
+package org.example.socket;
+
+import java.util.Random;
+
+/**
+ * 부하 테스트용 채팅방 인원 분포
+ * "인원:가중치" 목록(예: 2:80,8:15,500:5)을 읽어 채팅방마다 인원을 뽑고, 시뮬레이션 사용자 중에서 참여자를 고릅니다.
+ * 실제 서비스처럼 1:1 대화가 대부분이고 큰 단체방이 드물게 섞인 구성을 재현하기 위한 것입니다.
+ */
+final class RoomSizeDistribution {
+    private final int[] sizes;
+    private final int[] cumulativeWeights;
+
+    private RoomSizeDistribution(int[] sizes, int[] cumulativeWeights) {
+        this.sizes = sizes;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    /**
+     * @throws IllegalArgumentException 형식이 잘못되었거나 인원/가중치가 1 미만인 경우
+     */
+    static RoomSizeDistribution parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            throw new IllegalArgumentException("채팅방 인원 분포가 비어 있습니다");
+        }
+        String[] entries = spec.split(",");
+        int[] sizes = new int[entries.length];
+        int[] cumulative = new int[entries.length];
+        int total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            String[] parts = entries[i].trim().split(":");
+            int size = Integer.parseInt(parts[0].trim());
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (size < 1 || weight < 1 || parts.length > 2) {
+                throw new IllegalArgumentException("잘못된 채팅방 인원 분포: " + entries[i]);
+            }
+            total += weight;
+            sizes[i] = size;
+            cumulative[i] = total;
+        }
+        return new RoomSizeDistribution(sizes, cumulative);
+    }
+
+    /**
+     * 가중치에 따라 채팅방 인원 하나를 뽑음
+     */
+    int sample(Random random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < sizes.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return sizes[i];
+            }
+        }
+        return sizes[sizes.length - 1];
+    }
+
+    /**
+     * 채팅방 구성 생성
+     * 채팅방마다 인원을 뽑은 뒤 (사용자 수를 넘으면 사용자 수로 제한) 서로 다른 사용자를 무작위로 고릅니다.
+     * @return 채팅방별 참여 사용자 번호 (0 ~ members-1)
+     */
+    int[][] plan(int rooms, int members, Random random) {
+        int[] pool = new int[members];
+        for (int i = 0; i < members; i++) {
+            pool[i] = i;
+        }
+        int[][] plan = new int[rooms][];
+        for (int room = 0; room < rooms; room++) {
+            int size = Math.min(sample(random), members);
+            // 부분 Fisher-Yates 섞기 - 앞쪽 size개가 중복 없는 무작위 표본
+            for (int i = 0; i < size; i++) {
+                int j = i + random.nextInt(members - i);
+                int swap = pool[i];
+                pool[i] = pool[j];
+                pool[j] = swap;
+            }
+            int[] participants = new int[size];
+            System.arraycopy(pool, 0, participants, 0, size);
+            plan[room] = participants;
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.socket;
+
+import java.io.IOException;
+
+/**
+ * 채팅 서버의 연결 수락 및 입출력 처리 엔진
+ * 메시지 처리 로직은 ChatSocketServer에 두고, 엔진은 소켓 입출력만 담당합니다.
+ */
+interface ServerEngine {
+
+    /**
+     * 엔진 시작 (포트 바인딩 포함)
+     */
+    void start() throws IOException;
+
+    /**
+     * 새 연결 수락 중지 (리스닝 소켓만 닫고 기존 연결은 유지, drain용)
+     */
+    void stopAccepting();
+
+    /**
+     * 엔진 종료 (모든 연결 종료)
+     */
+    void stop();
+
+    /**
+     * 실제로 바인딩된 포트 (포트 0으로 시작한 경우 확인용)
+     */
+    int getLocalPort();
+}
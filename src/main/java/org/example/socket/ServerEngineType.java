@@ -0,0 +1,9 @@
+package org.example.socket;
+
+/**
+ * 채팅 서버 연결 처리 엔진 유형 열거형
+ */
+public enum ServerEngineType {
+    BLOCKING,   // 연결당 스레드 하나 (기존 방식)
+    NIO         // Selector 기반 이벤트 루프
+}
@@ -0,0 +1,202 @@
+package org.example.socket;
+
+import org.example.utils.IntObjectHashMap;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * 접속 중인 세션 레지스트리
+ * 한 사용자가 여러 컴퓨터에서 동시에 접속할 수 있도록 사용자별 세션을 배열로 보관합니다.
+ * - 등록/제거: 사용자 ID로 나눈 구역의 쓰기 잠금 안에서 배열을 복사해 교체 (접속/종료 때만 일어나므로 드묾)
+ * - 브로드캐스트 조회: 낙관적 읽기로 배열만 꺼내고 검증 (등록/제거와 겹쳤을 때만 읽기 잠금으로 다시 읽음),
+ *   이후 순회는 잠금 없이 게시된 배열을 읽으며 객체를 할당하지 않음
+ * 세션 제거는 세션 객체 자체로 찾으므로, 같은 사용자의 새 세션이 먼저 등록되어도 이전 세션의 종료가 새 세션을 지우지 않습니다.
+ */
+final class SessionRegistry {
+    private static final int STRIPE_COUNT = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final AtomicInteger memberCount = new AtomicInteger();
+
+    SessionRegistry() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    private static final class Stripe {
+        final StampedLock lock = new StampedLock();
+        final IntObjectHashMap<ClientSession[]> sessionsByMember = new IntObjectHashMap<>();
+    }
+
+    private Stripe stripe(int memberId) {
+        return stripes[memberId & (STRIPE_COUNT - 1)];
+    }
+
+    /**
+     * 세션 등록
+     * @param maxPerMember 사용자별 최대 세션 수 (넘으면 가장 오래된 세션을 목록에서 빼고 돌려줌)
+     * @return 목록에서 밀려난 세션 (호출자가 연결 종료), 없으면 null
+     */
+    ClientSession add(ClientSession session, int maxPerMember) {
+        int memberId = session.getMemberId();
+        Stripe stripe = stripe(memberId);
+        long stamp = stripe.lock.writeLock();
+        try {
+            ClientSession[] current = stripe.sessionsByMember.get(memberId);
+            if (current == null) {
+                stripe.sessionsByMember.put(memberId, new ClientSession[]{session});
+                sessionCount.incrementAndGet();
+                memberCount.incrementAndGet();
+                return null;
+            }
+            ClientSession evicted = null;
+            int from = 0;
+            if (current.length >= Math.max(1, maxPerMember)) {
+                evicted = current[0];
+                from = 1;
+            } else {
+                sessionCount.incrementAndGet();
+            }
+            ClientSession[] updated = Arrays.copyOfRange(current, from, current.length + 1);
+            updated[updated.length - 1] = session;
+            stripe.sessionsByMember.put(memberId, updated);
+            return evicted;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 세션 제거
+     * @return 제거한 뒤 같은 사용자에게 남은 세션 수, 등록되어 있지 않았으면 -1
+     */
+    int remove(ClientSession session) {
+        int memberId = session.getMemberId();
+        Stripe stripe = stripe(memberId);
+        long stamp = stripe.lock.writeLock();
+        try {
+            ClientSession[] current = stripe.sessionsByMember.get(memberId);
+            int index = indexOf(current, session);
+            if (index < 0) {
+                return -1;
+            }
+            sessionCount.decrementAndGet();
+            if (current.length == 1) {
+                stripe.sessionsByMember.remove(memberId);
+                memberCount.decrementAndGet();
+                return 0;
+            }
+            ClientSession[] updated = new ClientSession[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, updated.length - index);
+            stripe.sessionsByMember.put(memberId, updated);
+            return updated.length;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 사용자의 세션 목록 (등록 순서, 마지막이 가장 최근)
+     * 반환된 배열은 바뀌지 않는 스냅샷이므로 잠금 없이 순회해도 되며, 수정하면 안 됩니다.
+     * @return 접속 중이 아니면 null
+     */
+    ClientSession[] get(int memberId) {
+        Stripe stripe = stripe(memberId);
+        long stamp = stripe.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            ClientSession[] sessions = null;
+            try {
+                sessions = stripe.sessionsByMember.get(memberId);
+            } catch (RuntimeException e) {
+                // 쓰기와 겹쳐 맵 내부가 잠시 어긋난 상태를 읽음 - 아래 검증에 실패하므로 잠금으로 다시 읽음
+            }
+            if (stripe.lock.validate(stamp)) {
+                return sessions;
+            }
+        }
+        stamp = stripe.lock.readLock();
+        try {
+            return stripe.sessionsByMember.get(memberId);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 사용자의 가장 최근 세션
+     * @return 접속 중이 아니면 null
+     */
+    ClientSession latest(int memberId) {
+        ClientSession[] sessions = get(memberId);
+        return sessions != null ? sessions[sessions.length - 1] : null;
+    }
+
+    /**
+     * 세션이 아직 등록되어 있는지
+     */
+    boolean contains(ClientSession session) {
+        return indexOf(get(session.getMemberId()), session) >= 0;
+    }
+
+    /**
+     * 모든 세션 방문 (지표 수집용 - 구역마다 읽기 잠금을 잡으므로 방문 중 등록/제거는 잠시 기다림)
+     */
+    void forEach(Consumer<ClientSession> action) {
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                stripe.sessionsByMember.forEachValue(sessions -> {
+                    for (ClientSession session : sessions) {
+                        action.accept(session);
+                    }
+                });
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    void clear() {
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.writeLock();
+            try {
+                stripe.sessionsByMember.clear();
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+        sessionCount.set(0);
+        memberCount.set(0);
+    }
+
+    /**
+     * 등록된 세션 수
+     */
+    int getSessionCount() {
+        return sessionCount.get();
+    }
+
+    /**
+     * 세션이 하나 이상 있는 사용자 수
+     */
+    int getMemberCount() {
+        return memberCount.get();
+    }
+
+    private static int indexOf(ClientSession[] sessions, ClientSession session) {
+        if (sessions != null) {
+            for (int i = 0; i < sessions.length; i++) {
+                if (sessions[i] == session) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.socket;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 부하 테스트용 시뮬레이션 사용자 (연결 하나)
+ * 실제 클라이언트와 같은 핸드셰이크로 인증하고, 수신 루프에서 메시지 도착 시각을 LoadTestResult에 기록합니다.
+ * 서버가 생존 확인을 하면 PING에 PONG으로 응답해 유휴 연결로 정리되지 않게 합니다.
+ * 메시지 본문은 "lt|<전송 예정 시각 ns>|..." 형식이며, 같은 JVM의 System.nanoTime으로 지연을 계산합니다.
+ */
+final class SimulatedMember {
+    static final String CONTENT_PREFIX = "lt|";
+    private static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+
+    private final int memberId;
+    private final LoadTestResult result;
+    private final Socket socket = new Socket();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private DataInputStream in;
+    private OutputStream out;
+    private WireCodec codec;
+    private volatile boolean closed;
+
+    SimulatedMember(int memberId, LoadTestResult result) {
+        this.memberId = memberId;
+        this.result = result;
+    }
+
+    int getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * 연결 및 핸드셰이크
+     * @throws IOException 연결 실패 또는 서버가 인증을 거부한 경우
+     */
+    void connect(String host, int port, WireFormat format) throws IOException {
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+        socket.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        out = socket.getOutputStream();
+
+        // 압축 형식은 서버가 압축을 쓰지 않을 때를 대비해 바이너리 형식도 함께 알림
+        int formats = format == WireFormat.DEFLATE ? format.getMask() | WireFormat.BINARY.getMask() : format.getMask();
+        out.write(Handshake.encodeClientHello(memberId, formats, Handshake.FEATURE_HEARTBEAT));
+        byte[] body = FrameCodec.readFrameBody(in);
+        Handshake.ServerAck ack = Handshake.decodeServerAck(body, 0, body.length);
+        if (!ack.accepted) {
+            close();
+            throw new IOException("서버가 인증을 거부했습니다: " + memberId);
+        }
+        codec = ack.format.codec();
+        // 수신 루프는 서버가 보내지 않는 동안 계속 기다림 (생존 확인은 서버의 PING에 맡김)
+        socket.setSoTimeout(0);
+    }
+
+    /**
+     * 수신 루프 시작
+     */
+    void startReading(ExecutorService executor) {
+        executor.execute(this::readLoop);
+    }
+
+    private void readLoop() {
+        try {
+            while (!closed) {
+                byte[] body = FrameCodec.readFrameBody(in);
+                long receivedNanos = System.nanoTime();
+                Object payload = codec.decode(body, 0, body.length);
+                if (payload instanceof ChatMessage) {
+                    long intendedNanos = intendedNanos(((ChatMessage) payload).getContent());
+                    if (intendedNanos != 0) {
+                        result.recordDelivery(intendedNanos, receivedNanos);
+                    }
+                } else if (payload instanceof ChatCommand) {
+                    handleCommand((ChatCommand) payload);
+                }
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            // 연결 종료 또는 잘못된 프레임 - 직접 닫은 경우가 아니면 끊김으로 집계
+        } finally {
+            if (!closed) {
+                result.disconnects.increment();
+            }
+            close();
+        }
+    }
+
+    private void handleCommand(ChatCommand command) throws IOException {
+        switch (command.getType()) {
+            case JOIN_CHAT_SUCCESS:
+                result.joined.increment();
+                break;
+            case MESSAGE_ACK:
+                if (command.getMessageId() < 0) {
+                    result.ackFailures.increment();
+                } else {
+                    result.acked.increment();
+                }
+                break;
+            case PING:
+                result.pings.increment();
+                write(new ChatCommand(ChatCommandType.PONG, 0));
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 메시지 본문에서 전송 예정 시각 추출 (부하 테스트 메시지가 아니면 0)
+     */
+    static long intendedNanos(String content) {
+        if (content == null || !content.startsWith(CONTENT_PREFIX)) {
+            return 0;
+        }
+        int end = content.indexOf('|', CONTENT_PREFIX.length());
+        if (end < 0) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(content, CONTENT_PREFIX.length(), end, 10);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    void joinRoom(int chatRoomId) throws IOException {
+        write(new ChatCommand(ChatCommandType.JOIN_CHAT, chatRoomId, memberId));
+    }
+
+    void send(ChatMessage message) throws IOException {
+        write(message);
+    }
+
+    private void write(Object payload) throws IOException {
+        byte[] frame = codec.encode(payload);
+        writeLock.lock();
+        try {
+            out.write(frame);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // 이미 닫힘
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 소켓 연결 처리용 스레드 풀 생성 유틸리티
+ * 가상 스레드 모드에서는 작업마다 가상 스레드를 하나씩 만드는 실행기를 사용합니다.
+ * (Java 21 미만 JVM에서는 자동으로 기존 스레드 풀을 사용)
+ *
+ * 이 실행기에서 도는 코드(연결 처리, 송신 대기열, 최근 메시지 버퍼 등)가 잡는 잠금은 synchronized 대신 ReentrantLock을 씁니다.
+ * Java 24 미만에서는 synchronized 안에서 기다리는 가상 스레드가 캐리어 스레드에 고정되어, 캐리어 수만큼만 동시에 진행되기 때문입니다.
+ */
+final class SocketExecutors {
+    private static final Logger LOG = LogManager.getLogger(SocketExecutors.class);
+
+    private SocketExecutors() {
+    }
+
+    /**
+     * 연결 처리용 실행기 생성
+     * @param virtualThreads 가상 스레드 사용 여부
+     */
+    static ExecutorService newConnectionExecutor(boolean virtualThreads) {
+        if (virtualThreads) {
+            try {
+                // 컴파일 대상 버전과 무관하게 동작하도록 리플렉션으로 호출
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                LOG.warn("가상 스레드를 지원하지 않는 JVM입니다 (Java 21 이상 필요). 플랫폼 스레드를 사용합니다");
+            }
+        }
+        return Executors.newCachedThreadPool();
+    }
+}
@@ -0,0 +1,295 @@
+package org.example.socket;
+
+import org.example.log.LogManager;
+import org.example.log.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 메모리 상한과 디스크 넘김(spill)이 있는 보류 전송 저장소
+ * 접속하지 않은 사용자에게 보낼 메시지를 사용자별로 보관합니다. 모든 사용자의 메모리 사용량 합계가 상한을 넘으면
+ * 이후 항목은 사용자별 파일에 바이너리 프레임으로 이어 쓰고, 꺼낼 때는 메모리 -> 파일 순서로 읽어 저장 순서를 유지합니다.
+ * 사용자별 보관 개수에도 상한을 두며, 넘치면 새 항목을 버립니다 (접속 후 입장 응답의 최근 메시지로 채워짐).
+ * 오래 접속하지 않은 사용자의 항목은 서버가 discard()로 버립니다.
+ *
+ * 파일 쓰기는 버퍼에만 기록하고 꺼낼 때 한 번에 비우므로, 브로드캐스트 경로에서 디스크 동기화를 기다리지 않습니다.
+ * 서버를 다시 시작하면 이전 실행의 파일은 지웁니다 (메모리에 있던 앞부분 없이는 순서를 복원할 수 없음).
+ */
+public class SpillingPendingDeliveryStore implements PendingDeliveryStore {
+    private static final Logger LOG = LogManager.getLogger(SpillingPendingDeliveryStore.class);
+    private static final String FILE_SUFFIX = ".pending";
+    // 채팅 메시지가 아닌 항목의 대략적인 크기
+    private static final int COMMAND_SIZE_BYTES = 64;
+
+    private final long maxMemoryBytes;
+    private final int maxPerMember;
+    private final Path spillDirectory;
+    private final Map<Integer, MemberQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicLong memoryBytes = new AtomicLong();
+    private final AtomicLong storedCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final AtomicLong discardedCount = new AtomicLong();
+
+    /**
+     * @param maxMemoryBytes 모든 사용자가 메모리에 보관하는 항목의 대략적인 최대 크기
+     * @param maxPerMember 사용자별 최대 보관 개수 (메모리 + 파일)
+     * @param spillDirectory 넘친 항목을 기록할 디렉터리 (없으면 생성)
+     */
+    public SpillingPendingDeliveryStore(long maxMemoryBytes, int maxPerMember, Path spillDirectory) throws IOException {
+        this.maxMemoryBytes = Math.max(0, maxMemoryBytes);
+        this.maxPerMember = Math.max(1, maxPerMember);
+        this.spillDirectory = spillDirectory;
+        Files.createDirectories(spillDirectory);
+        deleteSpillFiles();
+    }
+
+    /**
+     * 사용자별 보류 항목 (메모리에 먼저, 넘치면 파일에 이어서)
+     */
+    private static final class MemberQueue {
+        final ReentrantLock lock = new ReentrantLock();
+        final ArrayDeque<Object> memory = new ArrayDeque<>();
+        long memoryBytes;
+        int count;
+        // 파일에 남은 항목 수
+        int diskCount;
+        Path file;
+        OutputStream writer;
+        // 파일을 처음 읽을 때 열어 두고 이어서 읽음 (꺼낼 때마다 파일을 다시 열고 앞부분을 건너뛰지 않도록)
+        DataInputStream reader;
+        // 비워져서 저장소에서 제거됨 (이 객체에 추가하지 말고 새로 만들어야 함)
+        boolean removed;
+    }
+
+    @Override
+    public void store(int memberId, Object payload) {
+        while (true) {
+            MemberQueue queue = queues.computeIfAbsent(memberId, id -> new MemberQueue());
+            queue.lock.lock();
+            try {
+                if (queue.removed) {
+                    continue;
+                }
+                add(memberId, queue, payload);
+                return;
+            } finally {
+                queue.lock.unlock();
+            }
+        }
+    }
+
+    private void add(int memberId, MemberQueue queue, Object payload) {
+        if (queue.count >= maxPerMember) {
+            discardedCount.incrementAndGet();
+            return;
+        }
+        long size = estimateSize(payload);
+        // 파일에 남은 항목이 있으면 순서 유지를 위해 새 항목도 파일로 보냄
+        if (queue.diskCount == 0 && memoryBytes.addAndGet(size) <= maxMemoryBytes) {
+            queue.memory.add(payload);
+            queue.memoryBytes += size;
+        } else {
+            if (queue.diskCount == 0) {
+                memoryBytes.addAndGet(-size);
+            }
+            try {
+                if (queue.writer == null) {
+                    queue.file = spillDirectory.resolve(memberId + FILE_SUFFIX);
+                    queue.writer = new BufferedOutputStream(Files.newOutputStream(queue.file,
+                            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+                }
+                queue.writer.write(BinaryWireCodec.INSTANCE.encode(payload));
+                queue.diskCount++;
+                spilledCount.incrementAndGet();
+            } catch (IOException e) {
+                LOG.warn("보류 항목 파일 기록 실패", "memberId", memberId, e);
+                discardedCount.incrementAndGet();
+                return;
+            }
+        }
+        queue.count++;
+        storedCount.incrementAndGet();
+    }
+
+    @Override
+    public List<Object> poll(int memberId, int maxCount) {
+        MemberQueue queue = queues.get(memberId);
+        if (queue == null) {
+            return Collections.emptyList();
+        }
+        List<Object> polled = new ArrayList<>(Math.min(maxCount, 256));
+        queue.lock.lock();
+        try {
+            while (polled.size() < maxCount && !queue.memory.isEmpty()) {
+                Object payload = queue.memory.poll();
+                long size = estimateSize(payload);
+                queue.memoryBytes -= size;
+                memoryBytes.addAndGet(-size);
+                polled.add(payload);
+            }
+            if (polled.size() < maxCount && queue.diskCount > 0) {
+                readFromDisk(memberId, queue, maxCount - polled.size(), polled);
+            }
+            queue.count = queue.memory.size() + queue.diskCount;
+            if (queue.count == 0) {
+                queue.removed = true;
+                queues.remove(memberId, queue);
+            }
+        } finally {
+            queue.lock.unlock();
+        }
+        return polled;
+    }
+
+    private void readFromDisk(int memberId, MemberQueue queue, int maxCount, List<Object> polled) {
+        try {
+            // 남은 항목은 모두 버퍼에서 내보낸 뒤 읽으므로, 읽는 쪽 버퍼가 아직 쓰지 않은 부분에 걸리지 않음
+            queue.writer.flush();
+            if (queue.reader == null) {
+                queue.reader = new DataInputStream(new BufferedInputStream(Files.newInputStream(queue.file)));
+            }
+            int read = 0;
+            while (read < maxCount && queue.diskCount > 0) {
+                byte[] body = FrameCodec.readFrameBody(queue.reader);
+                polled.add(BinaryWireCodec.INSTANCE.decode(body, 0, body.length));
+                queue.diskCount--;
+                read++;
+            }
+        } catch (IOException e) {
+            // 파일이 손상됨 - 남은 항목은 복구할 수 없으므로 버림
+            LOG.warn("보류 항목 파일 읽기 실패", "memberId", memberId, e);
+            discardedCount.addAndGet(queue.diskCount);
+            queue.diskCount = 0;
+        }
+        if (queue.diskCount == 0) {
+            closeFile(queue);
+        }
+    }
+
+    private static void closeFile(MemberQueue queue) {
+        try {
+            queue.writer.close();
+            if (queue.reader != null) {
+                queue.reader.close();
+            }
+            Files.deleteIfExists(queue.file);
+        } catch (IOException e) {
+            LOG.warn("보류 항목 파일 삭제 실패", "file", queue.file, e);
+        }
+        queue.writer = null;
+        queue.reader = null;
+        queue.file = null;
+    }
+
+    @Override
+    public boolean hasPending(int memberId) {
+        return queues.containsKey(memberId);
+    }
+
+    /**
+     * 사용자의 보류 항목을 모두 버리고 파일 삭제 (보관 시간이 지난 사용자)
+     * @return 버린 항목 수
+     */
+    public int discard(int memberId) {
+        MemberQueue queue = queues.get(memberId);
+        if (queue == null) {
+            return 0;
+        }
+        int discarded = discard(memberId, queue);
+        discardedCount.addAndGet(discarded);
+        return discarded;
+    }
+
+    /**
+     * 모든 보류 항목을 버리고 파일 삭제 (서버 종료 시)
+     */
+    public void clear() {
+        for (Map.Entry<Integer, MemberQueue> entry : queues.entrySet()) {
+            discard(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private int discard(int memberId, MemberQueue queue) {
+        queue.lock.lock();
+        try {
+            int discarded = queue.count;
+            memoryBytes.addAndGet(-queue.memoryBytes);
+            queue.memory.clear();
+            queue.memoryBytes = 0;
+            if (queue.writer != null) {
+                closeFile(queue);
+            }
+            queue.diskCount = 0;
+            queue.count = 0;
+            queue.removed = true;
+            queues.remove(memberId, queue);
+            return discarded;
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    private void deleteSpillFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDirectory, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static long estimateSize(Object payload) {
+        return payload instanceof ChatMessage ? RoomHistoryCache.estimateSize((ChatMessage) payload) : COMMAND_SIZE_BYTES;
+    }
+
+    /**
+     * 보류 항목이 있는 사용자 수
+     */
+    public int getMemberCount() {
+        return queues.size();
+    }
+
+    /**
+     * 메모리에 보관 중인 항목의 대략적인 크기
+     */
+    public long getMemoryBytes() {
+        return memoryBytes.get();
+    }
+
+    /**
+     * 보관한 항목 수 (누적)
+     */
+    public long getStoredCount() {
+        return storedCount.get();
+    }
+
+    /**
+     * 메모리 상한을 넘어 파일에 기록한 항목 수 (누적)
+     */
+    public long getSpilledCount() {
+        return spilledCount.get();
+    }
+
+    /**
+     * 사용자별 상한을 넘었거나 파일 오류로 버린 항목 수 (누적)
+     */
+    public long getDiscardedCount() {
+        return discardedCount.get();
+    }
+}
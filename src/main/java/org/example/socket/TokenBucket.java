@@ -0,0 +1,65 @@
+package org.example.socket;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 잠금 없는 토큰 버킷
+ * 초당 ratePerSecond개씩 토큰이 차고 최대 burst개까지 모이는 버킷을, 토큰 수 대신 "버킷이 다시 가득 차는 시각" 하나로 표현합니다.
+ * 토큰 하나를 쓰면 그 시각이 토큰 간격만큼 늦춰지고, 그 시각이 현재보다 burst개 분량 이상 앞서 있으면 토큰이 없는 것입니다.
+ * 상태가 long 하나이므로 여러 연결이 같은 버킷(채팅방 제한)을 함께 써도 CAS 한 번으로 끝나며, 토큰을 채우는 타이머가 필요 없습니다.
+ */
+final class TokenBucket {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final AtomicLongFieldUpdater<TokenBucket> FULL_AT =
+            AtomicLongFieldUpdater.newUpdater(TokenBucket.class, "fullAt");
+
+    // 토큰 하나가 차는 데 걸리는 시간
+    private final long intervalNanos;
+    // 버킷이 가득 찬 상태에서 꺼낼 수 있는 시간 분량 (burst개)
+    private final long capacityNanos;
+    // 버킷이 다시 가득 차는 시각 (System.nanoTime 기준, 이미 가득 찼으면 과거)
+    private volatile long fullAt;
+
+    /**
+     * @param ratePerSecond 초당 채워지는 토큰 수 (1 이상)
+     * @param burst 한 번에 몰아서 쓸 수 있는 최대 토큰 수 (1 이상)
+     */
+    TokenBucket(int ratePerSecond, int burst, long nowNanos) {
+        this.intervalNanos = Math.max(1, NANOS_PER_SECOND / Math.max(1, ratePerSecond));
+        this.capacityNanos = intervalNanos * Math.max(1, burst);
+        this.fullAt = nowNanos;
+    }
+
+    /**
+     * 토큰 하나 사용
+     * @return 토큰이 있었으면 true
+     */
+    boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt;
+            long base = current - nowNanos > 0 ? current : nowNanos;
+            long next = base + intervalNanos;
+            if (next - nowNanos > capacityNanos) {
+                return false;
+            }
+            if (FULL_AT.compareAndSet(this, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 다음 토큰이 찰 때까지 남은 시간 (토큰이 있으면 0)
+     */
+    long nanosUntilAvailable(long nowNanos) {
+        long wait = fullAt + intervalNanos - capacityNanos - nowNanos;
+        return Math.max(0, wait);
+    }
+
+    /**
+     * 버킷이 가득 찬 상태인지 (오래 쓰이지 않은 버킷 정리용)
+     */
+    boolean isFull(long nowNanos) {
+        return fullAt - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.socket;
+
+import java.io.IOException;
+
+/**
+ * 프레임 본문 코덱
+ * ChatMessage / ChatCommand 를 길이 헤더가 포함된 프레임으로 인코딩하고, 본문을 다시 객체로 디코딩합니다.
+ */
+public interface WireCodec {
+
+    /**
+     * 코덱 형식
+     */
+    WireFormat getFormat();
+
+    /**
+     * 객체를 길이 헤더가 포함된 프레임으로 인코딩
+     */
+    byte[] encode(Object payload) throws IOException;
+
+    /**
+     * 프레임 본문(길이 헤더 제외)을 객체로 디코딩
+     */
+    Object decode(byte[] buffer, int offset, int length) throws IOException, ClassNotFoundException;
+}
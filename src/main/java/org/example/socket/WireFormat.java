@@ -0,0 +1,48 @@
+package org.example.socket;
+
+/**
+ * 프레임 본문 인코딩 형식 열거형
+ * 핸드셰이크에서 클라이언트가 지원 목록(비트마스크)을 보내면 서버가 하나를 선택합니다.
+ */
+public enum WireFormat {
+    JAVA(1),     // Java 직렬화 (기존 클라이언트 호환)
+    BINARY(2),   // 버전이 붙은 압축 바이너리 형식
+    DEFLATE(4);  // 바이너리 형식 + 큰 본문은 공유 사전 Deflate 압축 (서버가 압축을 사용할 때 BINARY 대신 선택)
+
+    private final int mask;
+
+    WireFormat(int mask) {
+        this.mask = mask;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * 이 형식의 코덱
+     */
+    public WireCodec codec() {
+        switch (this) {
+            case BINARY:
+                return BinaryWireCodec.INSTANCE;
+            case DEFLATE:
+                return DeflateWireCodec.INSTANCE;
+            case JAVA:
+            default:
+                return JavaSerializationCodec.INSTANCE;
+        }
+    }
+
+    /**
+     * 비트마스크 값으로 형식 조회
+     */
+    public static WireFormat fromMask(int mask) {
+        for (WireFormat format : values()) {
+            if (format.mask == mask) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -88,10 +88,37 @@ public class DatabaseInitializer {
                     "blockchain_message_id INT NOT NULL," +
                     "member_id INT NOT NULL," +
                     "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP," +
+                    "room_seq BIGINT NOT NULL DEFAULT 0," + // 채팅방별 메시지 시퀀스 (서버가 저장한 메시지만)
+                    "KEY idx_messages_room_seq (chatroom_id, room_seq)," +
                     "FOREIGN KEY (chatroom_id) REFERENCES ChatRooms(chatroom_id) ON DELETE CASCADE," +
                     "FOREIGN KEY (member_id) REFERENCES Members(member_id) ON DELETE CASCADE" +
                     ")");
 
+            // 테이블이 이미 존재하는 경우 room_seq 컬럼과 인덱스 추가 시도
+            try {
+                statement.execute("ALTER TABLE Messages ADD COLUMN room_seq BIGINT NOT NULL DEFAULT 0");
+                System.out.println("Messages 테이블에 room_seq 컬럼이 추가되었습니다.");
+
+                // 기존 메시지에 채팅방별 작성 순서대로 시퀀스 부여 (서버의 최근 메시지/재개에 포함되도록)
+                statement.execute("UPDATE Messages m JOIN (" +
+                        "SELECT message_id, ROW_NUMBER() OVER (PARTITION BY chatroom_id ORDER BY created_at, message_id) AS seq " +
+                        "FROM Messages) numbered ON m.message_id = numbered.message_id " +
+                        "SET m.room_seq = numbered.seq");
+            } catch (SQLException e) {
+                // 컬럼이 이미 존재하는 경우 예외 무시
+                if (!e.getMessage().contains("Duplicate column")) {
+                    System.err.println("room_seq 컬럼 추가 중 오류 발생: " + e.getMessage());
+                }
+            }
+            try {
+                statement.execute("ALTER TABLE Messages ADD INDEX idx_messages_room_seq (chatroom_id, room_seq)");
+            } catch (SQLException e) {
+                // 인덱스가 이미 존재하는 경우 예외 무시
+                if (!e.getMessage().contains("Duplicate key name")) {
+                    System.err.println("room_seq 인덱스 추가 중 오류 발생: " + e.getMessage());
+                }
+            }
+
             statement.execute("CREATE TABLE IF NOT EXISTS ChatRooms (" +
                     "chatroom_id INT AUTO_INCREMENT PRIMARY KEY," +
                     "chatroom_name VARCHAR(100) NOT NULL," +
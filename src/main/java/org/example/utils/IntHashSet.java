@@ -0,0 +1,146 @@
+package org.example.utils;
+
+import java.util.Arrays;
+
+/**
+ * int 전용 해시 집합 (개방 주소법, 선형 탐사)
+ * Integer 박싱 없이 추가/삭제/조회가 O(1)입니다. 스레드 안전하지 않으므로 외부에서 동기화해야 합니다.
+ * Integer.MIN_VALUE는 빈 칸 표시용으로 예약되어 있어 저장할 수 없습니다.
+ */
+public class IntHashSet {
+    static final int EMPTY = Integer.MIN_VALUE;
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] keys;
+    private int size;
+    private int resizeThreshold;
+
+    public IntHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public IntHashSet(int expectedSize) {
+        allocate(IntHashing.tableSize(expectedSize, MIN_CAPACITY));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        resizeThreshold = IntHashing.threshold(capacity);
+    }
+
+    /**
+     * @return 새로 추가되었으면 true
+     */
+    public boolean add(int key) {
+        IntHashing.checkKey(key);
+        int mask = keys.length - 1;
+        int index = IntHashing.index(key, mask);
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(int key) {
+        int mask = keys.length - 1;
+        int index = IntHashing.index(key, mask);
+        int current;
+        while ((current = keys[index]) != EMPTY) {
+            if (current == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return 삭제되었으면 true
+     */
+    public boolean remove(int key) {
+        int mask = keys.length - 1;
+        int index = IntHashing.index(key, mask);
+        int current;
+        while ((current = keys[index]) != EMPTY) {
+            if (current == key) {
+                shiftKeysBack(index);
+                size--;
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * 삭제한 칸 뒤의 탐사 구간을 앞으로 당겨 빈 칸 없이 유지 (삭제 표시 없이 선형 탐사 유지)
+     */
+    private void shiftKeysBack(int gap) {
+        int mask = keys.length - 1;
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            int key = keys[index];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = IntHashing.index(key, mask);
+            if (IntHashing.isBetween(home, gap, index)) {
+                continue;
+            }
+            keys[gap] = key;
+            gap = index;
+        }
+        keys[gap] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int key : oldKeys) {
+            if (key != EMPTY) {
+                int index = IntHashing.index(key, mask);
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * 모든 원소를 새 배열로 복사 (순서 없음)
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int count = 0;
+        for (int key : keys) {
+            if (key != EMPTY) {
+                result[count++] = key;
+            }
+        }
+        return result;
+    }
+}
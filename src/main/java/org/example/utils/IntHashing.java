@@ -0,0 +1,46 @@
+package org.example.utils;
+
+/**
+ * int 키 해시 테이블 공통 계산 (테이블 크기는 항상 2의 거듭제곱)
+ */
+final class IntHashing {
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private IntHashing() {
+    }
+
+    /**
+     * 연속된 ID가 한쪽에 몰리지 않도록 피보나치 해싱으로 섞은 뒤 테이블 인덱스 계산
+     */
+    static int index(int key, int mask) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    static int tableSize(int expectedSize, int minCapacity) {
+        long required = (long) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+        int capacity = minCapacity;
+        while (capacity < required && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    static int threshold(int capacity) {
+        return (int) (capacity * LOAD_FACTOR);
+    }
+
+    static void checkKey(int key) {
+        if (key == IntHashSet.EMPTY) {
+            throw new IllegalArgumentException("Integer.MIN_VALUE는 키로 사용할 수 없습니다.");
+        }
+    }
+
+    /**
+     * 원형 테이블에서 home이 (gap, index] 구간에 있는지 - 이 경우 원소를 gap으로 옮기면 탐사가 끊김
+     */
+    static boolean isBetween(int home, int gap, int index) {
+        return gap <= index ? (gap < home && home <= index) : (gap < home || home <= index);
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.utils;
+
+import java.util.Arrays;
+
+/**
+ * int → int 해시 맵 (개방 주소법, 선형 탐사)
+ * 키와 값을 모두 박싱하지 않습니다. 스레드 안전하지 않으므로 외부에서 동기화해야 합니다.
+ * Integer.MIN_VALUE는 키로 사용할 수 없으며, 없는 키를 조회하면 생성 시 지정한 missingValue를 반환합니다.
+ */
+public class IntIntHashMap {
+    private static final int EMPTY = IntHashSet.EMPTY;
+    private static final int MIN_CAPACITY = 8;
+
+    /**
+     * 항목 순회용 방문자 (키와 값을 박싱하지 않음)
+     */
+    public interface EntryVisitor {
+        void visit(int key, int value);
+    }
+
+    private final int missingValue;
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int resizeThreshold;
+
+    public IntIntHashMap(int missingValue) {
+        this(MIN_CAPACITY, missingValue);
+    }
+
+    public IntIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        allocate(IntHashing.tableSize(expectedSize, MIN_CAPACITY));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        resizeThreshold = IntHashing.threshold(capacity);
+    }
+
+    /**
+     * @return 이전 값, 없었으면 missingValue
+     */
+    public int put(int key, int value) {
+        IntHashing.checkKey(key);
+        int mask = keys.length - 1;
+        int index = IntHashing.index(key, mask);
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                int old = values[index];
+                values[index] = value;
+                return old;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return missingValue;
+    }
+
+    public int get(int key) {
+        int index = find(key);
+        return index >= 0 ? values[index] : missingValue;
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * @return 삭제된 값, 없었으면 missingValue
+     */
+    public int remove(int key) {
+        int index = find(key);
+        if (index < 0) {
+            return missingValue;
+        }
+        int old = values[index];
+        shiftEntriesBack(index);
+        size--;
+        return old;
+    }
+
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int index = IntHashing.index(key, mask);
+        int current;
+        while ((current = keys[index]) != EMPTY) {
+            if (current == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftEntriesBack(int gap) {
+        int mask = keys.length - 1;
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            int key = keys[index];
+            if (key == EMPTY) {
+                break;
+            }
+            if (IntHashing.isBetween(IntHashing.index(key, mask), gap, index)) {
+                continue;
+            }
+            keys[gap] = key;
+            values[gap] = values[index];
+            gap = index;
+        }
+        keys[gap] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != EMPTY) {
+                int index = IntHashing.index(key, mask);
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * 모든 항목에 대해 작업 수행 (순서 없음, 순회 중 변경 금지)
+     */
+    public void forEach(EntryVisitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                visitor.visit(keys[i], values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.utils;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * int → 객체 해시 맵 (개방 주소법, 선형 탐사)
+ * 키를 박싱하지 않습니다. 스레드 안전하지 않으므로 외부에서 동기화해야 합니다.
+ * Integer.MIN_VALUE는 키로 사용할 수 없습니다.
+ */
+public class IntObjectHashMap<V> {
+    private static final int EMPTY = IntHashSet.EMPTY;
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int resizeThreshold;
+
+    public IntObjectHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public IntObjectHashMap(int expectedSize) {
+        allocate(IntHashing.tableSize(expectedSize, MIN_CAPACITY));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        Arrays.fill(keys, EMPTY);
+        resizeThreshold = IntHashing.threshold(capacity);
+    }
+
+    /**
+     * @return 이전 값, 없었으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        IntHashing.checkKey(key);
+        int mask = keys.length - 1;
+        int index = IntHashing.index(key, mask);
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                V old = (V) values[index];
+                values[index] = value;
+                return old;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int index = find(key);
+        return index >= 0 ? (V) values[index] : null;
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * @return 삭제된 값, 없었으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int index = find(key);
+        if (index < 0) {
+            return null;
+        }
+        V old = (V) values[index];
+        shiftEntriesBack(index);
+        size--;
+        return old;
+    }
+
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int index = IntHashing.index(key, mask);
+        int current;
+        while ((current = keys[index]) != EMPTY) {
+            if (current == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftEntriesBack(int gap) {
+        int mask = keys.length - 1;
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            int key = keys[index];
+            if (key == EMPTY) {
+                break;
+            }
+            if (IntHashing.isBetween(IntHashing.index(key, mask), gap, index)) {
+                continue;
+            }
+            keys[gap] = key;
+            values[gap] = values[index];
+            gap = index;
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != EMPTY) {
+                int index = IntHashing.index(key, mask);
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * 모든 키에 대해 작업 수행 (순서 없음, 순회 중 변경 금지)
+     */
+    public void forEachKey(IntConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept(keys[i]);
+            }
+        }
+    }
+
+    /**
+     * 모든 값에 대해 작업 수행 (순서 없음)
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept((V) values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+}
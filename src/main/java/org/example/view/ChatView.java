@@ -27,7 +27,8 @@ import org.example.repository.MessageRepository;
 import org.example.service.AuthService;
 import org.example.service.BlockchainMessageService;
 import org.example.service.ChatService;
-import org.example.service.ChatService.ChatResult;
+import org.example.socket.ChatCommand;
+import org.example.socket.ChatCommandType;
 import org.example.socket.ChatMessage;
 import org.example.socket.ChatSocketClient;
 
@@ -50,13 +51,18 @@ public class ChatView extends BorderPane {
 
     private final VBox messagesContainer;
     private TextField messageField;
+    // 저장 확인을 기다리는 메시지가 있음 (JavaFX 스레드에서만 사용)
+    private boolean sending;
     private final ListView<Member> memberListView;
     private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm");
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
 
     private Consumer<ChatMessage> messageListener;  // 메시지 수신 리스너
+    private Consumer<ChatCommand> joinListener;     // 입장 응답 리스너
+    private long lastDisplayedSeq;                  // 화면에 표시한 가장 최근 메시지 시퀀스 (중복 표시 방지)
     private Timestamp lastMessageTime;
     private final int LOAD_MESSAGE_COUNT = 20;
+    private static final Object EMPTY_NOTICE = new Object();
     private int messageOffset = 0;
 
     // 소켓 클라이언트
@@ -168,13 +174,12 @@ public class ChatView extends BorderPane {
      */
     public void setChatRoom(ChatRoom chatRoom) {
         // 이전 채팅방 리소스 정리
-        if (currentChatRoom != null && messageListener != null) {
-            socketClient.removeMessageListener(currentChatRoom.getChatRoomId(), messageListener);
-        }
+        dispose();
 
         this.currentChatRoom = chatRoom;
         messageOffset = 0;
         lastMessageTime = null;
+        lastDisplayedSeq = 0;
 
         // UI 초기화
         messagesContainer.getChildren().clear();
@@ -188,15 +193,15 @@ public class ChatView extends BorderPane {
         // 채팅방 제목 설정 및 UI 요소 구성 (기존 코드 유지)
         setupChatRoomUI(chatRoom);
 
-        // 메시지 로드
-        loadMessages();
-
         // 참여자 목록 로드
         loadMembers();
 
         // 메시지 리스너 먼저 등록 - 비동기 처리 전에
+        // 최근 메시지는 입장 응답에 담겨 메시지 리스너로 전달됨 (서버가 보내주지 않으면 DB에서 읽음)
         messageListener = this::handleIncomingMessage;
         socketClient.addMessageListener(chatRoom.getChatRoomId(), messageListener);
+        joinListener = this::handleJoinResponse;
+        socketClient.addCommandListener(joinListener);
 
         // 로딩 인디케이터 추가
         ProgressIndicator progressIndicator = new ProgressIndicator();
@@ -220,6 +225,9 @@ public class ChatView extends BorderPane {
                         messagesContainer.getChildren().removeIf(node ->
                                 node instanceof HBox && ((HBox) node).getChildren().get(0) instanceof ProgressIndicator);
 
+                        // 실시간 수신은 안 되더라도 지난 메시지는 표시
+                        loadMessages();
+
                         showAlert(Alert.AlertType.ERROR, "연결 오류",
                                 "채팅 서버에 연결할 수 없습니다. 네트워크 연결을 확인하고 다시 시도해 주세요.");
                     });
@@ -241,12 +249,14 @@ public class ChatView extends BorderPane {
                     return;
                 }
 
-                // 채팅방 멤버 목록 업데이트
-                List<Member> members = chatService.getChatRoomMembers(chatRoom.getChatRoomId());
-                List<Integer> memberIds = members.stream()
-                        .map(Member::getMemberId)
-                        .collect(java.util.stream.Collectors.toList());
-                socketClient.updateChatRoomMembers(chatRoom.getChatRoomId(), memberIds);
+                // 채팅방 멤버 목록 업데이트 (참여자를 DB에서 읽는 서버에는 보내지 않음)
+                if (!socketClient.isServerMembership()) {
+                    List<Member> members = chatService.getChatRoomMembers(chatRoom.getChatRoomId());
+                    List<Integer> memberIds = members.stream()
+                            .map(Member::getMemberId)
+                            .collect(java.util.stream.Collectors.toList());
+                    socketClient.updateChatRoomMembers(chatRoom.getChatRoomId(), memberIds);
+                }
 
                 // 모든 처리가 완료되면 로딩 표시 제거
                 Platform.runLater(() -> {
@@ -363,6 +373,16 @@ public class ChatView extends BorderPane {
      */
     private void handleIncomingMessage(ChatMessage chatMessage) {
         Platform.runLater(() -> {
+            // 이미 표시한 메시지는 무시 (입장 응답의 최근 메시지와 DB에서 읽은 메시지가 겹칠 수 있음)
+            long sequence = chatMessage.getSequence();
+            if (sequence > 0) {
+                if (sequence <= lastDisplayedSeq) {
+                    return;
+                }
+                lastDisplayedSeq = sequence;
+            }
+            removeEmptyNotice();
+
             // ChatMessage를 Message 객체로 변환
             Message message = messageRepository.convertChatMessageToMessage(chatMessage);
 
@@ -629,29 +649,38 @@ public class ChatView extends BorderPane {
         }
 
         String messageText = messageField.getText().trim();
-        if (messageText.isEmpty()) {
+        // 이전 메시지의 저장 확인을 기다리는 중이면 중복 전송하지 않음
+        if (messageText.isEmpty() || sending) {
             return;
         }
 
         // 소켓 연결 확인
         ensureSocketConnection();
 
-        // 메시지 전송 (데이터베이스 저장 + 소켓 전송)
-        ChatResult chatResult = chatService.sendMessage(
-                currentChatRoom.getChatRoomId(), currentUser.getMemberId(), messageText);
-
-        if (chatResult.isSuccess()) {
-            messageField.clear();
+        // 메시지 전송 (데이터베이스 저장 + 소켓 전송) - 저장 확인은 JavaFX 스레드를 막지 않고 기다림
+        sending = true;
+        chatService.sendMessage(currentChatRoom.getChatRoomId(), currentUser.getMemberId(), messageText)
+                .whenComplete((chatResult, error) -> Platform.runLater(() -> {
+                    sending = false;
+                    if (error == null && chatResult.isSuccess()) {
+                        // 전송 중에 새로 입력한 내용은 지우지 않음
+                        if (messageField.getText().trim().equals(messageText)) {
+                            messageField.clear();
+                        }
 
-            // 메시지 전송 후 확실하게 스크롤을 맨 아래로 이동
-            scrollToBottomAfterLayout();
-        } else {
-            showAlert(
-                    Alert.AlertType.ERROR,
-                    "메시지 전송 실패",
-                    chatResult.getMessage()
-            );
-        }
+                        // 메시지 전송 후 확실하게 스크롤을 맨 아래로 이동
+                        scrollToBottomAfterLayout();
+                        if (chatResult.isPending()) {
+                            showAlert(Alert.AlertType.INFORMATION, "메시지 전송 확인 지연", chatResult.getMessage());
+                        }
+                    } else {
+                        showAlert(
+                                Alert.AlertType.ERROR,
+                                "메시지 전송 실패",
+                                error == null ? chatResult.getMessage() : "메시지 전송에 실패했습니다."
+                        );
+                    }
+                }));
     }
 
     /**
@@ -672,13 +701,7 @@ public class ChatView extends BorderPane {
 
         if (messages.isEmpty()) {
             System.out.println("📋 표시할 메시지가 없습니다.");
-            // 빈 채팅방 안내 메시지 표시
-            Label emptyLabel = new Label("대화를 시작해보세요!");
-            emptyLabel.setStyle("-fx-text-fill: #888; -fx-font-style: italic;");
-            HBox emptyBox = new HBox(emptyLabel);
-            emptyBox.setAlignment(Pos.CENTER);
-            emptyBox.setPadding(new Insets(20));
-            messagesContainer.getChildren().add(emptyBox);
+            showEmptyNotice();
         } else {
             // 메시지들을 UI에 표시
             displayMessages(messages);
@@ -687,6 +710,14 @@ public class ChatView extends BorderPane {
             if (!messages.isEmpty()) {
                 lastMessageTime = messages.get(messages.size() - 1).getCreatedAt();
             }
+
+            // 재접속 시 이후 메시지만 받도록 가장 최근 시퀀스 기록
+            long lastSequence = 0;
+            for (Message message : messages) {
+                lastSequence = Math.max(lastSequence, message.getRoomSeq());
+            }
+            lastDisplayedSeq = Math.max(lastDisplayedSeq, lastSequence);
+            socketClient.recordSequence(currentChatRoom.getChatRoomId(), lastSequence);
         }
 
         // 메시지 로딩 완료 후 스크롤을 맨 아래로 - 개선된 방법
@@ -817,6 +848,66 @@ public class ChatView extends BorderPane {
         });
     }
 
+    /**
+     * 입장 응답 처리 - 서버가 최근 메시지를 보내주지 않았으면 DB에서 읽음
+     * (최근 메시지 자체는 메시지 리스너로 전달됨)
+     */
+    private void handleJoinResponse(ChatCommand command) {
+        if (command.getType() != ChatCommandType.JOIN_CHAT_SUCCESS) {
+            return;
+        }
+        Platform.runLater(() -> {
+            if (currentChatRoom == null || command.getChatRoomId() != currentChatRoom.getChatRoomId()) {
+                return;
+            }
+            List<ChatMessage> history = command.getMessages();
+            if (history == null) {
+                loadMessages();
+            } else if (history.isEmpty() && lastDisplayedSeq == 0) {
+                showEmptyNotice();
+            } else {
+                // 이전 메시지 더 보기는 받은 최근 메시지 다음부터 이어서 읽음
+                messageOffset = history.size() - LOAD_MESSAGE_COUNT;
+                scrollToBottomAfterLayout();
+            }
+        });
+    }
+
+    /**
+     * 소켓 클라이언트가 보관 중인 최근 메시지 표시
+     */
+    private void displayRecentMessages(List<ChatMessage> recent) {
+        if (recent.isEmpty()) {
+            showEmptyNotice();
+            return;
+        }
+
+        List<Message> messages = new ArrayList<>(recent.size());
+        for (ChatMessage chatMessage : recent) {
+            messages.add(messageRepository.convertChatMessageToMessage(chatMessage));
+            lastDisplayedSeq = Math.max(lastDisplayedSeq, chatMessage.getSequence());
+        }
+        displayMessages(messages);
+        lastMessageTime = messages.get(messages.size() - 1).getCreatedAt();
+        messageOffset = messages.size() - LOAD_MESSAGE_COUNT;
+        scrollToBottomAfterLayout();
+    }
+
+    private void showEmptyNotice() {
+        // 빈 채팅방 안내 메시지 표시
+        Label emptyLabel = new Label("대화를 시작해보세요!");
+        emptyLabel.setStyle("-fx-text-fill: #888; -fx-font-style: italic;");
+        HBox emptyBox = new HBox(emptyLabel);
+        emptyBox.setAlignment(Pos.CENTER);
+        emptyBox.setPadding(new Insets(20));
+        emptyBox.setUserData(EMPTY_NOTICE);
+        messagesContainer.getChildren().add(emptyBox);
+    }
+
+    private void removeEmptyNotice() {
+        messagesContainer.getChildren().removeIf(node -> node.getUserData() == EMPTY_NOTICE);
+    }
+
     /**
      * 이전 메시지 더 로드 (스크롤 위로 당길 때)
      */
@@ -876,13 +967,12 @@ public class ChatView extends BorderPane {
      */
     public void setChatRoomWithoutSocket(ChatRoom chatRoom, boolean socketConnected) {
         // 이전 채팅방 리소스 정리
-        if (currentChatRoom != null && messageListener != null) {
-            socketClient.removeMessageListener(currentChatRoom.getChatRoomId(), messageListener);
-        }
+        dispose();
 
         this.currentChatRoom = chatRoom;
         messageOffset = 0;
         lastMessageTime = null;
+        lastDisplayedSeq = 0;
 
         // UI 초기화
         messagesContainer.getChildren().clear();
@@ -939,8 +1029,14 @@ public class ChatView extends BorderPane {
         messageListener = this::handleIncomingMessage;
         socketClient.addMessageListener(chatRoom.getChatRoomId(), messageListener);
 
-        // 메시지 로드
-        loadMessages();
+        // 입장 응답으로 받은 최근 메시지가 있으면 DB 조회 없이 표시
+        List<ChatMessage> recent = socketClient.getRecentMessages(chatRoom.getChatRoomId());
+        if (recent != null) {
+            displayRecentMessages(recent);
+        } else {
+            // 아직 응답이 오지 않았거나 서버가 보내주지 않으면 DB에서 읽음 (이후 도착하는 메시지는 시퀀스로 중복 제거)
+            loadMessages();
+        }
 
         // 참여자 목록 로드
         loadMembers();
@@ -1139,6 +1235,10 @@ public class ChatView extends BorderPane {
         if (currentChatRoom != null && messageListener != null) {
             socketClient.removeMessageListener(currentChatRoom.getChatRoomId(), messageListener);
         }
+        if (joinListener != null) {
+            socketClient.removeCommandListener(joinListener);
+            joinListener = null;
+        }
     }
 
     /**
@@ -0,0 +1,141 @@
+package org.example.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncLoggingTest {
+
+    /**
+     * 출력된 줄을 모아 두는 테스트용 출력
+     */
+    private static final class CapturingSink implements LogSink {
+        private final List<String> lines = new ArrayList<>();
+        private final List<String> pending = new ArrayList<>();
+
+        @Override
+        public void append(Level level, CharSequence line) {
+            pending.add(line.toString());
+        }
+
+        @Override
+        public void flush() {
+            synchronized (lines) {
+                lines.addAll(pending);
+            }
+            pending.clear();
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+
+        List<String> lines() {
+            synchronized (lines) {
+                return new ArrayList<>(lines);
+            }
+        }
+    }
+
+    @Test
+    void 여러_스레드가_넣은_이벤트를_순서대로_모두_꺼냄() throws Exception {
+        LogRingBuffer ring = new LogRingBuffer(1 << 16);
+        int producers = 4;
+        int perProducer = 10_000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            String name = "producer-" + p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    assertTrue(ring.publish(Level.INFO, name, "m", "i", i, null, null, null, null, null));
+                }
+            });
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int[] next = new int[producers];
+        LogEvent event;
+        int total = 0;
+        while ((event = ring.peek()) != null) {
+            int producer = event.logger.charAt(event.logger.length() - 1) - '0';
+            assertEquals(next[producer]++, event.value1);
+            ring.release(event);
+            assertNull(event.logger);
+            total++;
+        }
+        assertEquals(producers * perProducer, total);
+        assertEquals(total, ring.consumed());
+    }
+
+    @Test
+    void 버퍼가_가득_차면_기다리지_않고_버린_수를_셈() {
+        LogRingBuffer ring = new LogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.publish(Level.INFO, "t", "m", null, null, null, null, null, null, null));
+        }
+        assertFalse(ring.publish(Level.INFO, "t", "m", null, null, null, null, null, null, null));
+        assertFalse(ring.publish(Level.INFO, "t", "m", null, null, null, null, null, null, null));
+        assertEquals(2, ring.takeDropped());
+        assertEquals(0, ring.takeDropped());
+
+        ring.release(ring.peek());
+        assertTrue(ring.publish(Level.INFO, "t", "m", null, null, null, null, null, null, null));
+    }
+
+    @Test
+    void 키_값_필드를_한_줄로_출력() {
+        CapturingSink sink = new CapturingSink();
+        AsyncAppender appender = new AsyncAppender(new LogRingBuffer(64), sink);
+        appender.start();
+        try {
+            appender.append(Level.INFO, "ChatSocketServer", "사용자 연결됨", "memberId", 7, "room", "a b", null, null,
+                    null);
+            appender.append(Level.WARN, "ChatSocketServer", "전송 오류", "error", "say \"hi\"", null, null, null, null,
+                    null);
+            appender.flush(1000);
+        } finally {
+            appender.stop(1000);
+        }
+
+        List<String> lines = sink.lines();
+        String thread = "[" + Thread.currentThread().getName() + "]";
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).matches("\\d{4}-\\d\\d-\\d\\d \\d\\d:\\d\\d:\\d\\d\\.\\d{3} INFO  .*\\R"), lines.get(0));
+        assertTrue(lines.get(0).contains(" INFO  " + thread + " ChatSocketServer - 사용자 연결됨 memberId=7 room=\"a b\""),
+                lines.get(0));
+        assertTrue(lines.get(1).contains(" WARN  " + thread + " ChatSocketServer - 전송 오류 error=\"say \\\"hi\\\"\""),
+                lines.get(1));
+    }
+
+    @Test
+    void 최대_크기를_넘으면_파일을_교체() throws Exception {
+        Path dir = Files.createTempDirectory("chat-log");
+        Path file = dir.resolve("chat.log");
+        RollingFileSink sink = new RollingFileSink(file, 1024, 3);
+        String line = "x".repeat(99) + "\n";
+        for (int i = 0; i < 50; i++) {
+            sink.append(Level.INFO, line);
+        }
+        sink.close();
+
+        assertTrue(Files.size(file) <= 1024);
+        assertTrue(Files.exists(dir.resolve("chat.log.1")));
+        assertTrue(Files.exists(dir.resolve("chat.log.2")));
+        assertFalse(Files.exists(dir.resolve("chat.log.3")));
+        assertEquals(1000, Files.size(dir.resolve("chat.log.1")));
+        assertTrue(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).startsWith(line));
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsRegistryTest {
+
+    @Test
+    void 히스토그램_백분위수는_상대_오차_이내() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000, histogram.getMax());
+        long[][] expected = {{50, 50_000}, {90, 90_000}, {99, 99_000}};
+        for (long[] pair : expected) {
+            long actual = histogram.getPercentile(pair[0] / 100.0);
+            assertTrue(actual >= pair[1] && actual <= pair[1] * 1.07,
+                    "p" + pair[0] + " = " + actual + " (기대값 " + pair[1] + ")");
+        }
+        assertEquals(100_000, histogram.getPercentile(1.0));
+    }
+
+    @Test
+    void 구간_상한은_다음_구간_직전_값() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 1000, 123_456_789L, Long.MAX_VALUE}) {
+            int index = Histogram.indexOf(value);
+            assertTrue(Histogram.upperBoundOf(index) >= value, "상한이 값보다 작음: " + value);
+            if (index > 0) {
+                assertTrue(Histogram.upperBoundOf(index - 1) < value, "이전 구간에 속해야 함: " + value);
+            }
+        }
+    }
+
+    @Test
+    void Prometheus_텍스트_형식으로_출력() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter ping = registry.counter("chat_frames_total", "프레임 수", "type", "ping");
+        registry.counter("chat_frames_total", "프레임 수", "type", "pong");
+        registry.gauge("chat_sessions", "세션 수", () -> 3);
+        Histogram latency = registry.histogram("chat_latency_seconds", "지연", 1e9);
+        ping.add(2);
+        latency.record(1_000_000);
+
+        String text = registry.scrape();
+
+        assertEquals(1, text.split("# TYPE chat_frames_total counter", -1).length - 1, text);
+        assertTrue(text.contains("chat_frames_total{type=\"ping\"} 2\n"), text);
+        assertTrue(text.contains("chat_frames_total{type=\"pong\"} 0\n"), text);
+        assertTrue(text.contains("# TYPE chat_sessions gauge\nchat_sessions 3\n"), text);
+        assertTrue(text.contains("# TYPE chat_latency_seconds summary\n"), text);
+        assertTrue(text.contains("chat_latency_seconds{quantile=\"0.99\"} 0.00100000000\n"), text);
+        assertTrue(text.contains("chat_latency_seconds_count 1\n"), text);
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.socket;
+
+import org.example.utils.HashUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class AttachmentTransferTest {
+
+    /**
+     * 바이너리 형식으로 접속해 AttachmentClient로 첨부 파일을 주고받는 연결 (주고받은 첨부 파일 프레임 기록)
+     */
+    private static final class Connection implements AutoCloseable {
+        final TestChatConnection connection;
+        final AttachmentClient client;
+        final List<AttachmentFrame> sent = new CopyOnWriteArrayList<>();
+        final List<AttachmentFrame> received = new CopyOnWriteArrayList<>();
+        private final ReentrantLock writeLock = new ReentrantLock();
+
+        Connection(ChatSocketServer server, int memberId) throws IOException {
+            connection = TestChatConnection.connect(server, memberId, Handshake.FEATURE_ATTACHMENT);
+            assertTrue(connection.ack.attachment());
+            // 수신 스레드는 전송이 없는 동안에도 계속 기다림
+            connection.socket.setSoTimeout(0);
+
+            client = new AttachmentClient(this::send, false);
+            Thread reader = new Thread(() -> {
+                try {
+                    while (true) {
+                        Object payload = connection.read();
+                        if (payload instanceof AttachmentFrame) {
+                            received.add((AttachmentFrame) payload);
+                            client.handle((AttachmentFrame) payload);
+                        }
+                    }
+                } catch (IOException e) {
+                    client.failAll(e);
+                }
+            });
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        void send(Object payload) throws IOException {
+            if (payload instanceof AttachmentFrame) {
+                sent.add((AttachmentFrame) payload);
+            }
+            writeLock.lock();
+            try {
+                connection.write(payload);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        List<AttachmentFrame> sentData() {
+            return sent.stream().filter(frame -> frame.getType() == AttachmentFrameType.DATA)
+                    .collect(java.util.stream.Collectors.toList());
+        }
+
+        @Override
+        public void close() throws IOException {
+            connection.close();
+        }
+    }
+
+    private static ChatSocketServer startServer(ServerEngineType engineType, Path directory) {
+        ChatServerConfig config = new ChatServerConfig();
+        config.setPort(0);
+        config.setEngineType(engineType);
+        config.setIoThreads(1);
+        config.setHeartbeatIntervalMillis(0);
+        config.setPersistMessages(false);
+        config.setAttachmentDirectory(directory.toString());
+        // 전송 창보다 큰 파일로 CREDIT 흐름까지 확인
+        config.setAttachmentWindowKilobytes(64);
+        ChatSocketServer server = new ChatSocketServer(config);
+        server.start();
+        return server;
+    }
+
+    private static Path randomFile(Path directory, String name, int size) throws IOException {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return Files.write(directory.resolve(name), bytes);
+    }
+
+    private static Path storedObject(Path directory, String hash) {
+        return directory.resolve("objects").resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void 업로드한_파일은_해시_이름으로_저장되고_같은_파일은_다시_보내지_않음() throws Exception {
+        Path directory = Files.createTempDirectory("attachment-test-");
+        ChatSocketServer server = startServer(ServerEngineType.NIO, directory.resolve("store"));
+        try (Connection first = new Connection(server, 901);
+             Connection second = new Connection(server, 902)) {
+            Path file = randomFile(directory, "photo.jpg", 300_000);
+            String hash = first.client.upload(file).get(10, TimeUnit.SECONDS);
+
+            assertEquals(HashUtil.sha256(file), hash);
+            assertTrue(Arrays.equals(Files.readAllBytes(file), Files.readAllBytes(storedObject(directory.resolve("store"), hash))));
+            assertEquals(5, first.sentData().size());
+            assertTrue(first.received.stream().anyMatch(frame -> frame.getType() == AttachmentFrameType.CREDIT));
+
+            // 같은 내용은 다른 사용자가 올려도 조각을 보내지 않고 바로 완료
+            assertEquals(hash, second.client.upload(file).get(10, TimeUnit.SECONDS));
+            assertTrue(second.sentData().isEmpty());
+
+            // 해시가 아닌 이름(경로 조작)은 거부
+            first.send(AttachmentFrame.upload("../../escape", 1));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (first.received.stream().noneMatch(frame -> frame.getType() == AttachmentFrameType.FAILED)) {
+                if (System.currentTimeMillis() > deadline) {
+                    fail("잘못된 해시가 거부되지 않음");
+                }
+                Thread.sleep(20);
+            }
+        } finally {
+            server.stop();
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void 끊긴_업로드는_받은_데부터_이어서_받음() throws Exception {
+        Path directory = Files.createTempDirectory("attachment-test-");
+        Path store = directory.resolve("store");
+        ChatSocketServer server = startServer(ServerEngineType.NIO, store);
+        try (Connection connection = new Connection(server, 903)) {
+            Path file = randomFile(directory, "report.pdf", 200_000);
+            String expected = HashUtil.sha256(file);
+            // 이전 연결에서 앞부분만 받아 둔 상태
+            Files.createDirectories(store.resolve("partial"));
+            Files.write(store.resolve("partial").resolve(expected), Arrays.copyOf(Files.readAllBytes(file), 70_000));
+
+            assertEquals(expected, connection.client.upload(file).get(10, TimeUnit.SECONDS));
+            assertEquals(70_000, connection.sentData().get(0).getOffset());
+            assertTrue(Arrays.equals(Files.readAllBytes(file), Files.readAllBytes(storedObject(store, expected))));
+            assertFalse(Files.exists(store.resolve("partial").resolve(expected)));
+        } finally {
+            server.stop();
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void 다운로드는_받다_만_위치부터_이어_받고_해시를_확인() throws Exception {
+        Path directory = Files.createTempDirectory("attachment-test-");
+        Path store = directory.resolve("store");
+        // 블로킹 엔진은 매핑한 파일 구간을 복사 버퍼를 거쳐 기록
+        ChatSocketServer server = startServer(ServerEngineType.BLOCKING, store);
+        try (Connection connection = new Connection(server, 904)) {
+            Path original = randomFile(directory, "original.bin", 2_500_000);
+            String hash = HashUtil.sha256(original);
+            Files.createDirectories(storedObject(store, hash).getParent());
+            Files.copy(original, storedObject(store, hash));
+
+            Path target = directory.resolve("download.bin");
+            Path partial = directory.resolve("download.bin" + AttachmentClient.PARTIAL_SUFFIX);
+            Files.write(partial, Arrays.copyOf(Files.readAllBytes(original), 100_000));
+
+            assertEquals(target, connection.client.download(hash, target).get(10, TimeUnit.SECONDS));
+            assertTrue(Arrays.equals(Files.readAllBytes(original), Files.readAllBytes(target)));
+            assertFalse(Files.exists(partial));
+            AttachmentFrame first = connection.received.get(0);
+            assertEquals(AttachmentFrameType.DATA, first.getType());
+            assertEquals(100_000, first.getOffset());
+            // 다운로드 창(1MB)보다 큰 파일이므로 CREDIT을 보내며 받음
+            assertTrue(connection.sent.stream().anyMatch(frame -> frame.getType() == AttachmentFrameType.CREDIT));
+        } finally {
+            server.stop();
+            deleteRecursively(directory);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryWireCodecTest {
+
+    private static Object roundTrip(Object payload) throws Exception {
+        byte[] frame = BinaryWireCodec.INSTANCE.encode(payload);
+        int length = frame.length - FrameCodec.HEADER_SIZE;
+        assertEquals(length, ((frame[0] & 0xFF) << 24) | ((frame[1] & 0xFF) << 16) | ((frame[2] & 0xFF) << 8) | (frame[3] & 0xFF));
+        return BinaryWireCodec.INSTANCE.decode(frame, FrameCodec.HEADER_SIZE, length);
+    }
+
+    @Test
+    void 메시지_왕복() throws Exception {
+        ChatMessage message = new ChatMessage(ChatMessageType.CHAT, 123456, -1, "안녕하세요 hello",
+                new Timestamp(1_700_000_000_123L), "냥이", "ONLINE");
+
+        ChatMessage decoded = (ChatMessage) roundTrip(message);
+
+        assertEquals(ChatMessageType.CHAT, decoded.getType());
+        assertEquals(123456, decoded.getChatRoomId());
+        assertEquals(-1, decoded.getSenderId());
+        assertEquals("안녕하세요 hello", decoded.getContent());
+        assertEquals(new Timestamp(1_700_000_000_123L), decoded.getTimestamp());
+        assertEquals("냥이", decoded.getSenderNickname());
+        assertEquals("ONLINE", decoded.getSenderStatus());
+    }
+
+    @Test
+    void null_필드_유지() throws Exception {
+        ChatMessage decoded = (ChatMessage) roundTrip(new ChatMessage(ChatMessageType.SYSTEM, 1, 2, null, null));
+
+        assertNull(decoded.getContent());
+        assertNull(decoded.getTimestamp());
+        assertNull(decoded.getSenderNickname());
+    }
+
+    @Test
+    void 명령_왕복() throws Exception {
+        ChatCommand decoded = (ChatCommand) roundTrip(
+                new ChatCommand(ChatCommandType.UPDATE_MEMBERS, 7, Arrays.asList(1, 300, 70000)));
+
+        assertEquals(ChatCommandType.UPDATE_MEMBERS, decoded.getType());
+        assertEquals(7, decoded.getChatRoomId());
+        assertEquals(Arrays.asList(1, 300, 70000), decoded.getMembers());
+        assertNull(((ChatCommand) roundTrip(new ChatCommand(ChatCommandType.JOIN_CHAT, 7, 3))).getMembers());
+    }
+
+    @Test
+    void 전송_확인_명령_왕복() throws Exception {
+        ChatMessage message = new ChatMessage(ChatMessageType.CHAT, 5, 9, "확인", null);
+        message.setClientMessageId(1_700_000_000_000L);
+
+        ChatCommand decoded = (ChatCommand) roundTrip(ChatCommand.messageAck(message, 31337));
+
+        assertEquals(ChatCommandType.MESSAGE_ACK, decoded.getType());
+        assertEquals(31337, decoded.getMessageId());
+        assertEquals(1_700_000_000_000L, decoded.getClientMessageId());
+
+        message.setMessageId(31337);
+        assertEquals(31337, ((ChatMessage) roundTrip(message)).getMessageId());
+    }
+
+    @Test
+    void 재개_응답의_메시지_목록_왕복() throws Exception {
+        ChatMessage missed = new ChatMessage(ChatMessageType.CHAT, 5, 9, "놓친 메시지", new Timestamp(1_700_000_000_000L),
+                "냥이", "ONLINE");
+        missed.setSequence(123);
+        ChatCommand response = new ChatCommand(ChatCommandType.RESUME_SUCCESS, 5, 9);
+        response.setMessages(Arrays.asList(missed, missed));
+        response.setSequence(125);
+
+        ChatCommand decoded = (ChatCommand) roundTrip(response);
+
+        assertEquals(125, decoded.getSequence());
+        assertEquals(2, decoded.getMessages().size());
+        assertEquals("놓친 메시지", decoded.getMessages().get(1).getContent());
+        assertEquals(123, decoded.getMessages().get(0).getSequence());
+        assertNull(((ChatCommand) roundTrip(ChatCommand.resume(5, 9, 7))).getMessages());
+    }
+
+    @Test
+    void Java_직렬화보다_작음() throws Exception {
+        ChatMessage message = new ChatMessage(ChatMessageType.CHAT, 42, 7, "점심 뭐 먹을까요?",
+                new Timestamp(System.currentTimeMillis()), "냥이", "ONLINE");
+
+        int binary = BinaryWireCodec.INSTANCE.encode(message).length;
+        int java = JavaSerializationCodec.INSTANCE.encode(message).length;
+
+        assertTrue(binary * 5 < java, "binary=" + binary + ", java=" + java);
+    }
+
+    @Test
+    void 짧은_메시지는_압축하지_않음() throws Exception {
+        ChatMessage message = new ChatMessage(ChatMessageType.CHAT, 42, 7, "점심 뭐 먹을까요?",
+                new Timestamp(1_700_000_000_000L), "냥이", "ONLINE");
+
+        byte[] frame = DeflateWireCodec.INSTANCE.encode(message);
+
+        assertTrue(Arrays.equals(BinaryWireCodec.INSTANCE.encode(message), frame));
+        ChatMessage decoded = (ChatMessage) DeflateWireCodec.INSTANCE.decode(frame, FrameCodec.HEADER_SIZE,
+                frame.length - FrameCodec.HEADER_SIZE);
+        assertEquals("점심 뭐 먹을까요?", decoded.getContent());
+    }
+
+    @Test
+    void 긴_재개_응답은_압축해서_왕복() throws Exception {
+        ChatCommand response = new ChatCommand(ChatCommandType.RESUME_SUCCESS, 5, 9);
+        List<ChatMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ChatMessage message = new ChatMessage(ChatMessageType.CHAT, 5, 9 + i % 3, "회의 일정 공유드립니다 " + i,
+                    new Timestamp(1_700_000_000_000L + i * 1000L), "냥이" + i % 3, "ONLINE");
+            message.setSequence(100 + i);
+            messages.add(message);
+        }
+        response.setMessages(messages);
+
+        byte[] plain = BinaryWireCodec.INSTANCE.encode(response);
+        byte[] frame = DeflateWireCodec.INSTANCE.encode(response);
+        int length = frame.length - FrameCodec.HEADER_SIZE;
+        assertEquals(length, ((frame[0] & 0xFF) << 24) | ((frame[1] & 0xFF) << 16) | ((frame[2] & 0xFF) << 8) | (frame[3] & 0xFF));
+        assertTrue(frame.length * 3 < plain.length, "deflate=" + frame.length + ", binary=" + plain.length);
+
+        ChatCommand decoded = (ChatCommand) DeflateWireCodec.INSTANCE.decode(frame, FrameCodec.HEADER_SIZE, length);
+        assertEquals(50, decoded.getMessages().size());
+        assertEquals("회의 일정 공유드립니다 49", decoded.getMessages().get(49).getContent());
+        assertEquals(149, decoded.getMessages().get(49).getSequence());
+    }
+}
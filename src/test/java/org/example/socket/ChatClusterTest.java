@@ -0,0 +1,242 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ChatClusterTest {
+
+    /**
+     * 바이너리 형식으로 접속하는 테스트용 클라이언트
+     */
+    private static final class TestClient implements AutoCloseable {
+        final int memberId;
+        final Socket socket;
+        final DataInputStream in;
+        final OutputStream out;
+
+        TestClient(ChatSocketServer server, int memberId) throws IOException {
+            this.memberId = memberId;
+            this.socket = new Socket("localhost", server.getLocalPort());
+            this.socket.setSoTimeout(5000);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = socket.getOutputStream();
+
+            out.write(Handshake.encodeClientHello(memberId, WireFormat.BINARY.getMask()));
+            out.flush();
+            byte[] body = FrameCodec.readFrameBody(in);
+            assertTrue(Handshake.decodeServerAck(body, 0, body.length).accepted);
+        }
+
+        void send(Object payload) throws IOException {
+            out.write(BinaryWireCodec.INSTANCE.encode(payload));
+            out.flush();
+        }
+
+        void join(int chatRoomId) throws IOException {
+            send(new ChatCommand(ChatCommandType.JOIN_CHAT, chatRoomId, memberId));
+            read(payload -> payload instanceof ChatCommand
+                    && ((ChatCommand) payload).getType() == ChatCommandType.JOIN_CHAT_SUCCESS);
+        }
+
+        void sendMessage(int chatRoomId, String content, long clientMessageId) throws IOException {
+            ChatMessage message = new ChatMessage(ChatMessageType.CHAT, chatRoomId, memberId, content,
+                    new Timestamp(System.currentTimeMillis()), "닉네임" + memberId, "ONLINE");
+            message.setClientMessageId(clientMessageId);
+            send(message);
+        }
+
+        /**
+         * 조건에 맞는 프레임이 올 때까지 읽음 (다른 프레임은 건너뜀)
+         */
+        Object read(Predicate<Object> condition) throws IOException {
+            while (true) {
+                byte[] body = FrameCodec.readFrameBody(in);
+                Object payload = BinaryWireCodec.INSTANCE.decode(body, 0, body.length);
+                if (condition.test(payload)) {
+                    return payload;
+                }
+            }
+        }
+
+        ChatMessage readMessage(String content) throws IOException {
+            return (ChatMessage) read(payload -> payload instanceof ChatMessage
+                    && content.equals(((ChatMessage) payload).getContent()));
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private static ChatSocketServer startNode(int nodeId, String seeds) {
+        ChatServerConfig config = new ChatServerConfig();
+        config.setPort(0);
+        config.setPersistMessages(false);
+        config.setClusterNodeId(nodeId);
+        config.setClusterPort(0);
+        config.setClusterSecret("cluster-test");
+        config.setClusterSeeds(seeds);
+        ChatSocketServer server = new ChatSocketServer(config);
+        server.start();
+        return server;
+    }
+
+    private static List<ChatSocketServer> startCluster(int size) {
+        List<ChatSocketServer> nodes = new ArrayList<>();
+        nodes.add(startNode(1, ""));
+        String seed = "localhost:" + nodes.get(0).getCluster().getLocalPort();
+        for (int nodeId = 2; nodeId <= size; nodeId++) {
+            nodes.add(startNode(nodeId, seed));
+        }
+        // 시드 하나만 알려줘도 HELLO로 서로를 알게 되어 모든 노드가 같은 링을 가짐
+        for (ChatSocketServer node : nodes) {
+            await(() -> node.getCluster().getRing().size() == size, "노드 " + node.getCluster().getNodeId() + " 링 구성");
+        }
+        return nodes;
+    }
+
+    private static void await(BooleanSupplier condition, String description) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("시간 초과: " + description);
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("중단됨: " + description);
+            }
+        }
+    }
+
+    private static void awaitSubscribers(ChatSocketServer owner, int chatRoomId, int... nodeIds) {
+        await(() -> {
+            int[] subscribers = owner.getCluster().subscribersOf(chatRoomId);
+            Arrays.sort(subscribers);
+            return Arrays.equals(subscribers, nodeIds);
+        }, "채팅방 " + chatRoomId + " 구독");
+    }
+
+    private static int roomOwnedBy(ChatSocketServer node, int nodeId) {
+        for (int roomId = 1; ; roomId++) {
+            if (node.getCluster().getRing().ownerOf(roomId) == nodeId) {
+                return roomId;
+            }
+        }
+    }
+
+    private static void stopAll(List<ChatSocketServer> nodes) {
+        for (ChatSocketServer node : nodes) {
+            node.stop();
+        }
+    }
+
+    @Test
+    void 다른_노드에_연결된_참여자에게_소유_노드가_중계() throws Exception {
+        List<ChatSocketServer> nodes = startCluster(3);
+        try {
+            int roomId = roomOwnedBy(nodes.get(0), 3);
+            try (TestClient first = new TestClient(nodes.get(0), 101);
+                 TestClient second = new TestClient(nodes.get(1), 102);
+                 TestClient third = new TestClient(nodes.get(2), 103)) {
+                first.join(roomId);
+                second.join(roomId);
+                third.join(roomId);
+                awaitSubscribers(nodes.get(2), roomId, 1, 2);
+
+                // 소유 노드가 아닌 노드에 보낸 메시지도 모든 참여자에게 전달되고, 확인은 보낸 노드로 돌아옴
+                first.sendMessage(roomId, "안녕하세요", 7);
+                ChatCommand ack = (ChatCommand) first.read(payload -> payload instanceof ChatCommand
+                        && ((ChatCommand) payload).getType() == ChatCommandType.MESSAGE_ACK);
+                assertEquals(7, ack.getClientMessageId());
+                assertEquals(101, second.readMessage("안녕하세요").getSenderId());
+                assertEquals(101, third.readMessage("안녕하세요").getSenderId());
+
+                // 소유 노드에 연결된 참여자가 보낸 메시지
+                third.sendMessage(roomId, "반갑습니다", 0);
+                first.readMessage("반갑습니다");
+                second.readMessage("반갑습니다");
+            }
+        } finally {
+            stopAll(nodes);
+        }
+    }
+
+    @Test
+    void 노드가_빠지면_남은_노드로_채팅방을_다시_나눔() throws Exception {
+        List<ChatSocketServer> nodes = startCluster(3);
+        try {
+            int roomId = roomOwnedBy(nodes.get(0), 3);
+            try (TestClient first = new TestClient(nodes.get(0), 201);
+                 TestClient second = new TestClient(nodes.get(1), 202)) {
+                first.join(roomId);
+                second.join(roomId);
+                awaitSubscribers(nodes.get(2), roomId, 1, 2);
+
+                nodes.get(2).stop();
+                await(() -> nodes.get(0).getCluster().getRing().size() == 2
+                        && nodes.get(1).getCluster().getRing().size() == 2, "노드 3 제거");
+
+                // 새 소유 노드로 구독이 옮겨진 뒤에도 메시지가 전달됨
+                int newOwner = nodes.get(0).getCluster().getRing().ownerOf(roomId);
+                assertEquals(newOwner, nodes.get(1).getCluster().getRing().ownerOf(roomId));
+                int otherNode = newOwner == 1 ? 2 : 1;
+                awaitSubscribers(nodes.get(newOwner - 1), roomId, otherNode);
+
+                first.sendMessage(roomId, "다시 연결됨", 0);
+                second.readMessage("다시 연결됨");
+                second.sendMessage(roomId, "확인", 0);
+                first.readMessage("확인");
+            }
+        } finally {
+            stopAll(nodes);
+        }
+    }
+
+    @Test
+    void 비밀_키가_다른_노드의_프레임은_처리하지_않음() throws Exception {
+        List<ChatSocketServer> nodes = startCluster(1);
+        try (TestClient member = new TestClient(nodes.get(0), 301);
+             TestClient other = new TestClient(nodes.get(0), 302);
+             Socket impostor = new Socket("localhost", nodes.get(0).getCluster().getLocalPort())) {
+            member.join(1);
+            other.join(1);
+            impostor.setSoTimeout(5000);
+
+            // 다른 비밀 키로 HELLO를 보낸 뒤 사용자에게 직접 메시지를 밀어 넣으려 함
+            OutputStream out = impostor.getOutputStream();
+            out.write(ClusterProtocol.hello(new ClusterProtocol.NodeAddress(9, "localhost", 1),
+                    new ArrayList<>(), "wrong-secret".getBytes(StandardCharsets.UTF_8)));
+            ChatMessage forged = new ChatMessage(ChatMessageType.CHAT, 1, 999, "위조",
+                    new Timestamp(System.currentTimeMillis()), "위조", "ONLINE");
+            out.write(ClusterProtocol.deliver(forged));
+            out.flush();
+            assertEquals(-1, impostor.getInputStream().read());
+
+            // 위조 메시지 없이 다음 메시지가 바로 도착
+            other.sendMessage(1, "진짜", 0);
+            ChatMessage next = (ChatMessage) member.read(payload -> payload instanceof ChatMessage);
+            assertEquals("진짜", next.getContent());
+        } finally {
+            stopAll(nodes);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatLoadGeneratorTest {
+
+    @Test
+    void 채팅방_구성은_분포를_따르고_참여자가_중복되지_않음() {
+        RoomSizeDistribution distribution = RoomSizeDistribution.parse("2:90, 50:10");
+        int[][] rooms = distribution.plan(1000, 30, new Random(7));
+
+        int direct = 0;
+        for (int[] room : rooms) {
+            // 사용자 수보다 큰 채팅방은 사용자 수로 제한
+            assertTrue(room.length == 2 || room.length == 30, "인원: " + room.length);
+            if (room.length == 2) {
+                direct++;
+            }
+            Set<Integer> unique = new HashSet<>();
+            for (int member : room) {
+                assertTrue(member >= 0 && member < 30);
+                assertTrue(unique.add(member), "중복 참여자: " + member);
+            }
+        }
+        assertTrue(direct > 850 && direct < 950, "1:1 채팅방 수: " + direct);
+
+        assertThrows(IllegalArgumentException.class, () -> RoomSizeDistribution.parse("0:5"));
+        assertThrows(IllegalArgumentException.class, () -> RoomSizeDistribution.parse("2:x"));
+    }
+
+    @Test
+    void 내장_서버로_실행하면_모든_수신자의_지연을_보고서에_기록() throws Exception {
+        Path reportFile = Files.createTempFile("loadtest", ".txt");
+        try {
+            LoadTestConfig config = LoadTestConfig.fromArguments(new String[]{
+                    "--members=40", "--rooms=12", "--room-sizes=2:3,15:1", "--rate=400",
+                    "--duration=1", "--warmup=0", "--drain=5", "--sender-threads=2",
+                    "--report=" + reportFile});
+            ChatServerConfig serverConfig = new ChatServerConfig();
+            serverConfig.setPort(0);
+            serverConfig.setEngineType(ServerEngineType.NIO);
+            serverConfig.setIoThreads(1);
+            serverConfig.setPersistMessages(false);
+
+            LoadTestResult result = new ChatLoadGenerator(config, serverConfig).run();
+
+            assertEquals(0, result.connectFailures.sum());
+            assertTrue(result.measuredSent.sum() > 300, "전송: " + result.measuredSent.sum());
+            assertEquals(result.measuredSent.sum(), result.acked.sum());
+            assertEquals(result.getExpectedDeliveries(), result.getMeasuredDeliveries());
+            assertEquals(result.getMeasuredDeliveries(), result.latency.getCount());
+
+            String report = new String(Files.readAllBytes(reportFile), StandardCharsets.UTF_8);
+            assertTrue(report.contains("p99.9: "), report);
+            assertTrue(report.contains("실제 수신: " + result.getMeasuredDeliveries() + " (100.00%)"), report);
+        } finally {
+            Files.deleteIfExists(reportFile);
+        }
+    }
+}
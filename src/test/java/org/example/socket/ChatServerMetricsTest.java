@@ -0,0 +1,132 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ChatServerMetricsTest {
+
+    private static ChatSocketServer startServer(ServerEngineType engineType) {
+        ChatServerConfig config = new ChatServerConfig();
+        config.setPort(0);
+        config.setEngineType(engineType);
+        config.setIoThreads(1);
+        config.setPersistMessages(false);
+        config.setMetricsPort(0);
+        ChatSocketServer server = new ChatSocketServer(config);
+        server.start();
+        return server;
+    }
+
+    private static String scrape(ChatSocketServer server) throws IOException {
+        URL url = URI.create("http://localhost:" + server.getMetricsHttpPort() + "/metrics").toURL();
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try (InputStream in = connection.getInputStream()) {
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("text/plain"));
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * 조건을 만족하는 지표 텍스트가 나올 때까지 대기 (마지막 쓰기 이후에 기록되는 값이 있음)
+     */
+    private static String awaitScrape(ChatSocketServer server, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String text = scrape(server);
+        while (!text.contains(expected)) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("지표에 " + expected + " 없음:\n" + text);
+            }
+            Thread.sleep(20);
+            text = scrape(server);
+        }
+        return text;
+    }
+
+    @Test
+    void 브로드캐스트_후_엔드포인트에_프레임_수와_전달_지연이_나타남() throws Exception {
+        for (ServerEngineType engineType : ServerEngineType.values()) {
+            ChatSocketServer server = startServer(engineType);
+            try (TestChatConnection sender = TestChatConnection.connect(server, 401);
+                 TestChatConnection receiver = TestChatConnection.connect(server, 402)) {
+                awaitScrape(server, "chat_sessions_active 2\n");
+                server.notifyChatRoomJoin(7, 401);
+                server.notifyChatRoomJoin(7, 402);
+
+                ChatMessage message = new ChatMessage(ChatMessageType.CHAT, 7, 401, "안녕",
+                        new Timestamp(System.currentTimeMillis()));
+                sender.write(message);
+                assertEquals("안녕", receiver.readMessage().getContent());
+
+                String text = awaitScrape(server, "chat_broadcast_latency_seconds_count 1\n");
+                assertTrue(text.contains("chat_connections_active 2\n"), engineType + "\n" + text);
+                assertTrue(text.contains("chat_frames_received_total{type=\"message\"} 1\n"), engineType + "\n" + text);
+                assertTrue(text.contains("chat_broadcast_fanout_count 1\n"), engineType + "\n" + text);
+                assertTrue(text.contains("chat_broadcast_fanout{quantile=\"0.5\"} 2\n"), engineType + "\n" + text);
+                awaitScrape(server, "chat_frames_sent_total{type=\"message\"} 2\n");
+            } finally {
+                server.stop();
+            }
+            assertEquals(-1, server.getMetricsHttpPort());
+        }
+    }
+
+    @Test
+    void 인증_실패는_사유별로_집계() throws Exception {
+        ChatSocketServer server = startServer(ServerEngineType.NIO);
+        try {
+            try (Socket socket = new Socket("localhost", server.getLocalPort())) {
+                socket.setSoTimeout(5000);
+                // Java 직렬화된 문자열은 사용자 ID가 아니므로 거부됨
+                socket.getOutputStream().write(JavaSerializationCodec.INSTANCE.encode("not-a-member-id"));
+                FrameCodec.readFrameBody(new DataInputStream(socket.getInputStream()));
+            }
+            String text = awaitScrape(server, "chat_handshake_failures_total{reason=\"rejected\"} 1\n");
+            assertTrue(text.contains("chat_handshake_failures_total{reason=\"timeout\"} 0\n"), text);
+            awaitScrape(server, "chat_connections_active 0\n");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void 길이_헤더_없는_예전_Java_스트림_클라이언트는_거부하고_집계() throws Exception {
+        for (ServerEngineType engineType : ServerEngineType.values()) {
+            ChatSocketServer server = startServer(engineType);
+            try {
+                try (Socket socket = new Socket("localhost", server.getLocalPort())) {
+                    socket.setSoTimeout(5000);
+                    // 프레임 형식 이전의 클라이언트는 ObjectOutputStream 헤더(0xACED0005)부터 보냄
+                    // (서버가 헤더만 보고 닫으므로 한 번에 기록)
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                        out.writeObject(7);
+                    }
+                    socket.getOutputStream().write(bytes.toByteArray());
+                    assertEquals(-1, socket.getInputStream().read(), engineType + " 엔진");
+                }
+                String text = awaitScrape(server, "chat_handshake_failures_total{reason=\"legacy_stream\"} 1\n");
+                assertTrue(text.contains("chat_handshake_failures_total{reason=\"error\"} 0\n"), text);
+            } finally {
+                server.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ConnectionLivenessTest {
+
+    private static ChatSocketServer startServer(ServerEngineType engineType) {
+        ChatServerConfig config = new ChatServerConfig();
+        config.setPort(0);
+        config.setEngineType(engineType);
+        config.setIoThreads(1);
+        config.setPersistMessages(false);
+        config.setHandshakeTimeoutMillis(300);
+        config.setHeartbeatIntervalMillis(200);
+        config.setIdleTimeoutMillis(600);
+        ChatSocketServer server = new ChatSocketServer(config);
+        server.start();
+        return server;
+    }
+
+    private static Socket connect(ChatSocketServer server) throws IOException {
+        Socket socket = new Socket("localhost", server.getLocalPort());
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    /**
+     * 생존 확인을 지원한다고 알리고 인증
+     */
+    private static TestChatConnection authenticate(ChatSocketServer server, int memberId) throws IOException {
+        TestChatConnection connection = TestChatConnection.connect(server, memberId, Handshake.FEATURE_HEARTBEAT);
+        assertEquals(200, connection.ack.heartbeatIntervalMillis);
+        assertEquals(600, connection.ack.idleTimeoutMillis);
+        return connection;
+    }
+
+    private static boolean isPing(Object payload) {
+        return payload instanceof ChatCommand && ((ChatCommand) payload).getType() == ChatCommandType.PING;
+    }
+
+    private static void await(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("시간 초과: " + description);
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void 인증하지_않는_연결은_제한_시간_후_종료() throws Exception {
+        for (ServerEngineType engineType : ServerEngineType.values()) {
+            ChatSocketServer server = startServer(engineType);
+            try (Socket socket = connect(server)) {
+                long start = System.currentTimeMillis();
+                assertEquals(-1, socket.getInputStream().read(), engineType + " 엔진");
+                assertTrue(System.currentTimeMillis() - start >= 250);
+                await(() -> server.getConnectionMonitor().getHandshakeTimeoutCount() == 1, "핸드셰이크 제한 시간");
+            } finally {
+                server.stop();
+            }
+        }
+    }
+
+    @Test
+    void 인증_전에_핸드셰이크보다_큰_프레임을_알리면_바로_종료() throws Exception {
+        for (ServerEngineType engineType : ServerEngineType.values()) {
+            ChatSocketServer server = startServer(engineType);
+            try (Socket socket = connect(server)) {
+                // 본문 없이 최대 크기 프레임의 헤더만 보냄
+                new DataOutputStream(socket.getOutputStream()).writeInt(FrameCodec.MAX_FRAME_SIZE);
+                assertEquals(-1, socket.getInputStream().read(), engineType + " 엔진");
+                assertEquals(0, server.getConnectionMonitor().getHandshakeTimeoutCount(), engineType + " 엔진");
+            } finally {
+                server.stop();
+            }
+        }
+    }
+
+    @Test
+    void PING에_응답하지_않으면_세션과_채팅방_참여를_정리() throws Exception {
+        for (ServerEngineType engineType : ServerEngineType.values()) {
+            ChatSocketServer server = startServer(engineType);
+            try (TestChatConnection connection = authenticate(server, 301)) {
+                connection.write(new ChatCommand(ChatCommandType.JOIN_CHAT, 7, 301));
+                await(() -> server.getRoomMembers().roomsOf(301).length == 1, "채팅방 입장");
+
+                // PING을 받고도 응답하지 않음 (응답 없는 연결)
+                Object payload;
+                do {
+                    payload = connection.read();
+                } while (!isPing(payload));
+                connection.awaitClosed();
+
+                await(() -> server.getSession(301) == null, "세션 정리");
+                assertEquals(0, server.getRoomMembers().roomsOf(301).length);
+                assertEquals(1, server.getConnectionMonitor().getIdleEvictionCount());
+            } finally {
+                server.stop();
+            }
+        }
+    }
+
+    @Test
+    void PONG으로_응답하면_연결_유지() throws Exception {
+        for (ServerEngineType engineType : ServerEngineType.values()) {
+            ChatSocketServer server = startServer(engineType);
+            try (TestChatConnection connection = authenticate(server, 302)) {
+                ChatCommand pong = new ChatCommand(ChatCommandType.PONG, 0);
+
+                // 유휴 제한 시간의 세 배 동안 PING마다 응답
+                int pings = 0;
+                long end = System.currentTimeMillis() + 1800;
+                while (System.currentTimeMillis() < end) {
+                    if (isPing(connection.read())) {
+                        pings++;
+                        connection.write(pong);
+                    }
+                }
+                assertTrue(pings >= 3, engineType + " 엔진 PING 수: " + pings);
+                assertNotNull(server.getSession(302));
+                assertEquals(0, server.getConnectionMonitor().getIdleEvictionCount());
+            } finally {
+                server.stop();
+            }
+        }
+    }
+
+    @Test
+    void 기존_클라이언트에게는_PING을_보내지_않음() throws Exception {
+        ChatSocketServer server = startServer(ServerEngineType.NIO);
+        try (Socket socket = connect(server)) {
+            socket.getOutputStream().write(Handshake.encodeClientHello(303, WireFormat.BINARY.getMask()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            byte[] body = FrameCodec.readFrameBody(in);
+            assertEquals(0, Handshake.decodeServerAck(body, 0, body.length).heartbeatIntervalMillis);
+
+            Thread.sleep(1000);
+            assertEquals(0, in.available());
+            assertNotNull(server.getSession(303));
+        } finally {
+            server.stop();
+        }
+        assertNull(server.getConnectionMonitor());
+    }
+}
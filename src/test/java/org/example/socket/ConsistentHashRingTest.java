@@ -0,0 +1,62 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+    private static final int ROOMS = 100_000;
+
+    @Test
+    void 같은_노드_목록이면_순서와_무관하게_같은_소유자() {
+        ConsistentHashRing first = new ConsistentHashRing(new int[]{3, 1, 2}, 128);
+        ConsistentHashRing second = new ConsistentHashRing(new int[]{1, 2, 3, 3}, 128);
+
+        assertEquals(3, second.size());
+        for (int roomId = 1; roomId <= ROOMS; roomId++) {
+            assertEquals(first.ownerOf(roomId), second.ownerOf(roomId));
+        }
+    }
+
+    @Test
+    void 채팅방이_노드에_고르게_나뉨() {
+        ConsistentHashRing ring = new ConsistentHashRing(new int[]{1, 2, 3, 4}, 128);
+        int[] counts = new int[5];
+        for (int roomId = 1; roomId <= ROOMS; roomId++) {
+            counts[ring.ownerOf(roomId)]++;
+        }
+        for (int nodeId = 1; nodeId <= 4; nodeId++) {
+            double share = counts[nodeId] / (double) ROOMS;
+            assertTrue(share > 0.18 && share < 0.32, "노드 " + nodeId + " 비율: " + share);
+        }
+    }
+
+    @Test
+    void 노드가_추가되면_새_노드로_가는_채팅방만_이동() {
+        ConsistentHashRing before = new ConsistentHashRing(new int[]{1, 2, 3}, 128);
+        ConsistentHashRing after = new ConsistentHashRing(new int[]{1, 2, 3, 4}, 128);
+
+        int moved = 0;
+        for (int roomId = 1; roomId <= ROOMS; roomId++) {
+            if (before.ownerOf(roomId) != after.ownerOf(roomId)) {
+                assertEquals(4, after.ownerOf(roomId));
+                moved++;
+            }
+        }
+        double share = moved / (double) ROOMS;
+        assertTrue(share > 0.18 && share < 0.32, "이동 비율: " + share);
+    }
+
+    @Test
+    void 노드가_빠지면_그_노드의_채팅방만_이동() {
+        ConsistentHashRing before = new ConsistentHashRing(new int[]{1, 2, 3, 4}, 128);
+        ConsistentHashRing after = new ConsistentHashRing(new int[]{1, 2, 4}, 128);
+
+        for (int roomId = 1; roomId <= ROOMS; roomId++) {
+            if (before.ownerOf(roomId) != 3) {
+                assertEquals(before.ownerOf(roomId), after.ownerOf(roomId));
+            }
+        }
+    }
+}
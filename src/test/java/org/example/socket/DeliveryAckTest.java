@@ -0,0 +1,126 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeliveryAckTest {
+
+    /**
+     * 원하는 유형의 명령이 올 때까지 읽기 (그 사이의 채팅 메시지는 sequences에 기록)
+     */
+    private static ChatCommand readUntil(TestChatConnection connection, ChatCommandType type, List<Long> sequences)
+            throws IOException {
+        while (true) {
+            Object payload = connection.read();
+            if (payload instanceof ChatMessage) {
+                sequences.add(((ChatMessage) payload).getSequence());
+            } else if (((ChatCommand) payload).getType() == type) {
+                return (ChatCommand) payload;
+            }
+        }
+    }
+
+    @Test
+    void 중복은_걸러내고_빈틈이_메워지면_확인_시퀀스가_이동() {
+        ReceivedSequences sequences = new ReceivedSequences();
+        assertTrue(sequences.accept(5, 1));
+        assertTrue(sequences.accept(5, 3));
+        assertTrue(sequences.accept(5, 4));
+        assertFalse(sequences.accept(5, 3));
+        assertFalse(sequences.accept(5, 1));
+        assertEquals(1, sequences.contiguous(5));
+        assertEquals(Map.of(5, 1L), sequences.takeAdvanced());
+
+        // 재전송된 2번이 도착하면 4번까지 한 번에 확인
+        assertTrue(sequences.accept(5, 2));
+        assertEquals(4, sequences.contiguous(5));
+        assertEquals(Map.of(5, 4L), sequences.takeAdvanced());
+        assertTrue(sequences.takeAdvanced().isEmpty());
+
+        // 입장 응답이 11번부터 시작하면 그 이전은 받은 것으로 봄
+        sequences.fillTo(6, 10);
+        assertFalse(sequences.accept(6, 7));
+        assertTrue(sequences.accept(6, 11));
+        assertEquals(11, sequences.contiguous(6));
+
+        sequences.reset(5);
+        assertEquals(0, sequences.contiguous(5));
+        assertEquals(Map.of(6, 11L), sequences.takeAdvanced());
+    }
+
+    @Test
+    void 확인하지_않은_메시지만_다시_보내고_확인하면_멈춤() throws Exception {
+        ChatServerConfig config = new ChatServerConfig();
+        config.setPort(0);
+        config.setEngineType(ServerEngineType.NIO);
+        config.setIoThreads(1);
+        config.setHeartbeatIntervalMillis(0);
+        config.setDeliveryAckTimeoutMillis(200);
+        ChatSocketServer server = new ChatSocketServer(config);
+        server.setMessageStore(new InMemoryMessageStore());
+        server.start();
+        try (TestChatConnection receiver = TestChatConnection.connect(server, 401, Handshake.FEATURE_DELIVERY_ACK);
+             TestChatConnection sender = TestChatConnection.connect(server, 402)) {
+            assertTrue(receiver.ack.deliveryAck());
+            assertFalse(sender.ack.deliveryAck());
+            List<Long> received = new ArrayList<>();
+            receiver.write(new ChatCommand(ChatCommandType.JOIN_CHAT, 9, 401));
+            readUntil(receiver, ChatCommandType.JOIN_CHAT_SUCCESS, received);
+            sender.write(new ChatCommand(ChatCommandType.JOIN_CHAT, 9, 402));
+            sender.readUntil(ChatCommandType.JOIN_CHAT_SUCCESS);
+
+            for (int i = 1; i <= 3; i++) {
+                ChatMessage message = new ChatMessage(ChatMessageType.CHAT, 9, 402, "메시지 " + i, null);
+                message.setClientMessageId(i);
+                sender.write(message);
+                sender.readUntil(ChatCommandType.MESSAGE_ACK);
+            }
+            while (received.size() < 3) {
+                Object payload = receiver.read();
+                if (payload instanceof ChatMessage) {
+                    received.add(((ChatMessage) payload).getSequence());
+                }
+            }
+            assertEquals(List.of(1L, 2L, 3L), received);
+
+            // 1번만 확인 - 2, 3번을 받지 못한 것처럼 행동
+            receiver.write(ChatCommand.deliveryAck(9, 401, 1));
+            ChatCommand retransmit = readUntil(receiver, ChatCommandType.RESUME_SUCCESS, received);
+            List<Long> resent = new ArrayList<>();
+            for (ChatMessage message : retransmit.getMessages()) {
+                resent.add(message.getSequence());
+            }
+            assertEquals(List.of(2L, 3L), resent);
+
+            // 모두 확인하면 더 이상 다시 보내지 않음
+            receiver.write(ChatCommand.deliveryAck(9, 401, 3));
+            long retransmits = server.getDeliveryTracker().getRetransmitCount();
+            receiver.socket.setSoTimeout(800);
+            try {
+                Object payload = receiver.read();
+                // 확인이 도착하기 전에 예약된 재전송 하나는 올 수 있음
+                assertTrue(payload instanceof ChatCommand
+                        && ((ChatCommand) payload).getType() == ChatCommandType.RESUME_SUCCESS);
+                retransmits = server.getDeliveryTracker().getRetransmitCount();
+                receiver.read();
+                throw new AssertionError("확인한 뒤에도 프레임을 받음");
+            } catch (SocketTimeoutException e) {
+                // 정상 - 아무것도 오지 않음
+            }
+            assertEquals(retransmits, server.getDeliveryTracker().getRetransmitCount());
+            // 확인하지 않는 기존 클라이언트(보낸 사람)는 추적하지 않음
+            assertEquals(1, server.getDeliveryTracker().getTrackedSessionCount());
+        } finally {
+            server.stop();
+        }
+    }
+}
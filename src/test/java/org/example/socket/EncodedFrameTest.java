@@ -0,0 +1,44 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EncodedFrameTest {
+
+    private static final ChatMessage MESSAGE = new ChatMessage(ChatMessageType.CHAT, 7, 3, "공유 프레임",
+            new Timestamp(1_700_000_000_000L), "냥이", "ONLINE");
+
+    @Test
+    void 형식별로_한_번만_인코딩() throws Exception {
+        EncodedFrame frame = new EncodedFrame(MESSAGE);
+
+        assertSame(frame.frame(WireFormat.BINARY), frame.frame(WireFormat.BINARY));
+        assertSame(frame.frame(WireFormat.JAVA), frame.frame(WireFormat.JAVA));
+        assertArrayEquals(BinaryWireCodec.INSTANCE.encode(MESSAGE), frame.frame(WireFormat.BINARY));
+    }
+
+    @Test
+    void 수신자별_버퍼는_내용을_공유하고_위치는_독립() throws Exception {
+        EncodedFrame frame = new EncodedFrame(MESSAGE);
+        byte[] expected = frame.frame(WireFormat.BINARY);
+
+        ByteBuffer first = frame.buffer(WireFormat.BINARY);
+        ByteBuffer second = frame.buffer(WireFormat.BINARY);
+        first.position(first.limit());
+
+        assertTrue(first.isReadOnly());
+        assertTrue(second.isReadOnly());
+        assertEquals(expected.length, second.remaining());
+
+        byte[] actual = new byte[second.remaining()];
+        second.get(actual);
+        assertArrayEquals(expected, actual);
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedWheelTimerTest {
+
+    @Test
+    void 예약한_순서가_아니라_만료_시각_순서로_실행() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer("test-timer", 10, 8);
+        timer.start();
+        try {
+            List<Integer> order = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(3);
+            // 휠 한 바퀴(80ms)보다 긴 지연도 같은 칸에서 바퀴 수를 세어 처리
+            timer.schedule(() -> { order.add(300); done.countDown(); }, 300);
+            timer.schedule(() -> { order.add(30); done.countDown(); }, 30);
+            timer.schedule(() -> { order.add(150); done.countDown(); }, 150);
+
+            assertTrue(done.await(2, TimeUnit.SECONDS));
+            assertEquals(List.of(30, 150, 300), order);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    void 지연_시간보다_먼저_실행하지_않음() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer("test-timer", 10, 8);
+        timer.start();
+        try {
+            CountDownLatch done = new CountDownLatch(1);
+            long start = System.nanoTime();
+            long[] elapsed = new long[1];
+            timer.schedule(() -> {
+                elapsed[0] = System.nanoTime() - start;
+                done.countDown();
+            }, 200);
+
+            assertTrue(done.await(2, TimeUnit.SECONDS));
+            assertTrue(elapsed[0] >= TimeUnit.MILLISECONDS.toNanos(200), "실행 시점: " + elapsed[0]);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    void 취소한_작업은_실행하지_않음() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer("test-timer", 10, 8);
+        timer.start();
+        try {
+            AtomicInteger fired = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(1);
+            HashedWheelTimer.Timeout cancelled = timer.schedule(fired::incrementAndGet, 50);
+            HashedWheelTimer.Timeout kept = timer.schedule(done::countDown, 100);
+
+            assertTrue(cancelled.cancel());
+            assertTrue(done.await(2, TimeUnit.SECONDS));
+            assertEquals(0, fired.get());
+            assertTrue(cancelled.isCancelled());
+            assertTrue(kept.isExpired());
+            // 이미 실행된 작업은 취소할 수 없음
+            assertFalse(kept.cancel());
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    void 많은_작업을_한_스레드로_처리() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer("test-timer", 10, 64);
+        timer.start();
+        try {
+            int count = 100_000;
+            CountDownLatch done = new CountDownLatch(count / 2);
+            AtomicInteger fired = new AtomicInteger();
+            for (int i = 0; i < count; i++) {
+                HashedWheelTimer.Timeout timeout = timer.schedule(() -> {
+                    fired.incrementAndGet();
+                    done.countDown();
+                }, 50 + i % 500);
+                if (i % 2 == 1) {
+                    timeout.cancel();
+                }
+            }
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            assertEquals(count / 2, fired.get());
+        } finally {
+            timer.stop();
+        }
+    }
+}
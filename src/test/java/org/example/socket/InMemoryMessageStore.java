@@ -0,0 +1,36 @@
+package org.example.socket;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 메시지 ID만 붙이는 테스트용 저장소 (최근/놓친 메시지는 서버의 최근 메시지 버퍼에서 처리)
+ */
+final class InMemoryMessageStore implements MessageStore {
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    @Override
+    public int[] saveAll(List<ChatMessage> messages) {
+        int[] ids = new int[messages.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = nextId.incrementAndGet();
+        }
+        return ids;
+    }
+
+    @Override
+    public long lastSequence(int chatRoomId) {
+        return 0;
+    }
+
+    @Override
+    public List<ChatMessage> loadAfter(int chatRoomId, long afterSequence, int limit) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<ChatMessage> loadLatest(int chatRoomId, int limit) {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,190 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessagePersistencePipelineTest {
+
+    /**
+     * 배치 크기를 기록하고 1부터 차례로 ID를 할당하는 저장소
+     */
+    private static final class RecordingStore implements MessageStore {
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        int nextId = 1;
+        boolean failing;
+
+        @Override
+        public int[] saveAll(List<ChatMessage> messages) throws SQLException {
+            if (failing) {
+                throw new SQLException("저장 실패");
+            }
+            batchSizes.add(messages.size());
+            int[] ids = new int[messages.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = nextId++;
+            }
+            return ids;
+        }
+
+        @Override
+        public long lastSequence(int chatRoomId) throws SQLException {
+            if (chatRoomId == 3) {
+                throw new SQLException("시퀀스 조회 실패");
+            }
+            return chatRoomId == 2 ? 41 : 0;
+        }
+
+        @Override
+        public List<ChatMessage> loadAfter(int chatRoomId, long afterSequence, int limit) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<ChatMessage> loadLatest(int chatRoomId, int limit) {
+            return Collections.emptyList();
+        }
+    }
+
+    private static ChatMessage message(int index) {
+        return message(1, index);
+    }
+
+    private static ChatMessage message(int chatRoomId, int index) {
+        ChatMessage message = new ChatMessage(ChatMessageType.CHAT, chatRoomId, 7, "메시지 " + index,
+                new Timestamp(System.currentTimeMillis()), "닉네임", "ONLINE");
+        message.setClientMessageId(index);
+        return message;
+    }
+
+    @Test
+    void 배치_크기만큼_묶어서_순서대로_저장() throws Exception {
+        RecordingStore store = new RecordingStore();
+        MessagePersistencePipeline pipeline = new MessagePersistencePipeline(store, 10, 1000, 100);
+        int count = 25;
+        int[] assigned = new int[count + 1];
+        CountDownLatch done = new CountDownLatch(count);
+
+        // 시작 전에 모두 넣어서 배치가 꽉 차게 만듦
+        for (int i = 1; i <= count; i++) {
+            pipeline.submit(message(i), null, (message, origin, messageId) -> {
+                assigned[(int) message.getClientMessageId()] = messageId;
+                done.countDown();
+            });
+        }
+        pipeline.start();
+        pipeline.stop();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(10, 10, 5), store.batchSizes);
+        for (int i = 1; i <= count; i++) {
+            assertEquals(i, assigned[i]);
+        }
+    }
+
+    @Test
+    void 배치가_차지_않아도_대기_시간이_지나면_저장() throws Exception {
+        RecordingStore store = new RecordingStore();
+        MessagePersistencePipeline pipeline = new MessagePersistencePipeline(store, 256, 5, 1024);
+        pipeline.start();
+        CountDownLatch done = new CountDownLatch(1);
+        int[] assigned = new int[1];
+
+        pipeline.submit(message(1), null, (message, origin, messageId) -> {
+            assigned[0] = messageId;
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, assigned[0]);
+        pipeline.stop();
+    }
+
+    @Test
+    void 채팅방별_시퀀스는_저장된_마지막_값부터_이어짐() throws Exception {
+        RecordingStore store = new RecordingStore();
+        MessagePersistencePipeline pipeline = new MessagePersistencePipeline(store, 8, 1000, 64);
+        List<ChatMessage> messages = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            messages.add(message(i % 2 == 0 ? 2 : 1, i));
+        }
+        CountDownLatch done = new CountDownLatch(messages.size());
+        for (ChatMessage message : messages) {
+            pipeline.submit(message, null, (m, origin, messageId) -> done.countDown());
+        }
+        pipeline.start();
+        pipeline.stop();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        long[] sequences = messages.stream().mapToLong(ChatMessage::getSequence).toArray();
+        // 1번 방은 1부터, 2번 방은 저장소의 마지막 값(41) 다음부터
+        assertArrayEquals(new long[]{1, 42, 2, 43, 3, 44}, sequences);
+    }
+
+    @Test
+    void 저장에_실패하면_ID_없이_콜백() throws Exception {
+        RecordingStore store = new RecordingStore();
+        store.failing = true;
+        MessagePersistencePipeline pipeline = new MessagePersistencePipeline(store, 4, 1, 16);
+        pipeline.start();
+        CountDownLatch done = new CountDownLatch(3);
+        List<Integer> assigned = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 1; i <= 3; i++) {
+            pipeline.submit(message(i), null, (message, origin, messageId) -> {
+                assigned.add(messageId);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(-1, -1, -1), assigned);
+
+        // 실패한 배치의 시퀀스는 되돌려서 다음 메시지가 같은 번호를 받음
+        store.failing = false;
+        CountDownLatch retried = new CountDownLatch(1);
+        ChatMessage retry = message(4);
+        pipeline.submit(retry, null, (message, origin, messageId) -> retried.countDown());
+        assertTrue(retried.await(5, TimeUnit.SECONDS));
+        assertEquals(1, retry.getSequence());
+        pipeline.stop();
+    }
+
+    @Test
+    void 시퀀스_조회에_실패해도_저장_스레드는_계속_동작() throws Exception {
+        RecordingStore store = new RecordingStore();
+        MessagePersistencePipeline pipeline = new MessagePersistencePipeline(store, 4, 1, 16);
+        pipeline.start();
+        CountDownLatch failed = new CountDownLatch(1);
+        int[] assigned = new int[2];
+
+        // 시퀀스가 이미 붙어 온 메시지의 채팅방 시작 시퀀스를 읽지 못함
+        ChatMessage broken = message(3, 1);
+        broken.setSequence(99);
+        pipeline.submit(broken, null, (message, origin, messageId) -> {
+            assigned[0] = messageId;
+            failed.countDown();
+        });
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        assertEquals(-1, assigned[0]);
+
+        CountDownLatch saved = new CountDownLatch(1);
+        pipeline.submit(message(1, 2), null, (message, origin, messageId) -> {
+            assigned[1] = messageId;
+            saved.countDown();
+        });
+        assertTrue(saved.await(5, TimeUnit.SECONDS));
+        assertEquals(1, assigned[1]);
+        pipeline.stop();
+    }
+}
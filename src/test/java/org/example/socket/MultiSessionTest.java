@@ -0,0 +1,193 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiSessionTest {
+
+    /**
+     * 사용자 ID만 있는 세션
+     */
+    private static final class StubSession implements ClientSession {
+        private final int memberId;
+
+        StubSession(int memberId) {
+            this.memberId = memberId;
+        }
+
+        @Override
+        public int getMemberId() {
+            return memberId;
+        }
+
+        @Override
+        public void sendMessage(ChatMessage message) {
+        }
+
+        @Override
+        public void sendCommand(ChatCommand command) {
+        }
+
+        @Override
+        public void sendFrame(EncodedFrame frame) {
+            frame.releaseWrite();
+        }
+
+        @Override
+        public int getOutboundQueueDepth() {
+            return 0;
+        }
+
+        @Override
+        public long getDroppedFrameCount() {
+            return 0;
+        }
+
+        @Override
+        public long getSpilledFrameCount() {
+            return 0;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    void 같은_사용자의_세션을_모두_보관하고_종료한_세션만_제거() {
+        SessionRegistry registry = new SessionRegistry();
+        StubSession first = new StubSession(7);
+        StubSession second = new StubSession(7);
+        StubSession third = new StubSession(7);
+        StubSession other = new StubSession(71);
+
+        assertNull(registry.add(first, 2));
+        assertNull(registry.add(second, 2));
+        assertNull(registry.add(other, 2));
+        assertEquals(List.of(first, second), List.of(registry.get(7)));
+        assertSame(second, registry.latest(7));
+        assertEquals(3, registry.getSessionCount());
+        assertEquals(2, registry.getMemberCount());
+
+        // 최대 세션 수를 넘으면 가장 오래된 세션이 밀려남
+        assertSame(first, registry.add(third, 2));
+        assertFalse(registry.contains(first));
+        assertEquals(-1, registry.remove(first));
+        assertEquals(3, registry.getSessionCount());
+
+        // 이전 세션의 종료가 나중 세션을 지우지 않음
+        assertEquals(1, registry.remove(second));
+        assertSame(third, registry.latest(7));
+        assertEquals(0, registry.remove(third));
+        assertNull(registry.get(7));
+        assertEquals(1, registry.getSessionCount());
+        assertEquals(1, registry.getMemberCount());
+    }
+
+    private static void offerMessages(OutboundQueue queue, int from, int to) {
+        for (int i = from; i <= to; i++) {
+            queue.offer(new EncodedFrame(new ChatMessage(ChatMessageType.CHAT, 12, 602, "m" + i, null)));
+        }
+    }
+
+    private static List<String> drain(OutboundQueue queue) {
+        List<String> contents = new ArrayList<>();
+        EncodedFrame frame;
+        while ((frame = queue.poll()) != null) {
+            contents.add(((ChatMessage) frame.getPayload()).getContent());
+        }
+        return contents;
+    }
+
+    @Test
+    void SPILL_정책에서_같은_사용자의_세션은_서로의_보류_프레임을_가져가지_않음() {
+        ChatServerConfig config = new ChatServerConfig();
+        config.setOverflowPolicy(OverflowPolicy.SPILL);
+        config.setOutboundQueueCapacity(2);
+        ChatSocketServer server = new ChatSocketServer(config);
+
+        OutboundQueue desktop = server.createOutboundQueue(601);
+        offerMessages(desktop, 1, 5);
+        assertEquals(3, desktop.getSpilledCount());
+        // 첫 세션이 넘친 프레임을 가진 채로 두 번째 세션이 열림
+        OutboundQueue laptop = server.createOutboundQueue(601);
+        assertFalse(laptop.hasPending());
+
+        // 두 세션이 동시에 넘쳐도 각자 자기 프레임만 순서대로 받음
+        offerMessages(laptop, 1, 5);
+        offerMessages(desktop, 6, 7);
+        offerMessages(laptop, 6, 7);
+        assertEquals(List.of("m1", "m2", "m3", "m4", "m5", "m6", "m7"), drain(desktop));
+        assertEquals(List.of("m1", "m2", "m3", "m4", "m5", "m6", "m7"), drain(laptop));
+
+        // 넘친 프레임이 남은 채로 닫힌 세션의 프레임은 다음에 열린 세션이 받음
+        offerMessages(desktop, 8, 11);
+        desktop.close();
+        OutboundQueue phone = server.createOutboundQueue(601);
+        assertEquals(List.of("m10", "m11"), drain(phone));
+        assertFalse(server.createOutboundQueue(601).hasPending());
+    }
+
+    @Test
+    void 여러_컴퓨터에서_접속한_사용자의_모든_세션이_메시지를_받음() throws Exception {
+        ChatServerConfig config = new ChatServerConfig();
+        config.setPort(0);
+        config.setEngineType(ServerEngineType.NIO);
+        config.setIoThreads(1);
+        config.setPersistMessages(false);
+        config.setHeartbeatIntervalMillis(0);
+        config.setMaxSessionsPerMember(2);
+        ChatSocketServer server = new ChatSocketServer(config);
+        server.start();
+        try (TestChatConnection desktop = TestChatConnection.connect(server, 601);
+             TestChatConnection laptop = TestChatConnection.connect(server, 601);
+             TestChatConnection sender = TestChatConnection.connect(server, 602)) {
+            desktop.write(new ChatCommand(ChatCommandType.JOIN_CHAT, 12, 601));
+            sender.write(new ChatCommand(ChatCommandType.JOIN_CHAT, 12, 602));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!(server.getRoomMembers().isMember(12, 601) && server.getRoomMembers().isMember(12, 602))
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(3, server.getSessionCount());
+            assertEquals(2, server.getSessions(601).size());
+
+            sender.write(new ChatMessage(ChatMessageType.CHAT, 12, 602, "둘 다 받기", null));
+            assertEquals("둘 다 받기", desktop.readMessage().getContent());
+            assertEquals("둘 다 받기", laptop.readMessage().getContent());
+
+            // 한 세션이 끊겨도 채팅방 참여와 다른 세션은 유지
+            desktop.socket.close();
+            deadline = System.currentTimeMillis() + 5000;
+            while (server.getSessions(601).size() > 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(server.getRoomMembers().isMember(12, 601));
+            sender.write(new ChatMessage(ChatMessageType.CHAT, 12, 602, "남은 세션", null));
+            assertEquals("남은 세션", laptop.readMessage().getContent());
+
+            // 새 세션 두 개가 접속해 최대 세션 수(2)를 넘으면 가장 오래된 노트북 세션이 종료됨
+            try (TestChatConnection phone = TestChatConnection.connect(server, 601);
+                 TestChatConnection tablet = TestChatConnection.connect(server, 601)) {
+                // 가장 오래된 노트북 세션이 종료됨
+                laptop.awaitClosed();
+                assertEquals(2, server.getSessions(601).size());
+
+                // 남은 두 세션은 채팅방 메시지를 계속 받음
+                sender.write(new ChatMessage(ChatMessageType.CHAT, 12, 602, "새 세션", null));
+                assertEquals("새 세션", phone.readMessage().getContent());
+                assertEquals("새 세션", tablet.readMessage().getContent());
+            }
+        } finally {
+            server.stop();
+        }
+    }
+}
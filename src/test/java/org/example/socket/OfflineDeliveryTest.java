@@ -0,0 +1,209 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OfflineDeliveryTest {
+
+    private static ChatMessage message(int chatRoomId, long sequence) {
+        ChatMessage message = new ChatMessage(ChatMessageType.CHAT, chatRoomId, 2, "메시지 " + sequence, null);
+        message.setSequence(sequence);
+        return message;
+    }
+
+    private static long fileCount(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    void 메모리_상한을_넘으면_파일에_기록하고_순서대로_꺼냄() throws Exception {
+        Path directory = Files.createTempDirectory("offline-test-");
+        try {
+            // 메시지 두 개 정도만 메모리에 들어가는 상한
+            long budget = RoomHistoryCache.estimateSize(message(1, 1)) * 2;
+            SpillingPendingDeliveryStore store = new SpillingPendingDeliveryStore(budget, 5, directory);
+            for (int i = 1; i <= 6; i++) {
+                store.store(7, message(1, i));
+            }
+            assertTrue(store.hasPending(7));
+            assertEquals(5, store.getStoredCount());
+            assertEquals(3, store.getSpilledCount());
+            assertEquals(1, store.getDiscardedCount());
+            assertEquals(1, fileCount(directory));
+
+            List<Long> sequences = new ArrayList<>();
+            for (Object payload : store.poll(7, 3)) {
+                sequences.add(((ChatMessage) payload).getSequence());
+            }
+            // 꺼내는 도중에 추가된 항목도 파일 뒤에 이어짐
+            store.store(7, message(1, 7));
+            for (Object payload : store.poll(7, 100)) {
+                sequences.add(((ChatMessage) payload).getSequence());
+            }
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 7L), sequences);
+            assertFalse(store.hasPending(7));
+            assertEquals(0, store.getMemoryBytes());
+            assertEquals(0, fileCount(directory));
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    void 파일에_넘긴_항목을_조금씩_꺼내도_이어서_읽음() throws Exception {
+        Path directory = Files.createTempDirectory("offline-test-");
+        try {
+            // 모든 항목을 파일에 기록
+            SpillingPendingDeliveryStore store = new SpillingPendingDeliveryStore(0, 1000, directory);
+            for (int i = 1; i <= 100; i++) {
+                store.store(9, message(1, i));
+            }
+            List<Long> sequences = new ArrayList<>();
+            for (int i = 101; i <= 200; i++) {
+                for (Object payload : store.poll(9, 1)) {
+                    sequences.add(((ChatMessage) payload).getSequence());
+                }
+                store.store(9, message(1, i));
+            }
+            for (Object payload : store.poll(9, 1000)) {
+                sequences.add(((ChatMessage) payload).getSequence());
+            }
+            assertEquals(200, sequences.size());
+            for (int i = 0; i < sequences.size(); i++) {
+                assertEquals(i + 1L, (long) sequences.get(i));
+            }
+            assertEquals(200, store.getSpilledCount());
+            assertEquals(0, fileCount(directory));
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    void 접속하지_않은_동안의_메시지를_인증_직후_묶어서_받음() throws Exception {
+        Path directory = Files.createTempDirectory("offline-test-");
+        ChatServerConfig config = new ChatServerConfig();
+        config.setPort(0);
+        config.setEngineType(ServerEngineType.NIO);
+        config.setIoThreads(1);
+        config.setHeartbeatIntervalMillis(0);
+        config.setDeliveryAckTimeoutMillis(0);
+        config.setOfflineSpillDirectory(directory.toString());
+        ChatSocketServer server = new ChatSocketServer(config);
+        server.setMessageStore(new InMemoryMessageStore());
+        server.start();
+        try (TestChatConnection sender = TestChatConnection.connect(server, 502)) {
+            try (TestChatConnection receiver = TestChatConnection.connect(server, 501)) {
+                receiver.write(new ChatCommand(ChatCommandType.JOIN_CHAT, 11, 501));
+                receiver.readUntil(ChatCommandType.JOIN_CHAT_SUCCESS);
+            }
+            sender.write(new ChatCommand(ChatCommandType.JOIN_CHAT, 11, 502));
+            sender.readUntil(ChatCommandType.JOIN_CHAT_SUCCESS);
+            // 받는 사람의 연결 종료가 처리될 때까지 대기
+            long deadline = System.currentTimeMillis() + 5000;
+            while (server.getSessionCount() > 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            for (int i = 1; i <= 3; i++) {
+                ChatMessage message = new ChatMessage(ChatMessageType.CHAT, 11, 502, "메시지 " + i, null);
+                message.setClientMessageId(i);
+                sender.write(message);
+                sender.readUntil(ChatCommandType.MESSAGE_ACK);
+            }
+            assertEquals(3, server.getOfflineStore().getStoredCount());
+            assertTrue(server.getOfflineStore().hasPending(501));
+
+            try (TestChatConnection receiver = TestChatConnection.connect(server, 501)) {
+                ChatCommand batch = receiver.readUntil(ChatCommandType.RESUME_SUCCESS);
+                assertEquals(11, batch.getChatRoomId());
+                assertEquals(0, batch.getSequence());
+                List<Long> sequences = new ArrayList<>();
+                for (ChatMessage message : batch.getMessages()) {
+                    sequences.add(message.getSequence());
+                }
+                assertEquals(List.of(1L, 2L, 3L), sequences);
+            }
+            assertFalse(server.getOfflineStore().hasPending(501));
+        } finally {
+            server.stop();
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    void 보관_시간이_지나면_채팅방에서_빼고_보관_메시지를_버림() throws Exception {
+        Path directory = Files.createTempDirectory("offline-test-");
+        ChatServerConfig config = new ChatServerConfig();
+        config.setPort(0);
+        config.setEngineType(ServerEngineType.NIO);
+        config.setIoThreads(1);
+        config.setHeartbeatIntervalMillis(0);
+        config.setDeliveryAckTimeoutMillis(0);
+        config.setOfflineSpillDirectory(directory.toString());
+        config.setOfflineTtlSeconds(1);
+        ChatSocketServer server = new ChatSocketServer(config);
+        server.setMessageStore(new InMemoryMessageStore());
+        server.start();
+        try (TestChatConnection sender = TestChatConnection.connect(server, 504)) {
+            try (TestChatConnection receiver = TestChatConnection.connect(server, 503)) {
+                receiver.write(new ChatCommand(ChatCommandType.JOIN_CHAT, 12, 503));
+                receiver.readUntil(ChatCommandType.JOIN_CHAT_SUCCESS);
+            }
+            sender.write(new ChatCommand(ChatCommandType.JOIN_CHAT, 12, 504));
+            sender.readUntil(ChatCommandType.JOIN_CHAT_SUCCESS);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (server.getSessionCount() > 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            ChatMessage first = new ChatMessage(ChatMessageType.CHAT, 12, 504, "보관", null);
+            first.setClientMessageId(1);
+            sender.write(first);
+            sender.readUntil(ChatCommandType.MESSAGE_ACK);
+            assertTrue(server.getOfflineStore().hasPending(503));
+
+            deadline = System.currentTimeMillis() + 5000;
+            while (server.getRoomMembers().isMember(12, 503) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertFalse(server.getRoomMembers().isMember(12, 503));
+            deadline = System.currentTimeMillis() + 5000;
+            while (server.getOfflineStore().hasPending(503) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertFalse(server.getOfflineStore().hasPending(503));
+
+            // 채팅방에서 빠졌으므로 이후 메시지는 보관하지 않음
+            ChatMessage second = new ChatMessage(ChatMessageType.CHAT, 12, 504, "버림", null);
+            second.setClientMessageId(2);
+            sender.write(second);
+            sender.readUntil(ChatCommandType.MESSAGE_ACK);
+            assertEquals(1, server.getOfflineStore().getStoredCount());
+            assertEquals(1, server.getOfflineStore().getDiscardedCount());
+        } finally {
+            server.stop();
+            deleteDirectory(directory);
+        }
+    }
+}
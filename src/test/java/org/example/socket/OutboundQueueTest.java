@@ -0,0 +1,171 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboundQueueTest {
+
+    private static EncodedFrame frame(int chatRoomId) {
+        return new EncodedFrame(new ChatMessage(ChatMessageType.CHAT, chatRoomId, 1, "메시지", null));
+    }
+
+    private static EncodedFrame control(int chatRoomId) {
+        return new EncodedFrame(new ChatCommand(ChatCommandType.JOIN_CHAT_SUCCESS, chatRoomId, 1));
+    }
+
+    private static int next(OutboundQueue queue) {
+        Object payload = queue.poll().getPayload();
+        return payload instanceof ChatMessage
+                ? ((ChatMessage) payload).getChatRoomId() : ((ChatCommand) payload).getChatRoomId();
+    }
+
+    @Test
+    void 가득_차면_가장_오래된_프레임을_버림() {
+        OutboundQueue queue = new OutboundQueue(1, 2, OverflowPolicy.DROP_OLDEST, new InMemoryPendingDeliveryStore());
+
+        assertTrue(queue.offer(frame(1)));
+        assertTrue(queue.offer(frame(2)));
+        assertTrue(queue.offer(frame(3)));
+
+        assertEquals(2, queue.size());
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(2, next(queue));
+        assertEquals(3, next(queue));
+    }
+
+    @Test
+    void 가득_차면_연결_종료를_요청() {
+        OutboundQueue queue = new OutboundQueue(1, 1, OverflowPolicy.DISCONNECT, new InMemoryPendingDeliveryStore());
+
+        assertTrue(queue.offer(frame(1)));
+        assertFalse(queue.offer(frame(2)));
+        assertEquals(1, queue.getDroppedCount());
+    }
+
+    @Test
+    void 보류_저장소로_넘긴_프레임도_순서대로_전송() {
+        PendingDeliveryStore store = new InMemoryPendingDeliveryStore();
+        OutboundQueue queue = new OutboundQueue(1, 2, OverflowPolicy.SPILL, store);
+
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(queue.offer(frame(i)));
+        }
+        assertEquals(3, queue.getSpilledCount());
+
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(i, next(queue));
+        }
+        assertNull(queue.poll());
+        assertFalse(store.hasPending(1));
+    }
+
+    @Test
+    void 재접속하면_보류된_프레임부터_전송() {
+        PendingDeliveryStore store = new InMemoryPendingDeliveryStore();
+        store.store(1, new ChatMessage(ChatMessageType.CHAT, 10, 1, "보류", null));
+
+        OutboundQueue queue = new OutboundQueue(1, 4, OverflowPolicy.SPILL, store);
+        queue.offer(frame(11));
+
+        assertTrue(queue.hasPending());
+        assertEquals(10, next(queue));
+        assertEquals(11, next(queue));
+    }
+
+    @Test
+    void 제어_명령은_쌓인_메시지보다_먼저_전송() {
+        OutboundQueue queue = new OutboundQueue(1, 8, OverflowPolicy.DROP_OLDEST, new InMemoryPendingDeliveryStore());
+
+        queue.offer(frame(1));
+        queue.offer(frame(2));
+        queue.offer(control(100));
+        queue.offer(frame(3));
+        queue.offer(new EncodedFrame(new ChatCommand(ChatCommandType.RESUME_SUCCESS, 4, 1)));
+
+        assertEquals(5, queue.size());
+        assertEquals(100, next(queue));
+        assertEquals(1, next(queue));
+        assertEquals(2, next(queue));
+        assertEquals(3, next(queue));
+        // RESUME_SUCCESS는 메시지와 같은 순서로 전송
+        assertEquals(4, next(queue));
+    }
+
+    @Test
+    void 메시지가_넘쳐도_제어_명령은_보류하지_않고_남음() {
+        PendingDeliveryStore store = new InMemoryPendingDeliveryStore();
+        OutboundQueue queue = new OutboundQueue(1, 2, OverflowPolicy.SPILL, store);
+
+        for (int i = 1; i <= 5; i++) {
+            queue.offer(frame(i));
+        }
+        assertTrue(queue.offer(control(100)));
+        assertEquals(3, queue.getSpilledCount());
+
+        assertEquals(100, next(queue));
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(i, next(queue));
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void 제어_대기열이_가득_차면_가장_오래된_제어_명령을_버림() throws InterruptedException {
+        OutboundQueue queue = new OutboundQueue(1, 1, OverflowPolicy.DROP_OLDEST, new InMemoryPendingDeliveryStore());
+
+        // 제어 대기열은 전체 용량과 별도로 최소 16개
+        for (int i = 1; i <= 17; i++) {
+            assertTrue(queue.offer(control(i)));
+        }
+        assertTrue(queue.offer(frame(100)));
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(17, queue.size());
+        assertEquals(2, next(queue));
+        while (queue.size() > 1) {
+            queue.poll();
+        }
+        assertEquals(100, next(queue));
+        assertNull(queue.poll(1_000_000L));
+    }
+
+    @Test
+    void 첨부_파일_조각은_메시지가_모두_나간_뒤에_전송() {
+        OutboundQueue queue = new OutboundQueue(1, 1, OverflowPolicy.DISCONNECT, new InMemoryPendingDeliveryStore());
+        String hash = "ab".repeat(32);
+
+        // 조각은 용량 제한 없이 들어가고, 전송 창을 돌려주는 CREDIT은 제어 명령으로 먼저 나감
+        assertTrue(queue.offer(new EncodedFrame(AttachmentFrame.data(hash, 0, 4, new byte[2]))));
+        assertTrue(queue.offer(new EncodedFrame(AttachmentFrame.data(hash, 2, 4, new byte[2]))));
+        assertTrue(queue.offer(frame(1)));
+        assertTrue(queue.offer(new EncodedFrame(AttachmentFrame.credit(hash, 2))));
+        assertEquals(4, queue.size());
+
+        assertEquals(AttachmentFrameType.CREDIT, ((AttachmentFrame) queue.poll().getPayload()).getType());
+        assertEquals(1, next(queue));
+        assertEquals(0, ((AttachmentFrame) queue.poll().getPayload()).getOffset());
+        assertEquals(2, ((AttachmentFrame) queue.poll().getPayload()).getOffset());
+        assertFalse(queue.hasPending());
+    }
+
+    @Test
+    void 재접속_요청은_먼저_쌓인_메시지_뒤에_전송() {
+        OutboundQueue queue = new OutboundQueue(1, 8, OverflowPolicy.DISCONNECT, new InMemoryPendingDeliveryStore());
+
+        assertTrue(queue.offer(frame(1)));
+        assertTrue(queue.offer(frame(2)));
+        assertTrue(queue.offer(new EncodedFrame(ChatCommand.reconnect(5000))));
+        assertTrue(queue.offer(control(3)));
+
+        assertEquals(3, next(queue));
+        assertEquals(1, next(queue));
+        assertEquals(2, next(queue));
+        ChatCommand reconnect = (ChatCommand) queue.poll().getPayload();
+        assertEquals(ChatCommandType.RECONNECT, reconnect.getType());
+        assertEquals(5000, reconnect.getSequence());
+        assertFalse(queue.hasPending());
+    }
+}
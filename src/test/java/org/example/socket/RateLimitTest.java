@@ -0,0 +1,118 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitTest {
+
+    private static ChatSocketServer startServer(RateLimitAction action) {
+        ChatServerConfig config = new ChatServerConfig();
+        config.setPort(0);
+        config.setEngineType(ServerEngineType.NIO);
+        config.setIoThreads(1);
+        config.setPersistMessages(false);
+        config.setHeartbeatIntervalMillis(0);
+        config.setRateLimitPerSecond(1);
+        config.setRateLimitBurst(3);
+        config.setRoomRateLimitPerSecond(0);
+        config.setRateLimitAction(action);
+        ChatSocketServer server = new ChatSocketServer(config);
+        server.start();
+        return server;
+    }
+
+    private static TestChatConnection authenticate(ChatSocketServer server, int memberId) throws IOException {
+        TestChatConnection connection = TestChatConnection.connect(server, memberId, Handshake.FEATURE_RATE_LIMIT);
+        assertTrue(connection.ack.rateLimit());
+        return connection;
+    }
+
+    private static void sendMessages(TestChatConnection connection, int memberId, int count) throws IOException {
+        for (int i = 1; i <= count; i++) {
+            ChatMessage message = new ChatMessage(ChatMessageType.CHAT, 13, memberId, "도배 " + i, null);
+            message.setClientMessageId(i);
+            connection.write(message);
+        }
+    }
+
+    @Test
+    void 버킷_크기만큼_몰아서_쓰고_시간이_지나면_다시_채워짐() {
+        long second = 1_000_000_000L;
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(0));
+        assertEquals(second / 10, bucket.nanosUntilAvailable(0));
+
+        // 0.1초마다 하나씩 참
+        assertTrue(bucket.tryAcquire(second / 10));
+        assertFalse(bucket.tryAcquire(second / 10));
+        assertFalse(bucket.isFull(second / 10));
+
+        // 오래 쉬어도 버킷 크기 이상은 모이지 않음
+        long later = 10 * second;
+        assertTrue(bucket.isFull(later));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(bucket.tryAcquire(later));
+        }
+        assertFalse(bucket.tryAcquire(later));
+    }
+
+    @Test
+    void 제한을_넘은_메시지는_브로드캐스트하지_않고_제한_응답() throws Exception {
+        ChatSocketServer server = startServer(RateLimitAction.THROTTLE);
+        try (TestChatConnection connection = authenticate(server, 701)) {
+            sendMessages(connection, 701, 5);
+
+            int acked = 0;
+            int limited = 0;
+            while (acked + limited < 5) {
+                ChatCommand command = connection.readCommand();
+                if (command.getType() == ChatCommandType.MESSAGE_ACK) {
+                    assertTrue(command.getClientMessageId() <= 3);
+                    acked++;
+                } else if (command.getType() == ChatCommandType.RATE_LIMITED) {
+                    assertTrue(command.getClientMessageId() > 3);
+                    assertTrue(command.getSequence() > 0);
+                    limited++;
+                }
+            }
+            assertEquals(3, acked);
+            assertEquals(2, limited);
+            assertEquals(2, server.getRateLimiter().getConnectionLimitedCount());
+            assertEquals(0, server.getRateLimiter().getDisconnectCount());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void DISCONNECT_방식이면_제한을_넘은_연결을_끊음() throws Exception {
+        ChatSocketServer server = startServer(RateLimitAction.DISCONNECT);
+        try (TestChatConnection connection = authenticate(server, 702)) {
+            sendMessages(connection, 702, 4);
+            int acked = 0;
+            try {
+                while (true) {
+                    if (connection.readCommand().getType() == ChatCommandType.MESSAGE_ACK) {
+                        acked++;
+                    }
+                }
+            } catch (EOFException | SocketException e) {
+                // 정상 - 서버가 연결을 끊음
+            }
+            assertEquals(3, acked);
+            assertEquals(1, server.getRateLimiter().getDisconnectCount());
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomDispatcherTest {
+
+    private static ChatMessage message(int chatRoomId, int index) {
+        ChatMessage message = new ChatMessage(ChatMessageType.CHAT, chatRoomId, 1, "m" + index,
+                new Timestamp(System.currentTimeMillis()));
+        message.setSequence(index);
+        return message;
+    }
+
+    @Test
+    void 같은_채팅방은_순서대로_전달하고_바쁜_채팅방은_전용_레인으로_옮김() {
+        Map<Integer, List<Long>> delivered = new ConcurrentHashMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        RoomDispatcher dispatcher = new RoomDispatcher(2, 200, message -> {
+            delivered.computeIfAbsent(message.getChatRoomId(), id -> new CopyOnWriteArrayList<>())
+                    .add(message.getSequence());
+            threads.add(Thread.currentThread().getName());
+        });
+        dispatcher.start();
+        int perRoom = 2000;
+        try {
+            // 채팅방 1, 3은 1번 레인을, 2, 4는 0번 레인을 함께 씀
+            for (int i = 0; i < perRoom; i++) {
+                for (int chatRoomId = 1; chatRoomId <= 4; chatRoomId++) {
+                    dispatcher.dispatch(message(chatRoomId, i));
+                }
+            }
+        } finally {
+            dispatcher.stop();
+        }
+
+        for (int chatRoomId = 1; chatRoomId <= 4; chatRoomId++) {
+            List<Long> expected = new ArrayList<>();
+            for (long i = 0; i < perRoom; i++) {
+                expected.add(i);
+            }
+            assertEquals(expected, delivered.get(chatRoomId));
+        }
+        assertTrue(threads.contains("chat-broadcast-0"));
+        assertTrue(threads.contains("chat-broadcast-1"));
+        assertTrue(threads.stream().anyMatch(name -> name.startsWith("chat-broadcast-room-")));
+    }
+
+    @Test
+    void 종료한_뒤에는_호출한_스레드에서_바로_전달() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        RoomDispatcher dispatcher = new RoomDispatcher(1, 0, message -> threads.add(Thread.currentThread().getName()));
+        dispatcher.start();
+        dispatcher.dispatch(message(7, 0));
+        dispatcher.stop();
+        dispatcher.dispatch(message(7, 1));
+
+        assertEquals(List.of("chat-broadcast-0", Thread.currentThread().getName()), threads);
+        assertEquals(0, dispatcher.queueDepth());
+    }
+}
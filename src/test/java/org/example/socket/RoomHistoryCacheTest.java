@@ -0,0 +1,114 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomHistoryCacheTest {
+
+    private static ChatMessage message(int chatRoomId, long sequence) {
+        return message(chatRoomId, sequence, "메시지 " + sequence);
+    }
+
+    private static ChatMessage message(int chatRoomId, long sequence, String content) {
+        ChatMessage message = new ChatMessage(ChatMessageType.CHAT, chatRoomId, 7, content,
+                new Timestamp(System.currentTimeMillis()), "닉네임", "ONLINE");
+        message.setSequence(sequence);
+        return message;
+    }
+
+    private static long[] sequences(List<ChatMessage> messages) {
+        long[] sequences = new long[messages.size()];
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i] = messages.get(i).getSequence();
+        }
+        return sequences;
+    }
+
+    @Test
+    void 최근_메시지만_순서대로_보관() {
+        RoomHistoryCache cache = new RoomHistoryCache(3, 10, 1024 * 1024);
+        for (int sequence = 1; sequence <= 5; sequence++) {
+            cache.append(message(1, sequence));
+        }
+
+        assertArrayEquals(new long[]{3, 4, 5}, sequences(cache.recent(1)));
+        assertArrayEquals(new long[]{4, 5}, sequences(cache.after(1, 3)));
+        assertEquals(0, cache.after(1, 5).size());
+        // 버퍼보다 오래된 시점부터는 DB에서 읽어야 함
+        assertNull(cache.after(1, 1));
+    }
+
+    @Test
+    void 중간부터_받은_채팅방은_DB에서_채울_때까지_사용하지_않음() {
+        RoomHistoryCache cache = new RoomHistoryCache(5, 10, 1024 * 1024);
+        cache.append(message(1, 10));
+        cache.append(message(1, 11));
+
+        assertNull(cache.recent(1));
+
+        // DB 조회 중에 저장된 11번은 조회 결과 뒤에 이어 붙음
+        List<ChatMessage> latest = new ArrayList<>();
+        for (int sequence = 7; sequence <= 10; sequence++) {
+            latest.add(message(1, sequence));
+        }
+        assertArrayEquals(new long[]{7, 8, 9, 10, 11}, sequences(cache.seed(1, latest)));
+        assertArrayEquals(new long[]{7, 8, 9, 10, 11}, sequences(cache.recent(1)));
+
+        cache.append(message(1, 11)); // 중복은 무시
+        cache.append(message(1, 12));
+        assertArrayEquals(new long[]{8, 9, 10, 11, 12}, sequences(cache.recent(1)));
+    }
+
+    @Test
+    void 빈_채팅방도_DB에서_채우면_바로_사용() {
+        RoomHistoryCache cache = new RoomHistoryCache(5, 10, 1024 * 1024);
+
+        assertEquals(0, cache.seed(3, new ArrayList<>()).size());
+        assertEquals(0, cache.recent(3).size());
+        cache.append(message(3, 1));
+        assertArrayEquals(new long[]{1}, sequences(cache.recent(3)));
+    }
+
+    @Test
+    void 채팅방_수_상한을_넘으면_가장_오래_사용되지_않은_채팅방부터_제거() {
+        RoomHistoryCache cache = new RoomHistoryCache(4, 2, 1024 * 1024);
+        cache.append(message(1, 1));
+        cache.append(message(2, 1));
+        cache.recent(1); // 1번 채팅방 사용
+        cache.append(message(3, 1));
+
+        assertEquals(2, cache.roomCount());
+        assertEquals(1, cache.getEvictedRoomCount());
+        assertNull(cache.recent(2));
+        assertArrayEquals(new long[]{1}, sequences(cache.recent(1)));
+        assertArrayEquals(new long[]{1}, sequences(cache.recent(3)));
+    }
+
+    @Test
+    void 메모리_상한을_넘으면_채팅방을_제거() {
+        String content = "가".repeat(1000);
+        int messageSize = RoomHistoryCache.estimateSize(message(1, 1, content));
+        RoomHistoryCache cache = new RoomHistoryCache(10, 100, messageSize * 5L);
+
+        for (int roomId = 1; roomId <= 4; roomId++) {
+            cache.append(message(roomId, 1, content));
+            cache.append(message(roomId, 2, content));
+        }
+
+        assertTrue(cache.byteSize() <= messageSize * 5L);
+        assertEquals(2, cache.roomCount());
+        assertNull(cache.recent(1));
+        assertArrayEquals(new long[]{1, 2}, sequences(cache.recent(4)));
+
+        cache.remove(4);
+        assertEquals(messageSize * 2L, cache.byteSize());
+    }
+}
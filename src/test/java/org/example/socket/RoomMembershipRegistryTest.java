@@ -0,0 +1,122 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomMembershipRegistryTest {
+
+    private static int[] sorted(int[] values) {
+        int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Test
+    void 입장_퇴장과_역색인() {
+        RoomMembershipRegistry registry = new RoomMembershipRegistry();
+
+        assertTrue(registry.join(1, 100));
+        assertFalse(registry.join(1, 100));
+        assertTrue(registry.join(2, 100));
+        assertTrue(registry.join(1, 200));
+
+        assertEquals(2, registry.memberCount(1));
+        assertArrayEquals(new int[]{1, 2}, sorted(registry.roomsOf(100)));
+
+        assertTrue(registry.leave(1, 100));
+        assertFalse(registry.isMember(1, 100));
+        assertArrayEquals(new int[]{2}, registry.roomsOf(100));
+    }
+
+    @Test
+    void 연결_종료_시_참여한_모든_채팅방에서_제거() {
+        RoomMembershipRegistry registry = new RoomMembershipRegistry();
+        for (int roomId = 1; roomId <= 5; roomId++) {
+            registry.join(roomId, 7);
+            registry.join(roomId, 8);
+        }
+
+        assertEquals(5, registry.removeMember(7));
+        assertEquals(0, registry.roomsOf(7).length);
+        for (int roomId = 1; roomId <= 5; roomId++) {
+            assertArrayEquals(new int[]{8}, registry.members(roomId));
+        }
+    }
+
+    @Test
+    void 멤버_목록_교체() {
+        RoomMembershipRegistry registry = new RoomMembershipRegistry();
+        registry.join(3, 1);
+        registry.join(3, 2);
+
+        registry.replaceMembers(3, new int[]{2, 3, 3, 4});
+
+        assertArrayEquals(new int[]{2, 3, 4}, sorted(registry.members(3)));
+        assertEquals(0, registry.roomsOf(1).length);
+        assertArrayEquals(new int[]{3}, registry.roomsOf(4));
+    }
+
+    @Test
+    void 대규모_채팅방_입장_퇴장_후_순회() {
+        RoomMembershipRegistry registry = new RoomMembershipRegistry();
+        int size = 30_000;
+        for (int memberId = 1; memberId <= size; memberId++) {
+            registry.join(9, memberId);
+        }
+        // 홀수 멤버 퇴장 (빈 칸 압축 발생)
+        for (int memberId = 1; memberId <= size; memberId += 2) {
+            registry.leave(9, memberId);
+        }
+
+        long[] sum = new long[1];
+        int visited = registry.forEachMember(9, (memberId, acc) -> acc[0] += memberId, sum);
+
+        assertEquals(size / 2, visited);
+        assertEquals((long) (size / 2) * (size / 2 + 1), sum[0]); // 2 + 4 + ... + size
+    }
+
+    @Test
+    void 순회_중_동시_변경에도_예외_없음() throws Exception {
+        RoomMembershipRegistry registry = new RoomMembershipRegistry();
+        for (int memberId = 1; memberId <= 1000; memberId++) {
+            registry.join(1, memberId);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            int next = 1001;
+            while (running.get()) {
+                registry.join(1, next);
+                registry.leave(1, next - 500);
+                next++;
+            }
+        });
+        writer.start();
+
+        try {
+            for (int i = 0; i < 2000; i++) {
+                registry.forEachMember(1, (memberId, arg) -> {
+                    if (memberId <= 0) {
+                        throw new IllegalStateException("잘못된 멤버 ID: " + memberId);
+                    }
+                }, null);
+            }
+        } catch (Throwable e) {
+            failure.set(e);
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+        assertNull(failure.get());
+    }
+}
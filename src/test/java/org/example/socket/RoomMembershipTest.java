@@ -0,0 +1,179 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class RoomMembershipTest {
+
+    /**
+     * ChatRoomMembers 테이블 대신 쓰는 참여자 저장소 (조회 횟수 기록, 참여자 조회를 잠시 막을 수 있음)
+     */
+    private static final class MemoryMembershipStore implements MembershipStore {
+        private final Map<Integer, Set<Integer>> rooms = new ConcurrentHashMap<>();
+        private final AtomicInteger loads = new AtomicInteger();
+        private volatile CountDownLatch loadGate = new CountDownLatch(0);
+
+        void add(int chatRoomId, int memberId) {
+            rooms.computeIfAbsent(chatRoomId, id -> ConcurrentHashMap.newKeySet()).add(memberId);
+        }
+
+        void remove(int chatRoomId, int memberId) {
+            rooms.getOrDefault(chatRoomId, Collections.emptySet()).remove(memberId);
+        }
+
+        @Override
+        public int[] loadMemberIds(int chatRoomId) {
+            loads.incrementAndGet();
+            try {
+                loadGate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rooms.getOrDefault(chatRoomId, Collections.emptySet()).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        @Override
+        public boolean isMember(int chatRoomId, int memberId) {
+            return rooms.getOrDefault(chatRoomId, Collections.emptySet()).contains(memberId);
+        }
+    }
+
+    private static ChatSocketServer startServer(MembershipStore membershipStore) {
+        ChatServerConfig config = new ChatServerConfig();
+        config.setPort(0);
+        config.setEngineType(ServerEngineType.NIO);
+        config.setIoThreads(1);
+        config.setHeartbeatIntervalMillis(0);
+        config.setDeliveryAckTimeoutMillis(0);
+        config.setOfflineDelivery(false);
+        ChatSocketServer server = new ChatSocketServer(config);
+        server.setMessageStore(new InMemoryMessageStore());
+        server.setMembershipStore(membershipStore);
+        server.start();
+        return server;
+    }
+
+    private static TestChatConnection authenticate(ChatSocketServer server, int memberId) throws IOException {
+        TestChatConnection connection = TestChatConnection.connect(server, memberId, Handshake.FEATURE_MEMBERSHIP);
+        assertTrue(connection.ack.membership());
+        return connection;
+    }
+
+    private static ChatCommandType readCommandType(TestChatConnection connection) throws IOException {
+        Object payload = connection.read();
+        assertTrue(payload instanceof ChatCommand, "명령이 아님: " + payload);
+        return ((ChatCommand) payload).getType();
+    }
+
+    private static void await(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("시간 초과: " + description);
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void 참여자는_DB에서_한_번_읽고_참여자가_아니면_입장_거부() throws Exception {
+        MemoryMembershipStore store = new MemoryMembershipStore();
+        store.add(5, 801);
+        store.add(5, 802);
+        // 입장 요청과 첫 메시지가 참여자 조회보다 먼저 도착하도록 조회를 잠시 막음
+        CountDownLatch gate = new CountDownLatch(1);
+        store.loadGate = gate;
+        ChatSocketServer server = startServer(store);
+        try (TestChatConnection member = authenticate(server, 801);
+             TestChatConnection stranger = authenticate(server, 803)) {
+
+            member.write(new ChatCommand(ChatCommandType.JOIN_CHAT, 5, 801));
+            ChatMessage message = new ChatMessage(ChatMessageType.CHAT, 5, 801, "첫 메시지", null);
+            message.setClientMessageId(1);
+            member.write(message);
+            // 참여자가 아닌 사용자가 목록을 보내도 반영하지 않음
+            stranger.write(new ChatCommand(ChatCommandType.UPDATE_MEMBERS, 5, Arrays.asList(801, 802, 803)));
+            stranger.write(new ChatCommand(ChatCommandType.JOIN_CHAT, 5, 803));
+            gate.countDown();
+
+            // 조회가 끝난 뒤에도 입장이 먼저 처리되어, 입장한 사용자에게 자기 메시지가 전달됨
+            boolean joined = false;
+            boolean delivered = false;
+            while (!joined || !delivered) {
+                Object payload = member.read();
+                if (payload instanceof ChatMessage) {
+                    assertTrue(joined, "입장 응답보다 메시지가 먼저 도착함");
+                    assertEquals("첫 메시지", ((ChatMessage) payload).getContent());
+                    delivered = true;
+                } else if (((ChatCommand) payload).getType() == ChatCommandType.JOIN_CHAT_SUCCESS) {
+                    joined = true;
+                }
+            }
+
+            assertEquals(ChatCommandType.ERROR, readCommandType(stranger));
+            assertFalse(server.getRoomMembers().isMember(5, 803));
+            // 접속하지 않은 참여자도 DB 기준으로 포함
+            assertTrue(server.getRoomMembers().isMember(5, 802));
+            assertEquals(1, store.loads.get());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void 변경_알림을_받으면_알린_사용자만_DB에서_확인해_반영() throws Exception {
+        MemoryMembershipStore store = new MemoryMembershipStore();
+        store.add(6, 811);
+        store.add(6, 812);
+        ChatSocketServer server = startServer(store);
+        try (TestChatConnection member = authenticate(server, 811)) {
+            member.write(new ChatCommand(ChatCommandType.JOIN_CHAT, 6, 811));
+            assertEquals(ChatCommandType.JOIN_CHAT_SUCCESS, readCommandType(member));
+
+            // 알림 내용과 DB가 다르면 DB를 따름 (813은 추가, 812는 제거, 814는 DB에 없으므로 무시)
+            store.add(6, 813);
+            store.remove(6, 812);
+            member.write(new ChatCommand(ChatCommandType.MEMBERSHIP_CHANGED, 6, Arrays.asList(812, 813, 814)));
+            await(() -> server.getRoomMembers().isMember(6, 813), "추가된 참여자 반영");
+            await(() -> !server.getRoomMembers().isMember(6, 812), "제거된 참여자 반영");
+            assertFalse(server.getRoomMembers().isMember(6, 814));
+            assertEquals(1, store.loads.get());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void 채팅방_참여자가_아닌_사용자의_변경_알림은_거부() throws Exception {
+        MemoryMembershipStore store = new MemoryMembershipStore();
+        store.add(6, 811);
+        ChatSocketServer server = startServer(store);
+        try (TestChatConnection member = authenticate(server, 811);
+             TestChatConnection stranger = authenticate(server, 820)) {
+            member.write(new ChatCommand(ChatCommandType.JOIN_CHAT, 6, 811));
+            assertEquals(ChatCommandType.JOIN_CHAT_SUCCESS, readCommandType(member));
+
+            store.add(6, 813);
+            stranger.write(new ChatCommand(ChatCommandType.MEMBERSHIP_CHANGED, 6, Arrays.asList(813)));
+            assertEquals(ChatCommandType.ERROR, readCommandType(stranger));
+            assertFalse(server.getRoomMembers().isMember(6, 813));
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ServerDrainTest {
+
+    private static ChatServerConfig config(ServerEngineType engineType, int port) {
+        ChatServerConfig config = new ChatServerConfig();
+        config.setPort(port);
+        config.setEngineType(engineType);
+        config.setIoThreads(1);
+        config.setPersistMessages(false);
+        config.setHeartbeatIntervalMillis(0);
+        config.setDrainTimeoutMillis(5000);
+        config.setReconnectJitterMillis(300);
+        config.setReusePort(true);
+        return config;
+    }
+
+    @Test
+    void drain은_재접속을_요청하고_클라이언트가_끊기면_남은_연결을_정리하고_종료() throws Exception {
+        ChatSocketServer server = new ChatSocketServer(config(ServerEngineType.NIO, 0));
+        server.start();
+        Thread drain = new Thread(server::drain);
+        try (TestChatConnection client = TestChatConnection.connect(server, 961, Handshake.FEATURE_RECONNECT);
+             TestChatConnection legacy = TestChatConnection.connect(server, 962)) {
+            assertTrue(client.ack.reconnect());
+            assertFalse(legacy.ack.reconnect());
+            legacy.socket.setSoTimeout(10000);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (server.getSessionCount() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            drain.start();
+            ChatCommand reconnect = client.readCommand();
+            assertEquals(ChatCommandType.RECONNECT, reconnect.getType());
+            assertEquals(300, reconnect.getSequence());
+            // 새 연결은 더 이상 받지 않음
+            assertThrows(IOException.class, () -> new Socket("localhost", server.getLocalPort()).close());
+
+            // 재접속을 지원하는 클라이언트가 끊기면 제한 시간을 기다리지 않고 기존 클라이언트 연결을 정리
+            long closedAt = System.currentTimeMillis();
+            client.socket.close();
+            List<ChatCommandType> received = new ArrayList<>();
+            try {
+                while (true) {
+                    received.add(legacy.readCommand().getType());
+                }
+            } catch (EOFException | SocketException e) {
+                // 정상 - drain이 끝나 연결이 닫힘
+            }
+            assertFalse(received.contains(ChatCommandType.RECONNECT));
+            drain.join(5000);
+            assertFalse(drain.isAlive());
+            assertTrue(System.currentTimeMillis() - closedAt < 4000);
+            assertFalse(server.isRunning());
+        } finally {
+            if (server.isRunning()) {
+                server.stop();
+            }
+        }
+    }
+
+    @Test
+    void reusePort면_새_서버가_같은_포트로_먼저_시작하고_이전_서버가_drain한_뒤에도_연결을_받음() throws Exception {
+        try (ServerSocketChannel probe = ServerSocketChannel.open()) {
+            assumeTrue(probe.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT));
+        }
+        ChatSocketServer previous = new ChatSocketServer(config(ServerEngineType.BLOCKING, 0));
+        previous.start();
+        int port = previous.getLocalPort();
+        ChatSocketServer next = new ChatSocketServer(config(ServerEngineType.BLOCKING, port));
+        try {
+            next.start();
+            assertTrue(next.isRunning());
+            assertEquals(port, next.getLocalPort());
+
+            previous.drain();
+            assertFalse(previous.isRunning());
+            try (TestChatConnection connection = TestChatConnection.connect(port, 963, Handshake.FEATURE_RECONNECT)) {
+                assertTrue(connection.ack.reconnect());
+            }
+        } finally {
+            if (previous.isRunning()) {
+                previous.stop();
+            }
+            next.stop();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.socket;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketException;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 테스트용 채팅 연결
+ * 바이너리 형식으로 접속해 인증한 뒤 프레임을 쓰고 읽습니다. 읽기 제한 시간은 5초입니다.
+ */
+final class TestChatConnection implements AutoCloseable {
+    final Socket socket;
+    final DataInputStream in;
+    // 서버의 핸드셰이크 응답 (인증은 이미 확인함)
+    final Handshake.ServerAck ack;
+
+    private TestChatConnection(Socket socket, DataInputStream in, Handshake.ServerAck ack) {
+        this.socket = socket;
+        this.in = in;
+        this.ack = ack;
+    }
+
+    static TestChatConnection connect(ChatSocketServer server, int memberId) throws IOException {
+        return connect(server.getLocalPort(), memberId, 0);
+    }
+
+    static TestChatConnection connect(ChatSocketServer server, int memberId, int features) throws IOException {
+        return connect(server.getLocalPort(), memberId, features);
+    }
+
+    /**
+     * 접속해 인증 (인증에 실패하면 연결을 닫고 테스트 실패)
+     * @param features 클라이언트가 지원한다고 알릴 기능 (Handshake.FEATURE_*)
+     */
+    static TestChatConnection connect(int port, int memberId, int features) throws IOException {
+        Socket socket = new Socket("localhost", port);
+        try {
+            socket.setSoTimeout(5000);
+            socket.getOutputStream().write(Handshake.encodeClientHello(memberId, WireFormat.BINARY.getMask(), features));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            byte[] body = FrameCodec.readFrameBody(in);
+            Handshake.ServerAck ack = Handshake.decodeServerAck(body, 0, body.length);
+            assertTrue(ack.accepted, "인증 실패: " + memberId);
+            return new TestChatConnection(socket, in, ack);
+        } catch (IOException | RuntimeException | AssertionError e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    void write(Object payload) throws IOException {
+        socket.getOutputStream().write(BinaryWireCodec.INSTANCE.encode(payload));
+    }
+
+    Object read() throws IOException {
+        byte[] body = FrameCodec.readFrameBody(in);
+        return BinaryWireCodec.INSTANCE.decode(body, 0, body.length);
+    }
+
+    /**
+     * 다음 채팅 메시지 (그 사이의 명령은 건너뜀)
+     */
+    ChatMessage readMessage() throws IOException {
+        while (true) {
+            Object payload = read();
+            if (payload instanceof ChatMessage) {
+                return (ChatMessage) payload;
+            }
+        }
+    }
+
+    /**
+     * 다음 명령 (그 사이의 채팅 메시지는 건너뜀)
+     */
+    ChatCommand readCommand() throws IOException {
+        while (true) {
+            Object payload = read();
+            if (payload instanceof ChatCommand) {
+                return (ChatCommand) payload;
+            }
+        }
+    }
+
+    /**
+     * 원하는 유형의 명령이 올 때까지 읽기
+     */
+    ChatCommand readUntil(ChatCommandType type) throws IOException {
+        while (true) {
+            ChatCommand command = readCommand();
+            if (command.getType() == type) {
+                return command;
+            }
+        }
+    }
+
+    /**
+     * 서버가 연결을 닫을 때까지 읽기 (그 사이의 프레임은 버림)
+     */
+    void awaitClosed() throws IOException {
+        try {
+            while (true) {
+                read();
+            }
+        } catch (EOFException | SocketException e) {
+            // 정상 - 서버가 연결을 닫음
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}